@@ -17,13 +17,22 @@ import java.io.File;
 import java.io.FileWriter;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.item.ICompositeItemBuilder;
@@ -343,6 +352,50 @@ public class FakeCore implements ICore {
 
 	}
 
+	@Override
+	public Response getItemRepresentation(int itemId, Request request) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public Response getAvailableItemTypesRepresentation(Request request) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public Component getComponent(int itemId, int... componentIds) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public Response getComponentRepresentation(int itemId,
+			String componentPath, Request request) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public IEntry getEntry(int itemId, String entryName, int... componentIds) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public Response getEntryRepresentation(int itemId, String componentPath,
+			String entryName, Request request) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public String patchItem(int itemId, String patch) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -502,6 +555,31 @@ public class FakeCore implements ICore {
 		return null;
 	}
 
+	@Override
+	public String postUpdateBatch(byte[] batch) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public boolean addItemEventListener(int itemId,
+			IItemEventListener listener) {
+		// The fake core can't push events, so clients must poll it
+		return false;
+	}
+
+	@Override
+	public void removeItemEventListener(int itemId,
+			IItemEventListener listener) {
+		// TODO Auto-generated method stub
+	}
+
+	@Override
+	public String getItemEvents(int itemId, long since, long timeout) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
 	@Override
 	public String createItem(String itemType, IProject project) {
 		// TODO Auto-generated method stub
@@ -594,6 +672,37 @@ public class FakeCore implements ICore {
 		return;
 	}
 
+	@Override
+	public Map<URI, String> importFilesAsItems(List<URI> files,
+			String itemType, IProject project) {
+		// Local Declarations
+		Map<URI, String> itemIds = new LinkedHashMap<URI, String>();
+
+		if (files != null && itemType != null) {
+			for (URI file : files) {
+				if (file != null) {
+					itemIds.put(file, String.valueOf(1));
+					imported = true;
+				}
+			}
+		}
+
+		return itemIds;
+	}
+
+	@Override
+	public Map<URI, String> importDirectoryAsItems(URI directory,
+			String itemType, IProject project) {
+		// Local Declarations
+		List<URI> files = new ArrayList<URI>();
+
+		if (directory != null) {
+			files.add(directory);
+		}
+
+		return importFilesAsItems(files, itemType, project);
+	}
+
 	public boolean itemNameChanged() {
 		return itemNameChanged;
 	}
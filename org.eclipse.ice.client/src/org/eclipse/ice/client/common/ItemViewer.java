@@ -14,8 +14,11 @@ package org.eclipse.ice.client.common;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.ice.client.common.internal.ClientHolder;
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.core.iCore.ItemEvent;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.iclient.IClient;
 import org.eclipse.jface.viewers.DoubleClickEvent;
@@ -33,7 +36,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class provides an Eclipse view showing the list of Items that have been
- * created and made available in the Core.
+ * created and made available in the Core. The list is refreshed when the Core
+ * reports that Items were added, removed or renamed, or periodically if the
+ * Core can not report changes.
  *
  * @author Jay Jay Billings
  *
@@ -67,6 +72,21 @@ public class ItemViewer extends ViewPart {
 	 */
 	private Composite viewerParent = null;
 
+	/**
+	 * True if a refresh of the table has been requested but not done yet.
+	 */
+	private final AtomicBoolean refreshPending = new AtomicBoolean(false);
+
+	/**
+	 * The listener that refreshes the table when the list of Items changes.
+	 */
+	private final IItemEventListener itemListListener = new IItemEventListener() {
+		@Override
+		public void itemEventPosted(ItemEvent event) {
+			refresh();
+		}
+	};
+
 	/**
 	 * Create the table viewer that shows the list of Items accessible in the
 	 * Core by the Client.
@@ -89,16 +109,11 @@ public class ItemViewer extends ViewPart {
 			@Override
 			public void run() {
 				// Wait until the client is available
-				while (client == null) {
-					// Get the client reference
-					client = ClientHolder.getClient();
-					// Sleep for a little bit (.5 sec) if the thread needs to
-					// wait
-					try {
-						Thread.sleep(500);
-					} catch (InterruptedException e) {
-						logger.error(getClass().getName() + " Exception!", e);
-					}
+				try {
+					client = ClientHolder.waitForClient();
+				} catch (InterruptedException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+					return;
 				}
 				// Sync with the display
 				PlatformUI.getWorkbench().getDisplay()
@@ -114,6 +129,12 @@ public class ItemViewer extends ViewPart {
 							}
 						});
 
+				// Refresh when the list of Items changes, or poll for changes
+				// if the core can't report them
+				if (!client.addItemEventListener(ItemEvent.ALL_ITEMS,
+						itemListListener)) {
+					startUpdateThread();
+				}
 			}
 		});
 
@@ -200,37 +221,46 @@ public class ItemViewer extends ViewPart {
 		// Register the table view as a selection provider
 		getSite().setSelectionProvider(tableViewer);
 
+	}
+
+	/**
+	 * This operation asynchronously refreshes the table unless a refresh is
+	 * already pending.
+	 */
+	private void refresh() {
+		if (!tableViewer.getTable().isDisposed()
+				&& refreshPending.compareAndSet(false, true)) {
+			PlatformUI.getWorkbench().getDisplay().asyncExec(new Runnable() {
+				@Override
+				public void run() {
+					refreshPending.set(false);
+					// Just do a blanket update
+					if (!tableViewer.getTable().isDisposed()) {
+						tableViewer.refresh();
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * This operation starts a thread that refreshes the table every second. It
+	 * is only used if the core can not report changes to the list of Items.
+	 */
+	private void startUpdateThread() {
+
 		// Create an update thread
 		Thread updateThread = new Thread() {
 			@Override
 			public void run() {
-				while (true) {
-					// Only update if the display is running
-					if (tableViewer.getTable().isDisposed()) {
-						return;
-					} else {
-						// Asynchronously refresh the tableviewer
-						PlatformUI.getWorkbench().getDisplay()
-								.asyncExec(new Runnable() {
-									@Override
-									public void run() {
-										// Just do a blanket update
-										if (!tableViewer.getTable()
-												.isDisposed()) {
-											tableViewer.refresh();
-
-										}
-									}
-								});
-
-						try {
-							// Sleep for one second
-							Thread.sleep(1000);
-						} catch (InterruptedException e) {
-							// TODO Auto-generated catch block
-							logger.error(getClass().getName() + " Exception!",
-									e);
-						}
+				// Only update while the display is running
+				while (!tableViewer.getTable().isDisposed()) {
+					refresh();
+					try {
+						// Sleep for one second
+						Thread.sleep(1000);
+					} catch (InterruptedException e) {
+						logger.error(getClass().getName() + " Exception!", e);
 					}
 				}
 			}
@@ -240,6 +270,20 @@ public class ItemViewer extends ViewPart {
 
 	}
 
+	/**
+	 * This operation stops listening for changes to the list of Items.
+	 *
+	 * @see org.eclipse.ui.part.WorkbenchPart#dispose()
+	 */
+	@Override
+	public void dispose() {
+		if (client != null) {
+			client.removeItemEventListener(ItemEvent.ALL_ITEMS,
+					itemListListener);
+		}
+		super.dispose();
+	}
+
 	/**
 	 * A simple pass-through for setting the focus. It does nothing.
 	 *
@@ -33,7 +33,7 @@ public class ClientHolder {
 	/**
 	 * The reference to the Client provided by the OSGi.
 	 */
-	private static IClient client = null;
+	private static volatile IClient client = null;
 
 	/**
 	 * Retrieve the reference to the client
@@ -42,6 +42,24 @@ public class ClientHolder {
 		return client;
 	}
 
+	/**
+	 * Retrieve the reference to the client, waiting until the OSGi provides it
+	 * if it is not available yet.
+	 * 
+	 * @return The client
+	 * @throws InterruptedException
+	 *             An exception indicating that the thread was interrupted
+	 *             while waiting
+	 */
+	public static IClient waitForClient() throws InterruptedException {
+		synchronized (ClientHolder.class) {
+			while (client == null) {
+				ClientHolder.class.wait();
+			}
+			return client;
+		}
+	}
+
 	/**
 	 * Retrieve the reference to the client
 	 */
@@ -49,7 +67,10 @@ public class ClientHolder {
 
 		// Set the reference and do some reporting
 		if (iceClient != null) {
-			client = iceClient;
+			synchronized (ClientHolder.class) {
+				client = iceClient;
+				ClientHolder.class.notifyAll();
+			}
 			logger.info("ICE Eclipse Common Widgets Message: "
 					+ "Client set successfully!");
 		} else {
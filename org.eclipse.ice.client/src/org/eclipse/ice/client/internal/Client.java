@@ -22,6 +22,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.ice.client.common.internal.ClientHolder;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemEventListener;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
@@ -814,6 +815,35 @@ public class Client implements IUpdateEventListener, IProcessEventListener,
 		formWidgetTable.put(widget.getForm().getItemID(), widget);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.ice.iclient.IClient#addItemEventListener(int,
+	 * org.eclipse.ice.core.iCore.IItemEventListener)
+	 */
+	@Override
+	public boolean addItemEventListener(int itemId,
+			IItemEventListener listener) {
+		ICore core = getCore();
+		return (core != null) ? core.addItemEventListener(itemId, listener)
+				: false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.ice.iclient.IClient#removeItemEventListener(int,
+	 * org.eclipse.ice.core.iCore.IItemEventListener)
+	 */
+	@Override
+	public void removeItemEventListener(int itemId,
+			IItemEventListener listener) {
+		ICore core = getCore();
+		if (core != null) {
+			core.removeItemEventListener(itemId, listener);
+		}
+	}
+
 	/**
 	 * This operation returns the IFormWidget corresponding to the given Item
 	 * Id.
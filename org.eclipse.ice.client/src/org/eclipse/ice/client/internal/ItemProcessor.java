@@ -18,9 +18,13 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.core.iCore.ItemEvent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.iclient.IItemProcessor;
@@ -48,6 +52,12 @@ import org.slf4j.LoggerFactory;
  * the label of the widget.
  * </p>
  * <p>
+ * The ItemProcessor listens for ItemEvents from the ICore while the Item is
+ * processing, so changes to the status and new output are shown as soon as
+ * the ICore posts them. If the ICore can not push events, the ItemProcessor
+ * polls it for the status and reads the output file itself instead.
+ * </p>
+ * <p>
  * All of the set operations, with the exception of setPollTime() and
  * setStreamingOutputWidget(), must be called before the processor can be
  * launched. There is a default polling time configured in the processor (100ms)
@@ -57,8 +67,8 @@ import org.slf4j.LoggerFactory;
  * 
  * @author Jay Jay Billings
  */
-public class ItemProcessor
-		implements Runnable, IWidgetClosedListener, IItemProcessor {
+public class ItemProcessor implements Runnable, IWidgetClosedListener,
+		IItemProcessor, IItemEventListener {
 
 	/**
 	 * Logger for handling event messages and other information.
@@ -94,11 +104,32 @@ public class ItemProcessor
 
 	/**
 	 * The period for which the ItemProcessor should poll the Core for updates
-	 * in units of milliseconds. The default value is 100 milliseconds, 0.1
-	 * seconds.
+	 * in units of milliseconds if the Core can not push them. The default
+	 * value is 100 milliseconds, 0.1 seconds.
 	 */
 	private int pollTime = 100;
 
+	/**
+	 * The longest time in milliseconds that the ItemProcessor waits for an
+	 * event from the Core before it checks the status of the Item itself.
+	 */
+	private static final long EVENT_TIMEOUT = 5000;
+
+	/**
+	 * The event used to wake up the ItemProcessor when a widget is closed.
+	 */
+	private static final ItemEvent WAKE_UP = new ItemEvent();
+
+	/**
+	 * The events posted by the Core that have not been handled yet.
+	 */
+	private final LinkedBlockingQueue<ItemEvent> events = new LinkedBlockingQueue<ItemEvent>();
+
+	/**
+	 * True if the streaming text widget has been displayed.
+	 */
+	private boolean streamingWidgetDisplayed = false;
+
 	/**
 	 * This AtomicBoolean is true if the IExtraInfoWidget used by the
 	 * ItemProcessor was closed OK and is false otherwise.
@@ -342,6 +373,7 @@ public class ItemProcessor
 		FileReader outputFileReader = null;
 		BufferedReader outputFileBufferedReader = null;
 		String nextLine = null;
+		boolean pushed = false;
 
 		// Setup the message map. This map contains the messages that will be
 		// posted to the IFormWidget based on the status of the process.
@@ -357,126 +389,149 @@ public class ItemProcessor
 
 		// Set the initial status
 		formWidget.updateStatus(statusMessageMap.get(FormStatus.Processing));
+		streamingWidgetDisplayed = false;
 
 		// Try processing the Item - FIXME - client id is hardwired
 		status = iceCore.processItem(itemId, actionName, 1);
 
+		// Listen for changes from the Core if the Item is not already done.
+		// This is done after processing so that the first status event is
+		// always that of the processed Item.
+		events.clear();
+		if (status.equals(FormStatus.NeedsInfo)
+				|| status.equals(FormStatus.Processing)) {
+			pushed = iceCore.addItemEventListener(itemId, this);
+		}
+
 		// Grab the output file handle
 		outputFile = iceCore.getItemOutputFile(itemId);
 		// Open the file if it is available
 		if (outputFile != null && outputFile.exists()
 				&& streamingTextWidget != null) {
-			try {
-				// Create the readers
-				outputFileReader = new FileReader(outputFile);
-				outputFileBufferedReader = new BufferedReader(outputFileReader);
-				// Set the widget label
-				streamingTextWidget.setLabel(formWidget.getForm().getName()
-						+ " " + formWidget.getForm().getId() + " Live Output");
-				// Open the widget
-				streamingTextWidget.display();
-			} catch (FileNotFoundException e) {
-				// Complain that the file could not be opened
-				logger.error(getClass().getName() + " Exception!", e);
+			// Open the widget
+			displayStreamingTextWidget();
+			// Only read the file if the Core does not push its output
+			if (!pushed) {
+				try {
+					// Create the readers
+					outputFileReader = new FileReader(outputFile);
+					outputFileBufferedReader = new BufferedReader(
+							outputFileReader);
+				} catch (FileNotFoundException e) {
+					// Complain that the file could not be opened
+					logger.error(getClass().getName() + " Exception!", e);
+				}
 			}
 		}
 
 		// The event loop - until status != FormStatus.NeedsInfo or
 		// FormStatus.Processing
 		posted.set(false);
-		while (status.equals(FormStatus.NeedsInfo)
-				|| status.equals(FormStatus.Processing)) {
-
-			// Throw up the extra info widget if more information is needed
-			if (status.equals(FormStatus.NeedsInfo)) {
-				// Check whether or not to post to the info widget to the screen
-				if (!posted.get()) {
-					// Set the Form for the InfoWidget
-					form = iceCore.getItem(itemId);
-					infoWidget.setForm(form);
-					// Register as a listener of the infoWidget
-					infoWidget.setCloseListener(this);
-					// Display the widget
-					infoWidget.display();
-					// Set the posted flag so that widget does not continue to
-					// be displayed
-					posted.set(true);
-				} else {
-					// FIXME This is a potential design flaw, as any attempt to
-					// cancel will be ignored if the widget is closed
-					// "successfully" before this thread makes it to this if
-					// condition.
-					// Otherwise if the widget has been posted, see if it has
-					// been closed ok.
-					if (widgetClosedOK.get()) {
-						// Return the extra information
-						iceCore.updateItem(form, 1); // FIXME - hardwired
-														// client id!
-						// Reset the posted flag and the widgetClosedOK flag so
-						// that the widget can be shown again if needed.
-						posted.set(false);
-						widgetClosedOK.set(false);
-					} else if (widgetCancelled.get()) {
-						// If the widget was cancelled, try to kill the task
-						iceCore.cancelItemProcess(itemId, actionName);
-						// Update the status
-						status = iceCore.getItemStatus(itemId);
-						// Update the IFormWidget's status
-						formWidget.updateStatus(statusMessageMap.get(status));
-						return;
+		try {
+			while (status.equals(FormStatus.NeedsInfo)
+					|| status.equals(FormStatus.Processing)) {
+
+				// Throw up the extra info widget if more information is needed
+				if (status.equals(FormStatus.NeedsInfo)) {
+					// Check whether or not to post to the info widget to the
+					// screen
+					if (!posted.get()) {
+						// Set the Form for the InfoWidget
+						form = iceCore.getItem(itemId);
+						infoWidget.setForm(form);
+						// Register as a listener of the infoWidget
+						infoWidget.setCloseListener(this);
+						// Display the widget
+						infoWidget.display();
+						// Set the posted flag so that widget does not continue
+						// to be displayed
+						posted.set(true);
+					} else {
+						// FIXME This is a potential design flaw, as any attempt
+						// to cancel will be ignored if the widget is closed
+						// "successfully" before this thread makes it to this if
+						// condition.
+						// Otherwise if the widget has been posted, see if it
+						// has been closed ok.
+						if (widgetClosedOK.get()) {
+							// Return the extra information
+							iceCore.updateItem(form, 1); // FIXME - hardwired
+															// client id!
+							// Reset the posted flag and the widgetClosedOK flag
+							// so that the widget can be shown again if needed.
+							posted.set(false);
+							widgetClosedOK.set(false);
+						} else if (widgetCancelled.get()) {
+							// If the widget was cancelled, try to kill the task
+							iceCore.cancelItemProcess(itemId, actionName);
+							// Update the status
+							status = iceCore.getItemStatus(itemId);
+							// Update the IFormWidget's status
+							formWidget
+									.updateStatus(statusMessageMap.get(status));
+							return;
+						}
 					}
 				}
-			}
-
-			// Update the status
-			status = iceCore.getItemStatus(itemId);
 
-			// Update the IFormWidget's status
-			formWidget.updateStatus(statusMessageMap.get(status));
-
-			// Read the file if it was opened correctly
-			if (outputFileBufferedReader != null
-					&& streamingTextWidget != null) {
-				// Get everything currently there
-				try {
-					while ((nextLine = outputFileBufferedReader
-							.readLine()) != null) {
-						// Write it to the streaming text widget
-						streamingTextWidget.postText(nextLine);
+				if (pushed) {
+					// Wait for the Core to post changes
+					status = handleEvents(status);
+				} else {
+					// Update the status
+					status = iceCore.getItemStatus(itemId);
+					// Read the file if it was opened correctly
+					if (outputFileBufferedReader != null
+							&& streamingTextWidget != null) {
+						// Get everything currently there
+						try {
+							while ((nextLine = outputFileBufferedReader
+									.readLine()) != null) {
+								// Write it to the streaming text widget
+								streamingTextWidget.postText(nextLine);
+							}
+						} catch (IOException e) {
+							// Complain because the next line could not be read
+							logger.error(getClass().getName() + " Exception!",
+									e);
+						}
 					}
-				} catch (IOException e) {
-					// Complain because the next line could not be read
-					logger.error(getClass().getName() + " Exception!", e);
 				}
-			}
 
-			// The Form is completely processed, it is time to break out of the
-			// loop.
-			if (status.equals(FormStatus.Processed)) {
-				try {
-					// Close the readers
-					if (outputFileBufferedReader != null) {
-						outputFileBufferedReader.close();
-						outputFileReader.close();
+				// Update the IFormWidget's status
+				formWidget.updateStatus(statusMessageMap.get(status));
+
+				// The Form is completely processed, it is time to break out of
+				// the loop.
+				if (status.equals(FormStatus.Processed)) {
+					break;
+				} else if (!pushed) {
+					// Otherwise, put the thread to sleep for a bit so that it
+					// does not spam requests incessantly.
+					try {
+						Thread.sleep(pollTime);
+					} catch (InterruptedException e) {
+						// TODO Auto-generated catch block
+						logger.error(getClass().getName() + " Exception!", e);
 					}
-				} catch (IOException e) {
-					// Complain
-					logger.error(getClass().getName() + " Exception!", e);
 				}
 
-				break;
-			} else {
-				// Otherwise, put the thread to sleep for a bit so that it does
-				// not spam requests incessantly.
-				try {
-					Thread.sleep(pollTime);
-				} catch (InterruptedException e) {
-					// TODO Auto-generated catch block
-					logger.error(getClass().getName() + " Exception!", e);
+			}
+		} finally {
+			// Stop listening
+			if (pushed) {
+				iceCore.removeItemEventListener(itemId, this);
+			}
+			// Close the readers
+			try {
+				if (outputFileBufferedReader != null) {
+					outputFileBufferedReader.close();
+					outputFileReader.close();
 				}
+			} catch (IOException e) {
+				// Complain
+				logger.error(getClass().getName() + " Exception!", e);
 			}
-			// Print a debug message for now
-
 		}
 
 		// Update the IFormWidget's status one final time
@@ -497,8 +552,9 @@ public class ItemProcessor
 	@Override
 	public void closedOK() {
 
-		// Set the flag
+		// Set the flag and wake up the processor
 		widgetClosedOK.set(true);
+		events.offer(WAKE_UP);
 
 		return;
 	}
@@ -511,12 +567,84 @@ public class ItemProcessor
 	@Override
 	public void cancelled() {
 
-		// Set the flag
+		// Set the flag and wake up the processor
 		widgetCancelled.set(true);
+		events.offer(WAKE_UP);
 
 		return;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see IItemEventListener#itemEventPosted(ItemEvent)
+	 */
+	@Override
+	public void itemEventPosted(ItemEvent event) {
+		events.offer(event);
+	}
+
+	/**
+	 * This operation waits for the Core to post events for the Item and then
+	 * handles all of the events that have arrived. New output is posted to the
+	 * streaming text widget.
+	 * 
+	 * @param status
+	 *            The current status of the Item
+	 * @return The status of the Item after the events
+	 */
+	private FormStatus handleEvents(FormStatus status) {
+
+		// Local Declarations
+		FormStatus newStatus = status;
+		ItemEvent event = null;
+
+		try {
+			// Wait for the next event
+			event = events.poll(EVENT_TIMEOUT, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+
+		// If nothing happened for a while, check the status in case an event
+		// was missed
+		if (event == null) {
+			newStatus = iceCore.getItemStatus(itemId);
+			return (newStatus != null) ? newStatus : status;
+		}
+
+		// Handle the event and any others that arrived with it
+		while (event != null) {
+			if (event.getType() == ItemEvent.Type.STATUS) {
+				newStatus = event.getStatus();
+			} else if (event.getType() == ItemEvent.Type.OUTPUT
+					&& streamingTextWidget != null) {
+				displayStreamingTextWidget();
+				for (String line : event.getText().split("\n", -1)) {
+					streamingTextWidget.postText(line);
+				}
+			}
+			event = events.poll();
+		}
+
+		return newStatus;
+	}
+
+	/**
+	 * This operation sets the label of the streaming text widget and displays
+	 * it if it has not been displayed yet.
+	 */
+	private void displayStreamingTextWidget() {
+		if (!streamingWidgetDisplayed) {
+			// Set the widget label
+			streamingTextWidget.setLabel(formWidget.getForm().getName() + " "
+					+ formWidget.getForm().getId() + " Live Output");
+			// Open the widget
+			streamingTextWidget.display();
+			streamingWidgetDisplayed = true;
+		}
+	}
+
 	@Override
 	public void launch() {
 		Thread processorThread = new Thread(this);
@@ -12,26 +12,46 @@
  *******************************************************************************/
 package org.eclipse.ice.client.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.xml.bind.JAXBException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.core.iCore.ItemEvent;
+import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
 import org.eclipse.ice.item.ICompositeItemBuilder;
 import org.eclipse.ice.item.ItemBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 import com.sun.jersey.api.client.Client;
+import com.sun.jersey.api.client.ClientHandlerException;
+import com.sun.jersey.api.client.ClientResponse;
+import com.sun.jersey.api.client.UniformInterfaceException;
 import com.sun.jersey.api.client.WebResource;
+import com.sun.jersey.api.client.filter.GZIPContentEncodingFilter;
 import com.sun.jersey.api.client.filter.HTTPBasicAuthFilter;
 
 /**
@@ -114,6 +134,24 @@ public class RemoteCoreProxy implements ICore {
 
 	/** ----- **/
 
+	/**
+	 * The time in milliseconds that each long poll for ItemEvents waits on
+	 * the server. It must be shorter than the request timeout.
+	 */
+	private static final long EVENT_POLL_TIMEOUT = 25000;
+
+	/**
+	 * The threads that long poll for the ItemEvents of each registered
+	 * listener, by Item id and listener.
+	 */
+	private final ConcurrentHashMap<Integer, ConcurrentHashMap<IItemEventListener, Thread>> eventPollers = new ConcurrentHashMap<Integer, ConcurrentHashMap<IItemEventListener, Thread>>();
+
+	/**
+	 * The last version of the Form of each Item that was downloaded, by Item
+	 * id.
+	 */
+	private final ConcurrentHashMap<Integer, CachedForm> formCache = new ConcurrentHashMap<Integer, CachedForm>();
+
 	/**
 	 * <p>
 	 * The Constructor.
@@ -122,8 +160,9 @@ public class RemoteCoreProxy implements ICore {
 	 */
 	public RemoteCoreProxy() {
 
-		// Create the client
+		// Create the client. Responses are compressed if the server can.
 		client = new Client();
+		client.addFilter(new GZIPContentEncodingFilter(false));
 
 	}
 
@@ -362,15 +401,176 @@ public class RemoteCoreProxy implements ICore {
 		if (host != null) {
 			resource = baseResource.path("/items/" + id);
 
-			// Get the available ItemTypes
-			itemForm = resource.accept(MediaType.APPLICATION_XML)
-					.header("X-FOO", "BAR").get(Form.class);
-
+			// Ask for the Form, but only if it changed since the last time
+			CachedForm cached = formCache.get(itemId);
+			WebResource.Builder builder = resource
+					.accept(MediaType.APPLICATION_XML).header("X-FOO", "BAR");
+			if (cached != null) {
+				builder = builder.header(HttpHeaders.IF_NONE_MATCH,
+						cached.tag);
+			}
+			ClientResponse response = builder.get(ClientResponse.class);
+
+			// Use the new version or the cached one if it is still current
+			byte[] xml = null;
+			if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+				xml = response.getEntity(byte[].class);
+				String tag = response.getHeaders()
+						.getFirst(HttpHeaders.ETAG);
+				if (tag != null) {
+					formCache.put(itemId, new CachedForm(tag, xml));
+				}
+			} else if (cached != null && response
+					.getStatus() == Response.Status.NOT_MODIFIED
+							.getStatusCode()) {
+				xml = cached.xml;
+			} else {
+				formCache.remove(itemId);
+			}
+			response.close();
+
+			// Read the Form. A new copy is read every time so that changes
+			// made by the caller do not leak into the cache.
+			if (xml != null) {
+				try {
+					itemForm = (Form) ICEJAXBContextCache.unmarshal(
+							ICEJAXBContextCache.getContext(Form.class),
+							new ByteArrayInputStream(xml));
+				} catch (JAXBException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
 		}
 
 		return itemForm;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getItemRepresentation(int, Request)
+	 */
+	@Override
+	public Response getItemRepresentation(int itemId, Request request) {
+		// The proxy is a client of the REST API and does not serve it.
+		return null;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getComponent(int, int[])
+	 */
+	@Override
+	public Component getComponent(int itemId, int... componentIds) {
+		return (Component) getResource(
+				"/items/" + itemId + getComponentPath(componentIds));
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getComponentRepresentation(int, String, Request)
+	 */
+	@Override
+	public Response getComponentRepresentation(int itemId,
+			String componentPath, Request request) {
+		// The proxy is a client of the REST API and does not serve it.
+		return null;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getEntry(int, String, int[])
+	 */
+	@Override
+	public IEntry getEntry(int itemId, String entryName, int... componentIds) {
+		return (IEntry) getResource("/items/" + itemId
+				+ getComponentPath(componentIds) + "/entries/" + entryName);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getEntryRepresentation(int, String, String, Request)
+	 */
+	@Override
+	public Response getEntryRepresentation(int itemId, String componentPath,
+			String entryName, Request request) {
+		// The proxy is a client of the REST API and does not serve it.
+		return null;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#patchItem(int, String)
+	 */
+	@Override
+	public String patchItem(int itemId, String patch) {
+
+		// Only send the patch if the hostname is valid
+		if (host == null) {
+			return FormStatus.InfoError.toString();
+		}
+
+		return baseResource.path("/items/" + itemId)
+				.type("application/json-patch+json")
+				.accept(MediaType.TEXT_PLAIN).header("X-FOO", "BAR")
+				.post(String.class, patch);
+	}
+
+	/**
+	 * This operation returns the path of a component in the REST API.
+	 * 
+	 * @param componentIds
+	 *            The ids of the components that lead to the component
+	 * @return The path, such as "/components/5/components/12"
+	 */
+	private String getComponentPath(int... componentIds) {
+		StringBuilder path = new StringBuilder();
+		for (int id : componentIds) {
+			path.append("/components/").append(id);
+		}
+		return path.toString();
+	}
+
+	/**
+	 * This operation gets a component or Entry from the server.
+	 * 
+	 * @param path
+	 *            The path of the resource
+	 * @return The resource or null if it does not exist or could not be read
+	 */
+	private Object getResource(String path) {
+
+		// Local Declarations
+		Object resource = null;
+
+		// Only load the resource if the hostname is valid
+		if (host != null) {
+			ClientResponse response = baseResource.path(path)
+					.accept(MediaType.APPLICATION_XML).header("X-FOO", "BAR")
+					.get(ClientResponse.class);
+			if (response.getStatus() == Response.Status.OK
+					.getStatusCode()) {
+				try {
+					resource = ICEJAXBContextCache.unmarshal(
+							ICEJAXBContextCache.getContext(
+									new ICEJAXBClassProvider().getClasses()
+											.toArray(new Class<?>[0])),
+							response.getEntityInputStream());
+				} catch (JAXBException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
+			response.close();
+		}
+
+		return resource;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -396,6 +596,17 @@ public class RemoteCoreProxy implements ICore {
 		return types;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getAvailableItemTypesRepresentation(Request)
+	 */
+	@Override
+	public Response getAvailableItemTypesRepresentation(Request request) {
+		// The proxy is a client of the REST API and does not serve it.
+		return null;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -475,6 +686,26 @@ public class RemoteCoreProxy implements ICore {
 		return null;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#postUpdateBatch(byte[] batch)
+	 */
+	@Override
+	public String postUpdateBatch(byte[] batch) {
+
+		// Only post the batch if the hostname is valid
+		if (host == null) {
+			return null;
+		}
+
+		// Post the values
+		WebResource resource = baseResource.path("/update/batch");
+		return resource.type(MediaType.APPLICATION_OCTET_STREAM)
+				.accept(MediaType.TEXT_PLAIN).header("X-FOO", "BAR")
+				.post(String.class, batch);
+	}
+
 	@Override
 	public String createItem(String itemType, IProject project) {
 		// This operation is not supported by the remote core proxy and may
@@ -519,9 +750,167 @@ public class RemoteCoreProxy implements ICore {
 		
 	}
 
+	@Override
+	public Map<URI, String> importFilesAsItems(List<URI> files,
+			String itemType, IProject project) {
+		// This operation is not supported by the remote core proxy for the
+		// same reason as createItem(String, IProject).
+		return null;
+	}
+
+	@Override
+	public Map<URI, String> importDirectoryAsItems(URI directory,
+			String itemType, IProject project) {
+		// This operation is not supported by the remote core proxy for the
+		// same reason as createItem(String, IProject).
+		return null;
+	}
+
 	@Override
 	public void renameItem(int itemID, String name) {
 		// TODO Auto-generated method stub
 		
 	}
-}
\ No newline at end of file
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#addItemEventListener(int, IItemEventListener)
+	 */
+	@Override
+	public boolean addItemEventListener(final int itemId,
+			final IItemEventListener listener) {
+
+		// Only listen if the hostname is valid
+		if (host == null || listener == null) {
+			return false;
+		}
+
+		// Start a thread that long polls for the events of the Item
+		Thread poller = new Thread(() -> pollItemEvents(itemId, listener),
+				"ICE Item Event Poller " + itemId);
+		poller.setDaemon(true);
+		if (eventPollers
+				.computeIfAbsent(itemId,
+						id -> new ConcurrentHashMap<IItemEventListener, Thread>())
+				.putIfAbsent(listener, poller) == null) {
+			poller.start();
+		}
+
+		return true;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#removeItemEventListener(int, IItemEventListener)
+	 */
+	@Override
+	public void removeItemEventListener(int itemId,
+			IItemEventListener listener) {
+		// Removing the thread stops it after its current poll
+		ConcurrentHashMap<IItemEventListener, Thread> pollers = eventPollers
+				.get(itemId);
+		if (pollers != null && listener != null) {
+			pollers.remove(listener);
+		}
+	}
+
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see ICore#getItemEvents(int, long, long)
+	 */
+	@Override
+	public String getItemEvents(int itemId, long since, long timeout) {
+
+		// Only poll if the hostname is valid
+		if (host == null) {
+			return null;
+		}
+
+		// Get the events
+		WebResource resource = baseResource
+				.path("/items/" + String.valueOf(itemId) + "/events")
+				.queryParam("since", String.valueOf(since))
+				.queryParam("timeout", String.valueOf(timeout));
+		return resource.accept(MediaType.APPLICATION_JSON)
+				.header("X-FOO", "BAR").get(String.class);
+	}
+
+	/**
+	 * This operation long polls the server for the events of an Item and
+	 * passes them to the listener until the listener is removed.
+	 * 
+	 * @param itemId
+	 *            The id of the Item
+	 * @param listener
+	 *            The listener
+	 */
+	private void pollItemEvents(int itemId, IItemEventListener listener) {
+
+		// Local Declarations
+		Gson gson = new Gson();
+		long since = 0;
+		ConcurrentHashMap<IItemEventListener, Thread> pollers = eventPollers
+				.get(itemId);
+
+		// Poll until the listener is removed
+		while (pollers.get(listener) == Thread.currentThread()) {
+			try {
+				String json = getItemEvents(itemId, since, EVENT_POLL_TIMEOUT);
+				ItemEvent[] events = gson.fromJson(json, ItemEvent[].class);
+				if (events != null) {
+					for (ItemEvent event : events) {
+						since = Math.max(since, event.getSequence());
+						if (pollers.get(listener) == Thread.currentThread()) {
+							listener.itemEventPosted(event);
+						}
+					}
+				}
+			} catch (ClientHandlerException | UniformInterfaceException
+					| JsonParseException e) {
+				// Complain and wait a little before trying again
+				logger.error(getClass().getName() + " Exception!", e);
+				try {
+					Thread.sleep(1000);
+				} catch (InterruptedException e1) {
+					logger.error(getClass().getName() + " Exception!", e1);
+					break;
+				}
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * A version of the Form of an Item and the entity tag that the server
+	 * sent with it.
+	 */
+	private static class CachedForm {
+
+		/**
+		 * The entity tag, as it was sent by the server.
+		 */
+		private final String tag;
+
+		/**
+		 * The Form as XML.
+		 */
+		private final byte[] xml;
+
+		/**
+		 * The constructor.
+		 * 
+		 * @param tag
+		 *            The entity tag
+		 * @param xml
+		 *            The Form as XML
+		 */
+		private CachedForm(String tag, byte[] xml) {
+			this.tag = tag;
+			this.xml = xml;
+		}
+	}
+}
@@ -22,6 +22,7 @@ import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemEventListener;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.iclient.uiwidgets.IFormWidget;
@@ -266,6 +267,33 @@ public interface IClient {
 	 * @param widget IFormWidget to be used and displayed
 	 */
 	public void addFormWidget(IFormWidget widget);
+
+	/**
+	 * This operation registers a listener for the changes to an Item, or to
+	 * the list of Items if the id is ItemEvent.ALL_ITEMS, that the core
+	 * pushes. It is a simple pass-through to the core.
+	 * 
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param listener
+	 *            The listener
+	 * @return True if the core will push events to the listener, false if the
+	 *         caller must poll for changes instead.
+	 */
+	public boolean addItemEventListener(int itemId,
+			IItemEventListener listener);
+
+	/**
+	 * This operation unregisters a listener added with
+	 * addItemEventListener().
+	 * 
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeItemEventListener(int itemId,
+			IItemEventListener listener);
 	
 	/**
 	 * This operation retrieves the IClient implementation from the
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.eclipse.ice.core.launcher.BatchRunner;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the BatchRunner class.
+ *
+ */
+public class BatchRunnerTester {
+
+	/**
+	 * The manifest that is read by the test.
+	 */
+	private File manifest;
+
+	/**
+	 * This operation deletes the manifest.
+	 */
+	@After
+	public void cleanup() {
+		if (manifest != null) {
+			manifest.delete();
+		}
+	}
+
+	/**
+	 * This operation checks that manifests are read correctly.
+	 *
+	 * @throws IOException
+	 *             An exception if the manifest can not be written
+	 */
+	@Test
+	public void checkManifest() throws IOException {
+
+		// Write a manifest with comments, blank lines and a relative path
+		manifest = File.createTempFile("batch", ".txt");
+		File absolute = new File(manifest.getParentFile(), "b.csv")
+				.getAbsoluteFile();
+		write("# file | Item type | action\n\n"
+				+ "  a.i | MOOSE Workflow | Launch the Job  \n"
+				+ absolute.getPath() + "|Reflectivity Model|Calculate\n");
+
+		// Read it
+		List<BatchRunner.Job> jobs = BatchRunner.readManifest(manifest);
+		assertEquals(2, jobs.size());
+		assertEquals(new File(manifest.getAbsoluteFile().getParentFile(),
+				"a.i"), jobs.get(0).getFile());
+		assertEquals("MOOSE Workflow", jobs.get(0).getItemType());
+		assertEquals("Launch the Job", jobs.get(0).getAction());
+		assertEquals(absolute, jobs.get(1).getFile());
+		assertEquals("Calculate", jobs.get(1).getAction());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that invalid lines are reported with their line
+	 * numbers.
+	 *
+	 * @throws IOException
+	 *             An exception if the manifest can not be written
+	 */
+	@Test
+	public void checkInvalidManifest() throws IOException {
+
+		// The third line is missing its action
+		manifest = File.createTempFile("batch", ".txt");
+		write("# comment\na.i | MOOSE Workflow | Launch the Job\n"
+				+ "b.i | MOOSE Workflow |\n");
+		try {
+			BatchRunner.readManifest(manifest);
+			fail("The manifest should not be valid.");
+		} catch (IOException e) {
+			assertTrue(e.getMessage().contains(":3:"));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation writes the manifest.
+	 *
+	 * @param contents
+	 *            The contents of the manifest
+	 * @throws IOException
+	 *             An exception if it can not be written
+	 */
+	private void write(String contents) throws IOException {
+		Files.write(manifest.toPath(),
+				contents.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -37,6 +37,7 @@ import org.eclipse.ice.datastructures.ICEObject.Identifiable;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.item.messaging.MessageBatch;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -581,6 +582,17 @@ public class CoreTester {
 		// Make sure posting a message without json content fails
 		assertNull(iCECore.postUpdateMessage("not&realContent"));
 
+		// Post a batch of values to a new Item and make sure it was updated
+		id = Integer.parseInt(iCECore.createItem(fakeGeometryBuilder.getItemName()));
+		MessageBatch batch = new MessageBatch(id);
+		batch.add("temperature", 0.5, 300.0);
+		batch.add("pressure", 0.5, 1.0e5);
+		assertEquals("OK", iCECore.postUpdateBatch(batch.toBytes()));
+		assertTrue(fakeGeometryBuilder.getLastFakeItem().wasUpdated());
+
+		// Make sure posting an invalid batch fails
+		assertNull(iCECore.postUpdateBatch(new byte[] { 1, 2, 3 }));
+
 		return;
 	}
 
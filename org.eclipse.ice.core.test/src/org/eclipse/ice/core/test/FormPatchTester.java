@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.eclipse.ice.core.internal.itemmanager.FormPatch;
+import org.eclipse.ice.datastructures.entry.DiscreteEntry;
+import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.StringEntry;
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.TreeComposite;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the FormPatch class.
+ *
+ */
+public class FormPatchTester {
+
+	/**
+	 * The Form that is patched. It has a DataComponent with id 1 and a
+	 * TreeComposite with id 2 whose data node has id 3.
+	 */
+	private Form form;
+
+	/**
+	 * The Entry named "name" in component 1.
+	 */
+	private IEntry nameEntry;
+
+	/**
+	 * The Entry named "order" in component 3 of component 2.
+	 */
+	private IEntry orderEntry;
+
+	/**
+	 * This operation creates the Form.
+	 */
+	@Before
+	public void setup() {
+
+		// Create the top-level DataComponent
+		DataComponent data = new DataComponent();
+		data.setId(1);
+		nameEntry = new StringEntry();
+		nameEntry.setName("name");
+		nameEntry.setValue("mesh.e");
+		data.addEntry(nameEntry);
+
+		// Create the tree and its data node
+		TreeComposite tree = new TreeComposite();
+		tree.setId(2);
+		DataComponent node = new DataComponent();
+		node.setId(3);
+		orderEntry = new DiscreteEntry("1", "2");
+		orderEntry.setName("order");
+		orderEntry.setValue("1");
+		node.addEntry(orderEntry);
+		tree.addComponent(node);
+
+		// Create the Form
+		form = new Form();
+		form.addComponent(data);
+		form.addComponent(tree);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that components and Entries can be found by their
+	 * paths.
+	 */
+	@Test
+	public void checkLookup() {
+		assertSame(nameEntry, FormPatch.findEntry(form, "name", 1));
+		assertSame(orderEntry, FormPatch.findEntry(form, "order", 2, 3));
+		assertEquals(3, FormPatch.findComponent(form, 2, 3).getId());
+		assertNull(FormPatch.findComponent(form, 1, 3));
+		assertNull(FormPatch.findEntry(form, "order", 2));
+		assertEquals(12, FormPatch.parseComponentPath("5/components/12")[1]);
+		return;
+	}
+
+	/**
+	 * This operation checks that the child TreeComposites of a tree, such as
+	 * the blocks of a MOOSE input tree, can be reached even if their ids are
+	 * the same as those of the tree's data nodes.
+	 */
+	@Test
+	public void checkTreeChildren() {
+
+		// Add a child to the tree with the same id as its data node, and a
+		// grandchild with a data node of its own
+		TreeComposite tree = (TreeComposite) form.getComponent(2);
+		TreeComposite child = new TreeComposite();
+		child.setId(3);
+		tree.setNextChild(child);
+		TreeComposite grandchild = new TreeComposite();
+		grandchild.setId(0);
+		child.setNextChild(grandchild);
+		DataComponent node = new DataComponent();
+		node.setId(1);
+		IEntry variable = new StringEntry();
+		variable.setName("variable");
+		variable.setValue("u");
+		node.addEntry(variable);
+		grandchild.addComponent(node);
+
+		// The data node is found at the end of a path and the child inside
+		assertSame(orderEntry, FormPatch.findEntry(form, "order", 2, 3));
+		assertSame(grandchild, FormPatch.findComponent(form, 2, 3, 0));
+		assertSame(variable,
+				FormPatch.findEntry(form, "variable", 2, 3, 0, 1));
+
+		// Patch the Entry of the grandchild
+		FormPatch.parse("[{\"op\":\"replace\",\"path\":\"/components/2/"
+				+ "components/3/components/0/components/1/entries/variable\","
+				+ "\"value\":\"v\"}]").apply(form);
+		assertEquals("v", variable.getValue());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that patches change the values of Entries.
+	 */
+	@Test
+	public void checkReplace() {
+
+		// Replace two values, one of them nested and with an escaped name
+		nameEntry.setName("mesh/file");
+		FormPatch.parse("[{\"op\":\"test\",\"path\":\"/components/1/entries/"
+				+ "mesh~1file\",\"value\":\"mesh.e\"},"
+				+ "{\"op\":\"replace\",\"path\":\"/components/1/entries/"
+				+ "mesh~1file\",\"value\":\"new.e\"},"
+				+ "{\"op\":\"replace\",\"path\":\"/components/2/components/3/"
+				+ "entries/order\",\"value\":\"2\"}]").apply(form);
+		assertEquals("new.e", nameEntry.getValue());
+		assertEquals("2", orderEntry.getValue());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that patches that fail do not change the Form and
+	 * that invalid patches are rejected.
+	 */
+	@Test
+	public void checkFailures() {
+
+		// The second value is not allowed, so the first should be restored
+		FormPatch patch = FormPatch.parse("["
+				+ "{\"op\":\"replace\",\"path\":\"/components/1/entries/name\","
+				+ "\"value\":\"new.e\"},"
+				+ "{\"op\":\"replace\",\"path\":\"/components/2/components/3/"
+				+ "entries/order\",\"value\":\"7\"}]");
+		try {
+			patch.apply(form);
+			fail("The patch should not apply.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+		assertEquals("mesh.e", nameEntry.getValue());
+		assertEquals("1", orderEntry.getValue());
+
+		// Failed tests should stop the patch
+		patch = FormPatch.parse("["
+				+ "{\"op\":\"replace\",\"path\":\"/components/1/entries/name\","
+				+ "\"value\":\"new.e\"},"
+				+ "{\"op\":\"test\",\"path\":\"/components/1/entries/name\","
+				+ "\"value\":\"other.e\"}]");
+		try {
+			patch.apply(form);
+			fail("The test should fail.");
+		} catch (IllegalArgumentException e) {
+			// Expected
+		}
+		assertEquals("mesh.e", nameEntry.getValue());
+
+		// Invalid documents should be rejected
+		String[] invalid = { "{}", "[1]", "not json",
+				"[{\"op\":\"remove\",\"path\":\"/components/1/entries/name\"}]",
+				"[{\"op\":\"replace\",\"path\":\"/components/x/entries/name\","
+						+ "\"value\":\"a\"}]",
+				"[{\"op\":\"replace\",\"path\":\"/entries/name\","
+						+ "\"value\":\"a\"}]" };
+		for (String document : invalid) {
+			try {
+				FormPatch.parse(document);
+				fail(document + " should be rejected.");
+			} catch (IllegalArgumentException e) {
+				// Expected
+			}
+		}
+
+		return;
+	}
+}
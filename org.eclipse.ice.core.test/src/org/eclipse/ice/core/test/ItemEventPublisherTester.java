@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.core.iCore.ItemEvent;
+import org.eclipse.ice.core.internal.ItemEventPublisher;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the ItemEventPublisher.
+ *
+ */
+public class ItemEventPublisherTester {
+
+	/**
+	 * The publisher under test.
+	 */
+	private ItemEventPublisher publisher;
+
+	/**
+	 * The status reported for the Item.
+	 */
+	private volatile FormStatus status;
+
+	/**
+	 * The output file of the Item.
+	 */
+	private File outputFile;
+
+	/**
+	 * This operation creates the publisher for a single Item with id 1.
+	 *
+	 * @throws IOException
+	 *             An exception if the output file can't be created
+	 */
+	@Before
+	public void setup() throws IOException {
+		outputFile = File.createTempFile("itemEvents", ".txt");
+		status = FormStatus.ReadyToProcess;
+		publisher = new ItemEventPublisher(
+				id -> (id == 1) ? status : null,
+				id -> (id == 1) ? outputFile : null);
+	}
+
+	/**
+	 * This operation stops the publisher and deletes the output file.
+	 */
+	@After
+	public void teardown() {
+		publisher.shutdown();
+		outputFile.delete();
+	}
+
+	/**
+	 * This operation appends text to the output file.
+	 *
+	 * @param text
+	 *            The text
+	 * @throws IOException
+	 *             An exception if the file can't be written
+	 */
+	private void write(String text) throws IOException {
+		try (FileWriter writer = new FileWriter(outputFile, true)) {
+			writer.write(text);
+		}
+	}
+
+	/**
+	 * This operation checks that listeners are sent the status changes and
+	 * new output of an Item in order.
+	 *
+	 * @throws Exception
+	 *             An exception if the test is interrupted or can't write
+	 */
+	@Test
+	public void checkListeners() throws Exception {
+
+		// Local Declarations
+		final LinkedBlockingQueue<ItemEvent> events = new LinkedBlockingQueue<ItemEvent>();
+		IItemEventListener listener = new IItemEventListener() {
+			@Override
+			public void itemEventPosted(ItemEvent event) {
+				events.add(event);
+			}
+		};
+
+		// The first event should be the current status
+		publisher.addListener(1, listener);
+		ItemEvent event = events.poll(5, TimeUnit.SECONDS);
+		assertNotNull(event);
+		assertEquals(ItemEvent.Type.STATUS, event.getType());
+		assertEquals(FormStatus.ReadyToProcess, event.getStatus());
+
+		// Start "processing" and publish it right away
+		status = FormStatus.Processing;
+		publisher.publishStatus(1);
+		event = events.poll(5, TimeUnit.SECONDS);
+		assertEquals(FormStatus.Processing, event.getStatus());
+
+		// Only finished lines should be posted while processing
+		write("line 1\nline 2\nline");
+		event = events.poll(5, TimeUnit.SECONDS);
+		assertEquals(ItemEvent.Type.OUTPUT, event.getType());
+		assertEquals("line 1\nline 2", event.getText());
+
+		// The rest of the output should be posted before the final status
+		write(" 3");
+		status = FormStatus.Processed;
+		event = events.poll(5, TimeUnit.SECONDS);
+		assertEquals(ItemEvent.Type.OUTPUT, event.getType());
+		assertEquals("line 3", event.getText());
+		ItemEvent last = events.poll(5, TimeUnit.SECONDS);
+		assertEquals(FormStatus.Processed, last.getStatus());
+		assertTrue(last.getSequence() > event.getSequence());
+
+		// Nothing else should happen after the listener is removed
+		publisher.removeListener(1, listener);
+		status = FormStatus.ReadyToProcess;
+		publisher.publishStatus(1);
+		assertEquals(null, events.poll(200, TimeUnit.MILLISECONDS));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that long polls return the new events and wait for
+	 * them if there are none.
+	 *
+	 * @throws Exception
+	 *             An exception if the test is interrupted
+	 */
+	@Test
+	public void checkLongPolling() throws Exception {
+
+		// The first poll should return the current status
+		List<ItemEvent> events = publisher.waitForEvents(1, 0, 5000);
+		assertEquals(1, events.size());
+		assertEquals(FormStatus.ReadyToProcess, events.get(0).getStatus());
+		long since = events.get(0).getSequence();
+
+		// Polls should time out if nothing changes
+		long start = System.currentTimeMillis();
+		events = publisher.waitForEvents(1, since, 200);
+		assertTrue(events.isEmpty());
+		assertTrue(System.currentTimeMillis() - start >= 150);
+
+		// A waiting poll should return as soon as the Item changes
+		new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				return;
+			}
+			status = FormStatus.Processing;
+		}).start();
+		events = publisher.waitForEvents(1, since, 5000);
+		assertEquals(1, events.size());
+		assertEquals(FormStatus.Processing, events.get(0).getStatus());
+
+		// Changes to the list of Items go to the pollers of all Items
+		publisher.waitForEvents(ItemEvent.ALL_ITEMS, 0, 0);
+		publisher.publishItemListChange(2);
+		events = publisher.waitForEvents(ItemEvent.ALL_ITEMS, 0, 5000);
+		assertEquals(1, events.size());
+		assertEquals(ItemEvent.Type.ITEM_LIST, events.get(0).getType());
+		assertEquals(2, events.get(0).getItemId());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that events are delivered again after the
+	 * publisher is shut down and started, as it is when the Core restarts.
+	 *
+	 * @throws Exception
+	 *             An exception if the test is interrupted
+	 */
+	@Test
+	public void checkRestart() throws Exception {
+
+		// Local Declarations
+		final LinkedBlockingQueue<ItemEvent> events = new LinkedBlockingQueue<ItemEvent>();
+
+		// Stop and start the publisher
+		publisher.shutdown();
+		publisher.start();
+
+		// The listener should still be sent the status and its changes
+		publisher.addListener(1, event -> events.add(event));
+		ItemEvent event = events.poll(5, TimeUnit.SECONDS);
+		assertNotNull(event);
+		assertEquals(FormStatus.ReadyToProcess, event.getStatus());
+		status = FormStatus.Processing;
+		publisher.publishStatus(1);
+		event = events.poll(5, TimeUnit.SECONDS);
+		assertNotNull(event);
+		assertEquals(FormStatus.Processing, event.getStatus());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that a client that keeps polling with the last
+	 * sequence number it saw still gets the events of a new publisher, as it
+	 * does when the server that it polls is restarted.
+	 *
+	 * @throws Exception
+	 *             An exception if the test is interrupted
+	 */
+	@Test
+	public void checkNewServer() throws Exception {
+
+		// Poll the first server until it has posted a few events
+		List<ItemEvent> events = publisher.waitForEvents(1, 0, 5000);
+		status = FormStatus.Processing;
+		publisher.publishStatus(1);
+		events = publisher.waitForEvents(1, events.get(0).getSequence(), 5000);
+		assertEquals(1, events.size());
+		long since = events.get(0).getSequence();
+		publisher.shutdown();
+
+		// Replace it with a new one and poll with the same sequence number
+		Thread.sleep(10);
+		publisher = new ItemEventPublisher(id -> (id == 1) ? status : null,
+				id -> (id == 1) ? outputFile : null);
+		events = publisher.waitForEvents(1, since, 5000);
+		assertEquals(1, events.size());
+		assertEquals(FormStatus.Processing, events.get(0).getStatus());
+		assertTrue(events.get(0).getSequence() > since);
+
+		return;
+	}
+}
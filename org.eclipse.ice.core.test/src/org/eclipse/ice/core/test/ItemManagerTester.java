@@ -22,7 +22,13 @@ import static org.junit.Assert.fail;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -578,4 +584,113 @@ public class ItemManagerTester {
 
 	}
 
-}
\ No newline at end of file
+	/**
+	 * This operation checks that the ItemManager can create and load Items for
+	 * many files at once and that it persists them after they are loaded.
+	 */
+	@Test
+	public void checkBulkItemCreation() {
+
+		// Local Declarations
+		int numFiles = 20;
+		List<String> filenames = new ArrayList<String>();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		TreeSet<Integer> ids = new TreeSet<Integer>();
+
+		for (int i = 0; i < numFiles; i++) {
+			filenames.add("test" + i + ".input");
+		}
+		// Null files can not be loaded
+		filenames.add(null);
+
+		try {
+			// Create the Items
+			fakePersistenceProvider.reset();
+			List<Integer> created = itemManager.createItems(filenames,
+					fakeGeometryBuilder.getItemName(), null, executor);
+
+			// There should be one id per file in the same order
+			assertEquals(numFiles + 1, created.size());
+			assertEquals(-1, created.get(numFiles).intValue());
+			ids.addAll(created.subList(0, numFiles));
+			assertEquals(numFiles, ids.size());
+			assertEquals(1, ids.first().intValue());
+			assertEquals(numFiles, itemManager.retrieveItemList().size());
+			assertTrue(fakeGeometryBuilder.getLastFakeItem().wasLoaded());
+			assertTrue(fakePersistenceProvider.itemPersisted());
+
+			// Nothing should be created for an unknown type
+			fakePersistenceProvider.reset();
+			created = itemManager.createItems(Arrays.asList("test.input"),
+					"NotAnItemType", null, executor);
+			assertEquals(-1, created.get(0).intValue());
+			assertEquals(numFiles, itemManager.retrieveItemList().size());
+			assertFalse(fakePersistenceProvider.itemPersisted());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation checks that Items can be created and deleted from many
+	 * threads at once without losing or duplicating ids.
+	 *
+	 * @throws Exception
+	 *             An exception if a task fails
+	 */
+	@Test
+	public void checkConcurrentItemManagement() throws Exception {
+
+		// Local Declarations
+		int numItems = 200;
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Callable<Integer>> creators = new ArrayList<Callable<Integer>>();
+		List<Callable<Boolean>> deleters = new ArrayList<Callable<Boolean>>();
+		TreeSet<Integer> ids = new TreeSet<Integer>();
+
+		try {
+			// Create the Items concurrently
+			for (int i = 0; i < numItems; i++) {
+				creators.add(() -> itemManager.createItem(
+						fakeGeometryBuilder.getItemName(), null));
+			}
+			for (Future<Integer> id : executor.invokeAll(creators)) {
+				ids.add(id.get());
+			}
+			// The ids should be unique and contiguous
+			assertEquals(numItems, ids.size());
+			assertEquals(1, ids.first().intValue());
+			assertEquals(numItems, ids.last().intValue());
+			assertEquals(numItems, itemManager.retrieveItemList().size());
+
+			// Delete the Items with even ids concurrently
+			for (int i = 2; i <= numItems; i += 2) {
+				final int id = i;
+				deleters.add(() -> itemManager.deleteItem(id));
+			}
+			for (Future<Boolean> deleted : executor.invokeAll(deleters)) {
+				assertTrue(deleted.get());
+			}
+			assertEquals(numItems / 2, itemManager.retrieveItemList().size());
+
+			// New Items should reuse exactly the deleted ids
+			ids.clear();
+			for (Future<Integer> id : executor
+					.invokeAll(creators.subList(0, numItems / 2))) {
+				ids.add(id.get());
+			}
+			assertEquals(numItems / 2, ids.size());
+			for (int id : ids) {
+				assertEquals(0, id % 2);
+			}
+			assertEquals(numItems, itemManager.retrieveItemList().size());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		return;
+	}
+
+}
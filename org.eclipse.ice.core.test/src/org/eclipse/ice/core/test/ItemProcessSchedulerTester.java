@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ice.core.internal.ItemProcessScheduler;
+import org.eclipse.ice.core.internal.ItemProcessScheduler.Priority;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the ItemProcessScheduler.
+ *
+ */
+public class ItemProcessSchedulerTester {
+
+	/**
+	 * The scheduler under test.
+	 */
+	private ItemProcessScheduler scheduler;
+
+	/**
+	 * This operation stops the scheduler.
+	 */
+	@After
+	public void teardown() {
+		if (scheduler != null) {
+			scheduler.shutdown();
+		}
+	}
+
+	/**
+	 * This operation submits a request that blocks the Item until the latch is
+	 * released.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param latch
+	 *            The latch
+	 * @return The future result of the request
+	 */
+	private Future<FormStatus> block(int itemId, CountDownLatch latch) {
+		final CountDownLatch started = new CountDownLatch(1);
+		Future<FormStatus> result = scheduler.submit(itemId,
+				Priority.INTERACTIVE, () -> {
+					started.countDown();
+					latch.await();
+					return FormStatus.Processed;
+				});
+		try {
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return result;
+	}
+
+	/**
+	 * This operation checks that the requests for an Item run one at a time and
+	 * in order.
+	 *
+	 * @throws Exception
+	 *             An exception if a request fails or the test is interrupted
+	 */
+	@Test
+	public void checkSerialization() throws Exception {
+
+		// Local Declarations
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final List<Integer> order = new CopyOnWriteArrayList<Integer>();
+		List<Future<FormStatus>> results = new ArrayList<Future<FormStatus>>();
+
+		scheduler = new ItemProcessScheduler(4);
+
+		// Submit a batch of requests for the same Item
+		for (int i = 0; i < 20; i++) {
+			final int number = i;
+			results.add(scheduler.submit(1, Priority.INTERACTIVE, () -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(),
+						Math::max);
+				Thread.sleep(2);
+				order.add(number);
+				running.decrementAndGet();
+				return FormStatus.Processed;
+			}));
+		}
+
+		// They should all finish, one at a time, in order
+		for (Future<FormStatus> result : results) {
+			assertEquals(FormStatus.Processed,
+					result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, maxRunning.get());
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i, order.get(i).intValue());
+		}
+		assertFalse(scheduler.isPending(1));
+		assertEquals(20, scheduler.getSubmittedCount());
+		assertEquals(20, scheduler.getCompletedCount());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that interactive requests start before batch
+	 * requests that were submitted earlier.
+	 *
+	 * @throws Exception
+	 *             An exception if a request fails or the test is interrupted
+	 */
+	@Test
+	public void checkPriority() throws Exception {
+
+		// Local Declarations
+		final List<Integer> order = new CopyOnWriteArrayList<Integer>();
+		CountDownLatch latch = new CountDownLatch(1);
+		List<Future<FormStatus>> results = new ArrayList<Future<FormStatus>>();
+
+		scheduler = new ItemProcessScheduler(1);
+
+		// Keep the only worker busy
+		block(1, latch);
+
+		// Queue two batch requests and then an interactive one
+		int[] ids = { 2, 3, 4 };
+		Priority[] priorities = { Priority.BATCH, Priority.BATCH,
+				Priority.INTERACTIVE };
+		for (int i = 0; i < ids.length; i++) {
+			final int id = ids[i];
+			results.add(scheduler.submit(id, priorities[i], () -> {
+				order.add(id);
+				return FormStatus.Processed;
+			}));
+		}
+		assertEquals(2, scheduler.getQueueDepth(Priority.BATCH));
+		assertEquals(1, scheduler.getQueueDepth(Priority.INTERACTIVE));
+		assertTrue(scheduler.isPending(2));
+		assertTrue(scheduler.isPending(2, Priority.BATCH));
+		assertFalse(scheduler.isPending(2, Priority.INTERACTIVE));
+		assertTrue(scheduler.isPending(4, Priority.INTERACTIVE));
+		assertFalse(scheduler.isPending(4, Priority.BATCH));
+
+		// The interactive request should run first
+		latch.countDown();
+		for (Future<FormStatus> result : results) {
+			result.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(4, order.get(0).intValue());
+		assertEquals(2, order.get(1).intValue());
+		assertEquals(3, order.get(2).intValue());
+		assertEquals(0, scheduler.getQueueDepth(Priority.BATCH));
+		assertEquals(0, scheduler.getQueueDepth(Priority.INTERACTIVE));
+		assertFalse(scheduler.isPending(2, Priority.BATCH));
+		assertFalse(scheduler.isPending(4, Priority.INTERACTIVE));
+		assertTrue(scheduler.getMaxWaitTime() >= 0);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that requests that have not started can be
+	 * cancelled and that running requests are not.
+	 *
+	 * @throws Exception
+	 *             An exception if a request fails or the test is interrupted
+	 */
+	@Test
+	public void checkCancellation() throws Exception {
+
+		// Local Declarations
+		final AtomicInteger ran = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+
+		scheduler = new ItemProcessScheduler(1);
+
+		// Block Item 1 and queue one request behind it and one for Item 2
+		Future<FormStatus> running = block(1, latch);
+		Future<FormStatus> waiting = scheduler.submit(1, Priority.INTERACTIVE,
+				() -> {
+					ran.incrementAndGet();
+					return FormStatus.Processed;
+				});
+		Future<FormStatus> queued = scheduler.submit(2, Priority.BATCH, () -> {
+			ran.incrementAndGet();
+			return FormStatus.Processed;
+		});
+
+		// Only the requests that have not started should be cancelled
+		assertEquals(1, scheduler.cancel(1));
+		assertEquals(1, scheduler.cancel(2));
+		assertTrue(waiting.isCancelled());
+		assertTrue(queued.isCancelled());
+		assertFalse(running.isDone());
+		assertFalse(scheduler.isPending(2));
+		assertFalse(scheduler.isPending(2, Priority.BATCH));
+		assertTrue(scheduler.isPending(1));
+		assertTrue(scheduler.isPending(1, Priority.INTERACTIVE));
+
+		// Finish the running request
+		latch.countDown();
+		assertEquals(FormStatus.Processed, running.get(5, TimeUnit.SECONDS));
+		assertFalse(scheduler.isPending(1));
+		assertEquals(0, ran.get());
+		assertEquals(0, scheduler.getQueueDepth(Priority.BATCH));
+
+		// New requests for the Item should still run
+		assertEquals(FormStatus.Processed,
+				scheduler.submit(1, Priority.INTERACTIVE,
+						() -> FormStatus.Processed).get(5, TimeUnit.SECONDS));
+
+		return;
+	}
+}
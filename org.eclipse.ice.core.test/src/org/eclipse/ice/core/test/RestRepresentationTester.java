@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.ice.core.internal.RestRepresentation;
+import org.eclipse.ice.datastructures.form.Form;
+import org.junit.Test;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * This class is responsible for testing the RestRepresentation class.
+ *
+ */
+public class RestRepresentationTester {
+
+	/**
+	 * This operation checks that entity tags only change when the content
+	 * does.
+	 *
+	 * @throws Exception
+	 *             An exception if the Form can not be written
+	 */
+	@Test
+	public void checkTags() throws Exception {
+
+		// Local Declarations
+		Form form = new Form();
+		form.setName("Tagged Form");
+
+		// The same Form should always have the same tag
+		byte[] first = RestRepresentation.marshal(form, Form.class);
+		byte[] second = RestRepresentation.marshal(form, Form.class);
+		assertEquals(RestRepresentation.tag(first),
+				RestRepresentation.tag(second));
+		assertFalse(RestRepresentation.tag(first).isWeak());
+
+		// Changing it should change the tag
+		form.setName("Renamed Form");
+		byte[] third = RestRepresentation.marshal(form, Form.class);
+		assertFalse(RestRepresentation.tag(first)
+				.equals(RestRepresentation.tag(third)));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that XML is converted to JSON.
+	 *
+	 * @throws Exception
+	 *             An exception if the XML can not be read
+	 */
+	@Test
+	public void checkJson() throws Exception {
+
+		// Local Declarations
+		String xml = "<?xml version=\"1.0\"?>"
+				+ "<Form id=\"3\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+				+ "<name>Test</name><entry>1</entry><entry>2</entry>"
+				+ "<component type=\"data\"><name>Data</name></component>"
+				+ "</Form>";
+
+		// Convert it
+		String json = RestRepresentation
+				.toJson(xml.getBytes(StandardCharsets.UTF_8));
+		JsonObject form = new JsonParser().parse(json).getAsJsonObject()
+				.getAsJsonObject("Form");
+
+		// Check the attributes, text and repeated elements
+		assertEquals("3", form.get("id").getAsString());
+		assertFalse(form.has("xmlns:xsi"));
+		assertEquals("Test", form.get("name").getAsString());
+		JsonArray entries = form.getAsJsonArray("entry");
+		assertEquals(2, entries.size());
+		assertEquals("2", entries.get(1).getAsString());
+		JsonObject component = form.getAsJsonObject("component");
+		assertEquals("data", component.get("type").getAsString());
+		assertEquals("Data", component.get("name").getAsString());
+
+		// A real Form should convert too
+		Form realForm = new Form();
+		realForm.setName("Real Form");
+		json = RestRepresentation
+				.toJson(RestRepresentation.marshal(realForm, Form.class));
+		assertTrue(json.contains("Real Form"));
+
+		return;
+	}
+}
@@ -15,6 +15,8 @@ package org.eclipse.ice.core.iCore;
 import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
@@ -22,11 +24,17 @@ import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.item.ICompositeItemBuilder;
@@ -195,10 +203,140 @@ public interface ICore {
 	 *            retrieved.
 	 * @return A Form that represents the Item managed by the core.
 	 */
+	public Form getItem(int itemId);
+
+	/**
+	 * This operation returns the Form of an Item, as getItem() does, to
+	 * clients of the REST API. The Form is written as XML or, if the client
+	 * prefers it, as JSON and the response is compressed if the client accepts
+	 * gzip encoding.
+	 *
+	 * The response carries an entity tag that identifies the version of the
+	 * Form. If the client sends the tag of the version it already has in an
+	 * If-None-Match header and the Form has not changed, the response is 304
+	 * (Not Modified) and has no content.
+	 *
+	 * @param itemId
+	 *            The identification number of the Item that should be
+	 *            retrieved.
+	 * @param request
+	 *            The request, which is injected by the web service
+	 * @return The response, which is 404 (Not Found) if the Item does not
+	 *         exist
+	 */
 	@GET
 	@Path("items/{id}")
-	@Produces("application/xml")
-	public Form getItem(@PathParam("id") int itemId);
+	@Produces({ "application/xml", "application/json" })
+	public Response getItemRepresentation(@PathParam("id") int itemId,
+			@Context Request request);
+
+	/**
+	 * This operation returns one component of the Form of an Item, so that
+	 * clients that only need that component do not need to get the whole
+	 * Form.
+	 *
+	 * @param itemId
+	 *            The identification number of the Item
+	 * @param componentIds
+	 *            The ids of the components that lead to the component,
+	 *            starting with the id of a component of the Form. For example,
+	 *            (5, 12) is component 12 of component 5 of the Form.
+	 * @return The component or null if it does not exist
+	 */
+	public Component getComponent(int itemId, int... componentIds);
+
+	/**
+	 * This operation returns one component of the Form of an Item, as
+	 * getComponent() does, to clients of the REST API. The path of the
+	 * component is the list of component ids separated by "/components/", so
+	 * "items/2/components/5/components/12" is component 12 of component 5 of
+	 * the Form of Item 2. It supports the same representations and conditional
+	 * requests as getItemRepresentation().
+	 *
+	 * @param itemId
+	 *            The identification number of the Item
+	 * @param componentPath
+	 *            The path of the component
+	 * @param request
+	 *            The request, which is injected by the web service
+	 * @return The response, which is 404 (Not Found) if the component does not
+	 *         exist
+	 */
+	@GET
+	@Path("items/{id}/components/{cid: [0-9]+(/components/[0-9]+)*}")
+	@Produces({ "application/xml", "application/json" })
+	public Response getComponentRepresentation(@PathParam("id") int itemId,
+			@PathParam("cid") String componentPath, @Context Request request);
+
+	/**
+	 * This operation returns one Entry of a DataComponent in the Form of an
+	 * Item.
+	 *
+	 * @param itemId
+	 *            The identification number of the Item
+	 * @param entryName
+	 *            The name of the Entry
+	 * @param componentIds
+	 *            The ids of the components that lead to the DataComponent, as
+	 *            for getComponent()
+	 * @return The Entry or null if it does not exist
+	 */
+	public IEntry getEntry(int itemId, String entryName, int... componentIds);
+
+	/**
+	 * This operation returns one Entry of a DataComponent in the Form of an
+	 * Item, as getEntry() does, to clients of the REST API. Its path is the
+	 * path of the component followed by "/entries/" and the name of the Entry.
+	 * It supports the same representations and conditional requests as
+	 * getItemRepresentation().
+	 *
+	 * @param itemId
+	 *            The identification number of the Item
+	 * @param componentPath
+	 *            The path of the DataComponent
+	 * @param entryName
+	 *            The name of the Entry
+	 * @param request
+	 *            The request, which is injected by the web service
+	 * @return The response, which is 404 (Not Found) if the Entry does not
+	 *         exist
+	 */
+	@GET
+	@Path("items/{id}/components/{cid: [0-9]+(/components/[0-9]+)*}/entries/{name}")
+	@Produces({ "application/xml", "application/json" })
+	public Response getEntryRepresentation(@PathParam("id") int itemId,
+			@PathParam("cid") String componentPath,
+			@PathParam("name") String entryName, @Context Request request);
+
+	/**
+	 * This operation changes the values of some of the Entries in the Form of
+	 * an Item and then submits the Form for review, as updateItem() does, so
+	 * that clients only need to send the values that changed.
+	 *
+	 * The patch is a JSON Patch (RFC 6902) document with "replace" and "test"
+	 * operations whose paths are the paths of Entries, as for
+	 * getEntryRepresentation(), starting with "/components/". For example:
+	 *
+	 * <pre>
+	 * [ { "op": "replace", "path": "/components/5/entries/order", "value": "2" } ]
+	 * </pre>
+	 *
+	 * The patch is applied atomically. If an Entry does not exist, a test
+	 * fails or an Entry does not accept its new value, the Form is not
+	 * changed.
+	 *
+	 * @param itemId
+	 *            The identification number of the Item
+	 * @param patch
+	 *            The patch
+	 * @return The name of the FormStatus of the Item after the review, which
+	 *         is InfoError if the patch could not be applied
+	 */
+	@POST
+	@Path("items/{id}")
+	@Consumes("application/json-patch+json")
+	@Produces("text/plain")
+	public String patchItem(@PathParam("id") int itemId, String patch);
 
 	/**
 	 * This operation returns a list of the available Item types that can be
@@ -209,10 +347,23 @@ public interface ICore {
 	 *         determined by the Items that are currently registered with the
 	 *         running realization of ICore.
 	 */
+	public ICEList<String> getAvailableItemTypes();
+
+	/**
+	 * This operation returns the list of the available Item types, as
+	 * getAvailableItemTypes() does, to clients of the REST API. It supports
+	 * the same representations and conditional requests as
+	 * getItemRepresentation().
+	 *
+	 * @param request
+	 *            The request, which is injected by the web service
+	 * @return The response
+	 */
 	@GET
 	@Path("items")
-	@Produces("application/xml")
-	public ICEList<String> getAvailableItemTypes();
+	@Produces({ "application/xml", "application/json" })
+	public Response getAvailableItemTypesRepresentation(
+			@Context Request request);
 
 	/**
 	 * This operation posts an updated Form to the Core so that the updated
@@ -395,6 +546,51 @@ public interface ICore {
 	 */
 	public void importFile(URI file, String projectName);
 
+	/**
+	 * This operation directs the core to import a list of files into the
+	 * specified IProject instance and load each file as the input of a new Item
+	 * of the specified type. The files are imported and loaded in parallel and
+	 * the new Items are persisted together after all of the files have been
+	 * loaded.
+	 *
+	 * @param files
+	 *            The files that should be imported. Null files are skipped.
+	 *            Only the first of several files with the same name is
+	 *            imported, since they would be copied to the same file in the
+	 *            project.
+	 * @param itemType
+	 *            The type of Item to create for each file.
+	 * @param project
+	 *            The project instance the files will be imported into.
+	 * @return A map from each file, in the order of the list, to the
+	 *         identification number given as a String of its newly created
+	 *         Item or -1 if it was unable to import the file or create the
+	 *         Item. It is safe to parse these strings as integers.
+	 */
+	public Map<URI, String> importFilesAsItems(List<URI> files,
+			String itemType, IProject project);
+
+	/**
+	 * This operation directs the core to import every file in a directory into
+	 * the specified IProject instance and load each file as the input of a new
+	 * Item of the specified type, as importFilesAsItems() does. Subdirectories
+	 * and hidden files are not imported.
+	 *
+	 * @param directory
+	 *            The directory whose files should be imported. Nothing will
+	 *            happen if this argument is null or not a directory.
+	 * @param itemType
+	 *            The type of Item to create for each file.
+	 * @param project
+	 *            The project instance the files will be imported into.
+	 * @return A map from each file, in the order of their names, to the
+	 *         identification number given as a String of its newly created
+	 *         Item or -1 if it was unable to import the file or create the
+	 *         Item.
+	 */
+	public Map<URI, String> importDirectoryAsItems(URI directory,
+			String itemType, IProject project);
+
 	/**
 	 * This operation directs the core to rename the Item given by itemID.
 	 * 
@@ -425,5 +621,75 @@ public interface ICore {
 	@Consumes("application/x-www-form-urlencoded")
 	@Produces("text/plain")
 	public String postUpdateMessage(String message);
+
+	/**
+	 * This operation posts a batch of postprocessor values to a single ICE
+	 * Item in one request. It should be used instead of postUpdateMessage()
+	 * by processes that report many values at once, such as a simulation that
+	 * reports all of its postprocessors at each time step.
+	 *
+	 * @param batch
+	 *            The values, encoded as described by
+	 *            {@link org.eclipse.ice.item.messaging.MessageBatch}.
+	 * @return "OK" if the post was successful, null if not to conform to JAX-RS
+	 *         HTTP 200/204 return code conversion.
+	 */
+	@POST
+	@Path("update/batch")
+	@Consumes("application/octet-stream")
+	@Produces("text/plain")
+	public String postUpdateBatch(byte[] batch);
+
+	/**
+	 * This operation registers a listener that will be notified of changes to
+	 * the status and output of an Item as they happen, so that clients do not
+	 * need to poll for them. Listeners of {@link ItemEvent#ALL_ITEMS} are
+	 * notified when Items are created, loaded, renamed or deleted.
+	 *
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param listener
+	 *            The listener
+	 * @return True if the ICore will push events to the listener, false if it
+	 *         can not and the client must poll instead.
+	 */
+	public boolean addItemEventListener(int itemId,
+			IItemEventListener listener);
+
+	/**
+	 * This operation unregisters a listener added with
+	 * addItemEventListener().
+	 *
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeItemEventListener(int itemId,
+			IItemEventListener listener);
+
+	/**
+	 * This operation returns the events for an Item that are newer than a
+	 * given sequence number. If there are none, it waits for up to the timeout
+	 * for the next one before returning. This lets remote clients "long poll"
+	 * for changes with a single outstanding request instead of asking for the
+	 * status repeatedly.
+	 *
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param since
+	 *            The sequence number of the last event the client has seen or
+	 *            0 for all available events
+	 * @param timeout
+	 *            The longest time to wait for an event in milliseconds
+	 * @return A JSON array of the ItemEvents in order. It is empty if the
+	 *         timeout expired first.
+	 */
+	@GET
+	@Path("items/{id}/events")
+	@Produces("application/json")
+	public String getItemEvents(@PathParam("id") int itemId,
+			@QueryParam("since") long since,
+			@QueryParam("timeout") long timeout);
 	
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.iCore;
+
+/**
+ * This interface is realized by classes that want to be notified of changes to
+ * Items instead of polling the ICore for them. Listeners are registered with
+ * {@link ICore#addItemEventListener(int, IItemEventListener)}.
+ *
+ * Events are delivered in order on a thread owned by the ICore that is shared
+ * by all listeners, so listeners should return quickly.
+ *
+ */
+public interface IItemEventListener {
+
+	/**
+	 * This operation is called when an event is posted for an Item to which
+	 * the listener is subscribed.
+	 *
+	 * @param event
+	 *            The event
+	 */
+	public void itemEventPosted(ItemEvent event);
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.iCore;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+
+/**
+ * This class describes a change to an Item that the Core pushes to the
+ * IItemEventListeners registered for that Item. There are three types of
+ * events:
+ * <ul>
+ * <li>STATUS events carry the new status of the Item,</li>
+ * <li>OUTPUT events carry one or more new lines of the Item's output file,
+ * separated by new line characters and without a trailing one, and</li>
+ * <li>ITEM_LIST events are sent to listeners of {@link #ALL_ITEMS} when an
+ * Item is created, loaded, renamed or deleted.</li>
+ * </ul>
+ *
+ * Every event has a sequence number that is larger than that of every event
+ * for the same Item that was posted before it, even by a Core that ran before
+ * the current one was started, so that clients that receive events over the
+ * network can ask for only those they have not yet seen.
+ *
+ */
+public class ItemEvent {
+
+	/**
+	 * The Item id used to listen for changes to the list of Items.
+	 */
+	public static final int ALL_ITEMS = 0;
+
+	/**
+	 * The types of events.
+	 */
+	public enum Type {
+		STATUS, OUTPUT, ITEM_LIST
+	}
+
+	/**
+	 * The sequence number of the event.
+	 */
+	private long sequence;
+
+	/**
+	 * The id of the Item that changed.
+	 */
+	private int itemId;
+
+	/**
+	 * The type of the event.
+	 */
+	private Type type;
+
+	/**
+	 * The status of the Item for STATUS events.
+	 */
+	private FormStatus status;
+
+	/**
+	 * The new output for OUTPUT events.
+	 */
+	private String text;
+
+	/**
+	 * The constructor. It is required for serialization.
+	 */
+	public ItemEvent() {
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param itemId
+	 *            The id of the Item that changed
+	 * @param type
+	 *            The type of the event
+	 * @param status
+	 *            The status of the Item or null
+	 * @param text
+	 *            The new output or null
+	 */
+	public ItemEvent(int itemId, Type type, FormStatus status, String text) {
+		this.itemId = itemId;
+		this.type = type;
+		this.status = status;
+		this.text = text;
+	}
+
+	/**
+	 * This operation returns the sequence number of the event.
+	 *
+	 * @return The sequence number
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * This operation sets the sequence number of the event. It is set by the
+	 * Core when the event is posted.
+	 *
+	 * @param sequence
+	 *            The sequence number
+	 */
+	public void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+
+	/**
+	 * This operation returns the id of the Item that changed.
+	 *
+	 * @return The Item id
+	 */
+	public int getItemId() {
+		return itemId;
+	}
+
+	/**
+	 * This operation returns the type of the event.
+	 *
+	 * @return The type
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * This operation returns the status of the Item for STATUS events.
+	 *
+	 * @return The status or null for other events
+	 */
+	public FormStatus getStatus() {
+		return status;
+	}
+
+	/**
+	 * This operation returns the new output for OUTPUT events.
+	 *
+	 * @return The lines of output or null for other events
+	 */
+	public String getText() {
+		return text;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ItemEvent " + sequence + " for Item " + itemId + ": " + type
+				+ ((status != null) ? " " + status : "");
+	}
+}
@@ -18,16 +18,31 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Dictionary;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.inject.Inject;
 import javax.servlet.ServletException;
 import javax.ws.rs.ApplicationPath;
 import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -43,16 +58,23 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.core.internal.ItemProcessScheduler.Priority;
+import org.eclipse.ice.core.internal.itemmanager.FormPatch;
 import org.eclipse.ice.core.internal.itemmanager.ItemManager;
+import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
 import org.eclipse.ice.io.serializable.IIOService;
 import org.eclipse.ice.item.ICompositeItemBuilder;
 import org.eclipse.ice.item.ItemBuilder;
 import org.eclipse.ice.item.SerializedItemBuilder;
 import org.eclipse.ice.item.messaging.Message;
+import org.eclipse.ice.item.messaging.MessageBatch;
 import org.eclipse.ice.item.model.AbstractModelBuilder;
 import org.eclipse.ice.item.persistence.IPersistenceProvider;
 import org.eclipse.ice.materials.IMaterialsDatabase;
@@ -146,10 +168,60 @@ public class Core extends Application implements ICore, BundleActivator {
 	private IPersistenceProvider provider;
 
 	/**
-	 * An AtomicBoolean to lock and unlock the update operation with hardware.
-	 * True if locked, false if not.
+	 * The Gson utility used to read update messages. It is thread-safe, so it
+	 * is shared by all requests.
 	 */
-	private AtomicBoolean updateLock;
+	private final Gson gson = new GsonBuilder().create();
+
+	/**
+	 * The parser used to read update messages.
+	 */
+	private final JsonParser jsonParser = new JsonParser();
+
+	/**
+	 * The publisher that pushes changes to Items to their listeners.
+	 */
+	private ItemEventPublisher eventPublisher;
+
+	/**
+	 * The number of threads that process Items.
+	 */
+	private static final int PROCESS_THREADS = Math.max(2,
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The time in milliseconds that processItem() waits for a batch request,
+	 * such as a job launch, to finish before it returns FormStatus.Processing.
+	 * Interactive requests are always waited for.
+	 */
+	private static final long PROCESS_WAIT_TIME = 2000;
+
+	/**
+	 * The scheduler that runs requests to process Items.
+	 */
+	private ItemProcessScheduler processScheduler;
+
+	/**
+	 * The number of threads that run the independent phases of start().
+	 */
+	private static final int STARTUP_THREADS = 3;
+
+	/**
+	 * The largest number of threads that import files at once.
+	 */
+	private static final int IMPORT_THREADS = Math.max(2,
+			Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The names of the gauges that report on the processing of Items.
+	 */
+	private static final String[] PROCESS_GAUGES = {
+			"ice_core_process_queue_depth{priority=\"interactive\"}",
+			"ice_core_process_queue_depth{priority=\"batch\"}",
+			"ice_core_process_active", "ice_core_process_submitted_total",
+			"ice_core_process_completed_total",
+			"ice_core_process_wait_seconds_mean",
+			"ice_core_process_wait_seconds_max" };
 
 	/**
 	 * This is the service registration used to register the Core as a service
@@ -175,8 +247,10 @@ public class Core extends Application implements ICore, BundleActivator {
 			throw new RuntimeException("ICore Message: Unable to load workspace!");
 		}
 
-		// Set the update lock
-		updateLock = new AtomicBoolean(false);
+		// Setup the event publisher and the process scheduler
+		processScheduler = new ItemProcessScheduler(PROCESS_THREADS);
+		eventPublisher = createEventPublisher();
+		registerMetrics();
 
 		return;
 	}
@@ -196,15 +270,21 @@ public class Core extends Application implements ICore, BundleActivator {
 			throw new RuntimeException("ICore Message: Unable to load workspace!");
 		}
 
-		// Set the update lock
-		updateLock = new AtomicBoolean(false);
+		// Setup the event publisher and the process scheduler
+		processScheduler = new ItemProcessScheduler(PROCESS_THREADS);
+		eventPublisher = createEventPublisher();
+		registerMetrics();
 
 		return;
 	}
 
 	/**
 	 * This operation starts the Core, sets the component context and starts the
-	 * web client if the HTTP service is available.
+	 * web client if the HTTP service is available. The builders, the Materials
+	 * Database and the web client are set up concurrently. The job profiles and
+	 * Items are loaded in the background after the Core is registered and any
+	 * operation that needs them waits for them. The time of each phase is
+	 * logged.
 	 *
 	 * @param context
 	 *            The bundle context for this OSGi bundle.
@@ -212,11 +292,88 @@ public class Core extends Application implements ICore, BundleActivator {
 	@Override
 	public void start(BundleContext context) throws CoreException {
 
+		// Local Declarations
+		long startTime = System.nanoTime();
+		Map<String, Long> times = new ConcurrentHashMap<String, Long>();
+		ExecutorService startupPool = Executors.newFixedThreadPool(
+				STARTUP_THREADS, runnable -> {
+					Thread thread = new Thread(runnable, "ICE Core Startup");
+					thread.setDaemon(true);
+					return thread;
+				});
+
 		// Store the component's context
 		bundleContext = context;
 
 		logger.info("Bundle context set!");
 
+		// Restart the event publisher if the Core was stopped before
+		eventPublisher.start();
+
+		// The builders, the Materials Database and the webservice do not
+		// depend on each other, so they are set up at the same time.
+		try {
+			CompletableFuture.allOf(
+					CompletableFuture.runAsync(
+							timePhase("builders", times, this::registerBuilders),
+							startupPool),
+					CompletableFuture.runAsync(timePhase("materials", times,
+							this::getMaterialsDatabase), startupPool),
+					CompletableFuture.runAsync(timePhase("webservice", times,
+							this::startHttpService), startupPool))
+					.join();
+		} catch (CompletionException e) {
+			logger.error(getClass().getName() + " Exception!", e.getCause());
+		} finally {
+			startupPool.shutdown();
+		}
+
+		// FIXME! Register composite items
+
+		// Loading the job profiles and the Items is deferred until something
+		// needs them. They must be loaded in that order since the Items may
+		// need the builders of the job profiles.
+		itemManager.deferLoading(() -> {
+			long loadStart = System.nanoTime();
+			loadDefaultAreaItems();
+			// Tell the ItemManager to suit up. It's time to rock and roll.
+			itemManager.loadItems(itemDBProject);
+			logger.info("ICore Message: Job profiles and Items loaded in "
+					+ (System.nanoTime() - loadStart) / 1000000L + " ms.");
+		});
+
+		// Check the currently registered extensions - LEAVE FOR NOW! ~JJB
+		// 20151026 11:15
+		// debugCheckExtensions();
+
+		// Register this class as a service with the framework.
+		if (context != null) {
+			registration = context.registerService(ICore.class, this, null);
+		}
+
+		// Report the time of each phase
+		logger.info("ICore Message: Core started in "
+				+ (System.nanoTime() - startTime) / 1000000L + " ms (builders "
+				+ times.get("builders") / 1000000L + " ms, materials "
+				+ times.get("materials") / 1000000L + " ms, webservice "
+				+ times.get("webservice") / 1000000L + " ms).");
+
+		// Load the Items in the background so that they are usually ready
+		// before they are first needed
+		Thread loader = new Thread(itemManager::awaitLoading,
+				"ICE Item Loader");
+		loader.setDaemon(true);
+		loader.start();
+
+		return;
+	}
+
+	/**
+	 * This operation configures the persistence provider and registers the
+	 * ItemBuilders from the extension registry.
+	 */
+	private void registerBuilders() {
+
 		// If the provider has not been injected (say for testing) then pull it.
 		if (provider == null) {
 			provider = IPersistenceProvider.getProvider();
@@ -237,25 +394,55 @@ public class Core extends Application implements ICore, BundleActivator {
 			registerItem(builder);
 		}
 
-		// FIXME! Register composite items
-
-		// Get and set the Materials Database.
-		getMaterialsDatabase();
-
-		// Tell the ItemManager to suit up. It's time to rock and roll.
-		itemManager.loadItems(itemDBProject);
+		return;
+	}
 
-		// Start the webservice!
-		startHttpService();
+	/**
+	 * This operation wraps a phase of the startup of the Core so that the time
+	 * it takes is recorded, in nanoseconds.
+	 *
+	 * @param name
+	 *            The name of the phase
+	 * @param times
+	 *            The map that stores the time of each phase by its name
+	 * @param phase
+	 *            The phase
+	 * @return The timed phase
+	 */
+	private static Runnable timePhase(String name, Map<String, Long> times,
+			Runnable phase) {
+		times.put(name, 0L);
+		return () -> {
+			long phaseStart = System.nanoTime();
+			try {
+				phase.run();
+			} finally {
+				times.put(name, System.nanoTime() - phaseStart);
+			}
+		};
+	}
 
-		// Check the currently registered extensions - LEAVE FOR NOW! ~JJB
-		// 20151026 11:15
-		// debugCheckExtensions();
+	/**
+	 * This operation reports the state of the process scheduler in the shared
+	 * MetricsRegistry. The names of the gauges are in PROCESS_GAUGES.
+	 */
+	private void registerMetrics() {
 
-		// Register this class as a service with the framework.
-		if (context != null) {
-			registration = context.registerService(ICore.class, this, null);
-		}
+		// Local Declarations
+		MetricsRegistry registry = MetricsRegistry.getInstance();
+		ItemProcessScheduler scheduler = processScheduler;
+
+		registry.gauge(PROCESS_GAUGES[0],
+				() -> scheduler.getQueueDepth(Priority.INTERACTIVE));
+		registry.gauge(PROCESS_GAUGES[1],
+				() -> scheduler.getQueueDepth(Priority.BATCH));
+		registry.gauge(PROCESS_GAUGES[2], scheduler::getActiveCount);
+		registry.gauge(PROCESS_GAUGES[3], scheduler::getSubmittedCount);
+		registry.gauge(PROCESS_GAUGES[4], scheduler::getCompletedCount);
+		registry.gauge(PROCESS_GAUGES[5],
+				() -> scheduler.getAverageWaitTime() / 1000.0);
+		registry.gauge(PROCESS_GAUGES[6],
+				() -> scheduler.getMaxWaitTime() / 1000.0);
 
 		return;
 	}
@@ -288,6 +475,13 @@ public class Core extends Application implements ICore, BundleActivator {
 		// Update everything in the ItemManager that requires it
 		itemManager.persistItems();
 
+		// Stop processing Items and pushing events
+		processScheduler.shutdown();
+		eventPublisher.shutdown();
+		for (String gauge : PROCESS_GAUGES) {
+			MetricsRegistry.getInstance().removeGauge(gauge);
+		}
+
 		// Unregister with the HTTP Service
 		if (httpServiceRef != null) {
 			bundleContext.ungetService(httpServiceRef);
@@ -406,6 +600,7 @@ public class Core extends Application implements ICore, BundleActivator {
 		// available
 		if (itemType != null && project != null) {
 			newItemId = itemManager.createItem(itemType, project);
+			eventPublisher.publishItemListChange(newItemId);
 		} else {
 			logger.error("Unable to create Item in the core! Type = " + itemType + " , project = " + project);
 		}
@@ -423,7 +618,10 @@ public class Core extends Application implements ICore, BundleActivator {
 
 		// Forward the call to the ItemManager if the String is OK
 		if (itemId != null) {
-			itemManager.deleteItem(Integer.parseInt(itemId));
+			int id = Integer.parseInt(itemId);
+			if (itemManager.deleteItem(id)) {
+				eventPublisher.publishItemListChange(id);
+			}
 		}
 
 	}
@@ -435,7 +633,19 @@ public class Core extends Application implements ICore, BundleActivator {
 	 */
 	@Override
 	public FormStatus getItemStatus(Integer id) {
-		return itemManager.getItemStatus(id);
+
+		// Local Declarations
+		FormStatus status = itemManager.getItemStatus(id);
+
+		// Items with batch requests that are waiting or running are
+		// processing, unless they need more information to continue. Callers
+		// of processItem() only stop waiting early for batch requests.
+		if (status != null && status != FormStatus.NeedsInfo
+				&& processScheduler.isPending(id, Priority.BATCH)) {
+			status = FormStatus.Processing;
+		}
+
+		return status;
 	}
 
 	/**
@@ -448,6 +658,108 @@ public class Core extends Application implements ICore, BundleActivator {
 		return itemManager.retrieveItem(itemId);
 	}
 
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getItemRepresentation(int, Request)
+	 */
+	@Override
+	public Response getItemRepresentation(int itemId, Request request) {
+		return RestRepresentation.respond(request, getItem(itemId),
+				Form.class);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getComponent(int, int[])
+	 */
+	@Override
+	public Component getComponent(int itemId, int... componentIds) {
+		return itemManager.retrieveComponent(itemId, componentIds);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getComponentRepresentation(int, String, Request)
+	 */
+	@Override
+	public Response getComponentRepresentation(int itemId,
+			String componentPath, Request request) {
+
+		// Local Declarations
+		Component component;
+
+		// Malformed paths are the client's mistake
+		try {
+			component = getComponent(itemId,
+					FormPatch.parseComponentPath(componentPath));
+		} catch (IllegalArgumentException e) {
+			return Response.status(Response.Status.BAD_REQUEST).build();
+		}
+
+		return RestRepresentation.respond(request, component,
+				(component != null) ? component.getClass() : null);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getEntry(int, String, int[])
+	 */
+	@Override
+	public IEntry getEntry(int itemId, String entryName, int... componentIds) {
+		return itemManager.retrieveEntry(itemId, entryName, componentIds);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getEntryRepresentation(int, String, String, Request)
+	 */
+	@Override
+	public Response getEntryRepresentation(int itemId, String componentPath,
+			String entryName, Request request) {
+
+		// Local Declarations
+		IEntry entry;
+
+		// Malformed paths are the client's mistake
+		try {
+			entry = getEntry(itemId, entryName,
+					FormPatch.parseComponentPath(componentPath));
+		} catch (IllegalArgumentException e) {
+			return Response.status(Response.Status.BAD_REQUEST).build();
+		}
+
+		return RestRepresentation.respond(request, entry,
+				(entry != null) ? entry.getClass() : null);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#patchItem(int, String)
+	 */
+	@Override
+	public String patchItem(int itemId, String patch) {
+
+		// Local Declarations
+		FormStatus status = FormStatus.InfoError;
+
+		// Read the patch and apply it
+		try {
+			status = itemManager.patchItem(itemId, FormPatch.parse(patch));
+			eventPublisher.publishStatus(itemId);
+		} catch (IllegalArgumentException e) {
+			logger.info("Core Message: Invalid patch for Item " + itemId
+					+ ". " + e.getMessage());
+		}
+
+		return status.toString();
+	}
+
 	/**
 	 * (non-Javadoc)
 	 *
@@ -469,6 +781,17 @@ public class Core extends Application implements ICore, BundleActivator {
 		return retList;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getAvailableItemTypesRepresentation(Request)
+	 */
+	@Override
+	public Response getAvailableItemTypesRepresentation(Request request) {
+		return RestRepresentation.respond(request, getAvailableItemTypes(),
+				ICEList.class);
+	}
+
 	/**
 	 * (non-Javadoc)
 	 *
@@ -485,6 +808,7 @@ public class Core extends Application implements ICore, BundleActivator {
 
 		// Process the update request
 		status = itemManager.updateItem(form);
+		eventPublisher.publishStatus(form.getItemID());
 
 		return status;
 	}
@@ -499,11 +823,46 @@ public class Core extends Application implements ICore, BundleActivator {
 
 		// Local Declarations
 		FormStatus status = FormStatus.InfoError;
+		Priority priority;
+		Future<FormStatus> result;
 
 		// Check the Item id and name
 		if (itemId > 0 && actionName != null) {
-			// Process the Item
-			status = itemManager.processItem(itemId, actionName);
+			// Queue the request. Job launches and other batch actions run after
+			// the interactive requests that are waiting.
+			priority = itemManager.isBatchAction(itemId, actionName)
+					? Priority.BATCH : Priority.INTERACTIVE;
+			result = processScheduler.submit(itemId, priority, () -> {
+				try {
+					return itemManager.processItem(itemId, actionName);
+				} finally {
+					eventPublisher.publishStatus(itemId);
+				}
+			});
+			// Wait for interactive actions to finish. Only wait a short time
+			// for batch actions so that quick ones still return their final
+			// status. Clients follow longer ones with getItemStatus() or the
+			// Item's events.
+			try {
+				if (priority == Priority.BATCH) {
+					status = result.get(PROCESS_WAIT_TIME,
+							TimeUnit.MILLISECONDS);
+				} else {
+					status = result.get();
+				}
+			} catch (TimeoutException e) {
+				status = FormStatus.Processing;
+				eventPublisher.publishStatus(itemId);
+			} catch (CancellationException e) {
+				// The request was cancelled before it started
+				status = getItemStatus(itemId);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				status = FormStatus.Processing;
+			} catch (ExecutionException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+				status = FormStatus.InfoError;
+			}
 		}
 
 		return status;
@@ -536,7 +895,12 @@ public class Core extends Application implements ICore, BundleActivator {
 	 */
 	@Override
 	public FormStatus cancelItemProcess(int itemId, String actionName) {
-		return itemManager.cancelItemProcess(itemId, actionName);
+		// Drop the requests that have not started and then ask the Item to
+		// stop the one that is running
+		processScheduler.cancel(itemId);
+		FormStatus status = itemManager.cancelItemProcess(itemId, actionName);
+		eventPublisher.publishStatus(itemId);
+		return status;
 	}
 
 	/*
@@ -548,7 +912,11 @@ public class Core extends Application implements ICore, BundleActivator {
 	 */
 	@Override
 	public Form loadItem(IFile itemFile) {
-		return itemManager.loadItem(itemFile);
+		Form form = itemManager.loadItem(itemFile);
+		if (form != null) {
+			eventPublisher.publishItemListChange(form.getItemID());
+		}
+		return form;
 	}
 
 	/**
@@ -564,7 +932,8 @@ public class Core extends Application implements ICore, BundleActivator {
 	/**
 	 * This operation scans the default project area for SerializedItems and
 	 * loads them into the Core. It returns false if it encounters and error and
-	 * true if it is successful.
+	 * true if it is successful. The files are parsed in parallel, but the
+	 * builders are registered in the order of the files.
 	 *
 	 * @return True if the SerializedItems stored in the default project area
 	 *         were loaded successfully, false otherwise.
@@ -573,12 +942,9 @@ public class Core extends Application implements ICore, BundleActivator {
 
 		// Local Declarations
 		boolean status = false;
-		ArrayList<String> serializedItemNames = new ArrayList<String>();
-		SerializedItemBuilder builder = null;
 		IProject project;
 		IResource[] resources = null;
-		IResource currentResource = null;
-		IFile file = null;
+		List<IFile> files = new ArrayList<IFile>();
 		String filename = null;
 
 		// Get the default project and grab its contents
@@ -592,25 +958,25 @@ public class Core extends Application implements ICore, BundleActivator {
 			// If the "jobProfiles" folder exists, loop over the resources and
 			// get the serialized items
 			if (project.getFolder("jobProfiles").exists()) {
-				// Get the list of resources in the project
+				// Get the list of PSF and XML files in the project
 				resources = project.getFolder("jobProfiles").members();
-				for (int i = 0; i < resources.length; i++) {
-					currentResource = resources[i];
+				for (IResource currentResource : resources) {
 					filename = currentResource.getFullPath().toOSString();
-					// Grab PSF or XML file
 					if (filename.endsWith(".psf") | filename.endsWith(".xml")) {
-						// Get the file
-						file = project.getFile(currentResource.getProjectRelativePath());
-						try {
-							// Load the SerializedItemBuilder
-							builder = new SerializedItemBuilder(file.getContents());
-							// Register the builder
-							itemManager.registerBuilder(builder);
-						} catch (IOException e) {
-							// TODO Auto-generated catch block
-							logger.error(getClass().getName() + " Exception!", e);
-							status = false;
-						}
+						files.add(project.getFile(
+								currentResource.getProjectRelativePath()));
+					}
+				}
+				// Load the SerializedItemBuilders
+				SerializedItemBuilder[] builders = files.parallelStream()
+						.map(this::loadJobProfile)
+						.toArray(SerializedItemBuilder[]::new);
+				// Register the builders
+				for (SerializedItemBuilder builder : builders) {
+					if (builder != null) {
+						itemManager.registerBuilder(builder);
+					} else {
+						status = false;
 					}
 				}
 			} else {
@@ -625,6 +991,23 @@ public class Core extends Application implements ICore, BundleActivator {
 		return status;
 	}
 
+	/**
+	 * This operation reads the SerializedItemBuilder of a job profile. The
+	 * builder of a file whose contents have already been loaded is reused.
+	 *
+	 * @param file
+	 *            The PSF or XML file of the job profile
+	 * @return The builder or null if the file could not be read
+	 */
+	private SerializedItemBuilder loadJobProfile(IFile file) {
+		try {
+			return SerializedItemBuilder.getBuilder(file.getContents());
+		} catch (IOException | CoreException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return null;
+		}
+	}
+
 	/**
 	 * This operation sets the HTTP service that should be used by the Core to
 	 * publish itself.
@@ -660,6 +1043,11 @@ public class Core extends Application implements ICore, BundleActivator {
 
 				// Set the parameters
 				servletParams.put("javax.ws.rs.Application", Core.class.getName());
+				// Compress the responses for clients that accept gzip
+				servletParams.put("com.sun.jersey.spi.container.ContainerRequestFilters",
+						"com.sun.jersey.api.container.filter.GZIPContentEncodingFilter");
+				servletParams.put("com.sun.jersey.spi.container.ContainerResponseFilters",
+						"com.sun.jersey.api.container.filter.GZIPContentEncodingFilter");
 
 				// Register the service
 				try {
@@ -681,6 +1069,8 @@ public class Core extends Application implements ICore, BundleActivator {
 					HttpContext httpContext = new BasicAuthSecuredContext(resourceURL, configFileURL,
 							"ICE Core Server Configuration");
 					httpService.registerServlet("/ice", new ServletContainer(this), servletParams, httpContext);
+					// Publish the metrics next to the REST API
+					httpService.registerServlet("/metrics", new MetricsServlet(), null, httpContext);
 				} catch (ServletException | NamespaceException | IOException e) {
 					logger.error(getClass().getName() + " Exception!", e);
 				}
@@ -764,10 +1154,8 @@ public class Core extends Application implements ICore, BundleActivator {
 			status = false;
 		}
 
-		// Load any SerializedItems that are stored in the default directory
-		if (status) {
-			status = loadDefaultAreaItems();
-		}
+		// The SerializedItems that are stored in the default directory are
+		// loaded with the other Items by start().
 		return status;
 	}
 
@@ -833,16 +1221,11 @@ public class Core extends Application implements ICore, BundleActivator {
 		// Create the ArrayList of messages
 		ArrayList<Message> messages = new ArrayList<Message>();
 
-		// Create the parser and gson utility
-		JsonParser parser = new JsonParser();
-		GsonBuilder builder = new GsonBuilder();
-		Gson gson = builder.create();
-
 		// Catch any exceptions and return the empty list
 		try {
 
 			// Make the string a json string
-			JsonElement messageJson = parser.parse(messageString);
+			JsonElement messageJson = jsonParser.parse(messageString);
 			JsonObject messageJsonObject = messageJson.getAsJsonObject();
 
 			// Get the Item id from the json
@@ -883,9 +1266,6 @@ public class Core extends Application implements ICore, BundleActivator {
 	@Override
 	public String postUpdateMessage(String message) {
 
-		// Lock the operation
-		updateLock.set(true);
-
 		// Local Declarations
 		String retVal = null;
 
@@ -904,18 +1284,74 @@ public class Core extends Application implements ICore, BundleActivator {
 				ArrayList<Message> msgList = buildMessagesFromString(messageParts[1]);
 				// Post the messages if there are any. Fail otherwise.
 				if (!msgList.isEmpty()) {
-					for (int i = 0; i < msgList.size(); i++) {
-						Message msg = msgList.get(i);
-						itemManager.postUpdateMessage(msg);
-					}
+					postMessagesByItem(msgList);
 					// Set the return value
 					retVal = "OK";
 				}
 			}
 		}
 
-		// Unlock the operation and return safely
-		return (updateLock.getAndSet(false)) ? retVal : null;
+		return retVal;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#postUpdateBatch(byte[] batch)
+	 */
+	@Override
+	public String postUpdateBatch(byte[] batch) {
+
+		// Local Declarations
+		String retVal = null;
+
+		try {
+			// Decode the batch and post all of its values at once
+			List<Message> messages = MessageBatch.decode(batch);
+			if (!messages.isEmpty()) {
+				postMessagesByItem(messages);
+				retVal = "OK";
+			}
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			logger.error("Core Message: Invalid update batch received.");
+		}
+
+		return retVal;
+	}
+
+	/**
+	 * This operation posts a list of Messages that may be for several Items.
+	 * The Messages for each Item are posted to it together, in the order in
+	 * which they were received.
+	 *
+	 * @param messages
+	 *            The Messages
+	 */
+	private void postMessagesByItem(List<Message> messages) {
+
+		// Local Declarations
+		LinkedHashMap<Integer, List<Message>> messagesByItem = new LinkedHashMap<Integer, List<Message>>();
+
+		// Sort the Messages by Item
+		for (Message message : messages) {
+			List<Message> itemMessages = messagesByItem
+					.get(message.getItemId());
+			if (itemMessages == null) {
+				itemMessages = new ArrayList<Message>();
+				messagesByItem.put(message.getItemId(), itemMessages);
+			}
+			itemMessages.add(message);
+		}
+
+		// Post them
+		for (Map.Entry<Integer, List<Message>> entry : messagesByItem
+				.entrySet()) {
+			itemManager.postUpdateMessages(entry.getKey(), entry.getValue());
+			eventPublisher.publishStatus(entry.getKey());
+		}
+
+		return;
 	}
 
 	/**
@@ -947,6 +1383,7 @@ public class Core extends Application implements ICore, BundleActivator {
 			// Get the name of the file. This is only created to get the short
 			// name of the file. Then create the Item
 			newItemId = itemManager.createItem(new File(file).getName(), itemType, project);
+			eventPublisher.publishItemListChange(newItemId);
 		}
 
 		return String.valueOf(newItemId);
@@ -1024,48 +1461,9 @@ public class Core extends Application implements ICore, BundleActivator {
 	public void importFile(URI file, IProject project) {
 		// Only do this if the file is good
 		if (file != null) {
-			// Get the file handle
-			IPath path = (new Path(file.toString()));
-			IFile fileInProject = project.getFile(path.lastSegment());
-			// Get the paths and convert them to strings
-			IPath fullPathInProject = fileInProject.getLocation();
-			String path1 = path.toString(), path2 = fullPathInProject.toString();
-			// Remove devices ids and other such things from the path strings
-			path1 = path1.substring(path1.lastIndexOf(":") + 1);
-			path2 = path2.substring(path2.lastIndexOf(":") + 1);
-			// Only manipulate the file if it is not already in the workspace.
-			// It is completely reasonable to stick the file in the workspace
-			// and then "import" it, so a simple check here relieves some
-			// heartburn I would no doubt otherwise endure.
-			if (!path1.equals(path2)) {
-				// If the project space contains a file by the same name, but
-				// with a different absolute path, delete that file.
-				if (fileInProject.exists()) {
-					try {
-						fileInProject.delete(true, null);
-					} catch (CoreException e) {
-						// Complain and don't do anything else.
-						logger.info("Core Message: " + "Unable to import file.");
-						logger.error(getClass().getName() + " Exception!", e);
-						return;
-					}
-				}
-				try {
-					// Open a stream of the file
-					FileInputStream fileStream = new FileInputStream(new File(file));
-					// Import the file
-					fileInProject.create(fileStream, true, null);
-				} catch (FileNotFoundException e) {
-					// Complain and don't do anything else.
-					logger.info("Core Message: " + "Unable to import file.");
-					logger.error(getClass().getName() + " Exception!", e);
-					return;
-				} catch (CoreException e) {
-					// Complain and don't do anything else.
-					logger.info("Core Message: " + "Unable to import file.");
-					logger.error(getClass().getName() + " Exception!", e);
-					return;
-				}
+			// Copy the file into the project
+			if (!copyIntoProject(file, project)) {
+				return;
 			}
 			// Refresh all of the Items
 			itemManager.reloadItemData();
@@ -1080,6 +1478,189 @@ public class Core extends Application implements ICore, BundleActivator {
 
 	}
 
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.core.iCore.ICore#importFilesAsItems(java.util.List,
+	 *      java.lang.String, org.eclipse.core.resources.IProject)
+	 */
+	@Override
+	public Map<URI, String> importFilesAsItems(List<URI> files,
+			String itemType, IProject project) {
+
+		// Local Declarations
+		Map<URI, String> itemIds = new LinkedHashMap<URI, String>();
+		Map<URI, CompletableFuture<Boolean>> copies = new LinkedHashMap<URI, CompletableFuture<Boolean>>();
+		List<URI> imported = new ArrayList<URI>();
+		List<String> names = new ArrayList<String>();
+		Set<String> copiedNames = new HashSet<String>();
+		long start = System.nanoTime();
+		int numCreated = 0;
+
+		// Every file fails until its Item is created
+		if (files != null && project != null) {
+			for (URI file : files) {
+				if (file != null) {
+					itemIds.put(file, "-1");
+				}
+			}
+		}
+		if (itemIds.isEmpty()) {
+			return itemIds;
+		}
+
+		ExecutorService importPool = Executors.newFixedThreadPool(
+				Math.min(IMPORT_THREADS, itemIds.size()), runnable -> {
+					Thread thread = new Thread(runnable, "ICE Core Import");
+					thread.setDaemon(true);
+					return thread;
+				});
+		try {
+			// Copy all of the files into the project at once. Files with the
+			// same name would be copied to the same file in the project, so
+			// only the first one is imported.
+			for (URI file : itemIds.keySet()) {
+				if (!copiedNames.add(new Path(file.toString()).lastSegment())) {
+					logger.info("ICore Message: Not importing " + file
+							+ " because another file with the same name is "
+							+ "imported with it.");
+					continue;
+				}
+				copies.put(file, CompletableFuture
+						.supplyAsync(() -> copyIntoProject(file, project),
+								importPool)
+						.exceptionally(e -> {
+							logger.error(getClass().getName() + " Exception!",
+									e);
+							return false;
+						}));
+			}
+			for (Map.Entry<URI, CompletableFuture<Boolean>> copy : copies
+					.entrySet()) {
+				if (copy.getValue().join()) {
+					imported.add(copy.getKey());
+					names.add(new File(copy.getKey()).getName());
+				}
+			}
+
+			// Refresh all of the Items once for the whole batch
+			itemManager.reloadItemData();
+
+			// Load the files into new Items, which are persisted together
+			List<Integer> ids = itemManager.createItems(names, itemType,
+					project, importPool);
+			for (int i = 0; i < ids.size(); i++) {
+				int id = ids.get(i);
+				itemIds.put(imported.get(i), String.valueOf(id));
+				if (id > 0) {
+					eventPublisher.publishItemListChange(id);
+					numCreated++;
+				} else {
+					logger.info("ICore Message: Unable to create a "
+							+ itemType + " Item from " + imported.get(i));
+				}
+			}
+		} finally {
+			importPool.shutdown();
+		}
+
+		logger.info("ICore Message: Imported " + numCreated + " of "
+				+ itemIds.size() + " files as " + itemType + " Items in "
+				+ (System.nanoTime() - start) / 1000000L + " ms.");
+
+		return itemIds;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.ice.core.iCore.ICore#importDirectoryAsItems(java.net.URI,
+	 *      java.lang.String, org.eclipse.core.resources.IProject)
+	 */
+	@Override
+	public Map<URI, String> importDirectoryAsItems(URI directory,
+			String itemType, IProject project) {
+
+		// Local Declarations
+		List<URI> files = new ArrayList<URI>();
+		File[] contents = (directory != null)
+				? new File(directory).listFiles() : null;
+
+		// Import the regular files in the order of their names
+		if (contents != null) {
+			Arrays.sort(contents);
+			for (File file : contents) {
+				if (file.isFile() && !file.isHidden()) {
+					files.add(file.toURI());
+				}
+			}
+		} else {
+			logger.info("ICore Message: " + directory
+					+ " is not a directory that can be imported.");
+		}
+
+		return importFilesAsItems(files, itemType, project);
+	}
+
+	/**
+	 * This operation copies a file into a project unless it is already there.
+	 * A file with the same name in the project is replaced.
+	 *
+	 * @param file
+	 *            The file
+	 * @param project
+	 *            The project
+	 * @return True if the file is in the project, false if it could not be
+	 *         copied
+	 */
+	private boolean copyIntoProject(URI file, IProject project) {
+		// Get the file handle
+		IPath path = (new Path(file.toString()));
+		IFile fileInProject = project.getFile(path.lastSegment());
+		// Get the paths and convert them to strings
+		IPath fullPathInProject = fileInProject.getLocation();
+		String path1 = path.toString(), path2 = fullPathInProject.toString();
+		// Remove devices ids and other such things from the path strings
+		path1 = path1.substring(path1.lastIndexOf(":") + 1);
+		path2 = path2.substring(path2.lastIndexOf(":") + 1);
+		// Only manipulate the file if it is not already in the workspace.
+		// It is completely reasonable to stick the file in the workspace
+		// and then "import" it, so a simple check here relieves some
+		// heartburn I would no doubt otherwise endure.
+		if (!path1.equals(path2)) {
+			// If the project space contains a file by the same name, but
+			// with a different absolute path, delete that file.
+			if (fileInProject.exists()) {
+				try {
+					fileInProject.delete(true, null);
+				} catch (CoreException e) {
+					// Complain and don't do anything else.
+					logger.info("Core Message: " + "Unable to import file.");
+					logger.error(getClass().getName() + " Exception!", e);
+					return false;
+				}
+			}
+			try {
+				// Open a stream of the file
+				FileInputStream fileStream = new FileInputStream(new File(file));
+				// Import the file
+				fileInProject.create(fileStream, true, null);
+			} catch (FileNotFoundException e) {
+				// Complain and don't do anything else.
+				logger.info("Core Message: " + "Unable to import file.");
+				logger.error(getClass().getName() + " Exception!", e);
+				return false;
+			} catch (CoreException e) {
+				// Complain and don't do anything else.
+				logger.info("Core Message: " + "Unable to import file.");
+				logger.error(getClass().getName() + " Exception!", e);
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -1088,6 +1669,51 @@ public class Core extends Application implements ICore, BundleActivator {
 	@Override
 	public void renameItem(int itemID, String name) {
 		itemManager.renameItem(itemID, name);
+		eventPublisher.publishItemListChange(itemID);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#addItemEventListener(int, IItemEventListener)
+	 */
+	@Override
+	public boolean addItemEventListener(int itemId,
+			IItemEventListener listener) {
+		eventPublisher.addListener(itemId, listener);
+		return true;
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#removeItemEventListener(int, IItemEventListener)
+	 */
+	@Override
+	public void removeItemEventListener(int itemId,
+			IItemEventListener listener) {
+		eventPublisher.removeListener(itemId, listener);
+	}
+
+	/**
+	 * (non-Javadoc)
+	 *
+	 * @see ICore#getItemEvents(int, long, long)
+	 */
+	@Override
+	public String getItemEvents(int itemId, long since, long timeout) {
+		return gson.toJson(eventPublisher.waitForEvents(itemId, since, timeout));
+	}
+
+	/**
+	 * This operation creates the publisher that pushes the status and output
+	 * of the Items in the ItemManager to listeners.
+	 *
+	 * @return The publisher
+	 */
+	private ItemEventPublisher createEventPublisher() {
+		return new ItemEventPublisher(id -> getItemStatus(id),
+				id -> itemManager.getOutputFile(id));
 	}
 
 }
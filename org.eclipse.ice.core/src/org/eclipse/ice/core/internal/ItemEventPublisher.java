@@ -0,0 +1,581 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.core.iCore.ItemEvent;
+import org.eclipse.ice.datastructures.form.FormStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class pushes ItemEvents to the listeners of each Item and keeps the
+ * most recent events of each Item for clients that long poll for them.
+ *
+ * The Core tells the publisher whenever it changes an Item, so those changes
+ * are posted immediately. Items that are processing change their status and
+ * write their output from their own threads, so the publisher also checks the
+ * Items that have listeners or pollers every {@link #CHECK_PERIOD}
+ * milliseconds. The check is done once for all clients and reads only the
+ * part of the output file that was written since the last check. Items that
+ * no one is watching are never checked.
+ *
+ * All events are posted, and listeners are called, on a single thread, so the
+ * events for an Item are always delivered in order.
+ *
+ */
+public class ItemEventPublisher {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(ItemEventPublisher.class);
+
+	/**
+	 * The time in milliseconds between checks of the watched Items.
+	 */
+	public static final long CHECK_PERIOD = 50;
+
+	/**
+	 * The number of recent events kept for each Item for long polling.
+	 */
+	public static final int MAX_EVENTS = 1024;
+
+	/**
+	 * The longest time in milliseconds that a long poll may wait.
+	 */
+	public static final long MAX_TIMEOUT = 30000;
+
+	/**
+	 * The time in milliseconds after the last poll that an Item without
+	 * listeners is still watched, so that events are not missed between polls.
+	 */
+	private static final long IDLE_TIME = 60000;
+
+	/**
+	 * The largest amount of output, in bytes, read from a file in one check.
+	 */
+	private static final int MAX_READ = 1 << 20;
+
+	/**
+	 * The operation used to get the status of an Item.
+	 */
+	private final Function<Integer, FormStatus> statusSource;
+
+	/**
+	 * The operation used to get the output file of an Item.
+	 */
+	private final Function<Integer, File> outputSource;
+
+	/**
+	 * The watched Items by id.
+	 */
+	private final ConcurrentHashMap<Integer, Watch> watches = new ConcurrentHashMap<Integer, Watch>();
+
+	/**
+	 * The number of sequence numbers set aside for each millisecond since the
+	 * epoch when the publisher is created.
+	 */
+	private static final long SEQUENCES_PER_MILLISECOND = 1000;
+
+	/**
+	 * The last sequence number given to an event. It starts from the time the
+	 * publisher was created so that the sequence numbers of a restarted server
+	 * are larger than those of the server it replaced, and clients that
+	 * remember the last sequence number they saw still receive the new
+	 * events.
+	 */
+	private final AtomicLong sequence = new AtomicLong(
+			System.currentTimeMillis() * SEQUENCES_PER_MILLISECOND);
+
+	/**
+	 * The thread that checks the Items and posts the events. It is replaced
+	 * when the publisher is started again after a shutdown.
+	 */
+	private volatile ScheduledExecutorService executor;
+
+	/**
+	 * The periodic check or null if no Items are watched. It is guarded by
+	 * the publisher.
+	 */
+	private ScheduledFuture<?> checker;
+
+	/**
+	 * This class holds the state of a single watched Item.
+	 */
+	private static class Watch {
+
+		/**
+		 * The id of the Item.
+		 */
+		private final int itemId;
+
+		/**
+		 * The listeners of the Item.
+		 */
+		private final CopyOnWriteArrayList<IItemEventListener> listeners = new CopyOnWriteArrayList<IItemEventListener>();
+
+		/**
+		 * The most recent events. It is guarded by the watch, which is also
+		 * notified when an event is added.
+		 */
+		private final ArrayDeque<ItemEvent> events = new ArrayDeque<ItemEvent>();
+
+		/**
+		 * The last status that was posted. It is only used on the publisher's
+		 * thread, like the rest of the fields below.
+		 */
+		private FormStatus status;
+
+		/**
+		 * The number of bytes of the output file that have been read.
+		 */
+		private long offset = 0;
+
+		/**
+		 * The bytes of the last line of output if it is not yet finished.
+		 */
+		private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+
+		/**
+		 * The time of the last poll in milliseconds.
+		 */
+		private volatile long lastPoll;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param itemId
+		 *            The id of the Item
+		 */
+		private Watch(int itemId) {
+			this.itemId = itemId;
+			lastPoll = System.currentTimeMillis();
+		}
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param statusSource
+	 *            The operation used to get the status of an Item by id. It
+	 *            returns null if the Item does not exist.
+	 * @param outputSource
+	 *            The operation used to get the output file of an Item by id.
+	 *            It returns null if the Item has no output file.
+	 */
+	public ItemEventPublisher(Function<Integer, FormStatus> statusSource,
+			Function<Integer, File> outputSource) {
+		this.statusSource = statusSource;
+		this.outputSource = outputSource;
+		executor = createExecutor();
+	}
+
+	/**
+	 * This operation restarts the publisher after it was shut down, for
+	 * example when the Core is stopped and started again. It does nothing if
+	 * the publisher is running.
+	 */
+	public synchronized void start() {
+		if (executor.isShutdown()) {
+			executor = createExecutor();
+		}
+	}
+
+	/**
+	 * This operation creates the thread that checks the Items and posts the
+	 * events.
+	 *
+	 * @return The executor
+	 */
+	private static ScheduledExecutorService createExecutor() {
+		return Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "ICE Item Event Publisher");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * This operation registers a listener of an Item. The listener is sent the
+	 * current status of the Item right away.
+	 *
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param listener
+	 *            The listener
+	 */
+	public void addListener(int itemId, IItemEventListener listener) {
+		if (listener != null) {
+			getWatch(itemId, listener);
+		}
+	}
+
+	/**
+	 * This operation unregisters a listener of an Item.
+	 *
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param listener
+	 *            The listener
+	 */
+	public void removeListener(int itemId, IItemEventListener listener) {
+		Watch watch = watches.get(itemId);
+		if (watch != null) {
+			watch.listeners.remove(listener);
+		}
+	}
+
+	/**
+	 * This operation checks an Item right away, for example after the Core
+	 * processed or updated it, and posts any changes.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 */
+	public void publishStatus(int itemId) {
+		Watch watch = watches.get(itemId);
+		if (watch != null) {
+			executor.execute(() -> check(watch));
+		}
+	}
+
+	/**
+	 * This operation posts an ITEM_LIST event, for example after the Core
+	 * created or deleted an Item, and a STATUS event for the Item if it is
+	 * watched.
+	 *
+	 * @param itemId
+	 *            The id of the Item that was added, removed or renamed
+	 */
+	public void publishItemListChange(int itemId) {
+		Watch all = watches.get(ItemEvent.ALL_ITEMS);
+		if (all != null) {
+			executor.execute(() -> post(all, new ItemEvent(itemId,
+					ItemEvent.Type.ITEM_LIST, null, null)));
+		}
+		publishStatus(itemId);
+	}
+
+	/**
+	 * This operation returns the events of an Item that are newer than a
+	 * sequence number, waiting for up to the timeout if there are none.
+	 *
+	 * @param itemId
+	 *            The id of the Item or ItemEvent.ALL_ITEMS
+	 * @param since
+	 *            The sequence number of the last event the caller has seen
+	 * @param timeout
+	 *            The longest time to wait in milliseconds. It is limited to
+	 *            MAX_TIMEOUT.
+	 * @return The events in order
+	 */
+	public List<ItemEvent> waitForEvents(int itemId, long since,
+			long timeout) {
+
+		// Local Declarations
+		List<ItemEvent> found = new ArrayList<ItemEvent>();
+		Watch watch = getWatch(itemId, null);
+		long deadline = System.currentTimeMillis()
+				+ Math.max(0, Math.min(timeout, MAX_TIMEOUT));
+
+		synchronized (watch) {
+			try {
+				// Wait for an event newer than the last one seen
+				long remaining = deadline - System.currentTimeMillis();
+				while ((watch.events.isEmpty()
+						|| watch.events.peekLast().getSequence() <= since)
+						&& remaining > 0 && watches.get(itemId) == watch) {
+					watch.wait(remaining);
+					remaining = deadline - System.currentTimeMillis();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			// Collect the new events
+			for (ItemEvent event : watch.events) {
+				if (event.getSequence() > since) {
+					found.add(event);
+				}
+			}
+		}
+		watch.lastPoll = System.currentTimeMillis();
+
+		return found;
+	}
+
+	/**
+	 * This operation stops watching all Items and wakes up any pollers. The
+	 * publisher can be restarted with start().
+	 */
+	public synchronized void shutdown() {
+		if (checker != null) {
+			checker.cancel(false);
+			checker = null;
+		}
+		for (Watch watch : watches.values()) {
+			synchronized (watch) {
+				watches.remove(watch.itemId);
+				watch.notifyAll();
+			}
+		}
+		executor.shutdown();
+	}
+
+	/**
+	 * This operation returns the watch for an Item, creating it and starting
+	 * the periodic check if needed. It also resets the idle time of the watch.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param listener
+	 *            A listener to add to the watch or null. It is sent the current
+	 *            status of the Item.
+	 * @return The watch
+	 */
+	private synchronized Watch getWatch(int itemId,
+			IItemEventListener listener) {
+
+		Watch watch = watches.get(itemId);
+		boolean created = (watch == null);
+
+		if (created) {
+			watch = new Watch(itemId);
+			watches.put(itemId, watch);
+		}
+
+		// Add the listener before the first check so that it is sent the
+		// status posted by that check
+		boolean added = (listener != null)
+				&& watch.listeners.addIfAbsent(listener);
+
+		if (itemId != ItemEvent.ALL_ITEMS && !executor.isShutdown()) {
+			final Watch itemWatch = watch;
+			if (created) {
+				// Get the current state of the Item
+				executor.execute(() -> check(itemWatch));
+			} else if (added) {
+				// Send the last status to the new listener. It runs after the
+				// first check, so the status is known by then.
+				executor.execute(() -> {
+					if (itemWatch.status != null) {
+						ItemEvent event = new ItemEvent(itemId,
+								ItemEvent.Type.STATUS, itemWatch.status, null);
+						event.setSequence(sequence.get());
+						deliver(listener, event);
+					}
+				});
+			}
+		}
+
+		if (created) {
+			// Start checking
+			if (checker == null && !executor.isShutdown()) {
+				checker = executor.scheduleWithFixedDelay(() -> checkAll(),
+						CHECK_PERIOD, CHECK_PERIOD, TimeUnit.MILLISECONDS);
+			}
+		}
+		watch.lastPoll = System.currentTimeMillis();
+		return watch;
+	}
+
+	/**
+	 * This operation checks every watched Item and stops watching those that
+	 * are no longer needed.
+	 */
+	private void checkAll() {
+
+		long now = System.currentTimeMillis();
+
+		for (Watch watch : watches.values()) {
+			if (watch.listeners.isEmpty()
+					&& now - watch.lastPoll > IDLE_TIME) {
+				// Nobody is watching the Item any more
+				synchronized (this) {
+					if (watch.listeners.isEmpty()) {
+						watches.remove(watch.itemId, watch);
+					}
+				}
+			} else if (watch.itemId != ItemEvent.ALL_ITEMS) {
+				check(watch);
+			}
+		}
+
+		// Stop checking if there is nothing left to check
+		synchronized (this) {
+			if (watches.isEmpty() && checker != null) {
+				checker.cancel(false);
+				checker = null;
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation posts the new output and the status of an Item if it
+	 * changed. Output is read first so that all of the output written before
+	 * an Item finished is posted before its final status.
+	 *
+	 * @param watch
+	 *            The watch of the Item
+	 */
+	private void check(Watch watch) {
+		try {
+			FormStatus status = statusSource.apply(watch.itemId);
+			boolean running = FormStatus.Processing.equals(status)
+					|| FormStatus.NeedsInfo.equals(status);
+			readOutput(watch, !running);
+			if (status != null && !status.equals(watch.status)) {
+				watch.status = status;
+				post(watch, new ItemEvent(watch.itemId, ItemEvent.Type.STATUS,
+						status, null));
+			}
+		} catch (RuntimeException e) {
+			// Don't let one bad Item stop the checks for the others
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+	}
+
+	/**
+	 * This operation reads the output of an Item that was written since the
+	 * last check and posts it as one event.
+	 *
+	 * @param watch
+	 *            The watch of the Item
+	 * @param finished
+	 *            True if the Item is done writing, in which case an unfinished
+	 *            last line is posted too
+	 */
+	private void readOutput(Watch watch, boolean finished) {
+
+		// Local Declarations
+		File outputFile = outputSource.apply(watch.itemId);
+		byte[] bytes = null;
+
+		if (outputFile == null || !outputFile.isFile()) {
+			return;
+		}
+
+		// Read the new bytes
+		try (RandomAccessFile file = new RandomAccessFile(outputFile, "r")) {
+			long length = file.length();
+			if (length < watch.offset) {
+				// The file was rewritten, so start over
+				watch.offset = 0;
+				watch.partialLine.reset();
+			}
+			if (length > watch.offset) {
+				bytes = new byte[(int) Math.min(length - watch.offset,
+						MAX_READ)];
+				file.seek(watch.offset);
+				file.readFully(bytes);
+				watch.offset += bytes.length;
+			}
+		} catch (IOException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return;
+		}
+
+		// Add the new bytes to the unfinished line from the last check
+		if (bytes != null) {
+			watch.partialLine.write(bytes, 0, bytes.length);
+		} else if (!finished || watch.partialLine.size() == 0) {
+			return;
+		}
+
+		// Post everything up to the last new line, or everything if the Item
+		// is done writing
+		byte[] pending = watch.partialLine.toByteArray();
+		int end = pending.length;
+		if (!finished) {
+			while (end > 0 && pending[end - 1] != '\n') {
+				end--;
+			}
+		}
+		if (end > 0) {
+			String text = new String(pending, 0, end, Charset.defaultCharset())
+					.replace("\r", "");
+			if (text.endsWith("\n")) {
+				text = text.substring(0, text.length() - 1);
+			}
+			post(watch, new ItemEvent(watch.itemId, ItemEvent.Type.OUTPUT,
+					null, text));
+			watch.partialLine.reset();
+			watch.partialLine.write(pending, end, pending.length - end);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation gives an event its sequence number, stores it for
+	 * pollers and sends it to the listeners of the Item.
+	 *
+	 * @param watch
+	 *            The watch of the Item
+	 * @param event
+	 *            The event
+	 */
+	private void post(Watch watch, ItemEvent event) {
+
+		// Store the event and wake up the pollers
+		synchronized (watch) {
+			event.setSequence(sequence.incrementAndGet());
+			watch.events.addLast(event);
+			if (watch.events.size() > MAX_EVENTS) {
+				watch.events.removeFirst();
+			}
+			watch.notifyAll();
+		}
+
+		// Notify the listeners
+		for (IItemEventListener listener : watch.listeners) {
+			deliver(listener, event);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation sends an event to a listener.
+	 *
+	 * @param listener
+	 *            The listener
+	 * @param event
+	 *            The event
+	 */
+	private void deliver(IItemEventListener listener, ItemEvent event) {
+		try {
+			listener.itemEventPosted(event);
+		} catch (RuntimeException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+	}
+}
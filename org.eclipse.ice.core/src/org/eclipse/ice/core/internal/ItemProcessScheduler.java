@@ -0,0 +1,598 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.ice.datastructures.form.FormStatus;
+
+/**
+ * This class runs requests to process Items on a bounded pool of worker
+ * threads so that the Core can serve many clients at once without creating a
+ * thread for each request.
+ *
+ * Requests for the same Item are run one at a time in the order they were
+ * submitted, so a request never ties up a worker while it waits for another
+ * request for the same Item to finish. Requests for different Items run in
+ * parallel. Waiting requests are started in priority order, so interactive
+ * requests are not stuck behind a queue of batch launches.
+ *
+ * Requests that have not started can be cancelled with
+ * {@link #cancel(int)}. Requests that are running have to be cancelled by
+ * the Item itself.
+ *
+ * The scheduler also keeps the queue depth, the number of requests that have
+ * been submitted and completed and the time requests waited before starting.
+ *
+ */
+public class ItemProcessScheduler {
+
+	/**
+	 * The priority classes of requests.
+	 */
+	public enum Priority {
+		/**
+		 * Requests from users that are waiting for the result, such as writing
+		 * an input file.
+		 */
+		INTERACTIVE,
+		/**
+		 * Requests that may run for a long time, such as job launches.
+		 */
+		BATCH
+	};
+
+	/**
+	 * The pool that runs the requests.
+	 */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * The requests that are waiting for an earlier request for the same Item
+	 * to finish, keyed by Item id. An Item has an entry in this map, which may
+	 * be empty, if and only if one of its requests has been handed to the
+	 * pool and has not finished.
+	 */
+	private final HashMap<Integer, ArrayDeque<Request>> items = new HashMap<Integer, ArrayDeque<Request>>();
+
+	/**
+	 * The number of requests that are waiting or running for each Item and
+	 * priority, keyed by Item id. It is only used while holding the lock on
+	 * the map of Items.
+	 */
+	private final HashMap<Integer, int[]> pendingCounts = new HashMap<Integer, int[]>();
+
+	/**
+	 * The number of requests that have not started for each priority.
+	 */
+	private final AtomicInteger[] queueDepth;
+
+	/**
+	 * The sequence number of the last request, used to keep requests with the
+	 * same priority in order.
+	 */
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * The number of requests that have been submitted.
+	 */
+	private final AtomicLong submittedCount = new AtomicLong();
+
+	/**
+	 * The number of requests that have finished or been cancelled.
+	 */
+	private final AtomicLong completedCount = new AtomicLong();
+
+	/**
+	 * The number of requests that have started.
+	 */
+	private final AtomicLong startedCount = new AtomicLong();
+
+	/**
+	 * The total time in milliseconds that started requests waited.
+	 */
+	private final AtomicLong totalWaitTime = new AtomicLong();
+
+	/**
+	 * The longest time in milliseconds that a request waited.
+	 */
+	private final AtomicLong maxWaitTime = new AtomicLong();
+
+	/**
+	 * The constructor.
+	 *
+	 * @param threads
+	 *            The number of worker threads. It must be at least 1.
+	 */
+	public ItemProcessScheduler(int threads) {
+
+		// Setup the queue depths
+		queueDepth = new AtomicInteger[Priority.values().length];
+		for (int i = 0; i < queueDepth.length; i++) {
+			queueDepth[i] = new AtomicInteger();
+		}
+
+		// Setup the pool. The queue orders the requests by priority.
+		final AtomicInteger threadCount = new AtomicInteger();
+		executor = new ThreadPoolExecutor(threads, threads, 60,
+				TimeUnit.SECONDS, new PriorityBlockingQueue<Runnable>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "ICE Item Processor "
+							+ threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		executor.allowCoreThreadTimeOut(true);
+
+		return;
+	}
+
+	/**
+	 * This operation submits a request to process an Item. It will run after
+	 * all of the requests for the Item that were submitted before it.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param priority
+	 *            The priority of the request
+	 * @param work
+	 *            The work that processes the Item
+	 * @return The future result of the work. Cancelling it cancels the
+	 *         request if it has not started.
+	 */
+	public Future<FormStatus> submit(int itemId, Priority priority,
+			Callable<FormStatus> work) {
+
+		// Local Declarations
+		Request request = new Request(itemId, priority, work);
+
+		submittedCount.incrementAndGet();
+		queueDepth[priority.ordinal()].incrementAndGet();
+
+		// Hand it to the pool unless a request for the Item is in progress
+		synchronized (items) {
+			int[] counts = pendingCounts.get(itemId);
+			if (counts == null) {
+				counts = new int[Priority.values().length];
+				pendingCounts.put(itemId, counts);
+			}
+			counts[priority.ordinal()]++;
+			ArrayDeque<Request> waiting = items.get(itemId);
+			if (waiting != null) {
+				waiting.add(request);
+				return request;
+			}
+			items.put(itemId, new ArrayDeque<Request>());
+			request.dispatched = true;
+		}
+		executor.execute(request);
+
+		return request;
+	}
+
+	/**
+	 * This operation returns true if a request for the Item is waiting or
+	 * running.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @return True if the Item has a pending request, false otherwise
+	 */
+	public boolean isPending(int itemId) {
+		synchronized (items) {
+			return items.containsKey(itemId);
+		}
+	}
+
+	/**
+	 * This operation returns true if a request for the Item with the given
+	 * priority is waiting or running.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param priority
+	 *            The priority
+	 * @return True if the Item has a pending request with the priority, false
+	 *         otherwise
+	 */
+	public boolean isPending(int itemId, Priority priority) {
+		synchronized (items) {
+			int[] counts = pendingCounts.get(itemId);
+			return counts != null && counts[priority.ordinal()] > 0;
+		}
+	}
+
+	/**
+	 * This operation cancels all of the requests for the Item that have not
+	 * started.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @return The number of requests that were cancelled
+	 */
+	public int cancel(int itemId) {
+
+		// Local Declarations
+		int count = 0;
+		Request dispatched = null;
+
+		// Take the requests that are still waiting for the Item
+		synchronized (items) {
+			ArrayDeque<Request> waiting = items.get(itemId);
+			if (waiting == null) {
+				return 0;
+			}
+			for (Request request : waiting) {
+				if (request.cancel(false)) {
+					count++;
+				}
+			}
+			waiting.clear();
+		}
+
+		// Cancel the request in the pool too if it has not started yet
+		Iterator<Runnable> iterator = executor.getQueue().iterator();
+		while (iterator.hasNext() && dispatched == null) {
+			Request request = (Request) iterator.next();
+			if (request.itemId == itemId) {
+				dispatched = request;
+			}
+		}
+		if (dispatched != null && dispatched.cancel(false)) {
+			executor.remove(dispatched);
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * This operation returns the number of requests with the given priority
+	 * that have not started.
+	 *
+	 * @param priority
+	 *            The priority
+	 * @return The number of waiting requests
+	 */
+	public int getQueueDepth(Priority priority) {
+		return queueDepth[priority.ordinal()].get();
+	}
+
+	/**
+	 * This operation returns the number of requests that are running.
+	 *
+	 * @return The number of running requests
+	 */
+	public int getActiveCount() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * This operation returns the number of requests that have been submitted.
+	 *
+	 * @return The number of submitted requests
+	 */
+	public long getSubmittedCount() {
+		return submittedCount.get();
+	}
+
+	/**
+	 * This operation returns the number of requests that have finished or
+	 * been cancelled.
+	 *
+	 * @return The number of completed requests
+	 */
+	public long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	/**
+	 * This operation returns the average time that requests waited before
+	 * they started.
+	 *
+	 * @return The average wait time in milliseconds or 0 if no requests have
+	 *         started
+	 */
+	public double getAverageWaitTime() {
+		long started = startedCount.get();
+		return (started > 0) ? (double) totalWaitTime.get() / started : 0.0;
+	}
+
+	/**
+	 * This operation returns the longest time that a request waited before it
+	 * started.
+	 *
+	 * @return The longest wait time in milliseconds
+	 */
+	public long getMaxWaitTime() {
+		return maxWaitTime.get();
+	}
+
+	/**
+	 * This operation stops the worker threads. Requests that are running are
+	 * allowed to finish, but the others are cancelled.
+	 */
+	public void shutdown() {
+
+		// Local Declarations
+		ArrayList<Runnable> requests = new ArrayList<Runnable>();
+
+		// Stop the pool and cancel the requests that it had not started
+		executor.shutdown();
+		executor.getQueue().drainTo(requests);
+		for (Runnable request : requests) {
+			((Request) request).cancel(false);
+		}
+
+		// Cancel the requests that were waiting for other requests
+		synchronized (items) {
+			for (ArrayDeque<Request> waiting : items.values()) {
+				for (Request request : waiting) {
+					request.cancel(false);
+				}
+				waiting.clear();
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation hands the next waiting request for the Item to the pool
+	 * or forgets the Item if there are none.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 */
+	private void dispatchNext(int itemId) {
+
+		// Local Declarations
+		Request next = null;
+
+		synchronized (items) {
+			ArrayDeque<Request> waiting = items.get(itemId);
+			if (waiting != null) {
+				next = waiting.poll();
+				if (next == null) {
+					items.remove(itemId);
+				} else {
+					next.dispatched = true;
+				}
+			}
+		}
+
+		if (next != null && !executor.isShutdown()) {
+			executor.execute(next);
+		}
+
+		return;
+	}
+
+	/**
+	 * A request to process an Item. Requests are ordered by priority and then
+	 * by the order in which they were submitted.
+	 */
+	private class Request extends FutureTask<FormStatus>
+			implements Comparable<Request> {
+
+		/**
+		 * The id of the Item.
+		 */
+		private final int itemId;
+
+		/**
+		 * The priority of the request.
+		 */
+		private final Priority priority;
+
+		/**
+		 * The sequence number of the request.
+		 */
+		private final long number;
+
+		/**
+		 * The time at which the request was submitted.
+		 */
+		private final long submitTime;
+
+		/**
+		 * True once the request has been handed to the pool. It is only used
+		 * while holding the lock on the map of Items.
+		 */
+		private boolean dispatched = false;
+
+		/**
+		 * True until the request starts or is cancelled.
+		 */
+		private final AtomicBoolean waiting = new AtomicBoolean(true);
+
+		/**
+		 * True once the request has let the next request for the Item run.
+		 */
+		private final AtomicBoolean released = new AtomicBoolean(false);
+
+		/**
+		 * True once the request is no longer counted as pending.
+		 */
+		private final AtomicBoolean finished = new AtomicBoolean(false);
+
+		/**
+		 * The constructor.
+		 *
+		 * @param itemId
+		 *            The id of the Item
+		 * @param priority
+		 *            The priority of the request
+		 * @param work
+		 *            The work that processes the Item
+		 */
+		private Request(int itemId, Priority priority,
+				Callable<FormStatus> work) {
+			super(work);
+			this.itemId = itemId;
+			this.priority = priority;
+			number = sequence.incrementAndGet();
+			submitTime = System.currentTimeMillis();
+		}
+
+		/**
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.FutureTask#run()
+		 */
+		@Override
+		public void run() {
+
+			// Requests that were cancelled before they were handed to the
+			// pool still have to let the next request run
+			if (!waiting.compareAndSet(true, false)) {
+				release();
+				return;
+			}
+
+			// Record how long the request waited
+			long waitTime = System.currentTimeMillis() - submitTime;
+			queueDepth[priority.ordinal()].decrementAndGet();
+			startedCount.incrementAndGet();
+			totalWaitTime.addAndGet(waitTime);
+			maxWaitTime.accumulateAndGet(waitTime, Math::max);
+
+			super.run();
+		}
+
+		/**
+		 * This operation cancels the request if it has not started. Requests
+		 * that are running can not be cancelled here.
+		 *
+		 * @see java.util.concurrent.FutureTask#cancel(boolean)
+		 */
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+
+			// Only requests that are waiting can be cancelled
+			if (!waiting.compareAndSet(true, false)) {
+				return false;
+			}
+			queueDepth[priority.ordinal()].decrementAndGet();
+			completedCount.incrementAndGet();
+
+			return super.cancel(false);
+		}
+
+		/**
+		 * This operation lets the next request for the Item run before the
+		 * result is made available, so that the Item is no longer pending
+		 * when callers see the result.
+		 *
+		 * @see java.util.concurrent.FutureTask#set(java.lang.Object)
+		 */
+		@Override
+		protected void set(FormStatus result) {
+			completedCount.incrementAndGet();
+			finish();
+			release();
+			super.set(result);
+		}
+
+		/**
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.FutureTask#setException(java.lang.Throwable)
+		 */
+		@Override
+		protected void setException(Throwable cause) {
+			completedCount.incrementAndGet();
+			finish();
+			release();
+			super.setException(cause);
+		}
+
+		/**
+		 * (non-Javadoc)
+		 *
+		 * @see java.util.concurrent.FutureTask#done()
+		 */
+		@Override
+		protected void done() {
+
+			// Local Declarations
+			boolean inPool;
+
+			// Cancelled requests are finished here
+			finish();
+
+			// Let the next request for the Item run if this one held its
+			// place. Otherwise it will do so if it is ever handed to the pool.
+			synchronized (items) {
+				inPool = dispatched;
+			}
+			if (inPool) {
+				release();
+			}
+
+			return;
+		}
+
+		/**
+		 * This operation stops counting the request as pending for its Item.
+		 * It only has an effect the first time it is called.
+		 */
+		private void finish() {
+			if (finished.compareAndSet(false, true)) {
+				synchronized (items) {
+					int[] counts = pendingCounts.get(itemId);
+					if (counts != null && --counts[priority.ordinal()] == 0) {
+						boolean empty = true;
+						for (int count : counts) {
+							empty &= (count == 0);
+						}
+						if (empty) {
+							pendingCounts.remove(itemId);
+						}
+					}
+				}
+			}
+		}
+
+		/**
+		 * This operation lets the next request for the Item run. It only has
+		 * an effect the first time it is called.
+		 */
+		private void release() {
+			if (released.compareAndSet(false, true)) {
+				dispatchNext(itemId);
+			}
+		}
+
+		/**
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Comparable#compareTo(java.lang.Object)
+		 */
+		@Override
+		public int compareTo(Request other) {
+			int order = priority.compareTo(other.priority);
+			return (order != 0) ? order : Long.compare(number, other.number);
+		}
+	}
+}
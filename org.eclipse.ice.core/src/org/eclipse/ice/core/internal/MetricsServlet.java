@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
+
+/**
+ * This class is a servlet that writes the shared MetricsRegistry in the
+ * Prometheus text format. The Core publishes it at "/metrics", next to the
+ * "/ice" REST servlet, so that monitoring tools can scrape it.
+ *
+ */
+public class MetricsServlet extends HttpServlet {
+
+	/**
+	 * The id used for serialization.
+	 */
+	private static final long serialVersionUID = 5305786374325138235L;
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * javax.servlet.http.HttpServlet#doGet(javax.servlet.http.HttpServletRequest,
+	 * javax.servlet.http.HttpServletResponse)
+	 */
+	@Override
+	protected void doGet(HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+
+		// Write the metrics
+		byte[] text = MetricsRegistry.getInstance().toText()
+				.getBytes(StandardCharsets.UTF_8);
+		response.setContentType("text/plain; version=0.0.4; charset=utf-8");
+		response.setHeader("Cache-Control", "no-cache");
+		response.setContentLength(text.length);
+		response.getOutputStream().write(text);
+
+		return;
+	}
+}
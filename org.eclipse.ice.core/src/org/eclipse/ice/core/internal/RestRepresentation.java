@@ -0,0 +1,291 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Variant;
+import javax.xml.bind.JAXBException;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+/**
+ * This class builds the responses of the Core's REST API for JAXB-annotated
+ * resources, such as Forms.
+ *
+ * Resources are written as XML or, if the client prefers it, as JSON. Every
+ * response carries an entity tag computed from its content, so clients that
+ * send the tag of the copy they already have in an If-None-Match header get a
+ * 304 (Not Modified) response with no content if the resource has not
+ * changed.
+ *
+ * The JSON representation is converted from the XML representation. Each
+ * element becomes a member of its parent's object, with attributes as members
+ * and repeated elements as arrays. Elements that only contain text become
+ * strings.
+ *
+ */
+public class RestRepresentation {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(RestRepresentation.class);
+
+	/**
+	 * The representations that can be served.
+	 */
+	private static final List<Variant> variants = Variant
+			.mediaTypes(MediaType.APPLICATION_XML_TYPE,
+					MediaType.APPLICATION_JSON_TYPE)
+			.add().build();
+
+	/**
+	 * The cache control for the responses. Clients may keep the resource but
+	 * must check that it has not changed before using it.
+	 */
+	private static final CacheControl cacheControl = new CacheControl();
+
+	static {
+		cacheControl.setNoCache(true);
+	}
+
+	/**
+	 * The characters used to write the entity tags.
+	 */
+	private static final char[] hexDigits = "0123456789abcdef".toCharArray();
+
+	/**
+	 * This operation builds the response to a GET request for a resource.
+	 *
+	 * @param request
+	 *            The request
+	 * @param entity
+	 *            The resource or null if it does not exist
+	 * @param type
+	 *            The JAXB-annotated class as which the resource is written
+	 * @return The response. It is 404 (Not Found) if the entity is null, 406
+	 *         (Not Acceptable) if the client does not accept XML or JSON, 304
+	 *         (Not Modified) if the client has the current version and 200 (OK)
+	 *         with the resource otherwise.
+	 */
+	public static Response respond(Request request, Object entity,
+			Class<?> type) {
+
+		// Local Declarations
+		byte[] content;
+		ResponseBuilder builder;
+
+		// Make sure the resource exists
+		if (entity == null) {
+			return Response.status(Response.Status.NOT_FOUND).build();
+		}
+
+		// Pick the representation
+		Variant variant = request.selectVariant(variants);
+		if (variant == null) {
+			return Response.notAcceptable(variants).build();
+		}
+
+		// Write it
+		try {
+			content = marshal(entity, type);
+			if (MediaType.APPLICATION_JSON_TYPE
+					.isCompatible(variant.getMediaType())) {
+				content = toJson(content).getBytes(StandardCharsets.UTF_8);
+			}
+		} catch (JAXBException | IOException e) {
+			logger.error(
+					RestRepresentation.class.getName() + " Exception!", e);
+			return Response.serverError().build();
+		}
+
+		// Only send it if the client does not already have it
+		EntityTag tag = tag(content);
+		builder = request.evaluatePreconditions(tag);
+		if (builder == null) {
+			builder = Response.ok(content, variant.getMediaType());
+		}
+
+		return builder.tag(tag).cacheControl(cacheControl).build();
+	}
+
+	/**
+	 * This operation writes a resource as XML.
+	 *
+	 * @param entity
+	 *            The resource
+	 * @param type
+	 *            The JAXB-annotated class as which it is written
+	 * @return The XML
+	 * @throws JAXBException
+	 *             An exception if the resource can not be written
+	 */
+	public static byte[] marshal(Object entity, Class<?> type)
+			throws JAXBException {
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		ICEJAXBContextCache.marshal(ICEJAXBContextCache.getContext(type),
+				entity, stream);
+		return stream.toByteArray();
+	}
+
+	/**
+	 * This operation computes the entity tag of a representation.
+	 *
+	 * @param content
+	 *            The representation
+	 * @return The tag, which is a digest of the content
+	 */
+	public static EntityTag tag(byte[] content) {
+
+		// Local Declarations
+		byte[] digest;
+
+		try {
+			digest = MessageDigest.getInstance("SHA-1").digest(content);
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform has SHA-1, so this should never happen
+			throw new IllegalStateException(e);
+		}
+
+		// Write it in hex
+		char[] hex = new char[digest.length * 2];
+		for (int i = 0; i < digest.length; i++) {
+			hex[2 * i] = hexDigits[(digest[i] >> 4) & 0xf];
+			hex[2 * i + 1] = hexDigits[digest[i] & 0xf];
+		}
+
+		return new EntityTag(new String(hex));
+	}
+
+	/**
+	 * This operation converts an XML document to JSON.
+	 *
+	 * @param xml
+	 *            The XML document
+	 * @return The JSON document. It is an object with one member, named for
+	 *         the root element of the XML document.
+	 * @throws IOException
+	 *             An exception if the XML can not be read
+	 */
+	public static String toJson(byte[] xml) throws IOException {
+
+		// Local Declarations
+		Element root;
+		JsonObject document = new JsonObject();
+
+		// Read the XML
+		try {
+			DocumentBuilderFactory factory = DocumentBuilderFactory
+					.newInstance();
+			factory.setFeature(
+					"http://apache.org/xml/features/disallow-doctype-decl",
+					true);
+			DocumentBuilder parser = factory.newDocumentBuilder();
+			root = parser.parse(new ByteArrayInputStream(xml))
+					.getDocumentElement();
+		} catch (ParserConfigurationException | SAXException e) {
+			throw new IOException(e);
+		}
+
+		// Convert it
+		document.add(root.getTagName(), convert(root));
+
+		return document.toString();
+	}
+
+	/**
+	 * This operation converts an XML element to JSON.
+	 *
+	 * @param element
+	 *            The element
+	 * @return The JSON string if the element only contains text or the JSON
+	 *         object otherwise
+	 */
+	private static JsonElement convert(Element element) {
+
+		// Local Declarations
+		JsonObject object = new JsonObject();
+		StringBuilder text = new StringBuilder();
+		NamedNodeMap attributes = element.getAttributes();
+		NodeList children = element.getChildNodes();
+
+		// Add the attributes
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Attr attribute = (Attr) attributes.item(i);
+			// Namespace declarations are not part of the content
+			if (!attribute.getName().startsWith("xmlns")) {
+				object.addProperty(attribute.getName(), attribute.getValue());
+			}
+		}
+
+		// Add the child elements, grouping the ones with the same name
+		for (int i = 0; i < children.getLength(); i++) {
+			Node child = children.item(i);
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				String name = ((Element) child).getTagName();
+				JsonElement value = convert((Element) child);
+				JsonElement existing = object.get(name);
+				if (existing == null) {
+					object.add(name, value);
+				} else if (existing.isJsonArray()) {
+					existing.getAsJsonArray().add(value);
+				} else {
+					JsonArray array = new JsonArray();
+					array.add(existing);
+					array.add(value);
+					object.add(name, array);
+				}
+			} else if (child.getNodeType() == Node.TEXT_NODE
+					|| child.getNodeType() == Node.CDATA_SECTION_NODE) {
+				text.append(child.getNodeValue());
+			}
+		}
+
+		// Elements with only text are just strings
+		if (object.entrySet().isEmpty()) {
+			return new JsonPrimitive(text.toString());
+		} else if (text.toString().trim().length() > 0) {
+			object.addProperty("value", text.toString());
+		}
+
+		return object;
+	}
+}
@@ -0,0 +1,444 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.internal.itemmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.ICEObject.Composite;
+import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.MultiValueEntry;
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.TreeComposite;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+
+/**
+ * This class is a patch that changes the values of Entries in a Form. It is
+ * read from a JSON Patch (RFC 6902) document that only uses the "replace" and
+ * "test" operations, such as:
+ *
+ * <pre>
+ * [ { "op": "test", "path": "/components/3/entries/Mesh", "value": "a.e" },
+ *   { "op": "replace", "path": "/components/3/entries/Mesh", "value": "b.e" } ]
+ * </pre>
+ *
+ * The path of an operation is the path of the ids of the components that lead
+ * to a DataComponent, starting at the Form, followed by the name of an Entry
+ * in it. For example, "/components/5/components/12/entries/order" is the
+ * Entry named "order" in component 12 of component 5 of the Form. In a
+ * TreeComposite, such as the input tree of a MOOSE Item, the ids lead through
+ * its child TreeComposites and the last one may be one of its data nodes. As
+ * in all JSON Pointers, "~1" stands for "/" and "~0" stands for "~" in names.
+ * The value of an operation is a string or, for Entries with several values,
+ * an array of strings.
+ *
+ * Patches are applied atomically. Either every operation succeeds or the Form
+ * is left as it was.
+ *
+ */
+public class FormPatch {
+
+	/**
+	 * A single operation of the patch.
+	 */
+	private static class Operation {
+
+		/**
+		 * True if the operation tests the value instead of replacing it.
+		 */
+		private final boolean test;
+
+		/**
+		 * The ids of the components that lead to the Entry.
+		 */
+		private final int[] componentIds;
+
+		/**
+		 * The name of the Entry.
+		 */
+		private final String entryName;
+
+		/**
+		 * The values.
+		 */
+		private final String[] values;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param test
+		 *            True for a test, false for a replacement
+		 * @param componentIds
+		 *            The ids of the components that lead to the Entry
+		 * @param entryName
+		 *            The name of the Entry
+		 * @param values
+		 *            The values
+		 */
+		private Operation(boolean test, int[] componentIds, String entryName,
+				String[] values) {
+			this.test = test;
+			this.componentIds = componentIds;
+			this.entryName = entryName;
+			this.values = values;
+		}
+	}
+
+	/**
+	 * The operations in the order they are applied.
+	 */
+	private final List<Operation> operations;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param operations
+	 *            The operations
+	 */
+	private FormPatch(List<Operation> operations) {
+		this.operations = operations;
+	}
+
+	/**
+	 * This operation reads a patch from a JSON Patch document.
+	 *
+	 * @param json
+	 *            The document
+	 * @return The patch
+	 * @throws IllegalArgumentException
+	 *             An exception if the document is not a valid patch. The
+	 *             message says what is wrong with it.
+	 */
+	public static FormPatch parse(String json) {
+
+		// Local Declarations
+		JsonElement document;
+		List<Operation> operations = new ArrayList<Operation>();
+
+		// Read the document
+		try {
+			document = new JsonParser().parse(json);
+		} catch (JsonParseException e) {
+			throw new IllegalArgumentException("The patch is not valid JSON.",
+					e);
+		}
+		if (document == null || !document.isJsonArray()) {
+			throw new IllegalArgumentException(
+					"The patch must be an array of operations.");
+		}
+
+		// Read the operations
+		for (JsonElement element : document.getAsJsonArray()) {
+			if (!element.isJsonObject()) {
+				throw new IllegalArgumentException(
+						"Each operation must be an object.");
+			}
+			JsonObject object = element.getAsJsonObject();
+			String op = getString(object, "op");
+			if (!"replace".equals(op) && !"test".equals(op)) {
+				throw new IllegalArgumentException(
+						"Unsupported operation \"" + op + "\".");
+			}
+			operations.add(parsePath("test".equals(op),
+					getString(object, "path"), getValues(object)));
+		}
+
+		return new FormPatch(operations);
+	}
+
+	/**
+	 * This operation applies the patch to the Form. If any of the operations
+	 * fails, the values that were already replaced are restored.
+	 *
+	 * @param form
+	 *            The Form
+	 * @throws IllegalArgumentException
+	 *             An exception if an Entry does not exist, a test fails or an
+	 *             Entry does not accept a new value
+	 */
+	public void apply(Form form) {
+
+		// Local Declarations
+		List<IEntry> changed = new ArrayList<IEntry>();
+		List<String[]> oldValues = new ArrayList<String[]>();
+
+		try {
+			for (Operation operation : operations) {
+				IEntry entry = findEntry(form, operation.entryName,
+						operation.componentIds);
+				if (entry == null) {
+					throw new IllegalArgumentException("The Entry "
+							+ operation.entryName + " does not exist.");
+				}
+				String[] current = getValues(entry);
+				if (operation.test) {
+					if (!Arrays.equals(current, operation.values)) {
+						throw new IllegalArgumentException("The value of "
+								+ operation.entryName + " is not "
+								+ String.join(",", operation.values) + ".");
+					}
+				} else {
+					changed.add(entry);
+					oldValues.add(current);
+					if (!setValues(entry, operation.values)) {
+						throw new IllegalArgumentException(
+								String.join(",", operation.values)
+										+ " is not a valid value for "
+										+ operation.entryName + ".");
+					}
+				}
+			}
+		} catch (IllegalArgumentException e) {
+			// Put the old values back, last change first
+			for (int i = changed.size() - 1; i >= 0; i--) {
+				setValues(changed.get(i), oldValues.get(i));
+			}
+			throw e;
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation finds a component of a Form. The components of
+	 * TreeComposites on the path are found among their child TreeComposites,
+	 * except for the last one, which is found among their data nodes first.
+	 *
+	 * @param form
+	 *            The Form
+	 * @param componentIds
+	 *            The ids of the components that lead to the component,
+	 *            starting with the id of a component of the Form
+	 * @return The component or null if it does not exist
+	 */
+	public static Component findComponent(Form form, int... componentIds) {
+
+		// Local Declarations
+		Component component = null;
+		Composite parent = form;
+
+		// Walk down the path
+		for (int i = 0; i < componentIds.length && parent != null; i++) {
+			if (parent instanceof TreeComposite) {
+				component = findTreeComponent((TreeComposite) parent,
+						componentIds[i], i == componentIds.length - 1);
+			} else {
+				component = parent.getComponent(componentIds[i]);
+			}
+			parent = (component instanceof Composite) ? (Composite) component
+					: null;
+			if (component == null || (parent == null
+					&& i < componentIds.length - 1)) {
+				return null;
+			}
+		}
+
+		return component;
+	}
+
+	/**
+	 * This operation finds a component of a TreeComposite. Its data nodes and
+	 * children may have the same ids, so data nodes are only matched at the
+	 * end of a path.
+	 *
+	 * @param tree
+	 *            The TreeComposite
+	 * @param id
+	 *            The id of the component
+	 * @param last
+	 *            True if the component is the last one on the path
+	 * @return The data node or child or null if there is none with the id
+	 */
+	private static Component findTreeComponent(TreeComposite tree, int id,
+			boolean last) {
+
+		// Look at the data nodes if the path ends here
+		if (last) {
+			for (Component dataNode : tree.getDataNodes()) {
+				if (dataNode.getId() == id) {
+					return dataNode;
+				}
+			}
+		}
+
+		// Otherwise look at the children
+		for (int i = 0; i < tree.getNumberOfChildren(); i++) {
+			TreeComposite child = tree.getChildAtIndex(i);
+			if (child != null && child.getId() == id) {
+				return child;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * This operation finds an Entry in a DataComponent of a Form.
+	 *
+	 * @param form
+	 *            The Form
+	 * @param entryName
+	 *            The name of the Entry
+	 * @param componentIds
+	 *            The ids of the components that lead to the DataComponent
+	 * @return The Entry or null if it does not exist
+	 */
+	public static IEntry findEntry(Form form, String entryName,
+			int... componentIds) {
+		Component component = findComponent(form, componentIds);
+		return (component instanceof DataComponent)
+				? ((DataComponent) component).retrieveEntry(entryName) : null;
+	}
+
+	/**
+	 * This operation reads the ids of the components in a component path of
+	 * the REST API, such as "5/components/12".
+	 *
+	 * @param componentPath
+	 *            The path
+	 * @return The ids
+	 * @throws IllegalArgumentException
+	 *             An exception if the path is not valid
+	 */
+	public static int[] parseComponentPath(String componentPath) {
+		String[] parts = componentPath.split("/components/", -1);
+		int[] ids = new int[parts.length];
+		try {
+			for (int i = 0; i < parts.length; i++) {
+				ids[i] = Integer.parseInt(parts[i]);
+			}
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException(
+					"Invalid component path " + componentPath, e);
+		}
+		return ids;
+	}
+
+	/**
+	 * This operation reads the path of an operation.
+	 *
+	 * @param test
+	 *            True for a test, false for a replacement
+	 * @param path
+	 *            The JSON Pointer
+	 * @param values
+	 *            The values
+	 * @return The operation
+	 */
+	private static Operation parsePath(boolean test, String path,
+			String[] values) {
+
+		// Split the pointer. It must be /components/<id>.../entries/<name>.
+		String[] tokens = path.split("/", -1);
+		int length = tokens.length;
+		if (length < 5 || length % 2 == 0 || !tokens[0].isEmpty()
+				|| !"entries".equals(tokens[length - 2])) {
+			throw new IllegalArgumentException("Invalid path " + path);
+		}
+
+		// Read the component ids
+		int[] componentIds = new int[(length - 3) / 2];
+		for (int i = 0; i < componentIds.length; i++) {
+			if (!"components".equals(tokens[2 * i + 1])) {
+				throw new IllegalArgumentException("Invalid path " + path);
+			}
+			try {
+				componentIds[i] = Integer.parseInt(tokens[2 * i + 2]);
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid path " + path, e);
+			}
+		}
+
+		// Unescape the name of the Entry
+		String entryName = tokens[length - 1].replace("~1", "/").replace("~0",
+				"~");
+
+		return new Operation(test, componentIds, entryName, values);
+	}
+
+	/**
+	 * This operation reads a string member of an operation.
+	 *
+	 * @param object
+	 *            The operation
+	 * @param name
+	 *            The name of the member
+	 * @return The string
+	 */
+	private static String getString(JsonObject object, String name) {
+		JsonElement member = object.get(name);
+		if (member == null || !member.isJsonPrimitive()) {
+			throw new IllegalArgumentException(
+					"Each operation must have a \"" + name + "\" string.");
+		}
+		return member.getAsString();
+	}
+
+	/**
+	 * This operation reads the value of an operation.
+	 *
+	 * @param object
+	 *            The operation
+	 * @return The value as an array of strings
+	 */
+	private static String[] getValues(JsonObject object) {
+		JsonElement value = object.get("value");
+		if (value != null && value.isJsonPrimitive()) {
+			return new String[] { value.getAsString() };
+		} else if (value != null && value.isJsonArray()) {
+			JsonArray array = value.getAsJsonArray();
+			String[] values = new String[array.size()];
+			for (int i = 0; i < values.length; i++) {
+				values[i] = array.get(i).getAsString();
+			}
+			return values;
+		}
+		throw new IllegalArgumentException(
+				"Each operation must have a string or array value.");
+	}
+
+	/**
+	 * This operation returns the values of an Entry.
+	 *
+	 * @param entry
+	 *            The Entry
+	 * @return The values
+	 */
+	private static String[] getValues(IEntry entry) {
+		return (entry instanceof MultiValueEntry) ? entry.getValues()
+				: new String[] { entry.getValue() };
+	}
+
+	/**
+	 * This operation sets the values of an Entry.
+	 *
+	 * @param entry
+	 *            The Entry
+	 * @param values
+	 *            The values
+	 * @return True if the Entry accepted them, false otherwise. Entries with
+	 *         a single value only accept a single value.
+	 */
+	private static boolean setValues(IEntry entry, String[] values) {
+		if (entry instanceof MultiValueEntry) {
+			return entry.setValue(values);
+		}
+		return values.length == 1 && entry.setValue(values[0]);
+	}
+}
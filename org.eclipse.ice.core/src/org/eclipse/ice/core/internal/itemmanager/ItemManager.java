@@ -15,14 +15,26 @@ package org.eclipse.ice.core.internal.itemmanager;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.TreeSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.Identifiable;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
 import org.eclipse.ice.io.serializable.IIOService;
 import org.eclipse.ice.item.ICompositeItemBuilder;
 import org.eclipse.ice.item.Item;
@@ -49,11 +61,24 @@ import org.slf4j.LoggerFactory;
  * persists all currently active Items by calling persistItems().
  * </p>
  * <p>
+ * Loading can also be deferred with deferLoading(). The deferred load is run
+ * by the first operation that needs the Items or by a call to
+ * awaitLoading(), whichever comes first, and every other caller waits for it
+ * to finish.
+ * </p>
+ * <p>
  * The process output file of an Item can be retrieved by calling
  * getOutputFile() and passing the id of the Item as an argument. Retrieving an
  * output file and retrieving a Form are separated because they are treated as
  * two distinctly different things on the Item class.
  * </p>
+ * <p>
+ * The ItemManager is thread-safe. Changes to an Item are serialized with a
+ * lock for that Item, so different Items can be created, updated, processed
+ * and persisted in parallel. The lock is not held while an Item processes,
+ * which may take a long time, so the Item can still be updated and saved.
+ * The Core runs the requests to process an Item one at a time.
+ * </p>
  *
  * @author Jay Jay Billings
  */
@@ -65,17 +90,41 @@ public class ItemManager implements ItemListener {
 	private static final Logger logger = LoggerFactory
 			.getLogger(ItemManager.class);
 
+	/**
+	 * The time it takes to create Items.
+	 */
+	private static final MetricsRegistry.Timer createTimer = MetricsRegistry
+			.getInstance().timer("ice_item_create");
+
+	/**
+	 * The time it takes to update Items.
+	 */
+	private static final MetricsRegistry.Timer updateTimer = MetricsRegistry
+			.getInstance().timer("ice_item_update");
+
+	/**
+	 * The time it takes to process Items.
+	 */
+	private static final MetricsRegistry.Timer processTimer = MetricsRegistry
+			.getInstance().timer("ice_item_process");
+
 	/**
 	 * This is a list of all of the items that are managed by the ItemManger.
 	 * The key is the Item Id and the value is a reference to the Item.
 	 */
-	private HashMap<Integer, Item> itemList;
+	private ConcurrentHashMap<Integer, Item> itemList;
 
 	/**
 	 * The list of ItemBuilders that can be used to create items. The keys are
 	 * the names of the builders and the values are the builders.
 	 */
-	private HashMap<String, ItemBuilder> itemBuilderList;
+	private ConcurrentHashMap<String, ItemBuilder> itemBuilderList;
+
+	/**
+	 * The locks used to serialize changes to each Item. The key is the Item
+	 * id. Operations on different Items never wait on each other.
+	 */
+	private ConcurrentHashMap<Integer, ReentrantLock> itemLocks;
 
 	/**
 	 * <p>
@@ -85,18 +134,18 @@ public class ItemManager implements ItemListener {
 	 * </p>
 	 *
 	 */
-	private int nextSequentialId;
+	private AtomicInteger nextSequentialId;
 
 	/**
 	 * <p>
 	 * This private list is used to store the ids of Items that have been
 	 * deleted from the system so that they may be reused without have to
 	 * compute their values, which would require a time consuming search over
-	 * all Items.
+	 * all Items. The smallest id is always reused first.
 	 * </p>
 	 *
 	 */
-	private ArrayList<Integer> reusableIds;
+	private ConcurrentSkipListSet<Integer> reusableIds;
 
 	/**
 	 * <p>
@@ -106,7 +155,7 @@ public class ItemManager implements ItemListener {
 	 * </p>
 	 *
 	 */
-	private ArrayList<ICompositeItemBuilder> compositeBuilders;
+	private CopyOnWriteArrayList<ICompositeItemBuilder> compositeBuilders;
 
 	/**
 	 * <p>
@@ -122,6 +171,17 @@ public class ItemManager implements ItemListener {
 	 */
 	private IProject loadedProject = null;
 
+	/**
+	 * The deferred load of the Items or null if there is none.
+	 */
+	private volatile FutureTask<Void> pendingLoad;
+
+	/**
+	 * The thread that runs the deferred load. It may use the ItemManager
+	 * without waiting for itself.
+	 */
+	private volatile Thread loadingThread;
+
 	/**
 	 * <p>
 	 * The constructor.
@@ -131,13 +191,14 @@ public class ItemManager implements ItemListener {
 	public ItemManager() {
 
 		// Setup the ids
-		nextSequentialId = 1;
-		reusableIds = new ArrayList<Integer>();
+		nextSequentialId = new AtomicInteger(1);
+		reusableIds = new ConcurrentSkipListSet<Integer>();
 
 		// Setup the lists
-		itemBuilderList = new HashMap<String, ItemBuilder>();
-		compositeBuilders = new ArrayList<ICompositeItemBuilder>();
-		itemList = new HashMap<Integer, Item>();
+		itemBuilderList = new ConcurrentHashMap<String, ItemBuilder>();
+		compositeBuilders = new CopyOnWriteArrayList<ICompositeItemBuilder>();
+		itemList = new ConcurrentHashMap<Integer, Item>();
+		itemLocks = new ConcurrentHashMap<Integer, ReentrantLock>();
 
 	}
 
@@ -174,49 +235,45 @@ public class ItemManager implements ItemListener {
 	 */
 	public int createItem(String newItemType, IProject project) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		int retVal = -1;
 		Item item = null;
+		long start = System.nanoTime();
 
-		// Create the new Item if the type is valid by doing a linear search
-		// across the map. This shouldn't be too expensive, for now, because the
-		// list of items is small.
-		if (newItemType != null) {
-			for (ItemBuilder i : itemBuilderList.values()) {
-				if (i.getItemName().equals(newItemType)) {
-					item = i.build(project);
-				}
-			}
-		}
+		// Create the new Item if the type is valid
+		item = buildItem(newItemType, project);
 
 		// Set the Item's id if it was created, add it to the list and
 		// update the return value.
 		if (item != null) {
-			// Set the id to a previously used id if one is available
-			if (!(reusableIds.isEmpty())) {
-				item.setId(reusableIds.get(0));
-				reusableIds.remove(0);
-			} else {
-				// Set the id to the next sequential id
-				item.setId(nextSequentialId);
-				// Update the next sequential id
-				++nextSequentialId;
-			}
+			// Set the id
+			item.setId(allocateId());
 			// Register as an observer of the Item
 			item.addListener(this);
-			// Add the Item to the list
-			itemList.put(item.getId(), item);
-			// Set the return value to the Item's id
-			retVal = item.getId();
-		}
-
-		// If the provider exists, persist to the provider
-		if (provider != null) {
-			logger.info("ItemManager Message: Persisting Item " + retVal
-					+ " with the provider");
-			provider.persistItem(item);
+			// Hold the Item's lock until it is persisted so that it can not be
+			// updated before then
+			ReentrantLock lock = getItemLock(item.getId());
+			lock.lock();
+			try {
+				// Add the Item to the list
+				itemList.put(item.getId(), item);
+				// Set the return value to the Item's id
+				retVal = item.getId();
+				// If the provider exists, persist to the provider
+				if (provider != null) {
+					logger.info("ItemManager Message: Persisting Item "
+							+ retVal + " with the provider");
+					provider.persistItem(item);
+				}
+			} finally {
+				lock.unlock();
+			}
 		}
 
+		createTimer.recordSince(start);
 		return retVal;
 
 	}
@@ -263,6 +320,9 @@ public class ItemManager implements ItemListener {
 	 */
 	public int createItem(String filename, String itemType, IProject project) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		int itemId = 0;
 
@@ -281,6 +341,139 @@ public class ItemManager implements ItemListener {
 		return itemId;
 	}
 
+	/**
+	 * This operation creates a new Item of type itemType for each file in a
+	 * list and loads the file as the input of its Item, the same way that
+	 * createItem(String, String, IProject) does for a single file. The Items
+	 * are created and loaded on the executor, so many files can be parsed at
+	 * once. An Item is only added to the ItemManager once its file has been
+	 * loaded and all of the new Items are persisted together after every file
+	 * has been loaded.
+	 *
+	 * @param filenames
+	 *            The files that should be loaded. They should be files in the
+	 *            project space.
+	 * @param itemType
+	 *            The type of the Items to create.
+	 * @param project
+	 *            The Eclipse project where the newly created Items should
+	 *            store files and search for other resources.
+	 * @param executor
+	 *            The executor that creates and loads the Items
+	 * @return The ids of the new Items in the order of the files. The id is -1
+	 *         for each file whose Item could not be created or loaded.
+	 */
+	public List<Integer> createItems(List<String> filenames, String itemType,
+			IProject project, Executor executor) {
+
+		// Make sure the Items are loaded
+		awaitLoading();
+
+		// Local Declarations
+		List<CompletableFuture<Integer>> tasks = new ArrayList<CompletableFuture<Integer>>();
+		List<Integer> ids = new ArrayList<Integer>(filenames.size());
+		int numPersisted = 0;
+
+		// Create and load the Items
+		for (String filename : filenames) {
+			tasks.add(CompletableFuture.supplyAsync(
+					() -> createLoadedItem(filename, itemType, project),
+					executor));
+		}
+		for (CompletableFuture<Integer> task : tasks) {
+			ids.add(task.join());
+		}
+
+		// Persist all of the new Items once they are loaded
+		if (provider != null) {
+			for (int id : ids) {
+				Item item = (id > 0) ? itemList.get(id) : null;
+				ReentrantLock lock = (item != null) ? lockItem(item) : null;
+				if (lock != null) {
+					try {
+						provider.persistItem(item);
+						numPersisted++;
+					} finally {
+						lock.unlock();
+					}
+				}
+			}
+			logger.info("ItemManager Message: Persisted " + numPersisted
+					+ " imported Items with the provider");
+		}
+
+		return ids;
+	}
+
+	/**
+	 * This operation creates a new Item of type itemType, loads a file as its
+	 * input and then adds it to the ItemManager without persisting it. The id
+	 * of an Item that fails to load is made available again.
+	 *
+	 * @param filename
+	 *            The file that should be loaded
+	 * @param itemType
+	 *            The type of Item to create
+	 * @param project
+	 *            The Eclipse project of the Item
+	 * @return The id of the new Item or -1 if it was not created
+	 */
+	private int createLoadedItem(String filename, String itemType,
+			IProject project) {
+
+		// Local Declarations
+		int retVal = -1;
+		long start = System.nanoTime();
+		Item item = (filename != null) ? buildItem(itemType, project) : null;
+
+		if (item != null) {
+			item.setId(allocateId());
+			item.addListener(this);
+			try {
+				// Load the file and only then make the Item available
+				item.loadInput(filename);
+				itemList.put(item.getId(), item);
+				retVal = item.getId();
+			} catch (RuntimeException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+				logger.error("ItemManager Message: Unable to load " + filename
+						+ " as a " + itemType + " Item.");
+				reusableIds.add(item.getId());
+			}
+			createTimer.recordSince(start);
+		}
+
+		return retVal;
+	}
+
+	/**
+	 * This operation builds a new Item of the specified type without adding it
+	 * to the ItemManager. It does a linear search across the builders, which
+	 * shouldn't be too expensive, for now, because the list of builders is
+	 * small.
+	 *
+	 * @param itemType
+	 *            The type of Item to build
+	 * @param project
+	 *            The Eclipse project of the Item
+	 * @return The Item or null if the type is not valid
+	 */
+	private Item buildItem(String itemType, IProject project) {
+
+		// Local Declarations
+		Item item = null;
+
+		if (itemType != null) {
+			for (ItemBuilder i : itemBuilderList.values()) {
+				if (i.getItemName().equals(itemType)) {
+					item = i.build(project);
+				}
+			}
+		}
+
+		return item;
+	}
+
 	/**
 	 * <p>
 	 * This operation retrieves the Form that represents the Item with id equal
@@ -306,6 +499,9 @@ public class ItemManager implements ItemListener {
 	 */
 	public Form retrieveItem(int itemID) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		Form form = null;
 
@@ -335,9 +531,8 @@ public class ItemManager implements ItemListener {
 
 		// Make sure the builder is not null and add it to the list, if it's not
 		// there already.
-		if (builder != null
-				&& !itemBuilderList.containsKey(builder.getItemName())) {
-			itemBuilderList.put(builder.getItemName(), builder);
+		if (builder != null && itemBuilderList
+				.putIfAbsent(builder.getItemName(), builder) == null) {
 			// Notify the composite Items of the updated builder list
 			for (ICompositeItemBuilder compositeBuilder : compositeBuilders) {
 				compositeBuilder.addBuilders(
@@ -345,8 +540,7 @@ public class ItemManager implements ItemListener {
 			}
 			// Get the list of Items and see if any disabled ones can be
 			// re-enabled because this builder is their parent.
-			for (int i = 0; i < itemList.values().size(); i++) {
-				Item item = (Item) itemList.values().toArray()[i];
+			for (Item item : itemList.values()) {
 				if (!item.isEnabled() && item.getItemBuilderName()
 						.equals(builder.getItemName())) {
 					rebuildItem(builder, item, loadedProject);
@@ -403,8 +597,7 @@ public class ItemManager implements ItemListener {
 	 */
 	public void unregisterBuilder(ItemBuilder builder) {
 
-		if (builder != null
-				&& this.itemBuilderList.containsKey(builder.getItemName())) {
+		if (builder != null) {
 			this.itemBuilderList.remove(builder.getItemName());
 		}
 
@@ -426,6 +619,9 @@ public class ItemManager implements ItemListener {
 	 */
 	public ArrayList<String> getAvailableBuilders() {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		ArrayList<String> builders = new ArrayList<String>();
 
@@ -460,6 +656,9 @@ public class ItemManager implements ItemListener {
 	 */
 	public ArrayList<String> getAvailableBuilders(ItemType type) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		ArrayList<String> builders = new ArrayList<String>();
 
@@ -492,6 +691,9 @@ public class ItemManager implements ItemListener {
 	 */
 	public FormStatus getItemStatus(int itemId) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		FormStatus status = null;
 		Item item = null;
@@ -509,6 +711,23 @@ public class ItemManager implements ItemListener {
 		return status;
 	}
 
+	/**
+	 * This operation returns true if the action is a batch action of the Item,
+	 * such as a job launch, as opposed to an interactive one.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param actionName
+	 *            The name of the action
+	 * @return True if the Item exists and the action is one of its batch
+	 *         actions, false otherwise
+	 */
+	public boolean isBatchAction(int itemId, String actionName) {
+		awaitLoading();
+		Item item = itemList.get(itemId);
+		return item != null && item.isBatchAction(actionName);
+	}
+
 	/**
 	 * <p>
 	 * This operation sets up the persistence provider that implements the
@@ -596,6 +815,59 @@ public class ItemManager implements ItemListener {
 
 	}
 
+	/**
+	 * This operation defers loading the Items until they are first needed. The
+	 * loader is run at most once, either by the first operation of the
+	 * ItemManager that needs the Items or by awaitLoading(). The loader should
+	 * call loadItems() after it registers any builders that the Items need.
+	 *
+	 * @param loader
+	 *            The task that loads the Items
+	 */
+	public void deferLoading(Runnable loader) {
+		pendingLoad = new FutureTask<Void>(() -> {
+			loadingThread = Thread.currentThread();
+			try {
+				loader.run();
+			} finally {
+				loadingThread = null;
+			}
+		}, null);
+	}
+
+	/**
+	 * This operation runs the deferred load of the Items if it has not been
+	 * run and waits for it to finish. It returns immediately if no load is
+	 * deferred or if it is called by the loader itself.
+	 */
+	public void awaitLoading() {
+
+		// Local Declarations
+		FutureTask<Void> load = pendingLoad;
+
+		if (load != null && Thread.currentThread() != loadingThread) {
+			try {
+				// Run it here unless another thread already is
+				load.run();
+				load.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			} catch (CancellationException e) {
+				// The Items were never needed
+			} finally {
+				// Stop deferring once the load is over, however it ended,
+				// even if this thread stopped waiting for it
+				if (load.isDone() && pendingLoad == load) {
+					pendingLoad = null;
+				}
+			}
+		}
+
+		return;
+	}
+
 	/**
 	 * This operation loads a single Item into the ItemManager, like in
 	 * loadItems(), and returns its Form.
@@ -605,6 +877,7 @@ public class ItemManager implements ItemListener {
 	 * @return the form for the Item or null if the Item couldn't be loaded
 	 */
 	public Form loadItem(IFile item) {
+		awaitLoading();
 		ArrayList<Item> loadedItemList = new ArrayList<Item>();
 		Item loadedItem = null;
 		// Delegate the work to the existing load function by loading the Item
@@ -654,20 +927,30 @@ public class ItemManager implements ItemListener {
 					itemList.put(item.getId(), item);
 				}
 			}
-			// Get the keys from the map and sort them
-			TreeSet<Integer> keys = new TreeSet<Integer>(itemList.keySet());
-			// Set the next sequential id such that it is equal to one plus
-			// the last id in the set of Items from the provider. This will
-			// keep any new items from possibly colliding with old ones in
-			// the map.
-			nextSequentialId = keys.last() + 1;
-			// Loop over the set of ids and figure out if there are any
-			// gaps, which can be reused to keep the ids from fragmenting.
-			for (int i = 1; i < nextSequentialId; i++) {
-				// If the set doesn't contain i, add it to the reusable id
-				// list
-				if (!keys.contains(i)) {
-					reusableIds.add(i);
+			// Update the ids so that new Items never collide with the loaded
+			// ones. This is synchronized so that two loads can't interleave,
+			// but Items can still be created concurrently.
+			synchronized (reusableIds) {
+				// Set the next sequential id such that it is at least one plus
+				// the last id in the set of Items from the provider.
+				int lastId = 0;
+				for (Item item : oldItems) {
+					lastId = Math.max(lastId, item.getId());
+				}
+				int oldNextId = nextSequentialId.getAndAccumulate(lastId + 1,
+						Math::max);
+				// The loaded ids are no longer available for reuse
+				for (Item item : oldItems) {
+					reusableIds.remove(item.getId());
+				}
+				// Loop over the new range of ids and figure out if there are
+				// any gaps, which can be reused to keep the ids from
+				// fragmenting.
+				for (int i = oldNextId; i <= lastId; i++) {
+					// If no Item has i, add it to the reusable id list
+					if (!itemList.containsKey(i)) {
+						reusableIds.add(i);
+					}
 				}
 			}
 		} else {
@@ -698,6 +981,15 @@ public class ItemManager implements ItemListener {
 	 */
 	public void persistItems() {
 
+		// Items that were never loaded do not need to be persisted, so only
+		// wait for a deferred load that has already started.
+		FutureTask<Void> load = pendingLoad;
+		if (load == null || !load.cancel(false)) {
+			awaitLoading();
+		} else if (pendingLoad == load) {
+			pendingLoad = null;
+		}
+
 		// I'm not sure how to check this in tests in a very detailed way. It is
 		// only minimally tested now.
 
@@ -706,8 +998,16 @@ public class ItemManager implements ItemListener {
 			logger.info("ItemManager Message: Updating all Items with "
 					+ "Persistence Provider.");
 			for (Item item : itemList.values()) {
-				logger.info("ItemManager Message: Persisting " + item.getName());
-				provider.updateItem(item);
+				ReentrantLock lock = lockItem(item);
+				if (lock != null) {
+					try {
+						logger.info("ItemManager Message: Persisting "
+								+ item.getName());
+						provider.updateItem(item);
+					} finally {
+						lock.unlock();
+					}
+				}
 			}
 		}
 
@@ -737,11 +1037,15 @@ public class ItemManager implements ItemListener {
 	 */
 	public File getOutputFile(int id) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		File outputFile = null;
 
-		if (itemList.containsKey(id)) {
-			outputFile = itemList.get(id).getOutputFile();
+		Item item = itemList.get(id);
+		if (item != null) {
+			outputFile = item.getOutputFile();
 		}
 
 		return outputFile;
@@ -769,12 +1073,16 @@ public class ItemManager implements ItemListener {
 	 */
 	public FormStatus cancelItemProcess(int itemId, String actionName) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		FormStatus status = FormStatus.InfoError;
 
-		// Find the item if the id is valid
-		if (itemList.keySet().contains(itemId)) {
-			Item item = itemList.get(itemId);
+		// Find the item if the id is valid. This does not take the Item's
+		// lock since the Item may be processing.
+		Item item = itemList.get(itemId);
+		if (item != null) {
 			// Try to cancel the task. This kills all processes regardless of
 			// name for now.
 			status = item.cancelProcess();
@@ -792,6 +1100,9 @@ public class ItemManager implements ItemListener {
 	 */
 	public void reloadItemData() {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Send a reload signal to all of the Items
 		for (Item item : itemList.values()) {
 			item.reloadProjectData();
@@ -819,15 +1130,18 @@ public class ItemManager implements ItemListener {
 	 */
 	public boolean postUpdateMessage(Message msg) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		boolean retVal = false;
 		int itemId = msg.getItemId();
 
 		logger.info("Update Message Item Id is " + itemId);
-		// Push the message if possible
-		if (itemList.containsKey(itemId)) {
-			// Grab the Item
-			Item messagedItem = itemList.get(itemId);
+		// Push the message if possible. Messages usually arrive while the
+		// Item is processing, so they do not wait for the Item's lock.
+		Item messagedItem = itemList.get(itemId);
+		if (messagedItem != null) {
 			// Post the message
 			retVal = messagedItem.update(msg);
 		}
@@ -835,6 +1149,37 @@ public class ItemManager implements ItemListener {
 		return retVal;
 	}
 
+	/**
+	 * This operation updates an Item with a batch of Messages that were posted
+	 * to it together. The whole batch is handed to the Item at once so that it
+	 * can process the Messages in bulk.
+	 *
+	 * @param itemId
+	 *            The id of the Item to update
+	 * @param messages
+	 *            The incoming Messages
+	 * @return True if the ItemManager was able to forward the Messages and if
+	 *         the Item was able to respond to all of them, false otherwise.
+	 */
+	public boolean postUpdateMessages(int itemId, List<Message> messages) {
+
+		// Make sure the Items are loaded
+		awaitLoading();
+
+		// Local Declarations
+		boolean retVal = false;
+
+		logger.debug("Update Message Item Id is " + itemId + " with "
+				+ messages.size() + " messages.");
+		// Push the messages if possible
+		Item messagedItem = itemList.get(itemId);
+		if (messagedItem != null) {
+			retVal = messagedItem.update(messages);
+		}
+
+		return retVal;
+	}
+
 	/**
 	 * (non-Javadoc)
 	 *
@@ -843,6 +1188,9 @@ public class ItemManager implements ItemListener {
 	@Override
 	public void reloadProjectData() {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Not threaded for now, but should it be? ~JJB 20130912 17:06
 
 		// Direct all of the Items to reload their data
@@ -869,6 +1217,9 @@ public class ItemManager implements ItemListener {
 	 */
 	public ArrayList<Identifiable> retrieveItemList() {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		ArrayList<Identifiable> items = new ArrayList<Identifiable>();
 
@@ -905,31 +1256,128 @@ public class ItemManager implements ItemListener {
 	 */
 	public FormStatus updateItem(Form form) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		FormStatus status = FormStatus.InfoError;
 		int id = -1;
 		Item currentItem = null;
+		long start = System.nanoTime();
 
 		// Get the Item to which the Form belongs
 		id = form.getItemID();
 
 		// Make sure the Id is valid and then find its parent
-		if (itemList.containsKey(id)) {
-			currentItem = itemList.get(id);
-			status = currentItem.submitForm(form);
+		currentItem = itemList.get(id);
+		if (currentItem != null) {
+			ReentrantLock lock = lockItem(currentItem);
+			if (lock != null) {
+				try {
+					status = currentItem.submitForm(form);
+					// Check the status and write to the database if it is
+					// enabled. Only try to write to the database if the
+					// EntityManagers are ready
+					if ((status.equals(FormStatus.Processed)
+							|| status.equals(FormStatus.ReadyToProcess))
+							&& provider != null) {
+						provider.updateItem(currentItem);
+					}
+				} finally {
+					lock.unlock();
+				}
+			}
 		}
 
-		// Check the status and write to the database if it is enabled
-		// Only try to write to the database if the EntityManagers are ready
-		if ((status.equals(FormStatus.Processed)
-				|| status.equals(FormStatus.ReadyToProcess))
-				&& provider != null) {
-			provider.updateItem(currentItem);
+		updateTimer.recordSince(start);
+		return status;
+	}
+
+	/**
+	 * This operation applies a patch to the Form of an Item and then submits
+	 * the Form to the Item for review, as updateItem() does. Only the Entries
+	 * named in the patch are changed, so clients do not need to send the whole
+	 * Form.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param patch
+	 *            The patch
+	 * @return The status of the Item after the review or FormStatus.InfoError
+	 *         if the Item does not exist or the patch can not be applied, in
+	 *         which case the Form is not changed
+	 */
+	public FormStatus patchItem(int itemId, FormPatch patch) {
+
+		// Make sure the Items are loaded
+		awaitLoading();
+
+		// Local Declarations
+		FormStatus status = FormStatus.InfoError;
+		Item currentItem = itemList.get(itemId);
+
+		if (currentItem != null) {
+			ReentrantLock lock = lockItem(currentItem);
+			if (lock != null) {
+				try {
+					// Patch a copy so that the Item's Form is only changed if
+					// the Item accepts it, as updateItem() does
+					Form form = (Form) currentItem.getForm().clone();
+					patch.apply(form);
+					status = currentItem.submitForm(form);
+					// Write it to the database just like updateItem() does
+					if ((status.equals(FormStatus.Processed)
+							|| status.equals(FormStatus.ReadyToProcess))
+							&& provider != null) {
+						provider.updateItem(currentItem);
+					}
+				} catch (IllegalArgumentException e) {
+					logger.info("ItemManager Message: Could not patch Item "
+							+ itemId + ". " + e.getMessage());
+				} finally {
+					lock.unlock();
+				}
+			}
 		}
 
 		return status;
 	}
 
+	/**
+	 * This operation returns a component of the Form of an Item.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param componentIds
+	 *            The ids of the components that lead to the component,
+	 *            starting with the id of a component of the Form
+	 * @return The component or null if it does not exist
+	 */
+	public Component retrieveComponent(int itemId, int... componentIds) {
+		Form form = retrieveItem(itemId);
+		return (form != null && componentIds.length > 0)
+				? FormPatch.findComponent(form, componentIds) : null;
+	}
+
+	/**
+	 * This operation returns an Entry in a DataComponent of the Form of an
+	 * Item.
+	 *
+	 * @param itemId
+	 *            The id of the Item
+	 * @param entryName
+	 *            The name of the Entry
+	 * @param componentIds
+	 *            The ids of the components that lead to the DataComponent
+	 * @return The Entry or null if it does not exist
+	 */
+	public IEntry retrieveEntry(int itemId, String entryName,
+			int... componentIds) {
+		Form form = retrieveItem(itemId);
+		return (form != null && componentIds.length > 0)
+				? FormPatch.findEntry(form, entryName, componentIds) : null;
+	}
+
 	/**
 	 * <p>
 	 * This operation processes the Item with the specified id and action. The
@@ -969,16 +1417,26 @@ public class ItemManager implements ItemListener {
 	 */
 	public FormStatus processItem(int itemId, String actionName) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		FormStatus status = FormStatus.InfoError;
 		Item tmpItem = null;
+		long start = System.nanoTime();
 
 		// Check the Item id and actionName for validity
 		if (itemId > 0 && actionName != null) {
 			// Retrieve the Item from the map if it exists
 			tmpItem = itemList.get(itemId);
 			if (tmpItem != null) {
-				status = tmpItem.process(actionName);
+				// Make sure the Item is still managed, but do not hold its
+				// lock while it processes
+				ReentrantLock lock = lockItem(tmpItem);
+				if (lock != null) {
+					lock.unlock();
+					status = tmpItem.process(actionName);
+				}
 			}
 		} else {
 			logger.info(
@@ -988,6 +1446,7 @@ public class ItemManager implements ItemListener {
 							+ status.toString());
 		}
 
+		processTimer.recordSince(start);
 		return status;
 	}
 
@@ -1011,24 +1470,34 @@ public class ItemManager implements ItemListener {
 	 */
 	public boolean deleteItem(int itemID) {
 
+		// Make sure the Items are loaded
+		awaitLoading();
+
 		// Local Declarations
 		boolean retVal = false;
 
 		// Try to delete the Item if and only if the Item's id is greater than
 		// zero and it is in the list of Items and set the return value.
-		if (itemID > 0 && this.itemList.containsKey(itemID)) {
-			// If the provider exists, delete the Item from the provider
-			if (this.provider != null) {
-				Item item = itemList.get(itemID);
-				logger.info(
-						"ItemManager Message: Deleting Item " + item.getName()
-								+ " " + item.getId() + " from provider");
-				provider.deleteItem(itemList.get(itemID));
+		Item item = (itemID > 0) ? itemList.get(itemID) : null;
+		ReentrantLock lock = (item != null) ? lockItem(item) : null;
+		if (lock != null) {
+			try {
+				// If the provider exists, delete the Item from the provider
+				if (this.provider != null) {
+					logger.info("ItemManager Message: Deleting Item "
+							+ item.getName() + " " + item.getId()
+							+ " from provider");
+					provider.deleteItem(item);
+				}
+				// Remove the Item from the list
+				retVal = this.itemList.remove(itemID, item);
+				// Drop its lock and add the id to the list so that it can be
+				// reused
+				itemLocks.remove(itemID, lock);
+				reusableIds.add(itemID);
+			} finally {
+				lock.unlock();
 			}
-			// Remove the Item from the list
-			retVal = (this.itemList.remove(itemID) != null || false);
-			// Add the id to the list so that it can be reused
-			reusableIds.add(itemID);
 		}
 
 		return retVal;
@@ -1044,8 +1513,67 @@ public class ItemManager implements ItemListener {
 	 *            The new name of the Item.
 	 */
 	public void renameItem(int itemID, String name) {
-		itemList.get(itemID).setName(name);
-		provider.renameItem(itemList.get(itemID), name);
+		awaitLoading();
+		Item item = itemList.get(itemID);
+		ReentrantLock lock = (item != null) ? lockItem(item) : null;
+		if (lock != null) {
+			try {
+				item.setName(name);
+				provider.renameItem(item, name);
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * This operation returns the next id for a new Item, which is the smallest
+	 * id that was made available by the deletion of an Item or, if there are
+	 * none, the next sequential id.
+	 *
+	 * @return The id
+	 */
+	private int allocateId() {
+		Integer id = reusableIds.pollFirst();
+		return (id != null) ? id : nextSequentialId.getAndIncrement();
+	}
+
+	/**
+	 * This operation returns the lock for the Item with the id, creating it if
+	 * needed.
+	 *
+	 * @param id
+	 *            The id of the Item
+	 * @return The lock
+	 */
+	private ReentrantLock getItemLock(int id) {
+		return itemLocks.computeIfAbsent(id, key -> new ReentrantLock());
+	}
+
+	/**
+	 * This operation acquires the lock for an Item. Since the Item may have
+	 * been deleted while waiting for its lock, it checks that the Item is still
+	 * managed once the lock is held.
+	 *
+	 * @param item
+	 *            The Item
+	 * @return The held lock, which the caller must unlock, or null if the Item
+	 *         is no longer managed by the ItemManager
+	 */
+	private ReentrantLock lockItem(Item item) {
+
+		// Local Declarations
+		int id = item.getId();
+		ReentrantLock lock = getItemLock(id);
+
+		lock.lock();
+		// Make sure the Item wasn't deleted or replaced while waiting
+		if (itemList.get(id) != item || itemLocks.get(id) != lock) {
+			lock.unlock();
+			lock = null;
+		}
+
+		return lock;
 	}
 
 	/**
@@ -0,0 +1,453 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.core.launcher;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.ice.core.iCore.ICore;
+import org.eclipse.ice.core.iCore.IItemEventListener;
+import org.eclipse.ice.core.iCore.ItemEvent;
+import org.eclipse.ice.datastructures.form.FormStatus;
+
+/**
+ * This class runs a batch of Items through the Core without a user interface.
+ * The batch is described by a manifest file with one job per line:
+ *
+ * <pre>
+ * # file | Item type | action
+ * /data/runs/bison_1.i | MOOSE Workflow | Launch the Job
+ * /data/runs/sample.csv | Reflectivity Model | Calculate
+ * </pre>
+ *
+ * Each file is imported as a new Item of the given type and the action is
+ * processed. Blank lines and lines that start with "#" are ignored. Relative
+ * paths are resolved against the directory of the manifest.
+ *
+ * Files are imported one at a time, in order, and their Items are processed in
+ * parallel by a pool of threads that wait for the Items to finish. The Core
+ * still decides how many Items are actually processed at once. The status of
+ * every job is written as it changes, followed by a summary.
+ *
+ */
+public class BatchRunner {
+
+	/**
+	 * The separator of the fields of a line in the manifest.
+	 */
+	public static final String SEPARATOR = "|";
+
+	/**
+	 * The time in milliseconds between checks of the status of a running Item
+	 * when no events arrive.
+	 */
+	private static final long CHECK_PERIOD = 1000;
+
+	/**
+	 * A single job of the batch.
+	 */
+	public static class Job {
+
+		/**
+		 * The file to import.
+		 */
+		private final File file;
+
+		/**
+		 * The type of the Item.
+		 */
+		private final String itemType;
+
+		/**
+		 * The action to process.
+		 */
+		private final String action;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param file
+		 *            The file to import
+		 * @param itemType
+		 *            The type of the Item
+		 * @param action
+		 *            The action to process
+		 */
+		public Job(File file, String itemType, String action) {
+			this.file = file;
+			this.itemType = itemType;
+			this.action = action;
+		}
+
+		/**
+		 * This operation returns the file to import.
+		 *
+		 * @return The file
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * This operation returns the type of the Item.
+		 *
+		 * @return The type
+		 */
+		public String getItemType() {
+			return itemType;
+		}
+
+		/**
+		 * This operation returns the action to process.
+		 *
+		 * @return The action
+		 */
+		public String getAction() {
+			return action;
+		}
+
+		/**
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return file.getName() + " (" + itemType + ", " + action + ")";
+		}
+	}
+
+	/**
+	 * The Core that runs the Items.
+	 */
+	private final ICore core;
+
+	/**
+	 * The stream to which the status is written.
+	 */
+	private final PrintStream out;
+
+	/**
+	 * The number of jobs that wait for Items at once.
+	 */
+	private final int threads;
+
+	/**
+	 * The longest time in milliseconds that a job may run or 0 to wait as
+	 * long as it takes.
+	 */
+	private final long timeout;
+
+	/**
+	 * True once the batch has been stopped.
+	 */
+	private volatile boolean stopped = false;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param core
+	 *            The Core that runs the Items
+	 * @param out
+	 *            The stream to which the status is written
+	 * @param threads
+	 *            The number of jobs that wait for Items at once
+	 * @param timeout
+	 *            The longest time in milliseconds that a job may run or 0 to
+	 *            wait as long as it takes
+	 */
+	public BatchRunner(ICore core, PrintStream out, int threads,
+			long timeout) {
+		this.core = core;
+		this.out = out;
+		this.threads = Math.max(1, threads);
+		this.timeout = Math.max(0, timeout);
+	}
+
+	/**
+	 * This operation reads the jobs in a manifest file.
+	 *
+	 * @param manifest
+	 *            The manifest
+	 * @return The jobs in the order they appear
+	 * @throws IOException
+	 *             An exception if the manifest can not be read or a line is
+	 *             not valid. The message gives the line number.
+	 */
+	public static List<Job> readManifest(File manifest) throws IOException {
+
+		// Local Declarations
+		List<Job> jobs = new ArrayList<Job>();
+		File directory = manifest.getAbsoluteFile().getParentFile();
+		int lineNumber = 0;
+		String line;
+
+		try (BufferedReader reader = Files.newBufferedReader(manifest.toPath(),
+				StandardCharsets.UTF_8)) {
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				line = line.trim();
+				// Skip blank lines and comments
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				// Read the fields
+				String[] fields = line.split("\\" + SEPARATOR, -1);
+				if (fields.length != 3 || fields[0].trim().isEmpty()
+						|| fields[1].trim().isEmpty()
+						|| fields[2].trim().isEmpty()) {
+					throw new IOException(manifest + ":" + lineNumber
+							+ ": expected \"file " + SEPARATOR + " Item type "
+							+ SEPARATOR + " action\"");
+				}
+				File file = new File(fields[0].trim());
+				if (!file.isAbsolute()) {
+					file = new File(directory, fields[0].trim());
+				}
+				jobs.add(new Job(file, fields[1].trim(), fields[2].trim()));
+			}
+		}
+
+		return jobs;
+	}
+
+	/**
+	 * This operation runs the jobs and writes a summary when they are done.
+	 *
+	 * @param jobs
+	 *            The jobs
+	 * @return The number of jobs that failed
+	 * @throws InterruptedException
+	 *             An exception if the thread is interrupted while it waits for
+	 *             the jobs
+	 */
+	public int run(List<Job> jobs) throws InterruptedException {
+
+		// Local Declarations
+		final AtomicInteger finished = new AtomicInteger();
+		final List<String> failures = new ArrayList<String>();
+		final int total = jobs.size();
+		final int clientId = parseId(core.connect());
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		long start = System.currentTimeMillis();
+
+		print("Running " + total + " jobs");
+
+		try {
+			for (final Job job : jobs) {
+				if (stopped) {
+					break;
+				}
+				// Import the file on this thread so that the workspace is only
+				// changed by one import at a time
+				final int itemId = importJob(job);
+				if (itemId <= 0) {
+					report(job, finished.incrementAndGet(), total,
+							"could not be imported", failures);
+					continue;
+				}
+				print(job + ": imported as Item " + itemId);
+				// Process it and wait for it on the pool
+				pool.execute(() -> {
+					String result = runJob(job, itemId, clientId);
+					report(job, finished.incrementAndGet(), total, result,
+							(FormStatus.Processed.toString().equals(result))
+									? null : failures);
+				});
+			}
+		} finally {
+			pool.shutdown();
+			while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+				if (stopped) {
+					pool.shutdownNow();
+				}
+			}
+		}
+
+		// Write the summary
+		long seconds = (System.currentTimeMillis() - start) / 1000;
+		synchronized (failures) {
+			print("Finished " + finished.get() + " of " + total + " jobs in "
+					+ seconds + "s: " + (finished.get() - failures.size())
+					+ " processed, " + failures.size() + " failed");
+			for (String failure : failures) {
+				print("  FAILED " + failure);
+			}
+			return failures.size() + (total - finished.get());
+		}
+	}
+
+	/**
+	 * This operation stops the batch. Jobs that have not started are skipped
+	 * and the Items that are running are no longer waited for.
+	 */
+	public void stop() {
+		stopped = true;
+	}
+
+	/**
+	 * This operation imports the file of a job.
+	 *
+	 * @param job
+	 *            The job
+	 * @return The id of the new Item or -1 if it could not be imported
+	 */
+	private int importJob(Job job) {
+		if (!job.getFile().isFile()) {
+			return -1;
+		}
+		return parseId(core.importFileAsItem(job.getFile().toURI(),
+				job.getItemType()));
+	}
+
+	/**
+	 * This operation processes the Item of a job and waits for it to finish.
+	 *
+	 * @param job
+	 *            The job
+	 * @param itemId
+	 *            The id of the Item
+	 * @param clientId
+	 *            The id of this client of the Core
+	 * @return The final status or a description of the problem
+	 */
+	private String runJob(Job job, int itemId, int clientId) {
+
+		// Local Declarations
+		final LinkedBlockingQueue<FormStatus> statuses = new LinkedBlockingQueue<FormStatus>();
+		IItemEventListener listener = event -> {
+			if (event.getType() == ItemEvent.Type.STATUS) {
+				statuses.add(event.getStatus());
+			}
+		};
+		long deadline = (timeout > 0) ? System.currentTimeMillis() + timeout
+				: Long.MAX_VALUE;
+
+		// Start processing
+		FormStatus status = core.processItem(itemId, job.getAction(),
+				clientId);
+		if (!isRunning(status)) {
+			return String.valueOf(status);
+		}
+		print(job + ": " + status);
+
+		// Wait for it to finish. Check the status now and then in case an
+		// event is missed or the Core can not push them.
+		core.addItemEventListener(itemId, listener);
+		try {
+			while (isRunning(status)) {
+				if (stopped) {
+					return "stopped while " + status;
+				} else if (System.currentTimeMillis() >= deadline) {
+					core.cancelItemProcess(itemId, job.getAction());
+					return "timed out while " + status;
+				}
+				FormStatus next = statuses.poll(CHECK_PERIOD,
+						TimeUnit.MILLISECONDS);
+				if (next == null) {
+					next = core.getItemStatus(itemId);
+				}
+				if (next != null && next != status) {
+					status = next;
+					if (isRunning(status)) {
+						print(job + ": " + status);
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return "interrupted while " + status;
+		} finally {
+			core.removeItemEventListener(itemId, listener);
+		}
+
+		return String.valueOf(status);
+	}
+
+	/**
+	 * This operation returns true if an Item with the status is still running.
+	 * Items that need more information can not finish in a batch, so they are
+	 * done.
+	 *
+	 * @param status
+	 *            The status
+	 * @return True if the Item is running, false otherwise
+	 */
+	private static boolean isRunning(FormStatus status) {
+		return status == FormStatus.Processing
+				|| status == FormStatus.InReview;
+	}
+
+	/**
+	 * This operation writes the result of a job.
+	 *
+	 * @param job
+	 *            The job
+	 * @param count
+	 *            The number of jobs that have finished, including this one
+	 * @param total
+	 *            The number of jobs
+	 * @param result
+	 *            The final status or a description of the problem
+	 * @param failures
+	 *            The list of failures to which the job is added or null if it
+	 *            succeeded
+	 */
+	private void report(Job job, int count, int total, String result,
+			List<String> failures) {
+		print("[" + count + "/" + total + "] " + job + ": " + result);
+		if (failures != null) {
+			synchronized (failures) {
+				failures.add(job.getFile() + " (" + job.getItemType() + ", "
+						+ job.getAction() + "): " + result);
+			}
+		}
+	}
+
+	/**
+	 * This operation writes a line of status.
+	 *
+	 * @param message
+	 *            The line
+	 */
+	private void print(String message) {
+		synchronized (out) {
+			out.println("[ICE batch] " + message);
+			out.flush();
+		}
+	}
+
+	/**
+	 * This operation reads an id returned by the Core.
+	 *
+	 * @param id
+	 *            The id
+	 * @return The id or -1 if it is not a number
+	 */
+	private static int parseId(String id) {
+		try {
+			return Integer.parseInt(id);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -12,18 +12,51 @@
  *******************************************************************************/
 package org.eclipse.ice.core.launcher;
 
+import java.io.File;
+import java.util.List;
+
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
+import org.eclipse.ice.core.iCore.ICore;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.ServiceReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This class is used as an application launcher for the Core when it is run as
- * a stand-alone server in an OSGi framework. It does absolutely nothing other
+ * a stand-alone server in an OSGi framework. By itself it does nothing other
  * than give Eclipse an entry point for its executable.
  * 
+ * If it is started with "-batch &lt;manifest&gt;" it runs the Items in the
+ * manifest without a user interface instead and exits when they are done. The
+ * exit code is 0 if every Item was processed and 1 otherwise. See
+ * {@link BatchRunner} for the format of the manifest. The optional
+ * arguments "-batchThreads &lt;n&gt;" and "-batchTimeout &lt;seconds&gt;" set
+ * the number of Items that are waited for at once and the longest time an
+ * Item may take.
+ * 
  * @author Jay Jay Billings
  */
 public class CoreIApplication implements IApplication {
 
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(CoreIApplication.class);
+
+	/**
+	 * The longest time in milliseconds to wait for the Core service to start.
+	 */
+	private static final long CORE_WAIT_TIME = 60000;
+
+	/**
+	 * The runner of the batch or null if the application is not running one.
+	 */
+	private volatile BatchRunner runner;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -32,8 +65,57 @@ public class CoreIApplication implements IApplication {
 	 */
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Local Declarations
+		String[] args = (String[]) context.getArguments()
+				.get(IApplicationContext.APPLICATION_ARGS);
+		String manifest = getArgument(args, "-batch", null);
+
+		// Nothing to do unless a batch was requested
+		if (manifest == null) {
+			return null;
+		}
+
+		// Check the options of the run before doing anything else
+		String threadsArgument = getArgument(args, "-batchThreads", null);
+		String timeoutArgument = getArgument(args, "-batchTimeout", null);
+		long threads = (threadsArgument != null)
+				? parsePositive(threadsArgument)
+				: Runtime.getRuntime().availableProcessors();
+		long timeout = (timeoutArgument != null)
+				? parsePositive(timeoutArgument) : 0L;
+		if (threads < 1 || threads > Integer.MAX_VALUE) {
+			return usage("Invalid number of batch threads: " + threadsArgument);
+		} else if (timeout < 0 || timeout > Long.MAX_VALUE / 1000L) {
+			return usage("Invalid batch timeout: " + timeoutArgument);
+		}
+
+		// Read the batch
+		List<BatchRunner.Job> jobs;
+		try {
+			jobs = BatchRunner.readManifest(new File(manifest));
+		} catch (Exception e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			System.err.println("Unable to read batch manifest " + manifest
+					+ ": " + e.getMessage());
+			return Integer.valueOf(1);
+		}
+
+		// Get the Core
+		ICore core = getCore();
+		if (core == null) {
+			System.err.println("The Core service is not available.");
+			return Integer.valueOf(1);
+		}
+		context.applicationRunning();
+
+		// Run the batch
+		runner = new BatchRunner(core, System.out, (int) threads,
+				timeout * 1000L);
+		int failures = runner.run(jobs);
+		runner = null;
+
+		return (failures == 0) ? IApplication.EXIT_OK : Integer.valueOf(1);
 	}
 
 	/*
@@ -43,8 +125,96 @@ public class CoreIApplication implements IApplication {
 	 */
 	@Override
 	public void stop() {
-		// TODO Auto-generated method stub
+		BatchRunner currentRunner = runner;
+		if (currentRunner != null) {
+			currentRunner.stop();
+		}
+	}
 
+	/**
+	 * This operation returns the value of a command line argument.
+	 * 
+	 * @param args
+	 *            The arguments of the application
+	 * @param name
+	 *            The name of the argument, such as "-batch"
+	 * @param defaultValue
+	 *            The value to return if the argument is not there
+	 * @return The value that follows the name or the default value
+	 */
+	private static String getArgument(String[] args, String name,
+			String defaultValue) {
+		if (args != null) {
+			for (int i = 0; i < args.length - 1; i++) {
+				if (name.equalsIgnoreCase(args[i])) {
+					return args[i + 1];
+				}
+			}
+		}
+		return defaultValue;
+	}
+
+	/**
+	 * This operation parses the value of a numeric command line argument.
+	 * 
+	 * @param value
+	 *            The value
+	 * @return The value or -1 if it is not a positive whole number
+	 */
+	private static long parsePositive(String value) {
+		try {
+			long number = Long.parseLong(value.trim());
+			return (number > 0) ? number : -1L;
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+
+	/**
+	 * This operation reports an invalid command line argument along with the
+	 * usage of the batch options.
+	 * 
+	 * @param message
+	 *            The description of the problem
+	 * @return The exit code of the application
+	 */
+	private Integer usage(String message) {
+		String usage = message + "\nUsage: -batch <manifest> "
+				+ "[-batchThreads <number of threads>] "
+				+ "[-batchTimeout <seconds per job>], where the numbers are "
+				+ "positive whole numbers";
+		logger.error(usage);
+		System.err.println(usage);
+		return Integer.valueOf(1);
+	}
+
+	/**
+	 * This operation waits for the Core to be registered as a service and
+	 * returns it.
+	 * 
+	 * @return The Core or null if it did not start in time
+	 * @throws InterruptedException
+	 *             An exception if the thread is interrupted while it waits
+	 */
+	private ICore getCore() throws InterruptedException {
+
+		// Local Declarations
+		BundleContext bundleContext = FrameworkUtil
+				.getBundle(CoreIApplication.class).getBundleContext();
+		long deadline = System.currentTimeMillis() + CORE_WAIT_TIME;
+
+		// The Core registers itself when its bundle starts
+		while (bundleContext != null
+				&& System.currentTimeMillis() < deadline) {
+			ServiceReference<ICore> reference = bundleContext
+					.getServiceReference(ICore.class);
+			if (reference != null) {
+				return bundleContext.getService(reference);
+			}
+			Thread.sleep(100);
+		}
+
+		return null;
 	}
 
 }
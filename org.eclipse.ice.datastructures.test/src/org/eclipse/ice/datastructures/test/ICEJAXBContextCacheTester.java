@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
+import org.eclipse.ice.datastructures.ICEObject.ICEList;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the ICEJAXBContextCache.
+ *
+ */
+public class ICEJAXBContextCacheTester {
+
+	/**
+	 * This operation clears the cache before each test.
+	 */
+	@Before
+	public void setupTests() {
+		ICEJAXBContextCache.clear();
+	}
+
+	/**
+	 * This operation checks that contexts are shared for the same set of
+	 * classes regardless of the order in which they are given.
+	 */
+	@Test
+	public void checkContexts() {
+		try {
+			JAXBContext context = ICEJAXBContextCache
+					.getContext(SimpleJAXBTestClass.class, ICEList.class);
+			assertNotNull(context);
+			assertSame(context, ICEJAXBContextCache
+					.getContext(ICEList.class, SimpleJAXBTestClass.class));
+			assertNotSame(context,
+					ICEJAXBContextCache.getContext(SimpleJAXBTestClass.class));
+
+			// Clearing the cache should force a new context
+			ICEJAXBContextCache.clear();
+			assertNotSame(context, ICEJAXBContextCache
+					.getContext(SimpleJAXBTestClass.class, ICEList.class));
+		} catch (JAXBException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+
+	/**
+	 * This operation checks that (un)marshallers are pooled and that objects
+	 * can be written and read with them.
+	 */
+	@Test
+	public void checkPooling() {
+		try {
+			JAXBContext context = ICEJAXBContextCache
+					.getContext(SimpleJAXBTestClass.class);
+
+			// Released marshallers should be handed out again
+			Marshaller marshaller = ICEJAXBContextCache
+					.acquireMarshaller(context);
+			ICEJAXBContextCache.releaseMarshaller(context, marshaller);
+			assertSame(marshaller,
+					ICEJAXBContextCache.acquireMarshaller(context));
+			Unmarshaller unmarshaller = ICEJAXBContextCache
+					.acquireUnmarshaller(context);
+			ICEJAXBContextCache.releaseUnmarshaller(context, unmarshaller);
+			assertSame(unmarshaller,
+					ICEJAXBContextCache.acquireUnmarshaller(context));
+
+			// Write and read an object with the pooled tools
+			SimpleJAXBTestClass testObject = new SimpleJAXBTestClass();
+			testObject.setInt(5);
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			ICEJAXBContextCache.marshal(context, testObject, outputStream);
+			SimpleJAXBTestClass loadedObject = (SimpleJAXBTestClass) ICEJAXBContextCache
+					.unmarshal(context, new ByteArrayInputStream(
+							outputStream.toByteArray()));
+			assertEquals(5, loadedObject.getInt());
+		} catch (JAXBException e) {
+			e.printStackTrace();
+			fail();
+		}
+	}
+
+	/**
+	 * This operation checks that null arguments are rejected.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void checkNullContext() throws JAXBException {
+		ICEJAXBContextCache.acquireMarshaller(null);
+	}
+}
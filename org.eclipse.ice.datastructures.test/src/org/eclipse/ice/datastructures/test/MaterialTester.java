@@ -204,6 +204,58 @@ public class MaterialTester {
 		assertEquals(material, materialClone);
 	}
 
+	/**
+	 * This operation checks that Material.updateProperties() only calculates
+	 * the derived properties again when the density or components change or
+	 * when they are invalidated.
+	 */
+	@Test
+	public void checkDerivedProperties() {
+
+		// Create a simple compound of hydrogen and oxygen
+		Material hydrogen = new Material();
+		hydrogen.setName("H");
+		hydrogen.setProperty(Material.ATOMIC_MASS, 1.0);
+		Material oxygen = new Material();
+		oxygen.setName("O");
+		oxygen.setProperty(Material.ATOMIC_MASS, 16.0);
+		Material water = new Material();
+		water.setName("H2O");
+		water.setProperty(Material.DENSITY, 1.0);
+		water.addComponent(new MaterialStack(hydrogen, 2));
+		water.addComponent(oxygen);
+		water.updateProperties();
+		assertEquals(18.0, water.getProperty(Material.ATOMIC_MASS), 1.0e-12);
+		double numberDensity = water.getProperty(Material.NUMBER_DENSITY);
+
+		// Component edits are not detected until the values are invalidated
+		oxygen.setProperty(Material.ATOMIC_MASS, 17.0);
+		water.updateProperties();
+		assertEquals(18.0, water.getProperty(Material.ATOMIC_MASS), 1.0e-12);
+		water.invalidateProperties();
+		water.updateProperties();
+		assertEquals(19.0, water.getProperty(Material.ATOMIC_MASS), 1.0e-12);
+
+		// Changing the density or the components is detected
+		water.setProperty(Material.DENSITY, 2.0);
+		water.updateProperties();
+		assertEquals(2.0 * 18.0 / 19.0 * numberDensity,
+				water.getProperty(Material.NUMBER_DENSITY), 1.0e-12);
+		water.addComponent(hydrogen);
+		water.updateProperties();
+		assertEquals(20.0, water.getProperty(Material.ATOMIC_MASS), 1.0e-12);
+
+		// Setting a derived value by hand is detected too
+		water.setProperty(Material.ATOMIC_MASS, 1.0);
+		water.updateProperties();
+		assertEquals(20.0, water.getProperty(Material.ATOMIC_MASS), 1.0e-12);
+		water.removeProperty(Material.NUMBER_DENSITY);
+		water.updateProperties();
+		assertTrue(water.getProperty(Material.NUMBER_DENSITY) > 0.0);
+
+		return;
+	}
+
 	/**
 	 * This operation checks that the Material class can be loaded and written
 	 * with JAXB.
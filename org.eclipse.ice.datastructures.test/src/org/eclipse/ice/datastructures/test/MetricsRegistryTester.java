@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the MetricsRegistry class.
+ *
+ */
+public class MetricsRegistryTester {
+
+	/**
+	 * This operation checks that counters, timers and gauges are recorded.
+	 */
+	@Test
+	public void checkMetrics() {
+
+		// Local Declarations
+		MetricsRegistry registry = new MetricsRegistry();
+
+		// Counters should be shared by name
+		registry.counter("test_bytes").add(10);
+		registry.counter("test_bytes").increment();
+		assertSame(registry.counter("test_bytes"),
+				registry.counter("test_bytes"));
+		assertEquals(11, registry.counter("test_bytes").getCount());
+
+		// Timers should keep the count, sum and maximum
+		MetricsRegistry.Timer timer = registry.timer("test_op{type=\"a\"}");
+		timer.record(2000000000L);
+		timer.record(1000000000L);
+		assertEquals(2, timer.getCount());
+		assertEquals(3000000000L, timer.getTotalTime());
+		assertEquals(2000000000L, timer.getMaxTime());
+
+		// Gauges should be read when the text is written
+		int[] depth = { 4 };
+		registry.gauge("test_depth", () -> depth[0]);
+		registry.gauge("test_broken", () -> {
+			throw new IllegalStateException();
+		});
+		depth[0] = 5;
+
+		// Check the text. Labels come after the suffixes of timers.
+		String text = registry.toText();
+		assertTrue(text.contains("test_bytes 11\n"));
+		assertTrue(text.contains("test_op_count{type=\"a\"} 2\n"));
+		assertTrue(text.contains("test_op_seconds_sum{type=\"a\"} 3.0\n"));
+		assertTrue(text.contains("test_op_seconds_max{type=\"a\"} 2.0\n"));
+		assertTrue(text.contains("test_depth 5\n"));
+		assertTrue(!text.contains("test_broken"));
+
+		// Removed gauges should not be written
+		registry.removeGauge("test_depth");
+		assertTrue(!registry.toText().contains("test_depth"));
+
+		return;
+	}
+}
@@ -181,6 +181,7 @@ public class PainfullySimpleFormTester {
 		assertEquals("PSF Wiki Article Form", painfullySimpleForm.getName());
 		assertEquals("A PSF Wiki Article Sample",
 				painfullySimpleForm.getDescription());
+		assertEquals("Model", painfullySimpleForm.getFormType());
 		assertEquals(3, painfullySimpleForm.getNumberOfComponents());
 		dataComp1 = (DataComponent) painfullySimpleForm.getComponent(1);
 		dataComp2 = (DataComponent) painfullySimpleForm.getComponent(2);
@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.ICEObject;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * This class is a process-wide cache of JAXBContexts. Creating a JAXBContext
+ * is very expensive because JAXB must reflect over every class in the context,
+ * but a context is thread-safe once created. Contexts are keyed by the set of
+ * classes used to create them, so the order in which the classes are given
+ * does not matter.
+ *
+ * Marshallers and Unmarshallers are not thread-safe, so this class also keeps
+ * a small pool of each per context. Clients should acquire one, use it on a
+ * single thread and release it when done. Pooled Marshallers are always
+ * configured to produce formatted output, which is what ICE writes everywhere.
+ * Clients that change other properties on an acquired Marshaller should not
+ * release it back to the pool.
+ *
+ * All operations on this class are static and thread-safe.
+ *
+ */
+public final class ICEJAXBContextCache {
+
+	/**
+	 * The largest number of idle Marshallers or Unmarshallers that will be
+	 * kept for any single context.
+	 */
+	private static final int MAX_POOL_SIZE = 8;
+
+	/**
+	 * The map of class sets to the contexts created from them.
+	 */
+	private static final ConcurrentHashMap<Set<Class<?>>, JAXBContext> contexts = new ConcurrentHashMap<Set<Class<?>>, JAXBContext>();
+
+	/**
+	 * The pools of idle Marshallers for each context.
+	 */
+	private static final ConcurrentHashMap<JAXBContext, ConcurrentLinkedQueue<Marshaller>> marshallers = new ConcurrentHashMap<JAXBContext, ConcurrentLinkedQueue<Marshaller>>();
+
+	/**
+	 * The pools of idle Unmarshallers for each context.
+	 */
+	private static final ConcurrentHashMap<JAXBContext, ConcurrentLinkedQueue<Unmarshaller>> unmarshallers = new ConcurrentHashMap<JAXBContext, ConcurrentLinkedQueue<Unmarshaller>>();
+
+	/**
+	 * The constructor is private because this class only has static
+	 * operations.
+	 */
+	private ICEJAXBContextCache() {
+	}
+
+	/**
+	 * This operation returns the JAXBContext for the given classes, creating
+	 * it only if a context for the same set of classes has not already been
+	 * created.
+	 *
+	 * @param classes
+	 *            The classes from which JAXB annotations should be read.
+	 * @return The shared context for the classes
+	 * @throws JAXBException
+	 *             An exception indicating that the context could not be
+	 *             created.
+	 */
+	public static JAXBContext getContext(Class<?>... classes)
+			throws JAXBException {
+
+		// Throw an exception if the input is null
+		if (classes == null) {
+			throw new NullPointerException("NullPointerException: "
+					+ "classes argument can not be null");
+		}
+
+		// Build the key and look for an existing context
+		Set<Class<?>> key = Collections.unmodifiableSet(
+				new HashSet<Class<?>>(Arrays.asList(classes)));
+		JAXBContext context = contexts.get(key);
+
+		// Create the context if needed. Two threads may race to create the
+		// same context, but only the first one will be kept.
+		if (context == null) {
+			JAXBContext newContext = JAXBContext
+					.newInstance(key.toArray(new Class<?>[key.size()]));
+			context = contexts.putIfAbsent(key, newContext);
+			if (context == null) {
+				context = newContext;
+			}
+		}
+
+		return context;
+	}
+
+	/**
+	 * This operation acquires a Marshaller for the context from the pool or
+	 * creates a new one if the pool is empty. It should be released with
+	 * {@link #releaseMarshaller(JAXBContext, Marshaller)} when it is no longer
+	 * needed.
+	 *
+	 * @param context
+	 *            The context from which the Marshaller should be created
+	 * @return A Marshaller configured for formatted output
+	 * @throws JAXBException
+	 *             An exception indicating that the Marshaller could not be
+	 *             created.
+	 */
+	public static Marshaller acquireMarshaller(JAXBContext context)
+			throws JAXBException {
+		Marshaller marshaller = getPool(marshallers, context).poll();
+		if (marshaller == null) {
+			marshaller = context.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
+					Boolean.TRUE);
+		}
+		return marshaller;
+	}
+
+	/**
+	 * This operation returns a Marshaller to the pool for its context.
+	 *
+	 * @param context
+	 *            The context from which the Marshaller was acquired
+	 * @param marshaller
+	 *            The Marshaller to release
+	 */
+	public static void releaseMarshaller(JAXBContext context,
+			Marshaller marshaller) {
+		ConcurrentLinkedQueue<Marshaller> pool = getPool(marshallers, context);
+		if (marshaller != null && pool.size() < MAX_POOL_SIZE) {
+			pool.offer(marshaller);
+		}
+	}
+
+	/**
+	 * This operation acquires an Unmarshaller for the context from the pool or
+	 * creates a new one if the pool is empty. It should be released with
+	 * {@link #releaseUnmarshaller(JAXBContext, Unmarshaller)} when it is no
+	 * longer needed.
+	 *
+	 * @param context
+	 *            The context from which the Unmarshaller should be created
+	 * @return The Unmarshaller
+	 * @throws JAXBException
+	 *             An exception indicating that the Unmarshaller could not be
+	 *             created.
+	 */
+	public static Unmarshaller acquireUnmarshaller(JAXBContext context)
+			throws JAXBException {
+		Unmarshaller unmarshaller = getPool(unmarshallers, context).poll();
+		if (unmarshaller == null) {
+			unmarshaller = context.createUnmarshaller();
+		}
+		return unmarshaller;
+	}
+
+	/**
+	 * This operation returns an Unmarshaller to the pool for its context.
+	 *
+	 * @param context
+	 *            The context from which the Unmarshaller was acquired
+	 * @param unmarshaller
+	 *            The Unmarshaller to release
+	 */
+	public static void releaseUnmarshaller(JAXBContext context,
+			Unmarshaller unmarshaller) {
+		ConcurrentLinkedQueue<Unmarshaller> pool = getPool(unmarshallers,
+				context);
+		if (unmarshaller != null && pool.size() < MAX_POOL_SIZE) {
+			pool.offer(unmarshaller);
+		}
+	}
+
+	/**
+	 * This operation marshals an object to the output stream as formatted XML
+	 * using a pooled Marshaller from the context.
+	 *
+	 * @param context
+	 *            The context that knows the class of the object
+	 * @param object
+	 *            The object to write
+	 * @param outputStream
+	 *            The stream to which the XML should be written
+	 * @throws JAXBException
+	 *             An exception indicating that the object could not be
+	 *             written.
+	 */
+	public static void marshal(JAXBContext context, Object object,
+			OutputStream outputStream) throws JAXBException {
+		Marshaller marshaller = acquireMarshaller(context);
+		try {
+			marshaller.marshal(object, outputStream);
+		} finally {
+			releaseMarshaller(context, marshaller);
+		}
+	}
+
+	/**
+	 * This operation unmarshals an object from the input stream using a pooled
+	 * Unmarshaller from the context.
+	 *
+	 * @param context
+	 *            The context that knows the class of the object
+	 * @param inputStream
+	 *            The stream from which the XML should be read
+	 * @return The object read from the stream
+	 * @throws JAXBException
+	 *             An exception indicating that the object could not be read.
+	 */
+	public static Object unmarshal(JAXBContext context,
+			InputStream inputStream) throws JAXBException {
+		Unmarshaller unmarshaller = acquireUnmarshaller(context);
+		try {
+			return unmarshaller.unmarshal(inputStream);
+		} finally {
+			releaseUnmarshaller(context, unmarshaller);
+		}
+	}
+
+	/**
+	 * This operation removes all cached contexts and pooled (un)marshallers.
+	 * It should be called if the classes in the cache belong to a bundle that
+	 * is being unloaded.
+	 */
+	public static void clear() {
+		contexts.clear();
+		marshallers.clear();
+		unmarshallers.clear();
+	}
+
+	/**
+	 * This operation returns the pool for a context from the map of pools,
+	 * creating it if needed.
+	 *
+	 * @param pools
+	 *            The map of pools
+	 * @param context
+	 *            The context whose pool should be returned
+	 * @return The pool
+	 */
+	private static <T> ConcurrentLinkedQueue<T> getPool(
+			ConcurrentHashMap<JAXBContext, ConcurrentLinkedQueue<T>> pools,
+			JAXBContext context) {
+		if (context == null) {
+			throw new NullPointerException("NullPointerException: "
+					+ "context argument can not be null");
+		}
+		ConcurrentLinkedQueue<T> pool = pools.get(context);
+		if (pool == null) {
+			ConcurrentLinkedQueue<T> newPool = new ConcurrentLinkedQueue<T>();
+			pool = pools.putIfAbsent(context, newPool);
+			if (pool == null) {
+				pool = newPool;
+			}
+		}
+		return pool;
+	}
+}
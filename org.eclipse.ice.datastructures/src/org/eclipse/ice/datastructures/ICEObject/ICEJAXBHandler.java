@@ -18,12 +18,11 @@ import java.util.ArrayList;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 /**
  * This class is responsible for reading and writing JAXB-annotated classes into
- * and out of ICE.
+ * and out of ICE. The JAXBContexts and (un)marshallers that it uses are shared
+ * through the {@link ICEJAXBContextCache}.
  *
  * @author Jay Jay Billings
  */
@@ -61,10 +60,10 @@ public class ICEJAXBHandler {
 		}
 
 		// Create new instance of object from file and then return it.
-		context = JAXBContext.newInstance(classList.toArray(clazzArray));
-		Unmarshaller unmarshaller = context.createUnmarshaller();
+		context = ICEJAXBContextCache.getContext(classList.toArray(clazzArray));
 		// New object created
-		Object dataFromFile = unmarshaller.unmarshal(inputStream);
+		Object dataFromFile = ICEJAXBContextCache.unmarshal(context,
+				inputStream);
 
 		// Return object
 		return dataFromFile;
@@ -125,13 +124,10 @@ public class ICEJAXBHandler {
 
 		// Create the context and marshal the data if classes were determined
 		if (classList.size() > 0) {
-			jaxbContext = JAXBContext
-					.newInstance(classList.toArray(classArray));
-			Marshaller marshaller = jaxbContext.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT,
-					Boolean.TRUE);
+			jaxbContext = ICEJAXBContextCache
+					.getContext(classList.toArray(classArray));
 			// Write to file
-			marshaller.marshal(dataObject, outputStream);
+			ICEJAXBContextCache.marshal(jaxbContext, dataObject, outputStream);
 		}
 
 		return;
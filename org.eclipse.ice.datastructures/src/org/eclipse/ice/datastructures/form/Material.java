@@ -154,6 +154,21 @@ public class Material implements Cloneable, Comparable<Material> {
 	// @XmlTransient
 	private HashMap<String, MaterialStack> components;
 
+	/**
+	 * The density from which the derived properties were last calculated by
+	 * updateProperties().
+	 */
+	@XmlTransient
+	private double derivedDensity;
+
+	/**
+	 * The amounts of each component from which the derived properties were
+	 * last calculated by updateProperties() or null if they must be
+	 * calculated again.
+	 */
+	@XmlTransient
+	private HashMap<String, Integer> derivedAmounts;
+
 	/**
 	 * The constructor.
 	 */
@@ -201,6 +216,8 @@ public class Material implements Cloneable, Comparable<Material> {
 
 	/**
 	 * This operation sets value of the material property with the given name.
+	 * Setting one of the properties that updateProperties() derives from the
+	 * components makes the next call to it calculate them again.
 	 * 
 	 * @param key
 	 *            The key/name of the property whose value should be set
@@ -209,10 +226,15 @@ public class Material implements Cloneable, Comparable<Material> {
 	 */
 	public void setProperty(String key, double value) {
 		properties.put(key, value);
+		if (isDerivedProperty(key)) {
+			invalidateProperties();
+		}
 	}
 
 	/**
 	 * This operation removes a property from the material's properties list.
+	 * Removing one of the properties that updateProperties() derives from the
+	 * components makes the next call to it calculate them again.
 	 * 
 	 * @param key
 	 *            The name of the property that should be removed.
@@ -220,9 +242,27 @@ public class Material implements Cloneable, Comparable<Material> {
 	public void removeProperty(String key) {
 		if (properties.containsKey(key)) {
 			properties.remove(key);
+			if (isDerivedProperty(key)) {
+				invalidateProperties();
+			}
 		}
 	}
 
+	/**
+	 * This operation returns true if a property is one of those that
+	 * updateProperties() calculates from the components.
+	 * 
+	 * @param key
+	 *            The name of the property
+	 * @return True if the property is derived, false otherwise
+	 */
+	private static boolean isDerivedProperty(String key) {
+		return ATOMIC_MASS.equals(key) || NUMBER_DENSITY.equals(key)
+				|| SCAT_LENGTH_DENSITY.equals(key)
+				|| MASS_ABS_COHERENT.equals(key)
+				|| MASS_ABS_INCOHERENT.equals(key);
+	}
+
 	/**
 	 * This operation returns the full set of properties for this material.
 	 * 
@@ -365,6 +405,7 @@ public class Material implements Cloneable, Comparable<Material> {
 			this.properties = new HashMap<String, Double>(material.properties);
 			this.components = new HashMap<String, MaterialStack>(
 					material.components);
+			this.derivedAmounts = null;
 		}
 	}
 
@@ -376,6 +417,12 @@ public class Material implements Cloneable, Comparable<Material> {
 	 * coefficient, and the incoherent scattering length absorption coefficient
 	 * all from the density of the material (in g/cm^3) and its components. If
 	 * called on a elemental material, does nothing.
+	 * 
+	 * The values are only calculated again if the density or the components of
+	 * this material, or one of the derived values themselves, have changed
+	 * since the last call. Changes to the properties of the components
+	 * themselves are not detected, so invalidateProperties() should be called
+	 * first if they were edited.
 	 */
 	public void updateProperties() {
 
@@ -390,16 +437,24 @@ public class Material implements Cloneable, Comparable<Material> {
 			double b = 0;
 
 			double density = getProperty(DENSITY);
-			// Get the molecular mass
-			double molMass = 0;
 			List<MaterialStack> list = getComponents();
+
+			// Skip the calculation if nothing it depends on has changed
+			HashMap<String, Integer> amounts = new HashMap<String, Integer>();
 			for (MaterialStack stack : list) {
+				amounts.put(stack.getMaterial().getName(), stack.getAmount());
+			}
+			if (derivedAmounts != null
+					&& Double.compare(density, derivedDensity) == 0
+					&& amounts.equals(derivedAmounts)) {
+				return;
+			}
 
+			// Get the molecular mass
+			double molMass = 0;
+			for (MaterialStack stack : list) {
 				molMass += (stack.getAmount()
 						* (stack.getMaterial().getProperty(ATOMIC_MASS)));
-				System.out
-						.println("adding mass: " + stack.getMaterial().getName()
-								+ " amount: " + molMass);
 			}
 
 			// Check if valid inputs
@@ -448,9 +503,22 @@ public class Material implements Cloneable, Comparable<Material> {
 			// Set the incoherent scattering length absorption coefficient
 			muMInc *= 1E-24 * getProperty(DENSITY);
 			setProperty(MASS_ABS_INCOHERENT, muMInc);
+
+			// Remember what the values were calculated from
+			derivedDensity = density;
+			derivedAmounts = amounts;
 		}
 	}
 
+	/**
+	 * This operation forces the next call to updateProperties() to calculate
+	 * the derived properties again. It should be called when the properties of
+	 * one of the components of this material have changed.
+	 */
+	public void invalidateProperties() {
+		derivedAmounts = null;
+	}
+
 	/**
 	 * Gets if this material is elemental (not a compound/composite). It must
 	 * have no components to be elemental.
@@ -14,10 +14,10 @@ package org.eclipse.ice.datastructures.form.painfullySimpleForm;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.ICEObject.ICEObject;
@@ -39,6 +39,13 @@ import org.eclipse.ice.datastructures.form.TableComponent;
  * Painfully Simple Form does not maintain any memory of the stream from which
  * it created itself.
  * </p>
+ * <p>
+ * The lines of the PSF are parsed in a single pass. Each line is classified as
+ * blank, a comment or a statement. The statements before the first Entry
+ * block describe the Form and its components, which are created as soon as
+ * the first Entry statement is found, and each Entry is created as soon as
+ * the blank line that ends its block is found.
+ * </p>
  * 
  * @author Jay Jay Billings
  */
@@ -47,7 +54,7 @@ public class PainfullySimpleForm extends Form {
 	/**
 	 * <p>
 	 * An attribute that holds an arraylist of entries with a key relative to
-	 * the TableComponent's name. This is setup in the loadEntries operation.
+	 * the TableComponent's name. This is setup in the loadEntry operation.
 	 * </p>
 	 */
 	private HashMap<String, ArrayList<IEntry>> rowTemplates;
@@ -57,6 +64,25 @@ public class PainfullySimpleForm extends Form {
 	 */
 	private String currentGroup;
 
+	/**
+	 * The type of the Form from its formType statement or null if it has none.
+	 */
+	private String formType;
+
+	/**
+	 * The keys of the statements that describe the Form and its components.
+	 */
+	private static final String[] headerKeys = { "group", "table",
+			"groupDescription", "tableDescription", "formName",
+			"formDescription", "formType" };
+
+	/**
+	 * The kinds of lines in a PSF file.
+	 */
+	private enum LineType {
+		BLANK, COMMENT, STATEMENT
+	}
+
 	/**
 	 * <p>
 	 * The constructor.
@@ -97,160 +123,207 @@ public class PainfullySimpleForm extends Form {
 	public void loadFromPSF(ArrayList<String> inputLines) throws IOException {
 
 		// Local Declarations
-		int firstEntryLine = 0;
-		ArrayList<String> emptyLines = new ArrayList<String>();
-		ArrayList<String> formAndGroupLines = new ArrayList<String>();
-		ArrayList<String> entryLines = new ArrayList<String>();
+		ArrayList<String[]> header = new ArrayList<String[]>();
+		HashMap<String, Component> componentMap = null;
+		ArrayList<String> block = new ArrayList<String>();
+		boolean lastLineEmpty = false;
+		int numEntries = 0;
 
 		// This will only work if the stream is not null
-		if (inputLines != null) {
-			// Segregate the lines
-			for (String currentLine : inputLines) {
-				// Get the group lines and make sure it has an "=" character in
-				// it!
-				if (currentLine.startsWith("group=")
-						|| currentLine.startsWith("table=")
-						|| currentLine.startsWith("groupDescription=")
-						|| currentLine.startsWith("tableDescription=")
-						|| currentLine.startsWith("formName=")
-						|| currentLine.startsWith("formDescription=")
-						|| currentLine.startsWith("formType=")) {
-					formAndGroupLines.add(currentLine);
-				}
-				// Skip over comments, empty lines and erroneous data lines
-				// without the equals sign
-				else if (currentLine.matches("^$|(?m)^\\s+$")
-						|| currentLine.startsWith("#")
-						|| currentLine.startsWith("//")
+		if (inputLines == null) {
+			throw new IOException("PSF InputStream cannot be null!");
+		}
+		formType = null;
+
+		for (String currentLine : inputLines) {
+			LineType lineType = getLineType(currentLine);
+			// Until the first Entry statement, collect the statements that
+			// describe the Form and skip everything else, including data
+			// lines without an equals sign
+			if (componentMap == null) {
+				String key = getHeaderKey(currentLine);
+				if (key != null) {
+					header.add(new String[] { key,
+							getValue(currentLine).trim() });
+					if (formType == null && "formType".equals(key)) {
+						formType = getValue(currentLine.split("\\s+")[0])
+								.trim();
+					}
+					continue;
+				} else if (lineType != LineType.STATEMENT
 						|| !currentLine.contains("=")) {
 					continue;
-				} else {
-					// Else if it is not one of the previous tags, whitespace or
-					// a comment then it must be a line from an Entry block. Get
-					// the index and break.
-					firstEntryLine = inputLines.indexOf(currentLine);
-					break;
 				}
+				// This is the first Entry statement, so the components can be
+				// created
+				componentMap = loadComponents(header);
 			}
-			// Make sure it is a PSF stream, fail if not
-			if (!isPSF(formAndGroupLines)) {
-				throw new IOException("This is not a PSF InputStream! "
-						+ "Check the blocks and make sure they are in the "
-						+ "proper order!");
+			// Blank lines end Entry blocks, but only if they do not follow
+			// another blank line or a comment
+			if (lineType == LineType.BLANK) {
+				if (!lastLineEmpty) {
+					loadEntry(block, ++numEntries, componentMap);
+					block.clear();
+				}
+				lastLineEmpty = true;
+			} else if (lineType == LineType.COMMENT) {
+				lastLineEmpty = true;
+			} else {
+				block.add(currentLine);
+				lastLineEmpty = false;
 			}
-			// Set the Form name
-			setName(formAndGroupLines.get(0).split("=")[1].trim());
-			setDescription(formAndGroupLines.get(1).split("=")[1].trim());
-			// Load the DataComponents
-			loadComponents(formAndGroupLines);
-			// Load the Entries by getting the subset of the lines
-			loadEntries(new ArrayList<String>(inputLines.subList(
-					firstEntryLine, inputLines.size())));
-			// sets up the rowTemplates into the tableComponents
-			setupRowTemplates();
+		}
 
-		} else {
-			throw new IOException("PSF InputStream cannot be null!");
+		// Create the components if there were no Entries and the last Entry if
+		// its block was not closed by a blank line
+		if (componentMap == null) {
+			componentMap = loadComponents(header);
 		}
+		if (!block.isEmpty()) {
+			loadEntry(block, ++numEntries, componentMap);
+		}
+
+		// sets up the rowTemplates into the tableComponents
+		setupRowTemplates();
+
 		return;
 	}
 
 	/**
-	 * <p>
-	 * This operation checks the InputStream to determine if it is in the
-	 * Painfully Simple Form file format.
-	 * </p>
+	 * This operation returns the type of the Form from its formType statement.
 	 * 
-	 * @param lines
-	 *            <p>
-	 *            The lines from the PSF stream.
-	 *            </p>
-	 * @return <p>
-	 *         True if the format matches the PSF, false otherwise.
-	 *         </p>
+	 * @return The type or null if the PSF did not have a formType statement
 	 */
-	private boolean isPSF(ArrayList<String> lines) {
+	@XmlTransient
+	public String getFormType() {
+		return formType;
+	}
 
-		// Local Declarations
-		boolean retFlag = false;
-
-		// The first tag should be the Form name
-		if (lines.get(0).contains("=")) {
-			retFlag = (("formName").equals((lines.get(0).split("="))[0])
-			// The third tag should be a group name
-			&& ("group".equals((lines.get(3).split("="))[0])
-			// The fourth tag should be a groupDescription
-			&& ("groupDescription".equals((lines.get(4).split("="))[0]))));
+	/**
+	 * This operation classifies a line of a PSF file.
+	 * 
+	 * @param line
+	 *            The line
+	 * @return The type of the line
+	 */
+	private static LineType getLineType(String line) {
+
+		// Look for anything that isn't whitespace
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != '\f'
+					&& c != '\u000B') {
+				return (line.startsWith("#") || line.startsWith("//"))
+						? LineType.COMMENT : LineType.STATEMENT;
+			}
+		}
+
+		return LineType.BLANK;
+	}
+
+	/**
+	 * This operation returns the key of a statement that describes the Form or
+	 * its components.
+	 * 
+	 * @param line
+	 *            The line
+	 * @return The key or null if the line is not such a statement
+	 */
+	private static String getHeaderKey(String line) {
+
+		for (String key : headerKeys) {
+			if (line.startsWith(key) && line.length() > key.length()
+					&& line.charAt(key.length()) == '=') {
+				return key;
+			}
 		}
 
-		return retFlag;
+		return null;
+	}
+
+	/**
+	 * This operation returns the value of a statement, which is the text after
+	 * the first equals sign and before the next one if there is another.
+	 * 
+	 * @param statement
+	 *            The statement
+	 * @return The value
+	 */
+	private static String getValue(String statement) {
+
+		// Local Declarations
+		int start = statement.indexOf('=') + 1;
+		int end = statement.indexOf('=', start);
+
+		return statement.substring(start, (end < 0) ? statement.length() : end);
 	}
 
 	/**
 	 * <p>
-	 * This operation loads the DataComponents and sets up the rowTemplates in
-	 * the PSF stream into the Form.
+	 * This operation checks the statements that describe the Form to determine
+	 * if they are in the Painfully Simple Form file format, sets the name and
+	 * description of the Form and loads its DataComponents and
+	 * TableComponents.
 	 * </p>
 	 * 
-	 * @param lines
+	 * @param header
 	 *            <p>
-	 *            The lines of text from the PSF file.
+	 *            The keys and values of the statements in the order of the
+	 *            file.
 	 *            </p>
+	 * @return <p>
+	 *         A map of the names of the components to the components.
+	 *         </p>
 	 * @throws IOException
 	 */
-	private void loadComponents(ArrayList<String> lines) throws IOException {
+	private HashMap<String, Component> loadComponents(
+			ArrayList<String[]> header) throws IOException {
 
 		// Local Declarations
-		String[] splitLines = { "", "" };
 		ArrayList<String> groups = new ArrayList<String>();
 		ArrayList<String> groupDescriptions = new ArrayList<String>();
 		ArrayList<String> tables = new ArrayList<String>();
 		ArrayList<String> tableDescriptions = new ArrayList<String>();
-		int idCount = 0;
+		HashMap<String, Component> componentMap = new HashMap<String, Component>();
 		int i;
 
 		DataComponent dataComp = null;
 		TableComponent tableComp = null;
-		// A flag that is marked when the block of group text is hit. This flag
-		// is checked during the parse to make sure that the we haven't run into
-		// the Entry blocks.
-		boolean hitGroupsBlock = false;
-
-		// Loop over the lines and load the components. This loop assumes that
-		// group descriptions are always after group tags, which is part of the
-		// spec!
-		for (i = 3; i < lines.size(); i++) {
-			String currentLine = lines.get(i);
-			splitLines = currentLine.split("=");
-			// If it is a new "group" line, add it to the appropriate list
-			if (currentLine.startsWith("group=")) {
-				groups.add(splitLines[1].trim());
-				// Set a flag so that we know that we are now in the groups
-				// block
-				hitGroupsBlock = true;
-			}
-			if (currentLine.startsWith("table=")) {
-				tables.add(splitLines[1].trim());
-				// Set a flag so that we know that we are now in the groups
-				// block
-				hitGroupsBlock = true;
-			} else if (currentLine.startsWith("groupDescription=")) {
-				// Add a group description line to the appropriate list
-				groupDescriptions.add(splitLines[1].trim());
-			} else if (currentLine.startsWith("tableDescription=")) {
-				// Add a group description line to the appropriate list
-				tableDescriptions.add(splitLines[1].trim());
-			} else if (currentLine.matches("^$|(?m)^\\s+$") && hitGroupsBlock) {
-				// Break out of the loop if we hit an empty line after we hit
-				// the groups block
-				break;
+
+		// Make sure it is a PSF stream, fail if not. The first statement
+		// should be the Form name, the fourth a group name and the fifth a
+		// groupDescription.
+		if (header.size() < 5 || !"formName".equals(header.get(0)[0])
+				|| !"group".equals(header.get(3)[0])
+				|| !"groupDescription".equals(header.get(4)[0])) {
+			throw new IOException("This is not a PSF InputStream! "
+					+ "Check the blocks and make sure they are in the "
+					+ "proper order!");
+		}
+		// Set the Form name
+		setName(header.get(0)[1]);
+		setDescription(header.get(1)[1]);
+
+		// Sort the groups and tables. This assumes that group descriptions are
+		// always after group tags, which is part of the spec!
+		for (i = 3; i < header.size(); i++) {
+			String key = header.get(i)[0], value = header.get(i)[1];
+			if ("group".equals(key)) {
+				groups.add(value);
+			} else if ("table".equals(key)) {
+				tables.add(value);
+			} else if ("groupDescription".equals(key)) {
+				groupDescriptions.add(value);
+			} else if ("tableDescription".equals(key)) {
+				tableDescriptions.add(value);
 			}
 		}
 
 		// Make sure that for each group there is a group description. If not,
 		// the file does not satisfy the specification and an exception should
 		// be thrown.
-		if (!(groups.size() == groupDescriptions.size())) {
+		if (groups.size() != groupDescriptions.size()
+				|| tables.size() != tableDescriptions.size()) {
 			throw new IOException("This file does not appear to contain a "
 					+ "group description for each of its groups and thereby "
 					+ "violates the PSF specification. Please check your file!");
@@ -279,266 +352,125 @@ public class PainfullySimpleForm extends Form {
 			rowTemplates.put(tableComp.getName(), new ArrayList<IEntry>());
 		}
 
-		return;
+		// Setup the component map
+		for (Component component : getComponents()) {
+			componentMap.put(((ICEObject) component).getName(), component);
+		}
 
+		return componentMap;
 	}
 
 	/**
 	 * <p>
-	 * This operations loads the Entries in the PSF stream into the
-	 * DataComponents of the Form.
+	 * This operation creates an Entry from the statements of its block and
+	 * adds it to its DataComponent or to the row template of its
+	 * TableComponent.
 	 * </p>
 	 * 
-	 * @param lines
+	 * @param block
+	 *            <p>
+	 *            The lines of the block.
+	 *            </p>
+	 * @param id
 	 *            <p>
-	 *            The lines of text from the PSF file.
+	 *            The id of the Entry.
+	 *            </p>
+	 * @param componentMap
+	 *            <p>
+	 *            A map of the names of the components to the components.
 	 *            </p>
 	 * @throws IOException
 	 */
-	private void loadEntries(ArrayList<String> lines) throws IOException {
+	private void loadEntry(ArrayList<String> block, int id,
+			HashMap<String, Component> componentMap) throws IOException {
 
 		// Local Declarations
-		int lowerBound = 0, upperBound = 0; // Loop variables for tracking block
-											// boundaries
-		// A map of the component names to the component ids
-		ArrayList<Integer> emptyLines = new ArrayList<Integer>();
-		HashMap<String, Integer> componentMap = new HashMap<String, Integer>();
-		ICEObject compRef = null;
-		TableComponent tableRef = null;
-		DataComponent dataRef = null;
-
-		// Temp list for TableEntries
-		Integer tableCount = 0;
-		ArrayList<IEntry> tempArray = null;
-
-//		PainfullySimpleEntry entry = null;
 		IEntry entry = null;
+		String name = "", description = "", tag = "", defaultValue = "",
+				valueType = "";
+		ArrayList<String> allowed = new ArrayList<String>();
 
-		boolean lastLineEmpty = false;
-
-		// Setup the component map
-		for (Component i : this.getComponents()) {
-			compRef = (ICEObject) i;
-			componentMap.put(compRef.getName(), compRef.getId());
-		}
-
-		// Check the last line. If it is empty, then continue, but if it is not
-		// empty then add an empty line
-		if (!lines.get(lines.size() - 1).matches("^$|(?m)^\\s+$")) {
-			lines.add("\t \n");
-		}
-		// Get the block numbers
-		for (int i = 0; i < lines.size(); i++) {
-			String currentLine = lines.get(i);
-			// Identify an empty line and add it to the list. Empty lines only -
-			// not comments! Also make sure that there are not two empty lines
-			// next to each other, which the parser shouldn't care about.
-			if (currentLine.matches("^$|(?m)^\\s+$") && !lastLineEmpty) {
-				emptyLines.add(i);
-				lastLineEmpty = true;
-			} else if (currentLine.startsWith("//")
-					|| currentLine.startsWith("#")) {
-				lastLineEmpty = true;
-			} else {
-				lastLineEmpty = false;
+		for (String currentString : block) {
+			// Search for comments at the end of the line and remove them
+			int comment = currentString.indexOf('#');
+			if (comment < 0) {
+				comment = currentString.indexOf("//");
 			}
-
-		}
-
-		// Create the Entries - start with the first empty line because this
-		// function will always be called with a list that starts with a "name"
-		// statement.
-		lowerBound = 0;
-		upperBound = emptyLines.get(0);
-		for (int i = 0; i < emptyLines.size(); i++) {
-
-			// Create the Entry
-//			entry = new PainfullySimpleEntry();
-			// Load from an ArrayList of the PSF block created as a sublist.
-			ArrayList<String> lineList = new ArrayList<String>(lines.subList(lowerBound, upperBound +1));
-			
-			entry = loadFromPSFBlock(new ArrayList<String>(lines.subList(
-					lowerBound, upperBound + 1)));
-			
-			// Set the id
-			entry.setId(i + 1);
-			// Make sure the group is valid and throw an exception if not
-			if (componentMap.containsKey(currentGroup)) {
-
-				// Get the Component and add the Entry
-				compRef = (ICEObject) getComponent(componentMap.get(currentGroup));
-				// Case handle for DataComponent or TableComponent
-
-				// If TableComponent, add entry to a temp list
-				if (rowTemplates.containsKey(currentGroup)) {
-					// If the group exists, add to the array
-					tempArray = rowTemplates.get(currentGroup);
-					tempArray.add(entry);
-				} else {
-					dataRef = (DataComponent) compRef;
-					dataRef.addEntry(entry);
-				}
-
-				// Update the lowerbound
-				lowerBound = upperBound;
-				// Determine the correct upper bound for the next loop
-				upperBound = (upperBound == emptyLines
-						.get(emptyLines.size() - 1) || upperBound == lines
-						.size()) ? lines.size() : emptyLines.get(i + 1);
-			} else {
-				throw new IOException("Entry " + entry.getName()
-						+ " has an invalid group! Group = " + currentGroup);
+			if (comment >= 0) {
+				currentString = currentString.substring(0, comment);
 			}
-
-		}
-
-		// finished!
-		return;
-
-	}
-
-	/**
-	 * Create a new IEntry from the given lines of text. 
-	 * 
-	 * @param inputStrings
-	 * @return
-	 * @throws IOException
-	 */
-	private IEntry loadFromPSFBlock(ArrayList<String> inputStrings) throws IOException {
-
-		// Local Declarations
-		ArrayList<String> linesToRemove = new ArrayList<String>();
-		String[] splitStrings = { "", "" };
-		ArrayList<String> validKeys = new ArrayList<String>();
-		IEntry retEntry = null;
-		String name = "", description = "", tag = "", defaultValue = "", valueType = "";
-		ArrayList<String> allowed = new ArrayList<String>();
-		
-		// This will only work if the string is not null
-		if (inputStrings != null) {
-			// Setup the list of valid keys
-			validKeys.add("name");
-			validKeys.add("description");
-			validKeys.add("defaultValue");
-			validKeys.add("allowedValueType");
-			validKeys.add("allowedValue");
-			validKeys.add("tag");
-//			validKeys.add("parent");
-			validKeys.add("group");
-			// Loop over all of the strings and parse the data
-			for (String currentString : inputStrings) {
-				// Search for any lines that are whitespace are comments
-				if (currentString.matches("^$|(?m)^\\s+$") || // Whitespace
-						currentString.startsWith("#") || // Comments with #
-						currentString.startsWith("//")) { // Comments with //
-					continue;
-				}
-				// Search for comments at the end of the line and remove them
-				if (currentString.contains("#")) {
-					currentString = currentString.replaceAll("\\#.*", "");
-				} else if (currentString.contains("//")) {
-					currentString = currentString.replaceAll("\\/\\/.*", "");
-				}
-				// Make sure the string contains an equal sign or throw an
-				// exception
-				if (!currentString.contains("=")) {
-					throw new IOException(
-							"String in Entry block does not contain an " + "equals sign! The string was at line "
-									+ inputStrings.indexOf(currentString) + ":\n" + currentString);
-				}
-				// Trim and split the string
-				splitStrings = currentString.trim().split("\\=");
-				// Get the name
-				if ("name".equals(splitStrings[0])) {
-					name = splitStrings[1];
-				}
-				// Get the description
-				else if ("description".equals(splitStrings[0])) {
-					description = splitStrings[1];
-				}
-				// Get the default value
-				else if ("defaultValue".equals(splitStrings[0])) {
-					defaultValue = splitStrings[1];
-				}
-				// Get the AllowedValueType
-				else if ("allowedValueType".equals(splitStrings[0])) {
-					// this.setAllowedValueType(AllowedValueType
-					// .valueOf(splitStrings[1]));
-					valueType = splitStrings[1];
-				}
-				// Get the AllowedValues
-				else if ("allowedValue".equals(splitStrings[0])) {
-//					this.setAllowedValues(Arrays.asList(splitStrings[1]));// allowedValues);
-					allowed.add(splitStrings[1]);
-				}
-				// Get the tag
-				else if ("tag".equals(splitStrings[0])) {
-					tag = splitStrings[1];
-				}
-				// Get the parent
-				// else if ("parent".equals(splitStrings[0])) {
-				// setParent(splitStrings[1]);
-				// }
-				// Get the group name
-				else if ("group".equals(splitStrings[0])) {
-					currentGroup = splitStrings[1];
-				}
-				// Check for an invalid tag. If it is found, throw an exception.
-				else if (!validKeys.contains(splitStrings[0])) {
-					throw new IOException("Invalid PSF statement: " + currentString);
-				}
+			// Make sure the string contains an equal sign or throw an
+			// exception
+			if (currentString.indexOf('=') < 0) {
+				throw new IOException("String in Entry block does not contain "
+						+ "an equals sign! The string was:\n" + currentString);
+			}
+			// Trim and split the string
+			currentString = currentString.trim();
+			String key = currentString.substring(0, currentString.indexOf('='));
+			String value = getValue(currentString);
+			switch (key) {
+			case "name":
+				name = value;
+				break;
+			case "description":
+				description = value;
+				break;
+			case "defaultValue":
+				defaultValue = value;
+				break;
+			case "allowedValueType":
+				valueType = value;
+				break;
+			case "allowedValue":
+				allowed.add(value);
+				break;
+			case "tag":
+				tag = value;
+				break;
+			case "group":
+				currentGroup = value;
+				break;
+			default:
+				throw new IOException("Invalid PSF statement: " + currentString);
 			}
 		}
 
-		
+		// Create the Entry
 		if ("Discrete".equals(valueType)) {
-			retEntry = new DiscreteEntry(allowed.toArray(new String[allowed.size()]));
+			entry = new DiscreteEntry(
+					allowed.toArray(new String[allowed.size()]));
 		} else if ("Continuous".equals(valueType)) {
-			retEntry = new ContinuousEntry(allowed.toArray(new String[allowed.size()]));
+			entry = new ContinuousEntry(
+					allowed.toArray(new String[allowed.size()]));
 		} else if ("Undefined".equals(valueType)) {
-			retEntry = new StringEntry();
+			entry = new StringEntry();
+		} else {
+			throw new IOException("Entry " + name + " has an invalid "
+					+ "allowedValueType! Type = " + valueType);
 		}
-		
-		retEntry.setName(name);
-		retEntry.setDefaultValue(defaultValue);
-		retEntry.setValue(defaultValue);
-		retEntry.setDescription(description);
-		retEntry.setTag(tag);
-		
-		return retEntry;
-	}
-
-	/**
-	 * <p>
-	 * This operation gets the name and description of the Form from the lines
-	 * of text from the PSF file.
-	 * </p>
-	 * 
-	 * @param lines
-	 *            <p>
-	 *            The lines of text from the PSF file.
-	 *            </p>
-	 */
-	private void getFormNameAndDescription(ArrayList<String> lines) {
-
-		// Local Declarations
-		boolean hasName = false, hasDescription = false;
-		String[] splitLines = { "", "" };
-
-		// Loop over the lines and get the Form's name and description
-		for (String currentLine : lines) {
-			splitLines = currentLine.split("=");
-			if (currentLine.startsWith("formName")) {
-				setName(splitLines[1].trim());
-				hasName = true;
-			} else if (currentLine.startsWith("formDescription")) {
-				setDescription(splitLines[1].trim());
-				hasDescription = true;
-			} else if (hasName && hasDescription) {
-				break;
-			}
+		entry.setName(name);
+		entry.setDefaultValue(defaultValue);
+		entry.setValue(defaultValue);
+		entry.setDescription(description);
+		entry.setTag(tag);
+		entry.setId(id);
+
+		// Make sure the group is valid and throw an exception if not
+		Component component = (currentGroup != null)
+				? componentMap.get(currentGroup) : null;
+		if (component == null) {
+			throw new IOException("Entry " + entry.getName()
+					+ " has an invalid group! Group = " + currentGroup);
+		}
+		// If TableComponent, add entry to its row template
+		if (rowTemplates.containsKey(currentGroup)) {
+			rowTemplates.get(currentGroup).add(entry);
+		} else {
+			((DataComponent) component).addEntry(entry);
 		}
 
+		return;
 	}
 
 	/**
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.datastructures.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * This class is a registry of the runtime metrics of ICE. It holds three kinds
+ * of metrics:
+ * <ul>
+ * <li>Counters, which only go up, such as the number of bytes read.</li>
+ * <li>Timers, which record how many times something happened and how long it
+ * took.</li>
+ * <li>Gauges, which report a value when asked, such as the depth of a
+ * queue.</li>
+ * </ul>
+ * Metrics are created the first time they are requested by name and are safe
+ * to update from any thread without locking. Names follow the Prometheus
+ * conventions and may carry labels, such as
+ * <code>ice_io_read{type="CSV"}</code>. The registry can be written in the
+ * Prometheus text format with toText().
+ * <p>
+ * Most code should use the shared registry returned by getInstance().
+ * </p>
+ *
+ */
+public class MetricsRegistry {
+
+	/**
+	 * The shared registry.
+	 */
+	private static final MetricsRegistry instance = new MetricsRegistry();
+
+	/**
+	 * A metric that counts something.
+	 */
+	public static class Counter {
+
+		/**
+		 * The count.
+		 */
+		private final LongAdder count = new LongAdder();
+
+		/**
+		 * This operation adds one to the count.
+		 */
+		public void increment() {
+			count.increment();
+		}
+
+		/**
+		 * This operation adds to the count.
+		 *
+		 * @param amount
+		 *            The amount to add
+		 */
+		public void add(long amount) {
+			count.add(amount);
+		}
+
+		/**
+		 * This operation returns the count.
+		 *
+		 * @return The count
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+	}
+
+	/**
+	 * A metric that records how often something happens and how long it
+	 * takes.
+	 */
+	public static class Timer {
+
+		/**
+		 * The number of times that were recorded.
+		 */
+		private final LongAdder count = new LongAdder();
+
+		/**
+		 * The sum of the times in nanoseconds.
+		 */
+		private final LongAdder total = new LongAdder();
+
+		/**
+		 * The longest time in nanoseconds.
+		 */
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		/**
+		 * This operation records a time.
+		 *
+		 * @param nanos
+		 *            The time in nanoseconds
+		 */
+		public void record(long nanos) {
+			count.increment();
+			total.add(nanos);
+			max.accumulate(nanos);
+		}
+
+		/**
+		 * This operation records the time since System.nanoTime() returned the
+		 * start time.
+		 *
+		 * @param startNanos
+		 *            The start time
+		 */
+		public void recordSince(long startNanos) {
+			record(System.nanoTime() - startNanos);
+		}
+
+		/**
+		 * This operation returns the number of times that were recorded.
+		 *
+		 * @return The count
+		 */
+		public long getCount() {
+			return count.sum();
+		}
+
+		/**
+		 * This operation returns the sum of the times.
+		 *
+		 * @return The sum in nanoseconds
+		 */
+		public long getTotalTime() {
+			return total.sum();
+		}
+
+		/**
+		 * This operation returns the longest time.
+		 *
+		 * @return The longest time in nanoseconds
+		 */
+		public long getMaxTime() {
+			return max.get();
+		}
+	}
+
+	/**
+	 * The counters, keyed by name.
+	 */
+	private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<String, Counter>();
+
+	/**
+	 * The timers, keyed by name.
+	 */
+	private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+
+	/**
+	 * The gauges, keyed by name.
+	 */
+	private final ConcurrentHashMap<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<String, Supplier<? extends Number>>();
+
+	/**
+	 * This operation returns the shared registry.
+	 *
+	 * @return The registry
+	 */
+	public static MetricsRegistry getInstance() {
+		return instance;
+	}
+
+	/**
+	 * This operation returns a counter, creating it if needed.
+	 *
+	 * @param name
+	 *            The name of the counter
+	 * @return The counter
+	 */
+	public Counter counter(String name) {
+		return counters.computeIfAbsent(name, key -> new Counter());
+	}
+
+	/**
+	 * This operation returns a timer, creating it if needed.
+	 *
+	 * @param name
+	 *            The name of the timer
+	 * @return The timer
+	 */
+	public Timer timer(String name) {
+		return timers.computeIfAbsent(name, key -> new Timer());
+	}
+
+	/**
+	 * This operation registers a gauge. It replaces any gauge with the same
+	 * name.
+	 *
+	 * @param name
+	 *            The name of the gauge
+	 * @param gauge
+	 *            The supplier of the value of the gauge. It is called each
+	 *            time the metrics are written, so it should be fast.
+	 */
+	public void gauge(String name, Supplier<? extends Number> gauge) {
+		gauges.put(name, gauge);
+	}
+
+	/**
+	 * This operation removes a gauge.
+	 *
+	 * @param name
+	 *            The name of the gauge
+	 */
+	public void removeGauge(String name) {
+		gauges.remove(name);
+	}
+
+	/**
+	 * This operation writes the metrics in the Prometheus text format, sorted
+	 * by name. Each timer is written as three metrics with the suffixes
+	 * "_count", "_seconds_sum" and "_seconds_max".
+	 *
+	 * @return The metrics
+	 */
+	public String toText() {
+
+		// Local Declarations
+		Map<String, Number> values = new TreeMap<String, Number>();
+		StringBuilder text = new StringBuilder();
+
+		// Collect the values
+		for (Map.Entry<String, Counter> counter : counters.entrySet()) {
+			values.put(counter.getKey(), counter.getValue().getCount());
+		}
+		for (Map.Entry<String, Timer> timer : timers.entrySet()) {
+			Timer value = timer.getValue();
+			values.put(suffix(timer.getKey(), "_count"), value.getCount());
+			values.put(suffix(timer.getKey(), "_seconds_sum"),
+					value.getTotalTime() / 1.0e9);
+			values.put(suffix(timer.getKey(), "_seconds_max"),
+					value.getMaxTime() / 1.0e9);
+		}
+		for (Map.Entry<String, Supplier<? extends Number>> gauge : gauges
+				.entrySet()) {
+			// Gauges that fail should not hide the other metrics
+			try {
+				Number value = gauge.getValue().get();
+				if (value != null) {
+					values.put(gauge.getKey(), value);
+				}
+			} catch (RuntimeException e) {
+				// Skip it
+			}
+		}
+
+		// Write them
+		for (Map.Entry<String, Number> value : values.entrySet()) {
+			text.append(value.getKey()).append(' ').append(value.getValue())
+					.append('\n');
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * This operation adds a suffix to the name of a metric, before its labels.
+	 *
+	 * @param name
+	 *            The name, which may have labels
+	 * @param suffix
+	 *            The suffix
+	 * @return The new name
+	 */
+	private static String suffix(String name, String suffix) {
+		int labels = name.indexOf('{');
+		return (labels < 0) ? name + suffix
+				: name.substring(0, labels) + suffix + name.substring(labels);
+	}
+}
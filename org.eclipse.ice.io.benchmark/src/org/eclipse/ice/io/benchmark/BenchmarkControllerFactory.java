@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.benchmark;
+
+import org.eclipse.eavp.viz.modeling.Edge;
+import org.eclipse.eavp.viz.modeling.EdgeController;
+import org.eclipse.eavp.viz.modeling.Vertex;
+import org.eclipse.eavp.viz.modeling.VertexController;
+import org.eclipse.eavp.viz.modeling.base.BasicView;
+import org.eclipse.eavp.viz.modeling.base.IMesh;
+import org.eclipse.eavp.viz.modeling.factory.IControllerProvider;
+import org.eclipse.eavp.viz.modeling.factory.IControllerProviderFactory;
+import org.eclipse.eavp.viz.service.mesh.datastructures.NekPolygon;
+import org.eclipse.eavp.viz.service.mesh.datastructures.NekPolygonController;
+
+/**
+ * A factory which produces controllers with basic views for the meshes that
+ * the NekReader reads in the benchmarks, so that no visualization service is
+ * needed.
+ *
+ */
+public class BenchmarkControllerFactory implements IControllerProviderFactory {
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.eclipse.eavp.viz.modeling.factory.IControllerProviderFactory#
+	 * createProvider(org.eclipse.eavp.viz.modeling.base.IMesh)
+	 */
+	@Override
+	public IControllerProvider createProvider(IMesh model) {
+
+		// Create EdgeControllers for edges
+		if (model instanceof Edge) {
+			return new IControllerProvider<EdgeController>() {
+				@Override
+				public EdgeController createController(IMesh model) {
+					return new EdgeController((Edge) model, new BasicView());
+				}
+			};
+		}
+
+		// Create VertexControllers for vertices
+		else if (model instanceof Vertex) {
+			return new IControllerProvider<VertexController>() {
+				@Override
+				public VertexController createController(IMesh model) {
+					return new VertexController((Vertex) model,
+							new BasicView());
+				}
+			};
+		}
+
+		// Create NekPolygonControllers for the elements
+		else if (model instanceof NekPolygon) {
+			return new IControllerProvider<NekPolygonController>() {
+				@Override
+				public NekPolygonController createController(IMesh model) {
+					return new NekPolygonController((NekPolygon) model,
+							new BasicView());
+				}
+			};
+		}
+
+		// If the component type is not recognized, return null
+		return null;
+	}
+
+}
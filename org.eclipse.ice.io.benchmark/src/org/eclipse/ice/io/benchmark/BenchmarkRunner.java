@@ -0,0 +1,430 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class runs benchmarks the way a microbenchmark harness would. Each
+ * operation is run a number of times to warm up the JIT and then measured a
+ * number of times. The time and the number of bytes that the calling thread
+ * allocated are recorded for every measured run and the throughput is
+ * reported in operations and megabytes per second.
+ *
+ * The number of runs is read from the system properties
+ * "ice.benchmark.warmup" and "ice.benchmark.iterations". Allocations are only
+ * recorded on JVMs whose ThreadMXBean can count them per thread, which is
+ * looked up reflectively so that other JVMs can still run the benchmarks. Work that an operation
+ * hands to other threads, such as the chunks of a parallel search, is not
+ * counted.
+ *
+ */
+public class BenchmarkRunner {
+
+	/**
+	 * Logger for handling event messages and other information.
+	 */
+	private static final Logger logger = LoggerFactory
+			.getLogger(BenchmarkRunner.class);
+
+	/**
+	 * An operation that is measured. It returns a result so that its work can
+	 * not be optimized away.
+	 */
+	public interface Operation {
+
+		/**
+		 * This operation runs the benchmark once.
+		 *
+		 * @return The result of the run, which may be null if it failed
+		 * @throws Exception
+		 *             An exception if the run fails
+		 */
+		Object run() throws Exception;
+	}
+
+	/**
+	 * The results of one benchmark.
+	 */
+	public static class Result {
+
+		/**
+		 * The name of the benchmark.
+		 */
+		private final String name;
+
+		/**
+		 * The size of the input in bytes.
+		 */
+		private final long bytes;
+
+		/**
+		 * The time of each measured run in nanoseconds.
+		 */
+		private final long[] times;
+
+		/**
+		 * The bytes allocated in each measured run or -1 if they are not
+		 * known.
+		 */
+		private final long[] allocations;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param name
+		 *            The name of the benchmark
+		 * @param bytes
+		 *            The size of the input in bytes
+		 * @param times
+		 *            The time of each measured run in nanoseconds
+		 * @param allocations
+		 *            The bytes allocated in each measured run
+		 */
+		private Result(String name, long bytes, long[] times,
+				long[] allocations) {
+			this.name = name;
+			this.bytes = bytes;
+			this.times = times;
+			this.allocations = allocations;
+		}
+
+		/**
+		 * This operation returns the name of the benchmark.
+		 *
+		 * @return The name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * This operation returns the mean time of a run in seconds.
+		 *
+		 * @return The mean time
+		 */
+		public double getMeanTime() {
+			return mean(times) / 1.0e9;
+		}
+
+		/**
+		 * This operation returns the standard deviation of the time of a run in
+		 * seconds.
+		 *
+		 * @return The standard deviation
+		 */
+		public double getTimeDeviation() {
+
+			// Local Declarations
+			double mean = mean(times);
+			double sum = 0.0;
+
+			for (long time : times) {
+				sum += (time - mean) * (time - mean);
+			}
+
+			return (times.length > 1)
+					? Math.sqrt(sum / (times.length - 1)) / 1.0e9 : 0.0;
+		}
+
+		/**
+		 * This operation returns the number of runs per second.
+		 *
+		 * @return The throughput in operations per second
+		 */
+		public double getOperationsPerSecond() {
+			return 1.0 / getMeanTime();
+		}
+
+		/**
+		 * This operation returns the number of megabytes of input that are
+		 * processed per second.
+		 *
+		 * @return The throughput in megabytes per second
+		 */
+		public double getMegabytesPerSecond() {
+			return bytes / (1024.0 * 1024.0) / getMeanTime();
+		}
+
+		/**
+		 * This operation returns the mean number of bytes that a run
+		 * allocated.
+		 *
+		 * @return The allocated bytes or -1 if they are not known
+		 */
+		public long getAllocatedBytes() {
+			return (allocations[0] < 0) ? -1 : (long) mean(allocations);
+		}
+
+		/**
+		 * This operation returns the result as a line of comma separated
+		 * values in the order of {@link BenchmarkRunner#HEADER}.
+		 *
+		 * @return The line
+		 */
+		public String toCSV() {
+			return String.format(Locale.US, "%s,%d,%d,%.6f,%.6f,%.3f,%.3f,%d",
+					name, bytes, times.length, getMeanTime(), getTimeDeviation(),
+					getOperationsPerSecond(), getMegabytesPerSecond(),
+					getAllocatedBytes());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 *
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format(
+					"%-40s %12d B %10.4f s +- %8.4f %10.2f ops/s %10.2f MB/s %14d B/op",
+					name, bytes, getMeanTime(), getTimeDeviation(),
+					getOperationsPerSecond(), getMegabytesPerSecond(),
+					getAllocatedBytes());
+		}
+
+		/**
+		 * This operation returns the mean of a set of values.
+		 *
+		 * @param values
+		 *            The values
+		 * @return The mean
+		 */
+		private static double mean(long[] values) {
+
+			// Local Declarations
+			double sum = 0.0;
+
+			for (long value : values) {
+				sum += value;
+			}
+
+			return sum / values.length;
+		}
+	}
+
+	/**
+	 * The header of the comma separated results.
+	 */
+	public static final String HEADER = "benchmark,bytes,runs,meanSeconds,"
+			+ "deviationSeconds,opsPerSecond,megabytesPerSecond,allocatedBytes";
+
+	/**
+	 * The number of runs that warm up each benchmark.
+	 */
+	private final int warmup;
+
+	/**
+	 * The number of runs that are measured.
+	 */
+	private final int iterations;
+
+	/**
+	 * The bean of the threads of the JVM.
+	 */
+	private final ThreadMXBean threadBean;
+
+	/**
+	 * The getThreadAllocatedBytes(long) operation of the bean or null if the
+	 * JVM can not count the bytes that threads allocate.
+	 */
+	private final Method allocatedBytes;
+
+	/**
+	 * The results of the benchmarks that were run.
+	 */
+	private final List<Result> results = new ArrayList<Result>();
+
+	/**
+	 * The nullary constructor. The number of runs is read from the system
+	 * properties and is 3 to warm up and 5 to measure by default.
+	 */
+	public BenchmarkRunner() {
+		this(Integer.getInteger("ice.benchmark.warmup", 3),
+				Integer.getInteger("ice.benchmark.iterations", 5));
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param warmup
+	 *            The number of runs that warm up each benchmark
+	 * @param iterations
+	 *            The number of runs that are measured
+	 */
+	public BenchmarkRunner(int warmup, int iterations) {
+
+		// Local Declarations
+		Method allocations = null;
+
+		this.warmup = Math.max(0, warmup);
+		this.iterations = Math.max(1, iterations);
+		threadBean = ManagementFactory.getThreadMXBean();
+
+		// Count allocations if the JVM can. The operations are looked up on
+		// the extended interface because the class of the bean is not public.
+		try {
+			Class<?> extension = Class
+					.forName("com.sun.management.ThreadMXBean");
+			if (extension.isInstance(threadBean)
+					&& (Boolean) extension
+							.getMethod("isThreadAllocatedMemorySupported")
+							.invoke(threadBean)) {
+				extension.getMethod("setThreadAllocatedMemoryEnabled",
+						boolean.class).invoke(threadBean, true);
+				allocations = extension.getMethod("getThreadAllocatedBytes",
+						long.class);
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			logger.info("IOBenchmark Message: Allocations can not be "
+					+ "counted on this JVM.");
+			allocations = null;
+		}
+		allocatedBytes = allocations;
+	}
+
+	/**
+	 * This operation runs a benchmark.
+	 *
+	 * @param name
+	 *            The name of the benchmark
+	 * @param bytes
+	 *            The size of the input in bytes
+	 * @param operation
+	 *            The operation to measure
+	 * @return The result
+	 * @throws Exception
+	 *             An exception if a run fails or returns null
+	 */
+	public Result run(String name, long bytes, Operation operation)
+			throws Exception {
+
+		// Local Declarations
+		long[] times = new long[iterations];
+		long[] allocations = new long[iterations];
+		long threadId = Thread.currentThread().getId();
+
+		// Warm up
+		for (int i = 0; i < warmup; i++) {
+			check(name, operation.run());
+		}
+
+		// Measure
+		for (int i = 0; i < iterations; i++) {
+			long allocated = getAllocatedBytes(threadId);
+			long start = System.nanoTime();
+			Object result = operation.run();
+			times[i] = System.nanoTime() - start;
+			allocations[i] = (allocated >= 0)
+					? getAllocatedBytes(threadId) - allocated : -1;
+			check(name, result);
+		}
+
+		Result result = new Result(name, bytes, times, allocations);
+		results.add(result);
+		logger.info("IOBenchmark Message: " + result);
+
+		return result;
+	}
+
+	/**
+	 * This operation returns the results of the benchmarks that were run.
+	 *
+	 * @return The results in the order in which they were run
+	 */
+	public List<Result> getResults() {
+		return results;
+	}
+
+	/**
+	 * This operation writes the results as comma separated values. The header
+	 * is only written if the file is new.
+	 *
+	 * @param file
+	 *            The file
+	 * @throws IOException
+	 */
+	public void writeResults(File file) throws IOException {
+
+		// Local Declarations
+		boolean exists = file.isFile() && file.length() > 0;
+
+		if (file.getParentFile() != null) {
+			file.getParentFile().mkdirs();
+		}
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(
+				file.toPath(), StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+			if (!exists) {
+				writer.println(HEADER);
+			}
+			for (Result result : results) {
+				writer.println(result.toCSV());
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the number of bytes that a thread has allocated.
+	 *
+	 * @param threadId
+	 *            The id of the thread
+	 * @return The allocated bytes or -1 if they are not known
+	 */
+	private long getAllocatedBytes(long threadId) {
+
+		// Local Declarations
+		long bytes = -1;
+
+		if (allocatedBytes != null) {
+			try {
+				bytes = (Long) allocatedBytes.invoke(threadBean, threadId);
+			} catch (ReflectiveOperationException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * This operation makes sure that a run returned something.
+	 *
+	 * @param name
+	 *            The name of the benchmark
+	 * @param result
+	 *            The result of the run
+	 * @throws IllegalStateException
+	 *             An exception if the result is null
+	 */
+	private void check(String name, Object result) {
+		if (result == null) {
+			throw new IllegalStateException(
+					"IOBenchmark Error: " + name + " did not return a result.");
+		}
+	}
+}
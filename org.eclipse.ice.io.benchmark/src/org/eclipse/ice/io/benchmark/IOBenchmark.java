@@ -0,0 +1,481 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.benchmark;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.painfullySimpleForm.PainfullySimpleForm;
+import org.eclipse.ice.io.csv.CSVReader;
+import org.eclipse.ice.io.csv.SpaceDelimitedReader;
+import org.eclipse.ice.io.ini.INIReader;
+import org.eclipse.ice.io.ini.INIWriter;
+import org.eclipse.ice.io.ips.IPSReader;
+import org.eclipse.ice.io.ips.IPSWriter;
+import org.eclipse.ice.io.mapped.LineSearch;
+import org.eclipse.ice.io.serializable.IOService;
+import org.eclipse.ice.io.serializable.IReader;
+import org.eclipse.ice.io.serializable.IWriter;
+import org.eclipse.ice.item.utilities.moose.MOOSEFileHandler;
+import org.eclipse.ice.nek5000.NekReader;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * This class measures the throughput and the allocations of the readers and
+ * writers in ICE on synthetic inputs. The IReaders and IWriters are taken from
+ * the IOService and are measured reading, writing, searching with findAll()
+ * and replacing text in their files. The NekReader, the MOOSEFileHandler and
+ * the PainfullySimpleForm are measured loading their files into ICE's data
+ * structures.
+ *
+ * The benchmarks are configured with system properties:
+ * <ul>
+ * <li>ice.benchmark.sizes - A comma separated list of input sizes such as
+ * "64KB,1MB,1GB". The default is "64KB,1MB,16MB".</li>
+ * <li>ice.benchmark.maxModelSize - The largest input that is loaded into a
+ * Form, a mesh or a tree. The default is "16MB" because these inputs take
+ * many times their size in memory.</li>
+ * <li>ice.benchmark.warmup and ice.benchmark.iterations - The number of runs
+ * that warm up and are measured. See {@link BenchmarkRunner}.</li>
+ * <li>ice.benchmark.report - A file to which the results are appended as
+ * comma separated values.</li>
+ * </ul>
+ *
+ * The class is named so that it is only run by the "benchmark" profile of the
+ * build and not with the tests.
+ *
+ */
+public class IOBenchmark {
+
+	/**
+	 * The project that holds the generated files.
+	 */
+	private static IProject project;
+
+	/**
+	 * The directory of the project.
+	 */
+	private static File directory;
+
+	/**
+	 * The service from which the readers and writers are taken.
+	 */
+	private static IOService ioService;
+
+	/**
+	 * The harness that runs the benchmarks.
+	 */
+	private static BenchmarkRunner runner;
+
+	/**
+	 * The sizes of the inputs in bytes.
+	 */
+	private static ArrayList<Long> sizes;
+
+	/**
+	 * The size of the largest input that is loaded into a model.
+	 */
+	private static long maxModelSize;
+
+	/**
+	 * Writes an input file of a given size.
+	 */
+	private interface Generator {
+
+		/**
+		 * This operation writes the file.
+		 *
+		 * @param file
+		 *            The file
+		 * @param size
+		 *            The size of the file in bytes
+		 * @return The number of lines, entries or elements that were written
+		 * @throws IOException
+		 */
+		long write(File file, long size) throws IOException;
+	}
+
+	/**
+	 * This operation creates the project for the inputs and the IOService.
+	 *
+	 * @throws Exception
+	 */
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+
+		// Local Declarations
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		String projectName = "IOBenchmarkWorkspace";
+
+		// Read the configuration
+		sizes = new ArrayList<Long>();
+		for (String size : System
+				.getProperty("ice.benchmark.sizes", "64KB,1MB,16MB")
+				.split(",")) {
+			if (!size.trim().isEmpty()) {
+				sizes.add(InputGenerator.parseSize(size));
+			}
+		}
+		maxModelSize = InputGenerator.parseSize(
+				System.getProperty("ice.benchmark.maxModelSize", "16MB"));
+		runner = new BenchmarkRunner();
+
+		// Create the project in a temporary directory
+		directory = Files.createTempDirectory("iceBenchmark").toFile();
+		IProjectDescription desc = workspace.newProjectDescription(projectName);
+		desc.setLocation(new Path(directory.getAbsolutePath()));
+		project = workspace.getRoot().getProject(projectName);
+		if (project.exists()) {
+			project.delete(true, true, new NullProgressMonitor());
+		}
+		project.create(desc, new NullProgressMonitor());
+		project.open(new NullProgressMonitor());
+
+		// Make sure the service has the readers and writers that are measured
+		ioService = new IOService();
+		for (IReader reader : new IReader[] { new INIReader(),
+				new IPSReader(), new CSVReader(), new SpaceDelimitedReader() }) {
+			if (ioService.getReader(reader.getReaderType()) == null) {
+				ioService.addReader(reader);
+			}
+		}
+		for (IWriter writer : new IWriter[] { new INIWriter(),
+				new IPSWriter() }) {
+			if (ioService.getWriter(writer.getWriterType()) == null) {
+				ioService.addWriter(writer);
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation reports the results and deletes the project and its
+	 * files.
+	 *
+	 * @throws Exception
+	 */
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+
+		// Local Declarations
+		String report = System.getProperty("ice.benchmark.report");
+
+		if (report != null && !report.isEmpty()) {
+			runner.writeResults(new File(report));
+		}
+		if (project != null) {
+			project.delete(true, true, new NullProgressMonitor());
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation measures the INI reader and writer.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void benchmarkINI() throws Exception {
+		for (long size : sizes) {
+			IFile file = generate("benchmark.ini", size,
+					InputGenerator::writeINI);
+			benchmarkReader("INI", file, size, "key1 = .*");
+			benchmarkWriter("INI", file, size, "key1 = .*", "key1 = 1.0",
+					"key1 = 2.0");
+			delete(file);
+		}
+	}
+
+	/**
+	 * This operation measures the IPS reader and writer.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void benchmarkIPS() throws Exception {
+		for (long size : sizes) {
+			IFile file = generate("benchmark.conf", size,
+					InputGenerator::writeIPS);
+			benchmarkReader("IPS", file, size, "\\s*PARAM_1\\d* = .*");
+			benchmarkWriter("IPS", file, size, "   PARAM_1 = .*",
+					"   PARAM_1 = 1.0", "   PARAM_1 = 2.0");
+			delete(file);
+		}
+	}
+
+	/**
+	 * This operation measures the CSV reader.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void benchmarkCSV() throws Exception {
+		for (long size : sizes) {
+			IFile file = generate("benchmark.csv", size,
+					(f, s) -> InputGenerator.writeDelimited(f, s, ","));
+			benchmarkReader("csv", file, size, "0\\.1\\d*,.*");
+			delete(file);
+		}
+	}
+
+	/**
+	 * This operation measures the space-delimited reader.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void benchmarkSpaceDelimited() throws Exception {
+		for (long size : sizes) {
+			IFile file = generate("benchmark.txt", size,
+					(f, s) -> InputGenerator.writeDelimited(f, s, " "));
+			benchmarkReader("space-delimited", file, size, "0\\.1\\d* .*");
+			delete(file);
+		}
+	}
+
+	/**
+	 * This operation measures loading Painfully Simple Form files.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void benchmarkPSF() throws Exception {
+		for (long size : modelSizes()) {
+			final IFile file = generate("benchmark.psf", size,
+					InputGenerator::writePSF);
+			runner.run("PSF load " + size, size, () -> {
+				PainfullySimpleForm form = new PainfullySimpleForm();
+				form.loadFromPSF(new ArrayList<String>(Files.readAllLines(
+						toFile(file).toPath(), StandardCharsets.US_ASCII)));
+				return form;
+			});
+			delete(file);
+		}
+	}
+
+	/**
+	 * This operation measures loading Nek5000 reafiles.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void benchmarkNek() throws Exception {
+		for (long size : modelSizes()) {
+			IFile input = generate("benchmark.rea", size,
+					InputGenerator::writeREA);
+			final File file = toFile(input);
+			runner.run("NekReader.loadREAFile " + size, size, () -> {
+				NekReader reader = new NekReader();
+				reader.setControllerFactory(new BenchmarkControllerFactory());
+				return reader.loadREAFile(file);
+			});
+			delete(input);
+		}
+	}
+
+	/**
+	 * This operation measures loading MOOSE input files.
+	 *
+	 * @throws Exception
+	 */
+	@Test
+	public void benchmarkMOOSE() throws Exception {
+		for (long size : modelSizes()) {
+			IFile input = generate("benchmark.i", size,
+					InputGenerator::writeGetPot);
+			final File file = toFile(input);
+			runner.run("MOOSEFileHandler.loadFromGetPot " + size, size,
+					() -> new MOOSEFileHandler()
+							.loadFromGetPot(file.getAbsolutePath()));
+			delete(input);
+		}
+	}
+
+	/**
+	 * This operation measures an IReader from the IOService reading and
+	 * searching a file. The file is searched with and without the index that
+	 * LineSearch keeps.
+	 *
+	 * @param type
+	 *            The type of the reader
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file
+	 * @param regex
+	 *            The regular expression to search for
+	 * @throws Exception
+	 */
+	private void benchmarkReader(String type, final IFile file, long size,
+			final String regex) throws Exception {
+
+		// Local Declarations
+		final IReader reader = ioService.getReader(type);
+		assertNotNull(reader);
+
+		// Forms are only read from inputs that fit in memory
+		if (size <= maxModelSize) {
+			runner.run(type + " read " + size, size, () -> reader.read(file));
+		}
+		try {
+			LineSearch.setCacheEnabled(false);
+			runner.run(type + " findAll " + size, size,
+					() -> reader.findAll(file, regex));
+			LineSearch.setCacheEnabled(true);
+			runner.run(type + " findAll (indexed) " + size, size,
+					() -> reader.findAll(file, regex));
+		} finally {
+			LineSearch.setCacheEnabled(true);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation measures an IWriter from the IOService writing a Form and
+	 * replacing text in a file. The replacement alternates between two values
+	 * so that every run changes the file.
+	 *
+	 * @param type
+	 *            The type of the reader and the writer
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file
+	 * @param regex
+	 *            The regular expression to replace
+	 * @param first
+	 *            The first value
+	 * @param second
+	 *            The second value
+	 * @throws Exception
+	 */
+	private void benchmarkWriter(String type, final IFile file, long size,
+			final String regex, final String first, final String second)
+			throws Exception {
+
+		// Local Declarations
+		final IWriter writer = ioService.getWriter(type);
+		final int[] runs = { 0 };
+		assertNotNull(writer);
+
+		// Write the Form that was read from the file to another file
+		if (size <= maxModelSize) {
+			final Form form = ioService.getReader(type).read(file);
+			final IFile output = project.getFile("written_" + file.getName());
+			runner.run(type + " write " + size, size, () -> {
+				writer.write(form, output);
+				return output;
+			});
+			delete(output);
+		}
+
+		// Replace text in the file
+		runner.run(type + " replace " + size, size, () -> {
+			writer.replace(file, regex, (runs[0]++ % 2 == 0) ? first : second);
+			return file;
+		});
+
+		return;
+	}
+
+	/**
+	 * This operation writes an input file into the project.
+	 *
+	 * @param name
+	 *            The name of the file
+	 * @param size
+	 *            The size of the file in bytes
+	 * @param generator
+	 *            The generator that writes the file
+	 * @return The file
+	 * @throws IOException
+	 * @throws CoreException
+	 */
+	private IFile generate(String name, long size, Generator generator)
+			throws IOException, CoreException {
+
+		// Local Declarations
+		IFile file = project.getFile(name);
+
+		generator.write(new File(directory, name), size);
+		file.refreshLocal(IResource.DEPTH_ZERO, new NullProgressMonitor());
+		if (!file.exists()) {
+			fail("IOBenchmark Error: Could not create " + name + ".");
+		}
+
+		return file;
+	}
+
+	/**
+	 * This operation returns the sizes of the inputs that are loaded into
+	 * models.
+	 *
+	 * @return The sizes that are not larger than the largest model size
+	 */
+	private ArrayList<Long> modelSizes() {
+
+		// Local Declarations
+		ArrayList<Long> modelSizes = new ArrayList<Long>();
+
+		for (long size : sizes) {
+			if (size <= maxModelSize) {
+				modelSizes.add(size);
+			}
+		}
+
+		return modelSizes;
+	}
+
+	/**
+	 * This operation returns the local file of a workspace file.
+	 *
+	 * @param file
+	 *            The workspace file
+	 * @return The local file
+	 */
+	private static File toFile(IFile file) {
+		return file.getLocation().toFile();
+	}
+
+	/**
+	 * This operation deletes a file from the project.
+	 *
+	 * @param file
+	 *            The file
+	 * @throws CoreException
+	 */
+	private void delete(IFile file) throws CoreException {
+		if (file.exists()) {
+			file.delete(true, new NullProgressMonitor());
+		}
+	}
+}
@@ -0,0 +1,439 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+/**
+ * This class writes synthetic input files of a given size for the benchmarks.
+ * Each file is valid input for the reader that it is written for and is
+ * written until it is at least as large as the size that was asked for. The
+ * contents only depend on the size, so the same file is written every time.
+ *
+ * All of the files are plain ASCII with Unix line endings.
+ *
+ */
+public class InputGenerator {
+
+	/**
+	 * The number of keys in each section of the INI and IPS files.
+	 */
+	private static final int KEYS_PER_SECTION = 64;
+
+	/**
+	 * This operation writes an INI file with sections of key-value pairs.
+	 *
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file in bytes
+	 * @return The number of lines that were written
+	 * @throws IOException
+	 */
+	public static long writeINI(File file, long size) throws IOException {
+
+		// Local Declarations
+		long bytes = 0;
+		long lines = 0;
+
+		try (BufferedWriter writer = newWriter(file)) {
+			bytes += writeLine(writer, "; Synthetic INI input");
+			lines++;
+			for (int section = 0; bytes < size; section++) {
+				bytes += writeLine(writer, "[section" + section + "]");
+				lines++;
+				for (int key = 0; key < KEYS_PER_SECTION && bytes < size; key++) {
+					bytes += writeLine(writer, "key" + key + " = "
+							+ value(section, key) + " ; key " + key);
+					lines++;
+				}
+			}
+		}
+
+		return lines;
+	}
+
+	/**
+	 * This operation writes an IPS framework input file with two ports. The
+	 * components of the ports hold as many parameters as are needed to reach
+	 * the size.
+	 *
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file in bytes
+	 * @return The number of lines that were written
+	 * @throws IOException
+	 */
+	public static long writeIPS(File file, long size) throws IOException {
+
+		// Local Declarations
+		String[] header = { "# Synthetic IPS input", "SIM_NAME = benchmark",
+				"SIM_ROOT = /tmp/benchmark", "LOG_FILE = benchmark.log",
+				"RUN_COMMENT = Synthetic input for the I/O benchmarks", "",
+				"[PORTS]", "   NAMES = INIT DRIVER", "   [[INIT]]",
+				"      IMPLEMENTATION = init_impl", "   [[DRIVER]]",
+				"      IMPLEMENTATION = driver_impl", "" };
+		String[] timeLoop = { "[TIME_LOOP]", "   MODE = REGULAR",
+				"   START = 0.0", "   FINISH = 1.0", "   NSTEP = 10" };
+		long bytes = 0;
+		long lines = 0;
+
+		try (BufferedWriter writer = newWriter(file)) {
+			for (String line : header) {
+				bytes += writeLine(writer, line);
+				lines++;
+			}
+			// Split the parameters between the two components
+			long componentSize = Math.max(0, (size - bytes) / 2);
+			for (String component : new String[] { "init_impl",
+					"driver_impl" }) {
+				long start = bytes;
+				bytes += writeLine(writer, "[" + component + "]");
+				bytes += writeLine(writer, "   CLASS = " + component);
+				bytes += writeLine(writer, "   SUB_CLASS = ");
+				bytes += writeLine(writer, "   NAME = " + component);
+				lines += 4;
+				for (int key = 0; bytes - start < componentSize; key++) {
+					bytes += writeLine(writer, "   PARAM_" + key + " = "
+							+ value(lines, key));
+					lines++;
+				}
+			}
+			for (String line : timeLoop) {
+				bytes += writeLine(writer, line);
+				lines++;
+			}
+		}
+
+		return lines;
+	}
+
+	/**
+	 * This operation writes a file of delimited numbers with three columns and
+	 * a commented header.
+	 *
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file in bytes
+	 * @param delimiter
+	 *            The delimiter of the columns
+	 * @return The number of lines that were written
+	 * @throws IOException
+	 */
+	public static long writeDelimited(File file, long size, String delimiter)
+			throws IOException {
+
+		// Local Declarations
+		long bytes = 0;
+		long lines = 0;
+
+		try (BufferedWriter writer = newWriter(file)) {
+			bytes += writeLine(writer, "#x" + delimiter + "y" + delimiter
+					+ "z");
+			lines++;
+			for (long row = 0; bytes < size; row++) {
+				double x = row * 0.001;
+				bytes += writeLine(writer, x + delimiter + Math.sin(x)
+						+ delimiter + Math.cos(x));
+				lines++;
+			}
+		}
+
+		return lines;
+	}
+
+	/**
+	 * This operation writes a file in the Painfully Simple Form format with a
+	 * group for every 64 entries.
+	 *
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file in bytes
+	 * @return The number of entries that were written
+	 * @throws IOException
+	 */
+	public static long writePSF(File file, long size) throws IOException {
+
+		// Local Declarations
+		StringBuilder entries = new StringBuilder();
+		long bytes = 0;
+		long count = 0;
+		int groups;
+
+		try (BufferedWriter writer = newWriter(file)) {
+			bytes += writeLine(writer, "#Synthetic PSF input");
+			bytes += writeLine(writer, "formName=Benchmark Form");
+			bytes += writeLine(writer,
+					"formDescription=Synthetic input for the I/O benchmarks");
+			bytes += writeLine(writer, "formType=Model");
+			// The groups have to come first, so count the entries first
+			long entrySize = entry(0).length() + "group=Group 0\n\n".length();
+			long total = Math.max(1, (size - bytes) / entrySize);
+			groups = (int) ((total + KEYS_PER_SECTION - 1) / KEYS_PER_SECTION);
+			for (int group = 0; group < groups; group++) {
+				writeLine(writer, "group=Group " + group);
+				writeLine(writer, "groupDescription=Entries of group " + group);
+			}
+			writeLine(writer, "");
+			// Entries are separated by empty lines
+			for (count = 0; count < total; count++) {
+				entries.setLength(0);
+				entries.append(entry(count));
+				entries.append("group=Group ")
+						.append(count / KEYS_PER_SECTION).append("\n\n");
+				writer.write(entries.toString());
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * This operation writes a two dimensional Nek5000 reafile with a square
+	 * mesh that has as many elements as are needed to reach the size. Only
+	 * the fluid is solved, so there are only fluid boundary conditions.
+	 *
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file in bytes
+	 * @return The number of elements that were written
+	 * @throws IOException
+	 */
+	public static long writeREA(File file, long size) throws IOException {
+
+		// Local Declarations
+		int parameters = 103;
+		// An element and its boundary conditions take about 470 bytes
+		int side = (int) Math.max(1, Math.sqrt(size / 470.0));
+		int elements = side * side;
+
+		try (BufferedWriter writer = newWriter(file)) {
+			// Parameters
+			writeLine(writer, "****** PARAMETERS *****");
+			writeLine(writer, "   2.6000000     NEKTON VERSION");
+			writeLine(writer, "            2 DIMENSIONAL RUN");
+			writeLine(writer, "          " + parameters
+					+ " PARAMETERS FOLLOW");
+			for (int i = 1; i <= parameters; i++) {
+				String value = (i == 23) ? "0.00000" : value(i, i);
+				String name = (i == 23) ? "NPSCAL" : "PARAMETER";
+				writeLine(writer, String.format(Locale.US, "   %-14s p%03d %s",
+						value, i, name));
+			}
+			writeLine(writer,
+					"      0  Lines of passive scalar data follows2 CONDUCT; 2RHOCP");
+			// Switches
+			writeLine(writer, "          5  LOGICAL SWITCHES FOLLOW");
+			writeLine(writer, " T      IFFLOW");
+			writeLine(writer, " F      IFHEAT");
+			writeLine(writer, " T      IFTRAN");
+			writeLine(writer,
+					" T F F F F F F F F F F  IFNAV & IFADVC (convection in P.S. fields)");
+			writeLine(writer,
+					" F F F F F F F F F F F F  IFTMSH (IF mesh for this field is T mesh)");
+			writeLine(writer, "   5.000000       5.000000      -0.5000000"
+					+ "      -0.5000000     XFAC,YFAC,XZERO,YZERO");
+			// Mesh
+			writeLine(writer, " **MESH DATA** 1st line is X of corner 1,2,3,4."
+					+ " 2nd line is Y.");
+			writeLine(writer, "       " + elements + "       2       "
+					+ elements + "           NEL,NDIM,NELV");
+			for (int e = 0; e < elements; e++) {
+				int x = e % side;
+				int y = e / side;
+				writeLine(writer, String.format(Locale.US,
+						"            ELEMENT %10d [    1A]  GROUP  0", e + 1));
+				writeLine(writer, String.format(Locale.US,
+						"  %13.6E %13.6E %13.6E %13.6E", (float) x,
+						(float) x + 1, (float) x + 1, (float) x));
+				writeLine(writer, String.format(Locale.US,
+						"  %13.6E %13.6E %13.6E %13.6E", (float) y, (float) y,
+						(float) y + 1, (float) y + 1));
+			}
+			writeLine(writer, "  ***** CURVED SIDE DATA *****");
+			writeLine(writer, "       0 Curved sides follow IEDGE,IEL,CURVE(I),"
+					+ "I=1,5, CCURVE");
+			// Boundary conditions
+			writeLine(writer, "  ***** BOUNDARY CONDITIONS *****");
+			writeLine(writer, "  ***** FLUID   BOUNDARY CONDITIONS *****");
+			for (int e = 0; e < elements; e++) {
+				for (int s = 1; s <= 4; s++) {
+					writeLine(writer, String.format(Locale.US,
+							" %-3s%7d%3d %13.6E %13.6E %13.6E %13.6E %13.6E",
+							"W", e + 1, s, 0f, 0f, 0f, 0f, 0f));
+				}
+			}
+			writeLine(writer, "  ***** NO THERMAL BOUNDARY CONDITIONS *****");
+			// The remaining sections
+			writeLine(writer, "    0 PRESOLVE/RESTART OPTIONS  *****");
+			writeLine(writer, "    1         INITIAL CONDITIONS *****");
+			writeLine(writer, "C Default");
+			writeLine(writer, "  ***** DRIVE FORCE DATA ***** BODY FORCE, "
+					+ "FLOW, Q");
+			writeLine(writer, "    1                 Lines of Drive force "
+					+ "data follow");
+			writeLine(writer, "C");
+			writeLine(writer, "  ***** Variable Property Data ***** "
+					+ "Overrrides Parameter data.");
+			writeLine(writer, "    1 Lines follow.");
+			writeLine(writer, "    0 PACKETS OF DATA FOLLOW");
+			writeLine(writer, "  ***** HISTORY AND INTEGRAL DATA *****");
+			writeLine(writer, "    0   POINTS.  Hcode, I,J,H,IEL");
+			writeLine(writer, "  ***** OUTPUT FIELD SPECIFICATION *****");
+			writeLine(writer, "    6 SPECIFICATIONS FOLLOW");
+			writeLine(writer, "    T      COORDINATES");
+			writeLine(writer, "    T      VELOCITY");
+			writeLine(writer, "    T      PRESSURE");
+			writeLine(writer, "    F      TEMPERATURE");
+			writeLine(writer, "    F      TEMPERATURE GRADIENT");
+			writeLine(writer, "    0      PASSIVE SCALARS");
+			writeLine(writer, "  ***** OBJECT SPECIFICATION *****");
+			writeLine(writer, "       0 Surface Objects");
+			writeLine(writer, "       0 Volume  Objects");
+			writeLine(writer, "       0 Edge    Objects");
+			writeLine(writer, "       0 Point   Objects");
+		}
+
+		return elements;
+	}
+
+	/**
+	 * This operation writes a MOOSE input file in the GetPot format with a
+	 * block for every 64 parameters. Every block has one sub-block.
+	 *
+	 * @param file
+	 *            The file
+	 * @param size
+	 *            The size of the file in bytes
+	 * @return The number of blocks that were written
+	 * @throws IOException
+	 */
+	public static long writeGetPot(File file, long size) throws IOException {
+
+		// Local Declarations
+		long bytes = 0;
+		long blocks = 0;
+
+		try (BufferedWriter writer = newWriter(file)) {
+			bytes += writeLine(writer, "# Synthetic GetPot input");
+			for (; bytes < size; blocks++) {
+				bytes += writeLine(writer, "[Block" + blocks + "]");
+				bytes += writeLine(writer, "  type = Synthetic");
+				bytes += writeLine(writer, "  [./sub" + blocks + "]");
+				for (int key = 0; key < KEYS_PER_SECTION; key++) {
+					bytes += writeLine(writer, "    param" + key + " = "
+							+ value(blocks, key));
+				}
+				bytes += writeLine(writer, "    vector = '1 2 3'");
+				bytes += writeLine(writer, "  [../]");
+				bytes += writeLine(writer, "[]");
+				bytes += writeLine(writer, "");
+			}
+		}
+
+		return blocks;
+	}
+
+	/**
+	 * This operation parses a size such as "64KB", "16MB", "1GB" or "1024".
+	 *
+	 * @param size
+	 *            The size
+	 * @return The size in bytes
+	 * @throws NumberFormatException
+	 *             An exception if the size can not be parsed
+	 */
+	public static long parseSize(String size) {
+
+		// Local Declarations
+		String value = size.trim().toUpperCase();
+		long multiplier = 1;
+
+		if (value.endsWith("KB")) {
+			multiplier = 1L << 10;
+		} else if (value.endsWith("MB")) {
+			multiplier = 1L << 20;
+		} else if (value.endsWith("GB")) {
+			multiplier = 1L << 30;
+		}
+		if (multiplier > 1) {
+			value = value.substring(0, value.length() - 2).trim();
+		}
+
+		return Long.parseLong(value) * multiplier;
+	}
+
+	/**
+	 * This operation returns a PSF entry without its group.
+	 *
+	 * @param index
+	 *            The index of the entry
+	 * @return The lines of the entry
+	 */
+	private static String entry(long index) {
+		return "name=Entry " + index + "\n"
+				+ "description=A synthetic entry\n" + "defaultValue=1.0\n"
+				+ "allowedValueType=Continuous\n" + "allowedValue=0.0\n"
+				+ "allowedValue=100.0\n" + "tag=entry" + index + "\n";
+	}
+
+	/**
+	 * This operation returns a number that changes with its arguments.
+	 *
+	 * @param row
+	 *            The row or section
+	 * @param column
+	 *            The column or key
+	 * @return The number as a string
+	 */
+	private static String value(long row, long column) {
+		return Double.toString((row * 31 + column) * 0.125);
+	}
+
+	/**
+	 * This operation opens a writer for a file.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The writer
+	 * @throws IOException
+	 */
+	private static BufferedWriter newWriter(File file) throws IOException {
+		return Files.newBufferedWriter(file.toPath(),
+				StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * This operation writes a line and its end.
+	 *
+	 * @param writer
+	 *            The writer
+	 * @param line
+	 *            The line
+	 * @return The number of bytes that were written
+	 * @throws IOException
+	 */
+	private static int writeLine(BufferedWriter writer, String line)
+			throws IOException {
+		writer.write(line);
+		writer.write('\n');
+		return line.length() + 1;
+	}
+}
@@ -12,10 +12,14 @@
 package org.eclipse.ice.io.csv.test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -28,6 +32,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.io.csv.CSVReader;
 import org.junit.BeforeClass;
@@ -138,14 +143,57 @@ public class CSVReaderTester {
 		return;
 	}
 
+	/**
+	 * Test method for
+	 * {@link org.eclipse.ice.io.csv.DelimitedReader#read(IFile, int, java.util.function.Consumer)}
+	 * .
+	 */
+	@Test
+	public void testChunkedRead() {
+
+		// Read the file in chunks of 50 lines
+		List<List<String[]>> chunks = new ArrayList<List<String[]>>();
+		assertEquals(175, reader.read(testFile, 50, chunks::add));
+
+		// Check the chunks
+		assertEquals(4, chunks.size());
+		assertEquals(50, chunks.get(0).size());
+		assertEquals(25, chunks.get(3).size());
+
+		// They should hold the same lines as the Form
+		ListComponent<String[]> lines = (ListComponent<String[]>) reader
+				.read(testFile).getComponents().get(0);
+		for (int i = 0; i < lines.size(); i++) {
+			assertTrue(Arrays.equals(lines.get(i),
+					chunks.get(i / 50).get(i % 50)));
+		}
+
+		return;
+	}
+
 	/**
 	 * Test method for
 	 * {@link org.eclipse.ice.io.csv.CSVReader#findAll(org.eclipse.core.resources.IFile, java.lang.String)}
 	 * .
 	 */
-//	@Test
+	@Test
 	public void testFindAll() {
-		fail("Not yet implemented");
+
+		// Find the first line of data
+		String regex = "\\s*0\\.00740898494001999\\s*,.*";
+		ArrayList<IEntry> matches = reader.findAll(testFile, regex);
+		assertEquals(1, matches.size());
+		assertTrue(matches.get(0).getValue().contains("0.999852520984978"));
+		assertEquals(regex, matches.get(0).getDescription());
+
+		// Every line, including the comment, should match everything
+		assertTrue(reader.findAll(testFile, ".*").size() > 175);
+
+		// Nothing should match the wrong text and bad expressions should fail
+		assertEquals(0, reader.findAll(testFile, "Sassafras").size());
+		assertNull(reader.findAll(testFile, "("));
+
+		return;
 	}
 
 	/**
@@ -14,6 +14,7 @@ package org.eclipse.ice.io.ini.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
 
@@ -144,6 +145,26 @@ public class INIReaderTester {
 		assertEquals(((DataComponent)sections.get(2)).retrieveAllEntries().size(), 1);		
 		assertEquals(((DataComponent)sections.get(3)).retrieveAllEntries().size(), 1);					
 		
+		// Reading again should reuse the parsed template without sharing
+		// its components with the first form
+		Form secondForm = reader.read(inputFile);
+		assertEquals(secondForm.getComponents().size(), 4);
+		sections = secondForm.getComponents();
+		assertEquals(((DataComponent)sections.get(0)).retrieveAllEntries().size(), 5);
+		assertEquals(((DataComponent)sections.get(1)).retrieveAllEntries().size(), 4);
+		assertNotSame(form.getComponents().get(0), sections.get(0));
+		
+		// A new reader, as one is made for every read, should get the same
+		// template without sharing its components either
+		INIReader newReader = new INIReader("!");
+		newReader.addTemplateType("template", templateFile);
+		newReader.setTemplateType("template");
+		Form thirdForm = newReader.read(inputFile);
+		assertEquals(thirdForm.getComponents().size(), 4);
+		assertEquals(((DataComponent) thirdForm.getComponents().get(0))
+				.retrieveAllEntries().size(), 5);
+		assertNotSame(sections.get(0), thirdForm.getComponents().get(0));
+		
 		// Okay good job
 		return;
 	}
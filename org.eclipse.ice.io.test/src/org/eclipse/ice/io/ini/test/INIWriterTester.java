@@ -28,6 +28,9 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.StringEntry;
+import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.io.ini.INIReader;
 import org.eclipse.ice.io.ini.INIWriter;
@@ -141,4 +144,48 @@ public class INIWriterTester {
 		// Okay good job
 		return;
 	}
+
+	/**
+	 * Tests that the INIWriter can write a file that is larger than the pipe
+	 * buffer that it used to write through. The write blocked forever before.
+	 */
+	@Test(timeout = 60000)
+	public void checkLargeINIWriter() {
+
+		// Local Declarations
+		IFile inputFile = projectSpace.getFile("example.ini");
+		IFile outputFile = projectSpace.getFile("example_large_out.ini");
+		INIReader reader = new INIReader();
+		INIWriter writer = new INIWriter();
+
+		// Add enough variables to the first section to fill the buffer
+		Form form = reader.read(inputFile);
+		assertNotNull(form);
+		DataComponent section = (DataComponent) form.getComponents().get(0);
+		for (int i = 0; i < 2000; i++) {
+			IEntry entry = new StringEntry();
+			entry.setName("variable" + i);
+			entry.setValue("value" + i);
+			section.addEntry(entry);
+		}
+
+		// Write the file and make sure all of it was written
+		writer.write(form, outputFile);
+		assertTrue(outputFile.exists());
+		assertTrue(outputFile.getLocation().toFile().length() > 16384);
+		form = reader.read(outputFile);
+		assertNotNull(form);
+		section = (DataComponent) form.getComponents().get(0);
+		assertEquals("value1999",
+				section.retrieveEntry("variable1999").getValue());
+
+		// Delete the output file.
+		try {
+			outputFile.delete(true, new NullProgressMonitor());
+		} catch (CoreException e) {
+			e.printStackTrace();
+		}
+
+		return;
+	}
 }
@@ -40,7 +40,9 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.TableComponent;
 import org.eclipse.ice.io.ips.IPSReader;
 import org.eclipse.ice.io.ips.IPSWriter;
 import org.junit.BeforeClass;
@@ -268,4 +270,59 @@ public class IPSWriterTester {
 		
 		return;
 	}
+
+	/**
+	 * Tests that the IPSWriter can write a file that is larger than the pipe
+	 * buffer that it used to write through. The write blocked forever before.
+	 *
+	 * @throws IOException
+	 */
+	@Test(timeout = 60000)
+	public void checkLargeIPSWriter() throws IOException {
+
+		// Local Declarations
+		String separator = System.getProperty("file.separator");
+		IFile inIFile = projectSpace
+				.getFile("Caebat_Model" + separator + "example_ini.conf");
+		IFile outIFile = projectSpace
+				.getFile("Caebat_Model" + separator + "ips_LargeTest.conf");
+		IPSReader reader = new IPSReader();
+		IPSWriter writer = new IPSWriter();
+		ArrayList<IEntry> row;
+
+		// Add enough rows to the global configuration to fill the buffer
+		Form form = reader.read(inIFile);
+		assertNotNull(form);
+		TableComponent globalConfig = (TableComponent) form.getComponents()
+				.get(1);
+		for (int i = 0; i < 2000; i++) {
+			row = globalConfig.getRow(globalConfig.addRow());
+			row.get(0).setValue("VARIABLE_" + i);
+			row.get(1).setValue("value" + i);
+		}
+
+		// Write the file and make sure all of it was written
+		writer.write(form, outIFile);
+		assertTrue(outIFile.exists());
+		File outFile = outIFile.getLocation().toFile();
+		assertTrue(outFile.length() > 16384);
+		boolean foundLast = false;
+		Scanner scanner = new Scanner(outFile);
+		while (scanner.hasNextLine()) {
+			if (scanner.nextLine().equals("VARIABLE_1999=value1999")) {
+				foundLast = true;
+			}
+		}
+		scanner.close();
+		assertTrue(foundLast);
+
+		// Delete the output file
+		try {
+			outIFile.delete(true, new NullProgressMonitor());
+		} catch (CoreException e) {
+			e.printStackTrace();
+		}
+
+		return;
+	}
 }
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.mapped.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ice.io.mapped.LineSearch;
+import org.eclipse.ice.io.mapped.MappedLineScanner;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the LineSearch.
+ *
+ */
+public class LineSearchTester {
+
+	/**
+	 * This operation checks that the lines that match are found in the order
+	 * of the file when the file is small and when it is searched in parallel
+	 * chunks.
+	 */
+	@Test
+	public void checkFindLines() {
+
+		// Local Declarations
+		StringBuilder contents = new StringBuilder();
+		int count = LineSearch.CHUNK_SIZE * 5 + 17;
+
+		// Every seventh line names a file
+		for (int i = 0; i < count; i++) {
+			contents.append((i % 7 == 0) ? "mesh_file = mesh" + i + ".e"
+					: "order = " + i).append((i % 2 == 0) ? "\n" : "\r\n");
+		}
+		MappedLineScanner scanner = MappedLineScanner.wrap(
+				contents.toString().getBytes(StandardCharsets.UTF_8), null);
+
+		// Search it
+		ArrayList<String> lines = LineSearch.findLines(scanner,
+				Pattern.compile("mesh_file = .*"));
+		assertEquals((count + 6) / 7, lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			assertEquals("mesh_file = mesh" + (i * 7) + ".e", lines.get(i));
+		}
+
+		// Whole lines must match
+		assertEquals(1, LineSearch
+				.findLines(scanner, Pattern.compile("order = 1")).size());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the index of a file is not reused after the
+	 * file changed, even if its size and modification time are the same.
+	 *
+	 * @throws Exception
+	 *             An exception if the file can not be created or written
+	 */
+	@Test
+	public void checkChangedFile() throws Exception {
+
+		// Local Declarations
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		IProject project = ResourcesPlugin.getWorkspace().getRoot()
+				.getProject("LineSearchTester");
+
+		// Create the file in a project of its own
+		if (!project.exists()) {
+			project.create(monitor);
+		}
+		project.open(monitor);
+		IFile file = project.getFile("lines.txt");
+		if (file.exists()) {
+			file.delete(true, monitor);
+		}
+		file.create(new ByteArrayInputStream(
+				"a = 1\nb = 2\n".getBytes(StandardCharsets.UTF_8)), true,
+				monitor);
+		File localFile = file.getLocation().toFile();
+		FileTime modified = Files.getLastModifiedTime(localFile.toPath());
+
+		try {
+			// Search it so that its index is kept
+			assertEquals(Arrays.asList("a = 1"),
+					LineSearch.findLines(file, "a = .*"));
+
+			// Move the line ends without changing the size or the time
+			Files.write(localFile.toPath(),
+					"a\na = 1\nb=2\n".getBytes(StandardCharsets.UTF_8));
+			Files.setLastModifiedTime(localFile.toPath(), modified);
+			assertEquals(Arrays.asList("a = 1"),
+					LineSearch.findLines(file, "a = .*"));
+
+			// Add a line end inside a line that was found before
+			Files.write(localFile.toPath(),
+					"a = 1\nb = 2\n".getBytes(StandardCharsets.UTF_8));
+			Files.setLastModifiedTime(localFile.toPath(), modified);
+			LineSearch.findLines(file, "a = .*");
+			Files.write(localFile.toPath(),
+					"a\n= 1\nb = 2\n".getBytes(StandardCharsets.UTF_8));
+			Files.setLastModifiedTime(localFile.toPath(), modified);
+			assertEquals(Arrays.asList("= 1"),
+					LineSearch.findLines(file, "= 1"));
+		} finally {
+			project.delete(true, true, monitor);
+		}
+
+		return;
+	}
+}
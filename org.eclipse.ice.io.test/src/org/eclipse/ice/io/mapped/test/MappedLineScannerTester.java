@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.mapped.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.eclipse.ice.io.mapped.MappedLineScanner;
+import org.eclipse.ice.io.mapped.MappedLineScanner.LineVisitor;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the MappedLineScanner.
+ *
+ */
+public class MappedLineScannerTester {
+
+	/**
+	 * This operation checks that lines are found with either end of line and
+	 * without one at the end of the file.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkLines() throws IOException {
+
+		// Map a file with mixed line endings and no final newline
+		File file = createFile("first line\r\n\nthird, line\nlast");
+		MappedLineScanner scanner = MappedLineScanner.open(file, null);
+
+		assertEquals(4, scanner.getLineCount());
+		assertEquals(Arrays.asList("first line", "", "third, line", "last"),
+				scanner.getLines());
+		assertEquals("third, line", scanner.getLine(2));
+		assertEquals(13, scanner.getLineOffset(2));
+		assertEquals(11, scanner.getLineLength(2));
+		assertTrue(scanner.isBlank(1));
+		assertTrue(scanner.startsWith(0, "first"));
+		assertFalse(scanner.startsWith(3, "lastly"));
+		assertTrue(scanner.contains(2, ", l"));
+		assertFalse(scanner.contains(2, "first"));
+
+		// Empty files and files that end with a newline
+		assertEquals(0, MappedLineScanner.open(createFile(""), null)
+				.getLineCount());
+		assertEquals(1, MappedLineScanner.open(createFile("a\n"), null)
+				.getLineCount());
+		assertEquals(Arrays.asList("", ""),
+				MappedLineScanner.wrap("\n\r\n".getBytes(), null).getLines());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that fields and tokens are decoded from the
+	 * lines.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkFields() throws IOException {
+
+		// Map a file with delimited and white space separated lines
+		MappedLineScanner scanner = MappedLineScanner.open(
+				createFile("  1.0,, \u00e9t\u00e9 ,x\n\t 20  PARAMETERS\tFOLLOW \n"),
+				StandardCharsets.UTF_8);
+
+		assertEquals("1.0", scanner.getField(0, ',', 0));
+		assertEquals("", scanner.getField(0, ',', 1));
+		assertEquals("\u00e9t\u00e9", scanner.getField(0, ',', 2));
+		assertEquals("x", scanner.getField(0, ',', 3));
+		assertNull(scanner.getField(0, ',', 4));
+		assertEquals("20", scanner.getToken(1, 0));
+		assertEquals("PARAMETERS", scanner.getToken(1, 1));
+		assertEquals("FOLLOW", scanner.getToken(1, 2));
+		assertNull(scanner.getToken(1, 3));
+
+		// Visit the lines until the second one
+		final ArrayList<Integer> visited = new ArrayList<Integer>();
+		int stopped = scanner.scan(new LineVisitor() {
+			@Override
+			public boolean visit(MappedLineScanner scanner, int line) {
+				visited.add(line);
+				return !scanner.contains(line, "PARAMETERS");
+			}
+		});
+		assertEquals(1, stopped);
+		assertEquals(Arrays.asList(0, 1), visited);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that files in charsets that do not encode the
+	 * ASCII characters as single bytes are still split into the right lines.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkUTF16() throws IOException {
+
+		// Write a UTF-16 file. Each '\n' is two bytes, one of them zero.
+		File file = File.createTempFile("mappedLineScanner", ".txt");
+		file.deleteOnExit();
+		try (FileOutputStream stream = new FileOutputStream(file)) {
+			stream.write("a, \u0100b\r\nc d\n"
+					.getBytes(StandardCharsets.UTF_16));
+		}
+
+		try (MappedLineScanner scanner = MappedLineScanner.open(file,
+				StandardCharsets.UTF_16)) {
+			assertEquals(Arrays.asList("a, \u0100b", "c d"),
+					scanner.getLines());
+			assertEquals("\u0100b", scanner.getField(0, ',', 1));
+			assertEquals("d", scanner.getToken(1, 1));
+			assertTrue(scanner.startsWith(1, "c "));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation checks that large files are mapped and small ones are
+	 * not, and that scanners can not be used after they are closed.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkClose() throws IOException {
+
+		// Local Declarations
+		StringBuilder contents = new StringBuilder();
+		MappedLineScanner scanner;
+		int count = 0;
+
+		// Write a file that is large enough to be mapped
+		while (contents.length() <= MappedLineScanner.MIN_MAPPED_SIZE) {
+			contents.append("line ").append(count++).append('\n');
+		}
+		File file = createFile(contents.toString());
+		scanner = MappedLineScanner.open(file, null);
+		assertEquals("line 0", scanner.getLine(0));
+		scanner.close();
+
+		// The file can be replaced once the mapping is released
+		File moved = new File(file.getPath() + ".moved");
+		moved.deleteOnExit();
+		Files.move(file.toPath(), moved.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		assertTrue(moved.delete());
+
+		// Closed scanners can not be used, but can be closed again
+		try {
+			scanner.getLine(0);
+			fail("A closed scanner was used");
+		} catch (IllegalStateException e) {
+			// Expected
+		}
+		scanner.close();
+
+		// Small files are read into memory and can be deleted right away
+		file = createFile("small\n");
+		scanner = MappedLineScanner.open(file, null);
+		assertTrue(file.delete());
+		assertEquals("small", scanner.getLine(0));
+		scanner.close();
+
+		return;
+	}
+
+	/**
+	 * This operation writes a temporary file.
+	 *
+	 * @param contents
+	 *            The contents of the file
+	 * @return The file
+	 * @throws IOException
+	 */
+	private File createFile(String contents) throws IOException {
+		File file = File.createTempFile("mappedLineScanner", ".txt");
+		file.deleteOnExit();
+		try (FileOutputStream stream = new FileOutputStream(file)) {
+			stream.write(contents.getBytes(StandardCharsets.UTF_8));
+		}
+		return file;
+	}
+}
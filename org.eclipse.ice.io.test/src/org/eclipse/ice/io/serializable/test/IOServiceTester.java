@@ -14,14 +14,21 @@ package org.eclipse.ice.io.serializable.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.io.ini.INIReader;
 import org.eclipse.ice.io.serializable.IIOService;
 import org.eclipse.ice.io.serializable.IOService;
 import org.eclipse.ice.io.serializable.IReader;
@@ -129,4 +136,47 @@ public class IOServiceTester {
 		assertNull(service.getWriter("SomeOtherWriter"));
 	}
 
+	/**
+	 * This method checks that readers that are created for each call are not
+	 * shared between callers and that the IOService can be used from many
+	 * threads at once.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void checkConcurrentGetReader() throws Exception {
+
+		// Create a new IOService to test
+		service = new IOService();
+		assertNull(service.getReader(null));
+
+		// The INI reader is declared per call, so every caller gets its own
+		IReader first = service.getReader("INI");
+		assertNotNull(first);
+		assertTrue(first instanceof INIReader);
+		assertNotSame(first, service.getReader("INI"));
+
+		// Ask for readers from several threads at once
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<IReader>> results = new ArrayList<Future<IReader>>();
+		try {
+			for (int i = 0; i < 16; i++) {
+				results.add(executor.submit(new Callable<IReader>() {
+					@Override
+					public IReader call() {
+						return service.getReader("INI");
+					}
+				}));
+			}
+			for (Future<IReader> result : results) {
+				assertTrue(result.get() instanceof INIReader);
+				assertNotSame(first, result.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		return;
+	}
+
 }
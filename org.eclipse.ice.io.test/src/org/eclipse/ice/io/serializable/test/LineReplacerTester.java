@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.serializable.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+import org.eclipse.ice.io.serializable.LineReplacer;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the LineReplacer.
+ *
+ */
+public class LineReplacerTester {
+
+	/**
+	 * This operation checks that lines are replaced the way IWriter.replace()
+	 * replaced them.
+	 */
+	@Test
+	public void checkApply() {
+
+		// Whole lines that match are replaced
+		LineReplacer replacer = new LineReplacer("SIM_ROOT = .*",
+				"SIM_ROOT = /new");
+		assertEquals("SIM_ROOT = /new", replacer.apply("SIM_ROOT = /old"));
+
+		// Lines that do not match as a whole are kept
+		String line = "  SIM_ROOT = /old";
+		assertSame(line, replacer.apply(line));
+
+		// Plain text is replaced anywhere in the line and groups can be used
+		replacer = new LineReplacer("mesh", "grid").add("(\\w+) = (\\d+)",
+				"$1 = $2.0");
+		assertEquals("file = grid.e", replacer.apply("file = mesh.e"));
+		assertEquals("NSTEP = 10.0", replacer.apply("NSTEP = 10"));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that files are replaced in one pass and that the
+	 * ends of their lines are kept.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkReplace() throws IOException {
+
+		// Create a file with mixed line endings and no final newline
+		File file = File.createTempFile("lineReplacer", ".conf");
+		file.deleteOnExit();
+		Files.write(file.toPath(),
+				"SIM_NAME = a\r\nSIM_ROOT = /old\nNSTEP = 10\nSIM_ROOT = /x"
+						.getBytes(StandardCharsets.UTF_8));
+
+		// Replace two expressions
+		LineReplacer replacer = new LineReplacer("SIM_ROOT = .*",
+				"SIM_ROOT = /new").add("NSTEP = .*", "NSTEP = 20");
+		assertEquals(3, replacer.replace(file, null));
+		assertEquals("SIM_NAME = a\r\nSIM_ROOT = /new\nNSTEP = 20\n"
+				+ "SIM_ROOT = /new", new String(
+						Files.readAllBytes(file.toPath()),
+						StandardCharsets.UTF_8));
+
+		// Nothing should change the second time and no temporary files
+		// should be left
+		assertEquals(0, replacer.replace(file, null));
+		File[] left = file.getParentFile().listFiles();
+		for (File other : left) {
+			assertEquals(false, other.getName()
+					.startsWith("." + file.getName()));
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the permissions of a file survive a replace
+	 * and that a symbolic link is left pointing to the replaced file.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkReplaceKeepsAttributes() throws IOException {
+
+		// Permissions and links are only checked on POSIX file systems
+		if (!FileSystems.getDefault().supportedFileAttributeViews()
+				.contains("posix")) {
+			return;
+		}
+
+		// Create a file that the group and others may read
+		File file = File.createTempFile("lineReplacer", ".conf");
+		file.deleteOnExit();
+		Path path = file.toPath();
+		Files.write(path,
+				"SIM_ROOT = /old\n".getBytes(StandardCharsets.UTF_8));
+		Set<PosixFilePermission> permissions = PosixFilePermissions
+				.fromString("rw-r--r--");
+		Files.setPosixFilePermissions(path, permissions);
+
+		// Replace the file through a link to it
+		Path link = path.resolveSibling("link-" + file.getName());
+		Files.deleteIfExists(link);
+		Files.createSymbolicLink(link, path);
+		try {
+			LineReplacer replacer = new LineReplacer("SIM_ROOT = .*",
+					"SIM_ROOT = /new");
+			assertEquals(1, replacer.replace(link.toFile(), null));
+
+			// The link and the permissions should be kept
+			assertTrue(Files.isSymbolicLink(link));
+			assertEquals(permissions, Files.getPosixFilePermissions(path));
+			assertEquals("SIM_ROOT = /new\n",
+					new String(Files.readAllBytes(path),
+							StandardCharsets.UTF_8));
+		} finally {
+			Files.deleteIfExists(link);
+		}
+
+		return;
+	}
+}
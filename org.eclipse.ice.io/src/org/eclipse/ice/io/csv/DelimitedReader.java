@@ -15,14 +15,19 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
-
-import javax.naming.OperationNotSupportedException;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
 import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.io.mapped.LineSearch;
+import org.eclipse.ice.io.serializable.IOMetrics;
 import org.eclipse.ice.io.serializable.IReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,13 +42,30 @@ import org.slf4j.LoggerFactory;
  * Comments are ignored and begin with the "#" character.
  *
  * The delimiter must be set by subclasses during construction. It is a " " by
- * default. Likewise, the type name must be specified too.
+ * default. Likewise, the type name must be specified too. The delimiter is a
+ * regular expression, as in String.split(), but it is only compiled once and
+ * delimiters that are a single, plain character are split without one.
+ *
+ * Files that are too large to hold in memory can be read in chunks with
+ * read(IFile, int, Consumer), which delivers the lines to a consumer a few at
+ * a time instead of building a Form.
  *
  * @author Jay Jay Billings
  *
  */
 public class DelimitedReader implements IReader {
 
+	/**
+	 * The number of lines delivered to a consumer at once by default.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 8192;
+
+	/**
+	 * The characters that make a single character delimiter a regular
+	 * expression instead of a plain character.
+	 */
+	private static final String REGEX_CHARACTERS = ".$|()[{^?*+\\";
+
 	/**
 	 * The delimiter.
 	 */
@@ -65,6 +87,17 @@ public class DelimitedReader implements IReader {
 	 */
 	ListComponent<String[]> lines;
 
+	/**
+	 * The compiled delimiter or null if it has not been compiled.
+	 */
+	private Pattern delimiterPattern;
+
+	/**
+	 * The delimiter from which delimiterPattern was compiled. The pattern is
+	 * compiled again if a subclass changes the delimiter.
+	 */
+	private String compiledDelimiter;
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -85,58 +118,194 @@ public class DelimitedReader implements IReader {
 		lines.setName(file.getName());
 		lines.setDescription(file.getName());
 
-		try {
-			// Grab the contents of the file
-			BufferedReader reader = new BufferedReader(
-					new InputStreamReader(file.getContents()));
-			String line = null;
+		// Read all of the lines and add them at once so that the list only
+		// sends one event
+		List<String[]> allLines = new ArrayList<String[]>();
+		if (read(file, DEFAULT_CHUNK_SIZE, allLines::addAll) >= 0) {
+			lines.addAll(allLines);
+			form.addComponent(lines);
+		}
+
+		return form;
+	}
+
+	/**
+	 * This operation reads a file in chunks. The lines of the file are split
+	 * and trimmed like those read by read(IFile), but they are given to the
+	 * consumer in lists of at most chunkSize lines instead of being stored.
+	 * The consumer owns each list that it is given.
+	 *
+	 * @param file
+	 *            The file to read
+	 * @param chunkSize
+	 *            The largest number of lines to give to the consumer at once
+	 * @param consumer
+	 *            The consumer of the lines
+	 * @return The number of lines that were read or -1 if the file could not
+	 *         be read
+	 */
+	public long read(IFile file, int chunkSize,
+			Consumer<List<String[]>> consumer) {
+
+		// Local Declarations
+		long start = System.nanoTime();
+		long count = 0;
+		int size = Math.max(1, chunkSize);
+		List<String[]> chunk = new ArrayList<String[]>(
+				Math.min(size, DEFAULT_CHUNK_SIZE));
+		String line = null;
+
+		// Grab the contents of the file
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(file.getContents(), file.getCharset()))) {
 			while ((line = reader.readLine()) != null) {
 				// Skip lines that pure comments
 				if (!line.startsWith("#")) {
 					// Clip the line if it has a comment symbol in it to be
 					// everything before the symbol
-					if (line.contains("#")) {
-						int index = line.indexOf("#");
+					int index = line.indexOf('#');
+					if (index >= 0) {
 						line = line.substring(0, index);
 					}
-					// Clean up any crap on the line
-					String[] lineArray = line.trim().split(delimiter);
-					// And clean up any crap on each split piece
-					for (String element : lineArray) {
-						element = element.trim();
+					// Split the line and put it in the chunk
+					chunk.add(split(line.trim()));
+					count++;
+					// Send the chunk when it is full
+					if (chunk.size() == size) {
+						consumer.accept(chunk);
+						chunk = new ArrayList<String[]>(
+								Math.min(size, DEFAULT_CHUNK_SIZE));
 					}
-					// Put the lines in the list
-					lines.add(lineArray);
 				}
 			}
-			form.addComponent(lines);
-		} catch (CoreException e) {
+			// Send the rest
+			if (!chunk.isEmpty()) {
+				consumer.accept(chunk);
+			}
+		} catch (CoreException | IOException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
-		} catch (IOException e) {
-			// TODO Auto-generated catch block
-			logger.error(getClass().getName() + " Exception!", e);
+			return -1;
 		}
 
-		return form;
+		IOMetrics.recordRead(getReaderType(), file, start);
+		return count;
 	}
 
-	/*
-	 * (non-Javadoc)
+	/**
+	 * This operation splits a line around the delimiter and trims each piece.
+	 * Like String.split(), it drops empty pieces at the end of the line.
 	 *
-	 * @see org.eclipse.ice.io.serializable.IReader#findAll(org.eclipse.core.
-	 * resources .IFile, java.lang.String)
+	 * @param line
+	 *            The line, without comments
+	 * @return The pieces of the line
+	 */
+	protected String[] split(String line) {
+
+		// Local Declarations
+		String[] elements;
+
+		// Single, plain characters do not need a regular expression
+		if (delimiter.length() == 1
+				&& REGEX_CHARACTERS.indexOf(delimiter.charAt(0)) < 0) {
+			elements = split(line, delimiter.charAt(0));
+		} else {
+			// Compile the delimiter the first time it is used
+			if (!delimiter.equals(compiledDelimiter)) {
+				delimiterPattern = Pattern.compile(delimiter);
+				compiledDelimiter = delimiter;
+			}
+			elements = delimiterPattern.split(line);
+		}
+
+		// Clean up any crap on each split piece
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = elements[i].trim();
+		}
+
+		return elements;
+	}
+
+	/**
+	 * This operation splits a line around a character in the same way as
+	 * String.split().
+	 *
+	 * @param line
+	 *            The line
+	 * @param delimiterChar
+	 *            The delimiter
+	 * @return The pieces of the line
+	 */
+	private static String[] split(String line, char delimiterChar) {
+
+		// Local Declarations
+		List<String> elements = new ArrayList<String>();
+		int begin = 0, end = 0;
+
+		// Cut out each piece
+		while ((end = line.indexOf(delimiterChar, begin)) >= 0) {
+			elements.add(line.substring(begin, end));
+			begin = end + 1;
+		}
+
+		// A line without the delimiter is a single piece
+		if (elements.isEmpty()) {
+			return new String[] { line };
+		}
+
+		// Drop the empty pieces at the end
+		elements.add(line.substring(begin));
+		int size = elements.size();
+		while (size > 0 && elements.get(size - 1).isEmpty()) {
+			size--;
+		}
+
+		return elements.subList(0, size).toArray(new String[size]);
+	}
+
+	/**
+	 * This operation searches a file for lines that match a regular expression.
+	 * A line matches if the whole line matches the regular expression. Each
+	 * line is returned as the name and the value of an Entry whose description
+	 * is the regular expression.
+	 *
+	 * @param file
+	 *            The file to search in
+	 * @param regex
+	 *            The regular expression
+	 * @return The Entries of the matching lines in the order of the file or
+	 *         null if the file could not be searched
 	 */
 	@Override
 	public ArrayList<IEntry> findAll(IFile file, String regex) {
+
+		// Local Declarations
+		ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
+		ArrayList<String> lines;
+
+		// Make sure there's something to look in
+		if (file == null || regex == null) {
+			return null;
+		}
+
+		// Find the matching lines
 		try {
-			throw new OperationNotSupportedException("CSVReader Error: "
-					+ "IReader.findAll() is not supported... yet.");
-		} catch (OperationNotSupportedException e) {
-			// TODO Auto-generated catch block
+			lines = LineSearch.findLines(file, regex);
+		} catch (IOException | PatternSyntaxException e) {
 			logger.error(getClass().getName() + " Exception!", e);
+			return null;
+		}
+
+		// Create an Entry for each of them
+		for (String line : lines) {
+			IEntry entry = new StringEntry();
+			entry.setName(line);
+			entry.setDescription(regex);
+			entry.setValue(line);
+			matchedEntries.add(entry);
 		}
-		return null;
+
+		return matchedEntries;
 	}
 
 	/*
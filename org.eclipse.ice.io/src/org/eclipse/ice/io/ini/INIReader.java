@@ -18,10 +18,14 @@ import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.entry.ContinuousEntry;
 import org.eclipse.ice.datastructures.entry.DiscreteEntry;
@@ -31,6 +35,8 @@ import org.eclipse.ice.datastructures.form.AllowedValueType;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.io.mapped.LineSearch;
+import org.eclipse.ice.io.serializable.IOMetrics;
 import org.eclipse.ice.io.serializable.ITemplatedReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,9 +57,9 @@ public class INIReader implements ITemplatedReader {
 			.getLogger(INIReader.class);
 
 	/**
-	 * The character to use as a comment symbol
+	 * The compiled comment symbol or null if comments are not used
 	 */
-	private String comment;
+	private Pattern commentPattern;
 
 	/**
 	 * A string that can be used if there is an unusual prefix before
@@ -70,7 +76,25 @@ public class INIReader implements ITemplatedReader {
 	 * Regex to match the variable assignments. The default matches =, multiple
 	 * spaces after test, or tabs after text, in that order of precedence.
 	 */
-	private String assignmentPattern = "(=|\\b(\\s)+?|\\b\\t)";
+	private Pattern assignmentPattern = Pattern
+			.compile("(=|\\b(\\s)+?|\\b\\t)");
+
+	/**
+	 * The separator of the default value, the allowed values and the type of a
+	 * variable in a template
+	 */
+	private static final Pattern templateFieldPattern = Pattern.compile(";");
+
+	/**
+	 * The separator of a variable and its default value in a template
+	 */
+	private static final Pattern templateAssignmentPattern = Pattern
+			.compile("=");
+
+	/**
+	 * The separator of the allowed values of a variable in a template
+	 */
+	private static final Pattern allowedValuePattern = Pattern.compile(",\\s");
 
 	/**
 	 * The type of template to use. If null just read a bare ini file
@@ -90,6 +114,53 @@ public class INIReader implements ITemplatedReader {
 	 */
 	private HashMap<String, Integer> variableToComponentNumber = new HashMap<String, Integer>();
 
+	/**
+	 * The templates that have been parsed, by their files. They are parsed
+	 * again if their modification stamps change. The cache is shared by all
+	 * readers, since a new reader is created for every read, and a template
+	 * only depends on its file.
+	 */
+	private static final Map<IFile, ParsedTemplate> templateCache = new ConcurrentHashMap<IFile, ParsedTemplate>();
+
+	/**
+	 * A template that has been parsed.
+	 */
+	private static class ParsedTemplate {
+
+		/**
+		 * The modification stamp of the template file when it was parsed
+		 */
+		private final long stamp;
+
+		/**
+		 * The default form, which must be copied before it is used. It is
+		 * shared by all readers and must never be changed.
+		 */
+		private final Form form;
+
+		/**
+		 * The id of the component of each variable
+		 */
+		private final HashMap<String, Integer> variableToComponentNumber;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param stamp
+		 *            The modification stamp of the template file
+		 * @param form
+		 *            The default form
+		 * @param variableToComponentNumber
+		 *            The id of the component of each variable
+		 */
+		private ParsedTemplate(long stamp, Form form,
+				HashMap<String, Integer> variableToComponentNumber) {
+			this.stamp = stamp;
+			this.form = form;
+			this.variableToComponentNumber = variableToComponentNumber;
+		}
+	}
+
 	/**
 	 * Constructor using the ! as a comment is the default behavior
 	 */
@@ -104,7 +175,7 @@ public class INIReader implements ITemplatedReader {
 	 *            the symbol to use to specify a comment
 	 */
 	public INIReader(String c) {
-		comment = c;
+		setCommentString(c);
 	}
 
 	/**
@@ -119,6 +190,7 @@ public class INIReader implements ITemplatedReader {
 	public Form read(IFile file) {
 		// Initialize the form
 		Form iniForm = null;
+		long start = System.nanoTime();
 
 		// Check if we are building a templated form and if so,
 		// make the template, then read in the file to the template
@@ -144,8 +216,7 @@ public class INIReader implements ITemplatedReader {
 					sectionComp.setName(section);
 					while ((line = reader.readLine()) != null) {
 						// Make sure that comments are taken into consideration
-						splitLine = line.split(comment);
-						line = splitLine[0].trim();
+						line = stripComment(line);
 						// If at a new section, add the previous section to
 						// the list and create a new DataComponent for the
 						// next section
@@ -157,7 +228,8 @@ public class INIReader implements ITemplatedReader {
 							sectionComp = new DataComponent();
 							sectionComp.setName(sectionMatch.group(0).trim()
 									.replace("[", "").replace("]", ""));
-						} else if ((splitLine = line.split(assignmentPattern)).length >= 2) {
+						} else if ((splitLine = assignmentPattern
+								.split(line)).length >= 2) {
 							// Get the key and value and put it in the Data
 							// Component
 							String var = splitLine[0].trim();
@@ -182,15 +254,49 @@ public class INIReader implements ITemplatedReader {
 			}
 		}
 		// Return the form
+		IOMetrics.recordRead(getReaderType(), file, start);
 		return iniForm;
 	}
 
 	/**
-	 * If a template is used it can be loaded with this method.
+	 * If a template is used it can be loaded with this method. Templates are
+	 * only parsed again if their files have changed since they were last
+	 * parsed.
 	 *
 	 * @return the default form from the template
 	 */
 	private Form buildTemplate() {
+
+		// Local Declarations
+		long stamp = templateFile.getModificationStamp();
+		ParsedTemplate parsed = templateCache.get(templateFile);
+
+		// Parse the template if it is new or has changed
+		if (parsed == null || parsed.stamp != stamp
+				|| stamp == IResource.NULL_STAMP) {
+			variableToComponentNumber = new HashMap<String, Integer>();
+			Form templateForm = parseTemplate();
+			if (templateForm == null) {
+				return null;
+			}
+			parsed = new ParsedTemplate(stamp, templateForm,
+					variableToComponentNumber);
+			if (stamp != IResource.NULL_STAMP) {
+				templateCache.put(templateFile, parsed);
+			}
+		}
+
+		// Return a copy that can be filled in
+		variableToComponentNumber = parsed.variableToComponentNumber;
+		return (Form) parsed.form.clone();
+	}
+
+	/**
+	 * This operation parses the template file in one pass.
+	 *
+	 * @return the default form from the template
+	 */
+	private Form parseTemplate() {
 		Form templateForm = new Form();
 		ArrayList<IEntry> entries = new ArrayList<IEntry>();
 		IEntry variableTemplate = new StringEntry();
@@ -232,11 +338,15 @@ public class INIReader implements ITemplatedReader {
 						sectionComp.setName(sectionMatch.group(0).trim()
 								.replace("[", "").replace("]", ""));
 						sectionComp.setId(componentNumber);
-					} else if ((templateSections = line.split(";")).length >= 2) {
+					} else if ((templateSections = templateFieldPattern
+							.split(line)).length >= 2) {
 						// Get the key and value and put it in the table
-						varName = templateSections[0].split("=")[0].trim();
-						defaultVal = templateSections[0].split("=")[1].trim();
-						valueArray = templateSections[1].split(",\\s");
+						String[] assignment = templateAssignmentPattern
+								.split(templateSections[0]);
+						varName = assignment[0].trim();
+						defaultVal = assignment[1].trim();
+						valueArray = allowedValuePattern
+								.split(templateSections[1]);
 						allowedValues = new ArrayList<String>(
 								Arrays.asList(valueArray));
 
@@ -318,8 +428,8 @@ public class INIReader implements ITemplatedReader {
 												.replace("]", ""));
 
 						// Make sure that comments are taken into consideration
-					} else if ((splitLine = line.split(comment)[0].trim()
-							.split(assignmentPattern)).length >= 2) {
+					} else if ((splitLine = assignmentPattern
+							.split(stripComment(line))).length >= 2) {
 						// Get the variable name and value
 						var = splitLine[0].trim();
 						val = splitLine[splitLine.length - 1].trim();
@@ -364,6 +474,20 @@ public class INIReader implements ITemplatedReader {
 		return form;
 	}
 
+	/**
+	 * This operation removes the comment from a line.
+	 *
+	 * @param line
+	 *            The line
+	 * @return The text before the comment without the white space around it
+	 */
+	private String stripComment(String line) {
+		if (commentPattern != null) {
+			line = commentPattern.split(line, 2)[0];
+		}
+		return line.trim();
+	}
+
 	/**
 	 * Initialize an entry with the correct allowed values
 	 *
@@ -399,7 +523,8 @@ public class INIReader implements ITemplatedReader {
 	 */
 	@Override
 	public void setCommentString(String comm) {
-		comment = comm;
+		commentPattern = (comm != null && !comm.isEmpty())
+				? Pattern.compile(comm) : null;
 	}
 
 	/**
@@ -422,6 +547,7 @@ public class INIReader implements ITemplatedReader {
 	@Override
 	public void setSectionPattern(String regex) {
 		sectionPattern = Pattern.compile(regex);
+		templateCache.clear();
 	}
 
 	/**
@@ -432,7 +558,7 @@ public class INIReader implements ITemplatedReader {
 	 */
 	@Override
 	public void setAssignmentPattern(String regex) {
-		assignmentPattern = regex;
+		assignmentPattern = Pattern.compile(regex);
 	}
 
 	/**
@@ -472,7 +598,11 @@ public class INIReader implements ITemplatedReader {
 
 	/**
 	 * Searches a given IFile for content that matches a given regular
-	 * expression. Returns all instances that match.
+	 * expression. Returns all instances that match. A line matches if the
+	 * whole line matches the regular expression. Lines that assign a value to
+	 * a variable are returned with the variable as the name and the value
+	 * without comments as the value. Other lines are returned with the line as
+	 * both the name and the value.
 	 *
 	 * @param file
 	 *            The file to search in
@@ -484,9 +614,43 @@ public class INIReader implements ITemplatedReader {
 	 */
 	@Override
 	public ArrayList<IEntry> findAll(IFile file, String regex) {
-		System.err
-				.println("INIReader Message: The findAll method contains no implementation!");
-		return null;
+
+		// Local Declarations
+		ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
+		ArrayList<String> lines;
+
+		// Make sure there's something to look in
+		if (file == null || regex == null) {
+			logger.info("INIReader Message: Error!  Null file or regex given.");
+			return null;
+		}
+
+		// Find the matching lines
+		try {
+			lines = LineSearch.findLines(file, regex);
+		} catch (IOException | PatternSyntaxException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return null;
+		}
+
+		// Create an Entry for each of them
+		for (String line : lines) {
+			IEntry entry = new StringEntry();
+			String content = stripComment(line);
+			String[] splitLine = assignmentPattern.split(content);
+			if (splitLine.length >= 2
+					&& !sectionPattern.matcher(content).matches()) {
+				entry.setName(splitLine[0].trim());
+				entry.setValue(splitLine[splitLine.length - 1].trim());
+			} else {
+				entry.setName(line);
+				entry.setValue(line);
+			}
+			entry.setDescription(regex);
+			matchedEntries.add(entry);
+		}
+
+		return matchedEntries;
 	}
 
 	/**
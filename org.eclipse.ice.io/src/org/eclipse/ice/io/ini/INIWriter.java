@@ -13,12 +13,12 @@
 package org.eclipse.ice.io.ini;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.util.ArrayList;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -27,7 +27,9 @@ import org.eclipse.ice.datastructures.ICEObject.Component;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.io.serializable.IOMetrics;
 import org.eclipse.ice.io.serializable.IWriter;
+import org.eclipse.ice.io.serializable.LineReplacer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -93,20 +95,15 @@ public class INIWriter implements IWriter {
 		// Make sure that the form had data
 		if (components != null) {
 			try {
-				PipedInputStream in = new PipedInputStream(8196);
-				PipedOutputStream out = new PipedOutputStream(in);
+				long start = System.nanoTime();
+				// The sections are collected in memory and set all at once. A
+				// pipe read by this thread would block once its buffer was full.
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
 				DataComponent dataComp;
 				String tableContents, compName;
 				String newLine = System.getProperty("line.separator");
 				byte[] byteArray;
 
-				// Make sure that we have a file to write to before proceeding
-				if (!file.exists()) {
-					byte[] blank = "".getBytes();
-					InputStream s = new ByteArrayInputStream(blank);
-					file.create(s, true, new NullProgressMonitor());
-				}
-
 				// Each component corresponds to a section in the INI file
 				for (Component comp : components) {
 					dataComp = (DataComponent) comp;
@@ -137,8 +134,16 @@ public class INIWriter implements IWriter {
 
 				// Close the stream and set the file contents
 				out.close();
-				file.setContents(in, true, false, new NullProgressMonitor());
-				in.close();
+				// Create the file with its contents if it does not exist yet
+				InputStream contents = new ByteArrayInputStream(
+						out.toByteArray());
+				if (file.exists()) {
+					file.setContents(contents, true, false,
+							new NullProgressMonitor());
+				} else {
+					file.create(contents, true, new NullProgressMonitor());
+				}
+				IOMetrics.recordWrite(getWriterType(), file, start);
 			} catch (FileNotFoundException e) {
 				logger.info("INIWriter Message: Could not find "
 						+ file.getName() + " for writing.");
@@ -171,11 +176,36 @@ public class INIWriter implements IWriter {
 	}
 
 	/**
-	 * This method is not used.
+	 * Searches a given IFile for lines that match a given regular expression
+	 * and replaces the matches with another given value.
+	 *
+	 * @param file
+	 *            The file to search in
+	 * @param regex
+	 *            The regular expression to search for
+	 * @param value
+	 *            The replacement value for matches to the regex
 	 */
 	@Override
 	public void replace(IFile file, String regex, String value) {
-		// Skipped for now
+
+		// Make sure we aren't given any null values
+		if (file == null || regex == null || value == null) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			new LineReplacer(regex, value).replace(file);
+		} catch (IOException | PatternSyntaxException e) {
+			logger.info("INIWriter Message: Could not replace text in "
+					+ file.getName());
+			logger.error(getClass().getName() + " Exception!", e);
+			return;
+		}
+		IOMetrics.recordWrite(getWriterType(), file, start);
+
+		return;
 	}
 
 	/**
@@ -12,23 +12,23 @@
  *******************************************************************************/
 package org.eclipse.ice.io.ips;
 
-import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.MasterDetailsComponent;
 import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.io.mapped.LineSearch;
+import org.eclipse.ice.io.mapped.MappedLineScanner;
+import org.eclipse.ice.io.serializable.IOMetrics;
 import org.eclipse.ice.io.serializable.IReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -98,6 +98,7 @@ public class IPSReader implements IReader {
 		if (ifile == null) {
 			return null;
 		}
+		long start = System.nanoTime();
 		Form form = new Form();
 
 		// Read in the ini file to an ArrayList<String>
@@ -148,6 +149,7 @@ public class IPSReader implements IReader {
 		form.addComponent(portsMaster);
 
 		// Return the form
+		IOMetrics.recordRead(getReaderType(), ifile, start);
 		return form;
 	}
 
@@ -173,12 +175,12 @@ public class IPSReader implements IReader {
 			return null;
 		}
 
-		// Read in the ini file and create the iterator
+		// Find the matching lines
 		IEntry foundEntry;
 		ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
 		ArrayList<String> lines = null;
 		try {
-			lines = readFileLines(ifile);
+			lines = LineSearch.findLines(ifile, regex);
 		} catch (FileNotFoundException e) {
 			logger.info("IPSReader Message: " + "Error!  Could not find file for loading.");
 			return null;
@@ -187,15 +189,13 @@ public class IPSReader implements IReader {
 			return null;
 		}
 
-		// Go through each line and look for matches
+		// Create an Entry for each of them
 		for (String line : lines) {
-			if (line.matches(regex)) {
-				foundEntry = makeIPSEntry();
-				foundEntry.setName(line);
-				foundEntry.setDescription(regex);
-				foundEntry.setValue(line);
-				matchedEntries.add(foundEntry);
-			}
+			foundEntry = makeIPSEntry();
+			foundEntry.setName(line);
+			foundEntry.setDescription(regex);
+			foundEntry.setValue(line);
+			matchedEntries.add(foundEntry);
 		}
 
 		return matchedEntries;
@@ -227,26 +227,16 @@ public class IPSReader implements IReader {
 	 */
 	private ArrayList<String> readFileLines(IFile ifile) throws FileNotFoundException, IOException {
 
-		// Read in the ini file and create the iterator
-		BufferedReader reader = null;
-		try {
-			reader = new BufferedReader(new InputStreamReader(ifile.getContents()));
-		} catch (CoreException e) {
-			// TODO Auto-generated catch block
-			logger.error(getClass().getName() + " Exception!", e);
+		// Map the file and decode its lines
+		ArrayList<String> fileLines;
+		try (MappedLineScanner scanner = MappedLineScanner.open(ifile)) {
+			fileLines = scanner.getLines();
 		}
 
-		// Read the FileInputStream and append to a StringBuffer
-		StringBuffer buffer = new StringBuffer();
-		int fileByte;
-		while ((fileByte = reader.read()) != -1) {
-			buffer.append((char) fileByte);
+		// Drop the blank lines at the end of the file
+		while (!fileLines.isEmpty() && fileLines.get(fileLines.size() - 1).isEmpty()) {
+			fileLines.remove(fileLines.size() - 1);
 		}
-		reader.close();
-
-		// Break up the StringBuffer at each newline character
-		String[] bufferSplit = (buffer.toString()).split("\n");
-		ArrayList<String> fileLines = new ArrayList<String>(Arrays.asList(bufferSplit));
 
 		// Add a dummy EOF line so that the last line of the file is
 		// read in correctly
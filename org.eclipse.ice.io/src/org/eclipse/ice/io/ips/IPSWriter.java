@@ -12,22 +12,22 @@
  *******************************************************************************/
 package org.eclipse.ice.io.ips;
 
-import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
 import java.net.UnknownHostException;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
+import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
@@ -38,7 +38,9 @@ import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.MasterDetailsComponent;
 import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.io.serializable.IOMetrics;
 import org.eclipse.ice.io.serializable.IWriter;
+import org.eclipse.ice.io.serializable.LineReplacer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -89,17 +91,17 @@ public class IPSWriter implements IWriter {
 		// file exists
 		if (components != null && components.size() > 3) {
 			try {
-				PipedInputStream in = new PipedInputStream(8196);
-				PipedOutputStream out = new PipedOutputStream(in);
-				if (!ifile.exists()) {
-					byte[] blank = "".getBytes();
-					InputStream s = new ByteArrayInputStream(blank);
-					ifile.create(s, true, new NullProgressMonitor());
-				}
+				long start = System.nanoTime();
+				// Collect the contents in memory. A pipe read by this thread
+				// would block once its buffer was full. The sections are
+				// encoded as they are written through one buffer.
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
+				Writer writer = new BufferedWriter(
+						new OutputStreamWriter(out, StandardCharsets.UTF_8));
 				// Write out the header, global configuration, and ports table
-				writeICEHeader(out);
-				writeGlobalConfig((TableComponent) components.get(1), out);
-				writePortsTable((TableComponent) components.get(2), out);
+				writeICEHeader(writer);
+				writeGlobalConfig((TableComponent) components.get(1), writer);
+				writePortsTable((TableComponent) components.get(2), writer);
 
 				// Get the master details
 				MasterDetailsComponent masterDetails = (MasterDetailsComponent) components
@@ -107,15 +109,23 @@ public class IPSWriter implements IWriter {
 
 				// Write out each of the ports from the master individually
 				for (int i = 0; i < masterDetails.numberOfMasters(); i++) {
-					writeComponent(
-							masterDetails.getDetailsAtIndex(i),
-							out);
+					writeComponent(masterDetails.getDetailsAtIndex(i),
+							writer);
 				}
 
 				// Write out the time loop data then close the stream
-				writeTimeLoopData((DataComponent) components.get(0), out);
-				out.close();
-				ifile.setContents(in, true, false, new NullProgressMonitor());
+				writeTimeLoopData((DataComponent) components.get(0), writer);
+				writer.close();
+				// Create the file with its contents if it does not exist yet
+				InputStream contents = new ByteArrayInputStream(
+						out.toByteArray());
+				if (ifile.exists()) {
+					ifile.setContents(contents, true, false,
+							new NullProgressMonitor());
+				} else {
+					ifile.create(contents, true, new NullProgressMonitor());
+				}
+				IOMetrics.recordWrite(getWriterType(), ifile, start);
 			} catch (FileNotFoundException e) {
 				logger.info("IPSWriter Message: Could not find "
 						+ ifile.getName() + " for writing.");
@@ -152,74 +162,20 @@ public class IPSWriter implements IWriter {
 			return;
 		}
 
-		// First, get an ArrayList with each line of the file so
-		// we can search through them
-		// Read in the ini file and create the iterator
-		StringBuffer buffer = null;
-		try {
-			// Read the FileInputStream and append to a StringBuffer
-			BufferedReader reader = new BufferedReader(new InputStreamReader(
-					ifile.getContents()));
-			buffer = new StringBuffer();
-			int fileByte;
-			while ((fileByte = reader.read()) != -1) {
-				buffer.append((char) fileByte);
-			}
-			reader.close();
-		} catch (FileNotFoundException e) {
-			logger.info("IPSWriter Message:  Could not find " + ifile.getName()
-					+ " for reading.");
-			return;
-		} catch (IOException e) {
-			logger.info("IPSWriter Message:  Could not read in "
-					+ ifile.getName() + " for replacement writing.");
-			return;
-		} catch (CoreException e) {
-			// TODO Auto-generated catch block
-			logger.error(getClass().getName() + " Exception!",e);
-		}
-
-		// Break up the StringBuffer at each newline character
-		String[] bufferSplit = (buffer.toString()).split("\n");
-		ArrayList<String> fileLines = new ArrayList<String>(
-				Arrays.asList(bufferSplit));
-
-		/*
-		 * NOTE: Need to do this differently if we are using Eclipse IFiles
-		 * exclusively -- Andrew // Make a backup of the original file in case
-		 * something goes wrong during // the search and replace operations File
-		 * tempFile = new File(ifile.getFullPath().toOSString().split("[.]")[0]
-		 * + "_bak.conf"); tempFile.deleteOnExit(); try {
-		 * Files.copy(file.toPath(), tempFile.toPath(),
-		 * StandardCopyOption.REPLACE_EXISTING); } catch (IOException e1) {
-		 * System
-		 * .out.println("IPSWriter Message:  Error creating copy of original " +
-		 * "file for backup."); return; }
-		 */
-
 		// Write out the file again, replacing any occurrences
 		// of the regex with the given replacement value
-
-		StringBuilder builder = new StringBuilder();
-		for (String line : fileLines) {
-			if (line.matches(regex)) {
-				line = line.replaceAll(regex, value);
-			} else if (line.contains(regex)) {
-				line = line.replaceAll(regex, value);
-			}
-			line = line + "\n";
-			builder.append(line);
-		}
-
-		InputStream replaceStream = new ByteArrayInputStream(builder.toString()
-				.getBytes());
+		long start = System.nanoTime();
 		try {
-			ifile.setContents(replaceStream, true, true,
-					new NullProgressMonitor());
-		} catch (CoreException e) {
-			// TODO Auto-generated catch block
-			logger.error(getClass().getName() + " Exception!",e);
+			new LineReplacer(regex, value).replace(ifile);
+		} catch (IOException | PatternSyntaxException e) {
+			logger.info("IPSWriter Message:  Could not replace text in "
+					+ ifile.getName() + ".");
+			logger.error(getClass().getName() + " Exception!", e);
+			return;
 		}
+		IOMetrics.recordWrite(getWriterType(), ifile, start);
+
+		return;
 	}
 
 	/**
@@ -240,14 +196,14 @@ public class IPSWriter implements IWriter {
 	 * and hostname where the file was generated.
 	 * </p>
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws UnknownHostException
 	 *             Thrown when the host cannot be resolved
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeICEHeader(OutputStream stream)
+	private void writeICEHeader(Writer writer)
 			throws UnknownHostException, IOException {
 
 		DateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy HH:mm:ss");
@@ -265,8 +221,7 @@ public class IPSWriter implements IWriter {
 						date, user, hostname);
 
 		// Write to the output stream
-		byte[] byteArray = iceHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(iceHeader);
 
 		return;
 
@@ -275,162 +230,130 @@ public class IPSWriter implements IWriter {
 	/**
 	 * <p>
 	 * Takes the Global Configuration DataComponent and extracts each of the
-	 * parameters and writes the contents to the specified OutputStream.
+	 * parameters and writes the contents to the specified Writer.
 	 * </p>
 	 * 
 	 * @param component
 	 *            The DataComponent containing the global configuration
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeGlobalConfig(TableComponent component, OutputStream stream)
+	private void writeGlobalConfig(TableComponent component, Writer writer)
 			throws IOException {
 
 		// Local Declarations
-		String configString = "";
 		ArrayList<IEntry> row;
-		byte[] byteArray;
 
-		// Build the output by going through each row
+		// Write the output by going through each row
 		for (int i = 0; i < component.numberOfRows(); i++) {
 			row = component.getRow(i);
-			configString += row.get(0).getValue().trim() + "="
-					+ row.get(1).getValue().trim() + "\n";
+			writer.append(row.get(0).getValue().trim()).append('=')
+					.append(row.get(1).getValue().trim()).append('\n');
 		}
-		configString += "\n";
-
-		// Write it out
-		byteArray = configString.getBytes();
-		stream.write(byteArray);
+		writer.write('\n');
 	}
 
 	/**
 	 * <p>
 	 * Takes the Ports Table DataComponent and extracts each of the ports
 	 * implementation details and writes the contents to the specified
-	 * OutputStream.
+	 * Writer.
 	 * </p>
 	 *
 	 * @param component
 	 *            The DataComponent containing the ports table
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writePortsTable(TableComponent component, OutputStream stream)
+	private void writePortsTable(TableComponent component, Writer writer)
 			throws IOException {
 
 		// Local Declarations
-		String configString = "[PORTS]\n\tNAMES = ";
 		ArrayList<IEntry> row;
-		byte[] byteArray;
 
-		// Build the output by going through each row
+		// Write the output by going through each row
+		writer.write("[PORTS]\n\tNAMES = ");
 		for (int i = 0; i < component.numberOfRows(); i++) {
 			row = component.getRow(i);
-			configString += row.get(0).getValue().trim() + " ";
+			writer.append(row.get(0).getValue().trim()).append(' ');
 		}
-		configString += "\n\n";
+		writer.write("\n\n");
 
 		for (int i = 0; i < component.numberOfRows(); i++) {
 			row = component.getRow(i);
-			configString += "\t[[" + row.get(0).getValue().trim() + "]]\n\t\t"
-					+ "IMPLEMENTATION = " + row.get(1).getValue().trim() + "\n";
+			writer.append("\t[[").append(row.get(0).getValue().trim())
+					.append("]]\n\t\tIMPLEMENTATION = ")
+					.append(row.get(1).getValue().trim()).append('\n');
 		}
-		configString += "\n";
-
-		// Write it out
-		byteArray = configString.getBytes();
-		stream.write(byteArray);
+		writer.write('\n');
 	}
 
 	/**
 	 * <p>
 	 * Takes a Port Entry DataComponent and extracts each of the port's
 	 * implementation details and writes the contents to the specified
-	 * OutputStream.
+	 * Writer.
 	 * </p>
 	 * 
 	 * @param component
 	 *            The DataComponent containing a port entry
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeComponent(DataComponent component, OutputStream stream)
+	private void writeComponent(DataComponent component, Writer writer)
 			throws IOException {
 		// Get the port name and the entries
-		String currLine = "[" + component.getName() + "]\n";
 		ArrayList<IEntry> portParams = component.retrieveAllEntries();
 
 		// Write the port header
-		byte[] byteArray = currLine.getBytes();
-		stream.write(byteArray);
+		writer.write("[" + component.getName() + "]\n");
 
 		// Write each of the port parameters
 		for (IEntry param : portParams) {
-			// Write the port header
-			currLine = "\t" + param.getName().trim() + " = ";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
-
-			// Write the port implementation
-			currLine = param.getValue().trim() + "\n";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.append('\t').append(param.getName().trim()).append(" = ")
+					.append(param.getValue().trim()).append('\n');
 		}
 
 		// Write a blank line for a spacer
-		currLine = "\n";
-		byteArray = currLine.getBytes();
-		stream.write(byteArray);
+		writer.write('\n');
 	}
 
 	/**
 	 * <p>
 	 * Takes the Time Loop DataComponent and extracts each of the time loop's
 	 * implementation details and writes the contents to the specified
-	 * OutputStream.
+	 * Writer.
 	 * </p>
 	 * 
 	 * @param component
 	 *            The DataComponent containing time loop data
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeTimeLoopData(DataComponent component, OutputStream stream)
+	private void writeTimeLoopData(DataComponent component, Writer writer)
 			throws IOException {
 		// Get the port name and the entries
-		String currLine = "[TIME_LOOP]\n";
 		ArrayList<IEntry> timeLoopParams = component.retrieveAllEntries();
 
 		// Write the port header
-		byte[] byteArray = currLine.getBytes();
-		stream.write(byteArray);
+		writer.write("[TIME_LOOP]\n");
 
 		// Write each of the port parameters
 		for (IEntry param : timeLoopParams) {
-			// Write the port header
-			currLine = "\t" + param.getName().trim() + " = ";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
-
-			// Write the port implementation
-			currLine = param.getValue().trim() + "\n";
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.append('\t').append(param.getName().trim()).append(" = ")
+					.append(param.getValue().trim()).append('\n');
 		}
 
 		// Write out a final blank line
-		currLine = "\n";
-		byteArray = currLine.getBytes();
-		stream.write(byteArray);
+		writer.write('\n');
 
 	}
 
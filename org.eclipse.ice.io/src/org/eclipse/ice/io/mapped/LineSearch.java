@@ -0,0 +1,339 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.mapped;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * This class searches the lines of files for a regular expression. It is used
+ * by the IReaders to implement findAll(). A line matches if the whole line,
+ * without its end of line characters, matches the expression, as it would
+ * with String.matches().
+ *
+ * Files are read with a MappedLineScanner. Files with more than
+ * {@link #CHUNK_SIZE} lines are split into chunks of whole lines that are
+ * searched in parallel and the matches are returned in the order of the file.
+ *
+ * Where the lines of a local file are is kept after it is searched, so that
+ * searching it again only maps it again. The index of a file is used until its
+ * modification time, its size or its file key (the inode on Unix) change.
+ * Since a file can be changed without changing any of those, the end of every
+ * line is checked again when the index is used and the file is scanned again
+ * if one of them moved or a new one shows up in a line. Only the index is
+ * kept, not the mapping, so the file is not held open.
+ *
+ */
+public class LineSearch {
+
+	/**
+	 * The number of lines that are searched by one task.
+	 */
+	public static final int CHUNK_SIZE = 8192;
+
+	/**
+	 * The largest number of files whose index is kept.
+	 */
+	private static final int CACHE_SIZE = 16;
+
+	/**
+	 * The index of a file and when it was found.
+	 */
+	private static class CachedIndex {
+
+		/**
+		 * The modification time of the file.
+		 */
+		private final FileTime modified;
+
+		/**
+		 * The size of the file.
+		 */
+		private final long size;
+
+		/**
+		 * The key that identifies the file or null if the file system does
+		 * not have one.
+		 */
+		private final Object fileKey;
+
+		/**
+		 * The detached scanner that holds the lines.
+		 */
+		private final MappedLineScanner index;
+
+		/**
+		 * The constructor.
+		 *
+		 * @param attributes
+		 *            The attributes of the file
+		 * @param index
+		 *            The detached scanner that holds the lines
+		 */
+		private CachedIndex(BasicFileAttributes attributes,
+				MappedLineScanner index) {
+			this.modified = attributes.lastModifiedTime();
+			this.size = attributes.size();
+			this.fileKey = attributes.fileKey();
+			this.index = index;
+		}
+
+		/**
+		 * This operation returns true if a file looks the same as it did when
+		 * its lines were found.
+		 *
+		 * @param attributes
+		 *            The attributes of the file now
+		 * @return True if the file looks the same, false otherwise
+		 */
+		private boolean matches(BasicFileAttributes attributes) {
+			return modified.equals(attributes.lastModifiedTime())
+					&& size == attributes.size()
+					&& (fileKey == null
+							|| fileKey.equals(attributes.fileKey()));
+		}
+	}
+
+	/**
+	 * This exception is thrown when a line that is searched contains a new
+	 * line, which means that the file changed after its index was found.
+	 */
+	private static class ChangedFileException extends IllegalStateException {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The constructor.
+		 */
+		private ChangedFileException() {
+			super("A line contains a new line. The file changed after its "
+					+ "lines were found.");
+		}
+	}
+
+	/**
+	 * The indices of the files that were searched last, by their absolute
+	 * paths. It must be locked to be used.
+	 */
+	private static final Map<String, CachedIndex> cache = new LinkedHashMap<String, CachedIndex>(
+			CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<String, CachedIndex> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
+	/**
+	 * True if indices are kept, false otherwise.
+	 */
+	private static volatile boolean cacheEnabled = true;
+
+	/**
+	 * This operation returns the lines of a file that match a regular
+	 * expression.
+	 *
+	 * @param file
+	 *            The file
+	 * @param regex
+	 *            The regular expression
+	 * @return The lines that match in the order of the file
+	 * @throws IOException
+	 *             An exception if the file can not be read
+	 * @throws java.util.regex.PatternSyntaxException
+	 *             An exception if the expression is not valid
+	 */
+	public static ArrayList<String> findLines(IFile file, String regex)
+			throws IOException {
+
+		// Local Declarations
+		Pattern pattern = Pattern.compile(regex);
+
+		try (MappedLineScanner scanner = open(file)) {
+			return findLines(scanner, pattern);
+		} catch (ChangedFileException e) {
+			// The index is out of date, so find the lines again
+			forget(file);
+			try (MappedLineScanner scanner = MappedLineScanner.open(file)) {
+				return findLines(scanner, pattern);
+			}
+		}
+	}
+
+	/**
+	 * This operation returns the lines of a scanner that match a pattern.
+	 *
+	 * @param scanner
+	 *            The scanner
+	 * @param pattern
+	 *            The pattern
+	 * @return The lines that match in order
+	 * @throws IllegalStateException
+	 *             An exception if a line contains a new line, which can only
+	 *             happen if the scanner came from {@link #open(IFile)} and the
+	 *             file changed in a way that its attributes do not show
+	 */
+	public static ArrayList<String> findLines(final MappedLineScanner scanner,
+			final Pattern pattern) {
+
+		// Local Declarations
+		final int count = scanner.getLineCount();
+		int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+		// Small files are not worth splitting
+		if (chunks <= 1) {
+			return findLines(scanner, pattern, 0, count);
+		}
+
+		// Search the chunks in parallel and keep their order
+		return IntStream.range(0, chunks).parallel()
+				.mapToObj(chunk -> findLines(scanner, pattern,
+						chunk * CHUNK_SIZE,
+						Math.min(count, (chunk + 1) * CHUNK_SIZE)))
+				.flatMap(ArrayList::stream)
+				.collect(Collectors.toCollection(ArrayList::new));
+	}
+
+	/**
+	 * This operation opens a scanner for a workspace file. The index of a local
+	 * file is reused if the file has not changed since it was found. The
+	 * caller must close the scanner.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The scanner
+	 * @throws IOException
+	 *             An exception if the file can not be read
+	 */
+	public static MappedLineScanner open(IFile file) throws IOException {
+
+		// Local Declarations
+		IPath location = file.getLocation();
+		File localFile = (location != null) ? location.toFile() : null;
+
+		// Only local files can be checked for changes
+		if (!cacheEnabled || localFile == null || !localFile.isFile()) {
+			return MappedLineScanner.open(file);
+		}
+
+		// Use the index if the file has not changed
+		String key = localFile.getAbsolutePath();
+		BasicFileAttributes attributes = Files.readAttributes(
+				localFile.toPath(), BasicFileAttributes.class);
+		CachedIndex cached;
+		synchronized (cache) {
+			cached = cache.get(key);
+		}
+		if (cached != null && cached.matches(attributes)) {
+			MappedLineScanner scanner = cached.index.attach(localFile,
+					MappedLineScanner.getCharset(file));
+			if (scanner != null) {
+				return scanner;
+			}
+		}
+
+		// Otherwise find the lines and keep them
+		MappedLineScanner scanner = MappedLineScanner.open(localFile,
+				MappedLineScanner.getCharset(file));
+		synchronized (cache) {
+			cache.put(key, new CachedIndex(attributes, scanner.detach()));
+		}
+
+		return scanner;
+	}
+
+	/**
+	 * This operation forgets the index of a file.
+	 *
+	 * @param file
+	 *            The file
+	 */
+	private static void forget(IFile file) {
+		IPath location = file.getLocation();
+		if (location != null) {
+			synchronized (cache) {
+				cache.remove(location.toFile().getAbsolutePath());
+			}
+		}
+	}
+
+	/**
+	 * This operation sets whether the indices of files are kept. They are kept
+	 * by default. Disabling the cache also clears it.
+	 *
+	 * @param enabled
+	 *            True if the indices should be kept, false otherwise
+	 */
+	public static void setCacheEnabled(boolean enabled) {
+		cacheEnabled = enabled;
+		if (!enabled) {
+			clearCache();
+		}
+	}
+
+	/**
+	 * This operation forgets the indices of all files.
+	 */
+	public static void clearCache() {
+		synchronized (cache) {
+			cache.clear();
+		}
+	}
+
+	/**
+	 * This operation returns the lines in a range of a scanner that match a
+	 * pattern.
+	 *
+	 * @param scanner
+	 *            The scanner
+	 * @param pattern
+	 *            The pattern
+	 * @param from
+	 *            The index of the first line
+	 * @param to
+	 *            The index after the last line
+	 * @return The lines that match in order
+	 */
+	private static ArrayList<String> findLines(MappedLineScanner scanner,
+			Pattern pattern, int from, int to) {
+
+		// Local Declarations
+		ArrayList<String> lines = new ArrayList<String>();
+		Matcher matcher = pattern.matcher("");
+
+		for (int i = from; i < to; i++) {
+			String line = scanner.getLine(i);
+			if (line.indexOf('\n') >= 0) {
+				throw new ChangedFileException();
+			}
+			if (matcher.reset(line).matches()) {
+				lines.add(line);
+			}
+		}
+
+		return lines;
+	}
+}
@@ -0,0 +1,986 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.mapped;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * This class scans the lines of a file that is mapped into memory. Opening the
+ * file only finds where each line starts and ends. The bytes of a line are not
+ * decoded into a String until a line, a field or a token of it is asked for,
+ * so readers of large files only pay for the parts that they use.
+ *
+ * Lines end at '\n'. A '\r' before it is not part of the line and the last
+ * line does not need to end with '\n'. Files larger than 2 GB are mapped in
+ * several segments that each end at the end of a line. Files smaller than
+ * {@link #MIN_MAPPED_SIZE} are read into memory instead, since mapping them
+ * costs more than reading them.
+ *
+ * The bytes are searched for line ends and delimiters without decoding them,
+ * which only works for charsets that encode the ASCII characters as single
+ * bytes, like UTF-8 and the ISO and Windows charsets. Files in any other
+ * charset, like UTF-16, are decoded and encoded again as UTF-8 in memory
+ * when they are opened, so their line offsets and lengths are those of the
+ * UTF-8 bytes.
+ *
+ * Instances can not be changed once they are open and may be shared between
+ * threads. A scanner should be closed when it is no longer needed, after all
+ * threads are done with it, so that the mapping of the file is released right
+ * away and the file can be moved or deleted on platforms that lock mapped
+ * files. Otherwise the mapping is released when the scanner is garbage
+ * collected.
+ *
+ */
+public class MappedLineScanner implements Closeable {
+
+	/**
+	 * This interface is implemented by clients that want to visit the lines of
+	 * a scanner one at a time.
+	 */
+	public interface LineVisitor {
+
+		/**
+		 * This operation is called for each line in order.
+		 *
+		 * @param scanner
+		 *            The scanner that holds the line
+		 * @param line
+		 *            The index of the line
+		 * @return True to continue with the next line, false to stop
+		 */
+		public boolean visit(MappedLineScanner scanner, int line);
+	}
+
+	/**
+	 * The largest number of bytes that is mapped in one segment.
+	 */
+	static final int MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+	/**
+	 * The size in bytes of the smallest file that is mapped into memory.
+	 */
+	public static final int MIN_MAPPED_SIZE = 1 << 20;
+
+	/**
+	 * The operation that releases a mapped buffer, or null if the platform
+	 * does not have one. It is sun.misc.Unsafe.invokeCleaner() on Java 9 and
+	 * later and sun.misc.Cleaner.clean() on Java 8.
+	 */
+	private static final Method unmapper;
+
+	/**
+	 * The object that the unmapper is called on. It is the Unsafe on Java 9
+	 * and later and null on Java 8, where the cleaner comes from the buffer.
+	 */
+	private static final Object unmapperTarget;
+
+	static {
+		Method method = null;
+		Object target = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			try {
+				method = unsafeClass.getMethod("invokeCleaner",
+						ByteBuffer.class);
+				Field field = unsafeClass.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				target = field.get(null);
+			} catch (NoSuchMethodException e) {
+				method = Class.forName("sun.misc.Cleaner").getMethod("clean");
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// The mappings are left to the garbage collector
+			method = null;
+			target = null;
+		}
+		unmapper = method;
+		unmapperTarget = target;
+	}
+
+	/**
+	 * The buffers that hold the bytes of the file, in order.
+	 */
+	private final ByteBuffer[] segments;
+
+	/**
+	 * The offset in the file of the first byte of each segment.
+	 */
+	private final long[] segmentOffsets;
+
+	/**
+	 * The number of bytes in each segment.
+	 */
+	private final int[] segmentSizes;
+
+	/**
+	 * The index of the segment of each line.
+	 */
+	private final int[] lineSegments;
+
+	/**
+	 * The position in its segment of the first byte of each line.
+	 */
+	private final int[] lineStarts;
+
+	/**
+	 * The number of bytes in each line without the end of line characters.
+	 */
+	private final int[] lineLengths;
+
+	/**
+	 * The number of lines.
+	 */
+	private final int lineCount;
+
+	/**
+	 * The charset of the file.
+	 */
+	private final Charset charset;
+
+	/**
+	 * True if the segments are mapped from a file and must be unmapped when
+	 * the scanner is closed.
+	 */
+	private final boolean mapped;
+
+	/**
+	 * True if the scanner was closed.
+	 */
+	private volatile boolean closed = false;
+
+	/**
+	 * The constructor. It finds the lines in the segments.
+	 *
+	 * @param segments
+	 *            The buffers that hold the file. Each one but the last must end
+	 *            with '\n'.
+	 * @param charset
+	 *            The charset of the file. It must be ASCII compatible.
+	 * @param mapped
+	 *            True if the buffers are mapped from a file
+	 */
+	private MappedLineScanner(ByteBuffer[] segments, Charset charset,
+			boolean mapped) {
+
+		// Local Declarations
+		int count = 0;
+		int[] segmentIds = new int[64];
+		int[] starts = new int[64];
+		int[] lengths = new int[64];
+		long offset = 0;
+
+		this.segments = segments;
+		this.segmentOffsets = new long[segments.length];
+		this.segmentSizes = new int[segments.length];
+		this.charset = charset;
+		this.mapped = mapped;
+
+		// Find the lines of each segment
+		for (int i = 0; i < segments.length; i++) {
+			ByteBuffer segment = segments[i];
+			int limit = segment.limit();
+			int start = 0;
+			segmentOffsets[i] = offset;
+			segmentSizes[i] = limit;
+			offset += limit;
+			while (start < limit) {
+				// Find the end of the line
+				int end = start;
+				while (end < limit && segment.get(end) != '\n') {
+					end++;
+				}
+				// Store it
+				if (count == starts.length) {
+					segmentIds = Arrays.copyOf(segmentIds, count * 2);
+					starts = Arrays.copyOf(starts, count * 2);
+					lengths = Arrays.copyOf(lengths, count * 2);
+				}
+				int length = end - start;
+				if (length > 0 && segment.get(end - 1) == '\r') {
+					length--;
+				}
+				segmentIds[count] = i;
+				starts[count] = start;
+				lengths[count] = length;
+				count++;
+				start = end + 1;
+			}
+		}
+
+		this.lineSegments = segmentIds;
+		this.lineStarts = starts;
+		this.lineLengths = lengths;
+		this.lineCount = count;
+	}
+
+	/**
+	 * The copy constructor. The copy uses the lines that were found by another
+	 * scanner with different buffers.
+	 *
+	 * @param index
+	 *            The scanner whose lines are used
+	 * @param segments
+	 *            The buffers that hold the same bytes in the same segments or
+	 *            null if the copy only keeps the lines
+	 * @param charset
+	 *            The charset of the file. It must be ASCII compatible.
+	 * @param mapped
+	 *            True if the buffers are mapped from a file
+	 */
+	private MappedLineScanner(MappedLineScanner index, ByteBuffer[] segments,
+			Charset charset, boolean mapped) {
+		this.segments = segments;
+		this.segmentOffsets = index.segmentOffsets;
+		this.segmentSizes = index.segmentSizes;
+		this.lineSegments = index.lineSegments;
+		this.lineStarts = index.lineStarts;
+		this.lineLengths = index.lineLengths;
+		this.lineCount = index.lineCount;
+		this.charset = charset;
+		this.mapped = mapped;
+	}
+
+	/**
+	 * This operation maps a file into memory and finds its lines. Small files
+	 * and files that are not in an ASCII compatible charset are read into
+	 * memory instead.
+	 *
+	 * @param file
+	 *            The file
+	 * @param charset
+	 *            The charset of the file or null for UTF-8
+	 * @return The scanner
+	 * @throws IOException
+	 *             An exception if the file can not be read or has a line that
+	 *             is longer than 2 GB
+	 */
+	public static MappedLineScanner open(File file, Charset charset)
+			throws IOException {
+
+		// Local Declarations
+		ArrayList<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+		Charset fileCharset = (charset != null) ? charset
+				: StandardCharsets.UTF_8;
+
+		// The mapping stays valid after the channel is closed
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			long position = 0;
+			// Read the file if it is not worth mapping or must be decoded
+			if (size < MIN_MAPPED_SIZE || !isAsciiCompatible(fileCharset)) {
+				return wrap(Files.readAllBytes(file.toPath()), fileCharset);
+			}
+			while (position < size) {
+				long length = Math.min(size - position, MAX_SEGMENT_SIZE);
+				ByteBuffer segment = channel
+						.map(FileChannel.MapMode.READ_ONLY, position, length);
+				// End the segment at the end of its last line unless it is
+				// the end of the file
+				if (position + length < size) {
+					int end = (int) length;
+					while (end > 0 && segment.get(end - 1) != '\n') {
+						end--;
+					}
+					if (end == 0) {
+						for (ByteBuffer mappedSegment : segments) {
+							unmap(mappedSegment);
+						}
+						unmap(segment);
+						throw new IOException(file + ": line at byte "
+								+ position + " is longer than "
+								+ MAX_SEGMENT_SIZE + " bytes");
+					}
+					segment.limit(end);
+					length = end;
+				}
+				segments.add(segment);
+				position += length;
+			}
+		}
+
+		return new MappedLineScanner(
+				segments.toArray(new ByteBuffer[segments.size()]), fileCharset,
+				true);
+	}
+
+	/**
+	 * This operation opens a workspace file. Files that are stored on the
+	 * local file system are opened with {@link #open(File, Charset)}. The
+	 * contents of any other file are read into a buffer.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The scanner
+	 * @throws IOException
+	 *             An exception if the file can not be read
+	 */
+	public static MappedLineScanner open(IFile file) throws IOException {
+
+		// Local Declarations
+		Charset charset = getCharset(file);
+		IPath location = file.getLocation();
+
+		// Map local files
+		if (location != null && location.toFile().isFile()) {
+			return open(location.toFile(), charset);
+		}
+
+		// Read the rest
+		try (InputStream stream = file.getContents()) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = stream.read(buffer)) != -1) {
+				bytes.write(buffer, 0, read);
+			}
+			return wrap(bytes.toByteArray(), charset);
+		} catch (CoreException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * This operation returns the charset of a workspace file.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The charset or UTF-8 if it is not known
+	 */
+	static Charset getCharset(IFile file) {
+		try {
+			return Charset.forName(file.getCharset());
+		} catch (CoreException | IllegalArgumentException e) {
+			return StandardCharsets.UTF_8;
+		}
+	}
+
+	/**
+	 * This operation creates a scanner for bytes that are already in memory.
+	 *
+	 * @param bytes
+	 *            The bytes. They are not copied unless they have to be
+	 *            encoded again as UTF-8.
+	 * @param charset
+	 *            The charset of the bytes or null for UTF-8
+	 * @return The scanner
+	 */
+	public static MappedLineScanner wrap(byte[] bytes, Charset charset) {
+
+		// Local Declarations
+		Charset bytesCharset = (charset != null) ? charset
+				: StandardCharsets.UTF_8;
+
+		// Decode the bytes if their line ends can not be found without it
+		if (!isAsciiCompatible(bytesCharset)) {
+			bytes = new String(bytes, bytesCharset)
+					.getBytes(StandardCharsets.UTF_8);
+			bytesCharset = StandardCharsets.UTF_8;
+		}
+
+		return new MappedLineScanner(
+				new ByteBuffer[] { ByteBuffer.wrap(bytes) }, bytesCharset,
+				false);
+	}
+
+	/**
+	 * This operation returns a copy of this scanner that only keeps where the
+	 * lines are. It does not hold on to the mapping of the file, so it can be
+	 * kept without keeping the file open. Only getLineCount(),
+	 * getLineOffset() and getLineLength() may be called on it until it is
+	 * attached to the file again.
+	 *
+	 * @return The copy
+	 */
+	MappedLineScanner detach() {
+		return new MappedLineScanner(this, null, charset, false);
+	}
+
+	/**
+	 * This operation maps a file into memory again and returns a scanner that
+	 * uses the lines of this one instead of finding them. Small files are read
+	 * into memory instead, like they are by open().
+	 *
+	 * The file should not have changed since this scanner found its lines.
+	 * The end of every line is checked again, without looking at the bytes in
+	 * between, and null is returned if one of them moved. Callers that decode
+	 * the lines should also make sure that none of them contains '\n'.
+	 *
+	 * @param file
+	 *            The file
+	 * @param charset
+	 *            The charset of the file or null for UTF-8
+	 * @return The scanner or null if the lines of the file changed
+	 * @throws IOException
+	 *             An exception if the file can not be mapped
+	 */
+	MappedLineScanner attach(File file, Charset charset) throws IOException {
+
+		// Local Declarations
+		ByteBuffer[] buffers = new ByteBuffer[segmentOffsets.length];
+		Charset fileCharset = (charset != null) ? charset
+				: StandardCharsets.UTF_8;
+		MappedLineScanner scanner;
+
+		// The lines of files that were encoded again can not be reused
+		if (!fileCharset.equals(this.charset)) {
+			return open(file, fileCharset);
+		}
+
+		try (FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (buffers.length == 0 || size != segmentOffsets[buffers.length
+					- 1] + segmentSizes[buffers.length - 1]) {
+				return null;
+			}
+			if (size < MIN_MAPPED_SIZE) {
+				// Read small files
+				scanner = new MappedLineScanner(this,
+						new ByteBuffer[] { ByteBuffer
+								.wrap(Files.readAllBytes(file.toPath())) },
+						fileCharset, false);
+			} else {
+				// Map the others
+				for (int i = 0; i < buffers.length; i++) {
+					buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+							segmentOffsets[i], segmentSizes[i]);
+				}
+				scanner = new MappedLineScanner(this, buffers, fileCharset,
+						true);
+			}
+		}
+
+		// Make sure that the lines still end where they did
+		if (!scanner.hasLineEnds()) {
+			scanner.close();
+			return null;
+		}
+
+		return scanner;
+	}
+
+	/**
+	 * This operation checks that every line ends where a new scanner would
+	 * end it. It only looks at the bytes around the end of each line.
+	 *
+	 * @return True if the lines end at their end of line characters, false
+	 *         otherwise
+	 */
+	private boolean hasLineEnds() {
+
+		// Local Declarations
+		int next = 0;
+
+		for (int i = 0; i < lineCount; i++) {
+			ByteBuffer segment = segments[lineSegments[i]];
+			int limit = segment.limit();
+			int start = lineStarts[i];
+			// Each segment starts with a line and each line starts after the
+			// last one
+			boolean first = (i == 0 || lineSegments[i] != lineSegments[i - 1]);
+			if (start != (first ? 0 : next)) {
+				return false;
+			}
+			// Find the end of the line after a '\r' that is not part of it
+			int end = start + lineLengths[i];
+			int newline = end;
+			if (newline < limit && segment.get(newline) == '\r') {
+				newline++;
+			}
+			if (newline < limit && segment.get(newline) != '\n') {
+				return false;
+			}
+			// A '\r' before the end is never part of the line
+			if (end > start && newline == end
+					&& segment.get(end - 1) == '\r') {
+				return false;
+			}
+			// The last line of a segment must end at its end
+			boolean last = (i == lineCount - 1
+					|| lineSegments[i + 1] != lineSegments[i]);
+			if (last && newline + 1 < limit) {
+				return false;
+			}
+			next = newline + 1;
+		}
+
+		return true;
+	}
+
+	/**
+	 * This operation releases the mapping of the file. The scanner can not be
+	 * used after it is closed and it must not be closed while another thread
+	 * is still using it. Closing a scanner that is not mapped or that was
+	 * already closed does nothing.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+		if (mapped) {
+			for (ByteBuffer segment : segments) {
+				unmap(segment);
+			}
+		}
+	}
+
+	/**
+	 * This operation returns the number of lines.
+	 *
+	 * @return The number of lines
+	 */
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	/**
+	 * This operation returns the charset that is used to decode the lines.
+	 *
+	 * @return The charset
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * This operation returns the offset in the file of the first byte of a
+	 * line.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @return The offset
+	 */
+	public long getLineOffset(int line) {
+		checkLine(line);
+		return segmentOffsets[lineSegments[line]] + lineStarts[line];
+	}
+
+	/**
+	 * This operation returns the number of bytes in a line, not counting the
+	 * end of the line.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @return The number of bytes
+	 */
+	public int getLineLength(int line) {
+		checkLine(line);
+		return lineLengths[line];
+	}
+
+	/**
+	 * This operation decodes a line.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @return The line without the end of line characters
+	 */
+	public String getLine(int line) {
+		checkLine(line);
+		return decode(lineSegments[line], lineStarts[line], lineLengths[line]);
+	}
+
+	/**
+	 * This operation decodes all of the lines.
+	 *
+	 * @return The lines in order
+	 */
+	public ArrayList<String> getLines() {
+		checkOpen();
+		ArrayList<String> lines = new ArrayList<String>(lineCount);
+		for (int i = 0; i < lineCount; i++) {
+			lines.add(decode(lineSegments[i], lineStarts[i], lineLengths[i]));
+		}
+		return lines;
+	}
+
+	/**
+	 * This operation returns true if a line is empty or only holds spaces and
+	 * tabs. It does not decode the line.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @return True if the line is blank, false otherwise
+	 */
+	public boolean isBlank(int line) {
+		checkLine(line);
+		ByteBuffer segment = segments[lineSegments[line]];
+		int end = lineStarts[line] + lineLengths[line];
+		for (int i = lineStarts[line]; i < end; i++) {
+			byte b = segment.get(i);
+			if (b != ' ' && b != '\t') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This operation returns true if a line contains some text. It compares
+	 * the encoded bytes and does not decode the line.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @param text
+	 *            The text
+	 * @return True if the line contains the text, false otherwise
+	 */
+	public boolean contains(int line, String text) {
+		return indexOf(line, text.getBytes(charset), 0) >= 0;
+	}
+
+	/**
+	 * This operation returns true if a line starts with some text. It compares
+	 * the encoded bytes and does not decode the line.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @param prefix
+	 *            The text
+	 * @return True if the line starts with the text, false otherwise
+	 */
+	public boolean startsWith(int line, String prefix) {
+		byte[] bytes = prefix.getBytes(charset);
+		return bytes.length <= getLineLength(line)
+				&& matches(segments[lineSegments[line]], lineStarts[line],
+						bytes);
+	}
+
+	/**
+	 * This operation decodes one field of a line whose fields are separated by
+	 * a delimiter. Only the bytes of that field are decoded. Empty fields are
+	 * counted, as they are by String.split() with a negative limit.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @param delimiter
+	 *            The delimiter
+	 * @param field
+	 *            The index of the field
+	 * @return The field with the spaces around it removed or null if the line
+	 *         does not have that many fields
+	 */
+	public String getField(int line, char delimiter, int field) {
+
+		// Local Declarations
+		checkLine(line);
+		int segmentId = lineSegments[line];
+		int start = lineStarts[line];
+		int end = start + lineLengths[line];
+
+		// Decode the line if the delimiter can not be found in the bytes
+		if (delimiter > 0x7F) {
+			String[] fields = getLine(line)
+					.split(Pattern.quote(String.valueOf(delimiter)), -1);
+			return (field < fields.length) ? fields[field].trim() : null;
+		}
+
+		// Skip the fields before it
+		ByteBuffer segment = segments[segmentId];
+		for (int i = 0; i < field; i++) {
+			while (start < end && segment.get(start) != delimiter) {
+				start++;
+			}
+			if (start == end) {
+				return null;
+			}
+			start++;
+		}
+		// Find its end
+		int fieldEnd = start;
+		while (fieldEnd < end && segment.get(fieldEnd) != delimiter) {
+			fieldEnd++;
+		}
+
+		return trimmed(segmentId, start, fieldEnd);
+	}
+
+	/**
+	 * This operation decodes one token of a line whose tokens are separated by
+	 * any number of spaces and tabs. Only the bytes of that token are decoded.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @param token
+	 *            The index of the token
+	 * @return The token or null if the line does not have that many tokens
+	 */
+	public String getToken(int line, int token) {
+
+		// Local Declarations
+		checkLine(line);
+		int segmentId = lineSegments[line];
+		int position = lineStarts[line];
+		int end = position + lineLengths[line];
+
+		ByteBuffer segment = segments[segmentId];
+		for (int i = 0; position < end; i++) {
+			// Skip the white space
+			while (position < end && isSpace(segment.get(position))) {
+				position++;
+			}
+			if (position == end) {
+				break;
+			}
+			// Find the end of the token
+			int tokenStart = position;
+			while (position < end && !isSpace(segment.get(position))) {
+				position++;
+			}
+			if (i == token) {
+				return decode(segmentId, tokenStart, position - tokenStart);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * This operation visits the lines in order until the visitor asks it to
+	 * stop.
+	 *
+	 * @param visitor
+	 *            The visitor
+	 * @return The index of the line at which the visitor stopped or -1 if it
+	 *         visited all of the lines
+	 */
+	public int scan(LineVisitor visitor) {
+		return scan(0, lineCount, visitor);
+	}
+
+	/**
+	 * This operation visits a range of lines in order until the visitor asks
+	 * it to stop.
+	 *
+	 * @param from
+	 *            The index of the first line
+	 * @param to
+	 *            The index after the last line
+	 * @param visitor
+	 *            The visitor
+	 * @return The index of the line at which the visitor stopped or -1 if it
+	 *         visited all of the lines
+	 */
+	public int scan(int from, int to, LineVisitor visitor) {
+		if (from < 0 || to > lineCount || from > to) {
+			throw new IndexOutOfBoundsException(
+					"Lines " + from + " to " + to + " of " + lineCount);
+		}
+		for (int i = from; i < to; i++) {
+			if (!visitor.visit(this, i)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This operation finds the first position of some bytes in a line.
+	 *
+	 * @param line
+	 *            The index of the line
+	 * @param bytes
+	 *            The bytes
+	 * @param from
+	 *            The position in the line at which to start
+	 * @return The position in the line or -1 if they were not found
+	 */
+	private int indexOf(int line, byte[] bytes, int from) {
+		checkLine(line);
+		ByteBuffer segment = segments[lineSegments[line]];
+		int start = lineStarts[line];
+		int last = lineLengths[line] - bytes.length;
+		for (int i = Math.max(0, from); i <= last; i++) {
+			if (matches(segment, start + i, bytes)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * This operation returns true if the bytes of a segment at a position are
+	 * the same as some other bytes.
+	 *
+	 * @param segment
+	 *            The segment
+	 * @param position
+	 *            The position
+	 * @param bytes
+	 *            The other bytes
+	 * @return True if they are the same, false otherwise
+	 */
+	private static boolean matches(ByteBuffer segment, int position,
+			byte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			if (segment.get(position + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * This operation decodes bytes of a segment after it removes the spaces
+	 * and tabs around them.
+	 *
+	 * @param segmentId
+	 *            The index of the segment
+	 * @param start
+	 *            The position of the first byte
+	 * @param end
+	 *            The position after the last byte
+	 * @return The text
+	 */
+	private String trimmed(int segmentId, int start, int end) {
+		ByteBuffer segment = segments[segmentId];
+		while (start < end && isSpace(segment.get(start))) {
+			start++;
+		}
+		while (end > start && isSpace(segment.get(end - 1))) {
+			end--;
+		}
+		return decode(segmentId, start, end - start);
+	}
+
+	/**
+	 * This operation decodes bytes of a segment.
+	 *
+	 * @param segmentId
+	 *            The index of the segment
+	 * @param start
+	 *            The position of the first byte
+	 * @param length
+	 *            The number of bytes
+	 * @return The text
+	 */
+	private String decode(int segmentId, int start, int length) {
+
+		// Local Declarations
+		ByteBuffer segment = segments[segmentId];
+		byte[] bytes = new byte[length];
+
+		// Copy them through a view so that threads do not share a position
+		if (segment.hasArray()) {
+			System.arraycopy(segment.array(), segment.arrayOffset() + start,
+					bytes, 0, length);
+		} else {
+			ByteBuffer view = segment.duplicate();
+			view.position(start);
+			view.get(bytes);
+		}
+
+		return new String(bytes, charset);
+	}
+
+	/**
+	 * This operation makes sure that a line exists.
+	 *
+	 * @param line
+	 *            The index of the line
+	 */
+	private void checkLine(int line) {
+		checkOpen();
+		if (line < 0 || line >= lineCount) {
+			throw new IndexOutOfBoundsException(
+					"Line " + line + " of " + lineCount);
+		}
+	}
+
+	/**
+	 * This operation makes sure that the scanner was not closed.
+	 */
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("The scanner is closed");
+		}
+	}
+
+	/**
+	 * This operation returns true if a byte is a space or a tab.
+	 *
+	 * @param b
+	 *            The byte
+	 * @return True if it is white space, false otherwise
+	 */
+	private static boolean isSpace(byte b) {
+		return b == ' ' || b == '\t';
+	}
+
+	/**
+	 * This operation releases a mapped buffer if the platform allows it. The
+	 * buffer must not be used afterwards.
+	 *
+	 * @param buffer
+	 *            The buffer
+	 */
+	private static void unmap(ByteBuffer buffer) {
+		if (unmapper == null || !buffer.isDirect()) {
+			return;
+		}
+		try {
+			if (unmapperTarget != null) {
+				unmapper.invoke(unmapperTarget, buffer);
+			} else {
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner != null) {
+					unmapper.invoke(cleaner);
+				}
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Leave it to the garbage collector
+		}
+	}
+
+	/**
+	 * This operation returns true if a charset encodes the ASCII characters as
+	 * single bytes with the same values and never uses those values in the
+	 * encoding of other characters.
+	 *
+	 * @param charset
+	 *            The charset
+	 * @return True if the bytes can be searched for ASCII delimiters
+	 */
+	private static boolean isAsciiCompatible(Charset charset) {
+		String name = charset.name();
+		return StandardCharsets.UTF_8.equals(charset)
+				|| StandardCharsets.US_ASCII.equals(charset)
+				|| StandardCharsets.ISO_8859_1.equals(charset)
+				|| name.startsWith("windows-125")
+				|| name.startsWith("ISO-8859-");
+	}
+}
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.serializable;
+
+import java.lang.reflect.Constructor;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExecutableExtension;
+
+/**
+ * This class holds a reader or a writer in the IOService and hands it out. It
+ * is either an instance that was given to the IOService, which is always
+ * returned, or an extension that is only created when it is first asked for.
+ *
+ * Extensions are either shared, so that one instance is created and returned
+ * every time, or created for each call, so that callers that change the state
+ * of their reader or writer or use it from several threads at once do not
+ * interfere with each other. After the first instance of a per-call extension
+ * is created, the next ones are created with the nullary constructor of its
+ * class unless it needs to be initialized by the extension registry.
+ *
+ * This class is thread-safe.
+ *
+ * @param <T>
+ *            The type of the reader or writer
+ */
+class IOExtension<T> {
+
+	/**
+	 * The value of the "instance" attribute of an extension that is created
+	 * for each call.
+	 */
+	static final String PER_CALL = "call";
+
+	/**
+	 * The interface that the extension implements.
+	 */
+	private final Class<T> serviceClass;
+
+	/**
+	 * The extension or null if the instance was given.
+	 */
+	private final IConfigurationElement element;
+
+	/**
+	 * True if an instance is created for each call, false if one is shared.
+	 */
+	private final boolean perCall;
+
+	/**
+	 * The shared instance or null if it has not been created.
+	 */
+	private volatile T instance;
+
+	/**
+	 * The constructor of per-call instances or null if they must be created by
+	 * the extension registry.
+	 */
+	private volatile Constructor<? extends T> constructor;
+
+	/**
+	 * The constructor for an instance that is always returned.
+	 *
+	 * @param instance
+	 *            The instance
+	 */
+	IOExtension(T instance) {
+		serviceClass = null;
+		element = null;
+		perCall = false;
+		this.instance = instance;
+	}
+
+	/**
+	 * The constructor for an extension.
+	 *
+	 * @param serviceClass
+	 *            The interface that the extension implements
+	 * @param element
+	 *            The extension
+	 * @param first
+	 *            An instance that was already created from the extension or
+	 *            null if none has been created
+	 */
+	IOExtension(Class<T> serviceClass, IConfigurationElement element, T first) {
+		this.serviceClass = serviceClass;
+		this.element = element;
+		perCall = PER_CALL.equals(element.getAttribute("instance"));
+		if (first != null) {
+			if (perCall) {
+				remember(first);
+			} else {
+				instance = first;
+			}
+		}
+	}
+
+	/**
+	 * This operation returns the reader or writer, creating it if needed.
+	 *
+	 * @return The shared instance or a new one
+	 * @throws CoreException
+	 *             An exception if the extension can not be created
+	 */
+	T get() throws CoreException {
+
+		// Local Declarations
+		T current = instance;
+
+		// Return the shared instance, creating it once
+		if (!perCall) {
+			if (current == null) {
+				synchronized (this) {
+					if (instance == null) {
+						instance = create();
+					}
+					current = instance;
+				}
+			}
+			return current;
+		}
+
+		// Otherwise create a new one
+		Constructor<? extends T> nullary = constructor;
+		if (nullary != null) {
+			try {
+				return nullary.newInstance();
+			} catch (ReflectiveOperationException e) {
+				// Fall back to the registry
+				constructor = null;
+			}
+		}
+		current = create();
+		remember(current);
+
+		return current;
+	}
+
+	/**
+	 * This operation creates an instance from the extension.
+	 *
+	 * @return The instance
+	 * @throws CoreException
+	 *             An exception if the extension can not be created
+	 */
+	private T create() throws CoreException {
+		return serviceClass.cast(element.createExecutableExtension("class"));
+	}
+
+	/**
+	 * This operation keeps the nullary constructor of the class of a per-call
+	 * instance if it can be used to create the next ones.
+	 *
+	 * @param created
+	 *            An instance that was created by the registry
+	 */
+	private void remember(T created) {
+
+		// Instances that the registry initializes can not be created directly
+		if (created instanceof IExecutableExtension) {
+			return;
+		}
+
+		try {
+			@SuppressWarnings("unchecked")
+			Class<? extends T> type = (Class<? extends T>) created.getClass();
+			constructor = type.getConstructor();
+		} catch (NoSuchMethodException | SecurityException e) {
+			constructor = null;
+		}
+
+		return;
+	}
+}
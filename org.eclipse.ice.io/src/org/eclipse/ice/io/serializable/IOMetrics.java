@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.serializable;
+
+import java.io.File;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
+
+/**
+ * This class records the number of bytes and the time that IReaders and
+ * IWriters spend on files in the shared MetricsRegistry. The metrics are
+ * labeled with the type of the reader or writer, for example
+ * <code>ice_io_read_bytes{type="CSV"}</code> and
+ * <code>ice_io_read{type="CSV"}</code>.
+ *
+ * Readers and writers call it themselves when they finish with a file because
+ * the IOService hands out the instances that it holds, which callers may cast
+ * to their real types.
+ *
+ */
+public class IOMetrics {
+
+	/**
+	 * This operation records that a reader read a file.
+	 *
+	 * @param readerType
+	 *            The type of the reader from getReaderType()
+	 * @param file
+	 *            The file
+	 * @param startNanos
+	 *            The time from System.nanoTime() when the read started
+	 */
+	public static void recordRead(String readerType, IFile file,
+			long startNanos) {
+		record("ice_io_read", readerType, toFile(file), startNanos);
+	}
+
+	/**
+	 * This operation records that a reader read a file that is not in the
+	 * workspace.
+	 *
+	 * @param readerType
+	 *            The type of the reader
+	 * @param file
+	 *            The file
+	 * @param startNanos
+	 *            The time from System.nanoTime() when the read started
+	 */
+	public static void recordRead(String readerType, File file,
+			long startNanos) {
+		record("ice_io_read", readerType, file, startNanos);
+	}
+
+	/**
+	 * This operation records that a writer wrote a file.
+	 *
+	 * @param writerType
+	 *            The type of the writer from getWriterType()
+	 * @param file
+	 *            The file
+	 * @param startNanos
+	 *            The time from System.nanoTime() when the write started
+	 */
+	public static void recordWrite(String writerType, IFile file,
+			long startNanos) {
+		record("ice_io_write", writerType, toFile(file), startNanos);
+	}
+
+	/**
+	 * This operation records that a writer wrote a file that is not in the
+	 * workspace.
+	 *
+	 * @param writerType
+	 *            The type of the writer
+	 * @param file
+	 *            The file
+	 * @param startNanos
+	 *            The time from System.nanoTime() when the write started
+	 */
+	public static void recordWrite(String writerType, File file,
+			long startNanos) {
+		record("ice_io_write", writerType, file, startNanos);
+	}
+
+	/**
+	 * This operation returns the file in the local file system that a
+	 * workspace file is stored in.
+	 *
+	 * @param file
+	 *            The workspace file
+	 * @return The local file or null if the file is null or not stored
+	 *         locally
+	 */
+	private static File toFile(IFile file) {
+
+		// Local Declarations
+		IPath location = (file != null) ? file.getLocation() : null;
+
+		return (location != null) ? location.toFile() : null;
+	}
+
+	/**
+	 * This operation records the time and the size of the file.
+	 *
+	 * @param name
+	 *            The name of the timer. The counter of bytes has the suffix
+	 *            "_bytes".
+	 * @param type
+	 *            The type of the reader or writer
+	 * @param file
+	 *            The file
+	 * @param startNanos
+	 *            The start time
+	 */
+	private static void record(String name, String type, File file,
+			long startNanos) {
+
+		// Local Declarations
+		MetricsRegistry registry = MetricsRegistry.getInstance();
+		String label = "{type=\"" + type + "\"}";
+
+		registry.timer(name + label).recordSince(startNanos);
+		if (file != null) {
+			registry.counter(name + "_bytes" + label).add(file.length());
+		}
+
+		return;
+	}
+}
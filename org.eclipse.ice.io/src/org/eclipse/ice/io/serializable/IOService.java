@@ -12,9 +12,15 @@
  *******************************************************************************/
 package org.eclipse.ice.io.serializable;
 
-import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.IExtensionRegistry;
+import org.eclipse.core.runtime.Platform;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +30,17 @@ import org.slf4j.LoggerFactory;
  * realization it receives, it loads it into an appropriate mapping that can be
  * queried later by clients of those IO services.
  * 
+ * IReaders and IWriters that are contributed through the
+ * org.eclipse.ice.io.reader and org.eclipse.ice.io.writer extension points are
+ * not created until they are first asked for if their extensions declare their
+ * type. Extensions that declare instance="call" are created again for each
+ * call to getReader() or getWriter(), so that readers and writers that keep
+ * state while they work can be used by many threads at once. All other
+ * readers and writers, including those that are added directly, are shared.
+ * 
+ * The mappings are concurrent, so the IOService may be used and added to from
+ * any thread.
+ * 
  * @author Alex McCaskey
  *
  */
@@ -39,49 +56,115 @@ public class IOService implements IIOService {
 	 * Reference to the mapping between IReader type Strings and the
 	 * corresponding IReader.
 	 */
-	private HashMap<String, IReader> readerMap;
+	private final Map<String, IOExtension<IReader>> readerMap;
 
 	/**
 	 * Reference to the mapping between IReader type Strings and the
 	 * corresponding IReader.
 	 */
-	private HashMap<String, ITemplatedReader> templatedReaderMap;
+	private final Map<String, IOExtension<ITemplatedReader>> templatedReaderMap;
 
 	/**
 	 * Reference to the mapping between IWriter type Strings and the
 	 * corresponding IWriter.
 	 */
-	private HashMap<String, IWriter> writerMap;
+	private final Map<String, IOExtension<IWriter>> writerMap;
 
 	/**
 	 * Reference to the mapping between ITemplatedWriter type Strings and the
 	 * corresponding ITemplatedWriter.
 	 */
-	private HashMap<String, ITemplatedWriter> templatedWriterMap;
+	private final Map<String, IOExtension<ITemplatedWriter>> templatedWriterMap;
 
 	/**
 	 * The constructor
 	 */
 	public IOService() {
 		// Initialize our containers
-		readerMap = new HashMap<String, IReader>();
-		templatedReaderMap = new HashMap<String, ITemplatedReader>();
-		writerMap = new HashMap<String, IWriter>();
-		templatedWriterMap = new HashMap<String, ITemplatedWriter>();
-
-		// Load all services available via extension points.
-		try {
-			for (IReader r : IReader.getIReaders()) {
-				addReader(r);
+		readerMap = new ConcurrentHashMap<String, IOExtension<IReader>>();
+		templatedReaderMap = new ConcurrentHashMap<String, IOExtension<ITemplatedReader>>();
+		writerMap = new ConcurrentHashMap<String, IOExtension<IWriter>>();
+		templatedWriterMap = new ConcurrentHashMap<String, IOExtension<ITemplatedWriter>>();
+
+		// Register the services available via extension points.
+		loadExtensions("org.eclipse.ice.io.reader", IReader.class, readerMap,
+				IReader::getReaderType);
+		loadExtensions("org.eclipse.ice.io.writer", IWriter.class, writerMap,
+				IWriter::getWriterType);
+	}
+
+	/**
+	 * This operation registers the extensions of an extension point. An
+	 * extension is only created now if it does not declare its type, which is
+	 * then found from the instance.
+	 * 
+	 * @param id
+	 *            The id of the extension point
+	 * @param serviceClass
+	 *            The interface of the extensions
+	 * @param map
+	 *            The mapping to which the extensions are added
+	 * @param typeOf
+	 *            The function that returns the type of an instance
+	 */
+	private <T> void loadExtensions(String id, Class<T> serviceClass,
+			Map<String, IOExtension<T>> map, Function<T, String> typeOf) {
+
+		// Local Declarations
+		IExtensionRegistry registry = Platform.getExtensionRegistry();
+		IExtensionPoint point = (registry != null)
+				? registry.getExtensionPoint(id) : null;
+
+		// Make sure the point is available
+		if (point == null) {
+			logger.error("Extension Point " + id + " does not exist");
+			return;
+		}
+
+		for (IConfigurationElement element : point.getConfigurationElements()) {
+			try {
+				String type = element.getAttribute("type");
+				T first = null;
+				// Create the extension now if its type is unknown
+				if (type == null || type.isEmpty()) {
+					first = serviceClass.cast(
+							element.createExecutableExtension("class"));
+					type = typeOf.apply(first);
+				}
+				map.put(type, new IOExtension<T>(serviceClass, element, first));
+			} catch (CoreException | ClassCastException e) {
+				logger.error("Error adding IReaders and IWriters to Item's "
+						+ "IOService.", e);
 			}
-			for (IWriter w : IWriter.getIWriters()) {
-				addWriter(w);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the reader or writer of a type from a mapping.
+	 * 
+	 * @param map
+	 *            The mapping
+	 * @param type
+	 *            The type
+	 * @return The reader or writer or null if there is none or it could not
+	 *         be created
+	 */
+	private <T> T get(Map<String, IOExtension<T>> map, String type) {
+
+		// Local Declarations
+		IOExtension<T> extension = (type != null) ? map.get(type) : null;
+
+		if (extension != null) {
+			try {
+				return extension.get();
+			} catch (CoreException | ClassCastException e) {
+				logger.error(getClass().getName() + " Exception!", e);
 			}
-		} catch (CoreException e) {
-			logger.error(
-					"Error adding IReaders and IWriters to Item's IOService.",
-					e);
 		}
+
+		return null;
 	}
 
 	/*
@@ -97,7 +180,8 @@ public class IOService implements IIOService {
 		if (reader != null) {
 			logger.info("[IOService Message] Adding " + reader.getReaderType()
 					+ " reader to the IOService Mapping.");
-			readerMap.put(reader.getReaderType(), reader);
+			readerMap.put(reader.getReaderType(),
+					new IOExtension<IReader>(reader));
 		}
 
 		return;
@@ -118,7 +202,7 @@ public class IOService implements IIOService {
 					+ templatedReader.getReaderType()
 					+ " templated reader to the IOService Mapping.");
 			templatedReaderMap.put(templatedReader.getReaderType(),
-					templatedReader);
+					new IOExtension<ITemplatedReader>(templatedReader));
 		}
 
 		return;
@@ -137,7 +221,8 @@ public class IOService implements IIOService {
 		if (writer != null) {
 			logger.info("[IOService Message] Adding " + writer.getWriterType()
 					+ " writer to the IOService Mapping.");
-			writerMap.put(writer.getWriterType(), writer);
+			writerMap.put(writer.getWriterType(),
+					new IOExtension<IWriter>(writer));
 		}
 	}
 
@@ -154,7 +239,8 @@ public class IOService implements IIOService {
 		if (writer != null) {
 			logger.info("[IOService Message] Adding " + writer.getWriterType()
 					+ " templated writer to the IOService Mapping.");
-			templatedWriterMap.put(writer.getWriterType(), writer);
+			templatedWriterMap.put(writer.getWriterType(),
+					new IOExtension<ITemplatedWriter>(writer));
 		}
 	}
 
@@ -167,12 +253,8 @@ public class IOService implements IIOService {
 	@Override
 	public IReader getReader(String readerType) {
 
-		// Make sure we have this Reader and if so return it
-		if (readerMap.containsKey(readerType)) {
-			return readerMap.get(readerType);
-		}
-
-		return null;
+		// Return this Reader if we have it
+		return get(readerMap, readerType);
 	}
 
 	/*
@@ -185,12 +267,8 @@ public class IOService implements IIOService {
 	@Override
 	public ITemplatedReader getTemplatedReader(String readerType) {
 
-		// Make sure we have this Reader and if so return it
-		if (templatedReaderMap.containsKey(readerType)) {
-			return templatedReaderMap.get(readerType);
-		}
-
-		return null;
+		// Return this Reader if we have it
+		return get(templatedReaderMap, readerType);
 	}
 
 	/*
@@ -202,12 +280,8 @@ public class IOService implements IIOService {
 	@Override
 	public IWriter getWriter(String writerType) {
 
-		// Make sure we have this Writer and if so return it
-		if (writerMap.containsKey(writerType)) {
-			return writerMap.get(writerType);
-		}
-
-		return null;
+		// Return this Writer if we have it
+		return get(writerMap, writerType);
 	}
 
 	/*
@@ -220,12 +294,8 @@ public class IOService implements IIOService {
 	@Override
 	public ITemplatedWriter getTemplatedWriter(String writerType) {
 
-		// Make sure we have this Writer and if so return it
-		if (templatedWriterMap.containsKey(writerType)) {
-			return templatedWriterMap.get(writerType);
-		}
-
-		return null;
+		// Return this Writer if we have it
+		return get(templatedWriterMap, writerType);
 	}
 
 	/*
@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.io.serializable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * This class replaces text in the lines of a file for IWriter.replace(). It
+ * holds any number of regular expressions and their replacements, which are
+ * compiled once and applied to each line in one pass over the file.
+ *
+ * A regular expression is applied to a line if the whole line matches it or
+ * if the line contains the expression as plain text. All of its matches in the
+ * line are then replaced as they would be by String.replaceAll(). The
+ * replacements are applied in the order in which they were added. The end of
+ * each line is kept as it was.
+ *
+ * Local files are read and written in blocks. The new contents are written to
+ * a temporary file next to the file, which is then given the permissions and
+ * owners of the file and moved over it, so the file is never left half
+ * written. Symbolic links are followed and the file they point to is
+ * replaced. Files that do not change are not written.
+ *
+ * Instances are not thread-safe.
+ *
+ */
+public class LineReplacer {
+
+	/**
+	 * The number of characters that are read at once.
+	 */
+	private static final int BLOCK_SIZE = 65536;
+
+	/**
+	 * The matchers of the regular expressions.
+	 */
+	private final ArrayList<Matcher> matchers = new ArrayList<Matcher>();
+
+	/**
+	 * The regular expressions as they were given.
+	 */
+	private final ArrayList<String> regexes = new ArrayList<String>();
+
+	/**
+	 * The replacements of the regular expressions.
+	 */
+	private final ArrayList<String> values = new ArrayList<String>();
+
+	/**
+	 * The nullary constructor.
+	 */
+	public LineReplacer() {
+		return;
+	}
+
+	/**
+	 * The constructor with one replacement.
+	 *
+	 * @param regex
+	 *            The regular expression
+	 * @param value
+	 *            The replacement, which may refer to groups as in
+	 *            String.replaceAll()
+	 */
+	public LineReplacer(String regex, String value) {
+		add(regex, value);
+	}
+
+	/**
+	 * This operation adds a replacement.
+	 *
+	 * @param regex
+	 *            The regular expression
+	 * @param value
+	 *            The replacement, which may refer to groups as in
+	 *            String.replaceAll()
+	 * @return This replacer
+	 * @throws java.util.regex.PatternSyntaxException
+	 *             An exception if the expression is not valid
+	 */
+	public LineReplacer add(String regex, String value) {
+		matchers.add(Pattern.compile(regex).matcher(""));
+		regexes.add(regex);
+		values.add(value);
+		return this;
+	}
+
+	/**
+	 * This operation applies the replacements to a line.
+	 *
+	 * @param line
+	 *            The line without its end of line characters
+	 * @return The new line, which is the same instance if nothing was replaced
+	 */
+	public String apply(String line) {
+		for (int i = 0; i < matchers.size(); i++) {
+			Matcher matcher = matchers.get(i).reset(line);
+			if (matcher.matches() || line.contains(regexes.get(i))) {
+				String replaced = matcher.replaceAll(values.get(i));
+				if (!replaced.equals(line)) {
+					line = replaced;
+				}
+			}
+		}
+		return line;
+	}
+
+	/**
+	 * This operation applies the replacements to a workspace file. Local files
+	 * are replaced on disk and then refreshed. The contents of other files are
+	 * set through the workspace.
+	 *
+	 * @param file
+	 *            The file
+	 * @return The number of lines that changed
+	 * @throws IOException
+	 *             An exception if the file can not be read or written
+	 */
+	public int replace(IFile file) throws IOException {
+
+		// Local Declarations
+		Charset charset = StandardCharsets.UTF_8;
+		IPath location = file.getLocation();
+		int changed;
+
+		try {
+			charset = Charset.forName(file.getCharset());
+		} catch (CoreException | IllegalArgumentException e) {
+			// Keep the default if the charset is not known
+		}
+
+		try {
+			// Replace local files directly
+			if (location != null && location.toFile().isFile()) {
+				changed = replace(location.toFile(), charset);
+				if (changed > 0) {
+					file.refreshLocal(IResource.DEPTH_ZERO,
+							new NullProgressMonitor());
+				}
+				return changed;
+			}
+
+			// Otherwise go through the workspace
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (Reader reader = new InputStreamReader(file.getContents(),
+					charset);
+					Writer writer = new OutputStreamWriter(bytes, charset)) {
+				changed = copy(reader, writer);
+			}
+			if (changed > 0) {
+				try (InputStream stream = new ByteArrayInputStream(
+						bytes.toByteArray())) {
+					file.setContents(stream, true, true,
+							new NullProgressMonitor());
+				}
+			}
+		} catch (CoreException e) {
+			throw new IOException(e);
+		}
+
+		return changed;
+	}
+
+	/**
+	 * This operation applies the replacements to a file on disk.
+	 *
+	 * @param file
+	 *            The file
+	 * @param charset
+	 *            The charset of the file or null for UTF-8
+	 * @return The number of lines that changed
+	 * @throws IOException
+	 *             An exception if the file can not be read or written
+	 */
+	public int replace(File file, Charset charset) throws IOException {
+
+		// Local Declarations
+		Path path = file.toPath().toRealPath();
+		Path temp = Files.createTempFile(path.getParent(),
+				"." + path.getFileName(), ".tmp");
+		Charset fileCharset = (charset != null) ? charset
+				: StandardCharsets.UTF_8;
+		int changed = 0;
+
+		try {
+			// Write the new contents next to the file
+			try (Reader reader = Files.newBufferedReader(path, fileCharset);
+					Writer writer = Files.newBufferedWriter(temp,
+							fileCharset)) {
+				changed = copy(reader, writer);
+			}
+			// Move them over it if anything changed
+			if (changed > 0) {
+				copyAttributes(path, temp);
+				try {
+					Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE,
+							StandardCopyOption.REPLACE_EXISTING);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, path,
+							StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+
+		return changed;
+	}
+
+	/**
+	 * This operation gives a file the permissions, owner, group and access
+	 * control list of another file where the file system supports them. The
+	 * owner is only kept if the user is allowed to change it.
+	 *
+	 * @param source
+	 *            The file to copy the attributes from
+	 * @param target
+	 *            The file to copy the attributes to
+	 * @throws IOException
+	 *             An exception if the attributes can not be read or set
+	 */
+	private void copyAttributes(Path source, Path target) throws IOException {
+
+		// Local Declarations
+		PosixFileAttributeView posixView = Files.getFileAttributeView(target,
+				PosixFileAttributeView.class);
+		AclFileAttributeView aclView = Files.getFileAttributeView(target,
+				AclFileAttributeView.class);
+
+		if (posixView != null) {
+			PosixFileAttributes attributes = Files.readAttributes(source,
+					PosixFileAttributes.class);
+			posixView.setPermissions(attributes.permissions());
+			try {
+				posixView.setGroup(attributes.group());
+				posixView.setOwner(attributes.owner());
+			} catch (IOException e) {
+				// Only the owner of the file or root may change them
+			}
+		} else if (aclView != null) {
+			aclView.setAcl(Files.getFileAttributeView(source,
+					AclFileAttributeView.class).getAcl());
+			try {
+				aclView.setOwner(Files.getOwner(source));
+			} catch (IOException e) {
+				// Only privileged users may change the owner
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation copies text from a reader to a writer one line at a time
+	 * and applies the replacements to each line.
+	 *
+	 * @param reader
+	 *            The reader
+	 * @param writer
+	 *            The writer
+	 * @return The number of lines that changed
+	 * @throws IOException
+	 *             An exception if the text can not be read or written
+	 */
+	private int copy(Reader reader, Writer writer) throws IOException {
+
+		// Local Declarations
+		char[] block = new char[BLOCK_SIZE];
+		StringBuilder line = new StringBuilder();
+		int changed = 0;
+		int read;
+
+		while ((read = reader.read(block)) != -1) {
+			int start = 0;
+			for (int i = 0; i < read; i++) {
+				if (block[i] == '\n') {
+					// Finish the line and write it with its end
+					line.append(block, start, i - start);
+					boolean crlf = line.length() > 0
+							&& line.charAt(line.length() - 1) == '\r';
+					if (crlf) {
+						line.setLength(line.length() - 1);
+					}
+					changed += write(line.toString(), writer);
+					writer.write(crlf ? "\r\n" : "\n");
+					line.setLength(0);
+					start = i + 1;
+				}
+			}
+			line.append(block, start, read - start);
+		}
+
+		// Write the last line if it does not have an end
+		if (line.length() > 0) {
+			changed += write(line.toString(), writer);
+		}
+
+		return changed;
+	}
+
+	/**
+	 * This operation applies the replacements to a line and writes it.
+	 *
+	 * @param line
+	 *            The line
+	 * @param writer
+	 *            The writer
+	 * @return 1 if the line changed, 0 otherwise
+	 * @throws IOException
+	 *             An exception if the line can not be written
+	 */
+	private int write(String line, Writer writer) throws IOException {
+		String replaced = apply(line);
+		writer.write(replaced);
+		return (replaced == line) ? 0 : 1;
+	}
+}
@@ -14,6 +14,8 @@ package org.eclipse.ice.item.test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -198,4 +200,51 @@ public class SerializedItemBuilderTester {
 		return;
 
 	}
+
+	/**
+	 * This operation checks that getBuilder() parses the contents of a stream
+	 * once and returns the same builder for the same contents, and that only
+	 * the builders that were used last are kept.
+	 * 
+	 * @throws IOException
+	 */
+	@Test
+	public void checkBuilderCache() throws IOException {
+
+		// Local Declarations
+		String psf = "formName=Cached Form\nformDescription=A cached Form\n"
+				+ "formType=Model\n\ngroup=Assembly\n"
+				+ "groupDescription=The assembly\n\nname=Number of Pins\n"
+				+ "description=The number of pins\ndefaultValue=289\n"
+				+ "allowedValueType=Discrete\nallowedValue=196\n"
+				+ "allowedValue=289\ntag=numberOfPins\ngroup=Assembly\n";
+
+		// The same contents should give the same builder
+		SerializedItemBuilder builder = SerializedItemBuilder.getBuilder(
+				new ByteArrayInputStream(psf.getBytes()));
+		assertEquals("Cached Form", builder.getItemName());
+		assertEquals(ItemType.Model, builder.getItemType());
+		assertSame(builder, SerializedItemBuilder.getBuilder(
+				new ByteArrayInputStream(psf.getBytes())));
+
+		// Items built from it should still be copies
+		assertNotSame(builder.build(null), builder.build(null));
+
+		// Different contents should give a different builder
+		SerializedItemBuilder otherBuilder = SerializedItemBuilder.getBuilder(
+				new ByteArrayInputStream(psf.replace("Cached Form", "Other Form")
+						.getBytes()));
+		assertNotSame(builder, otherBuilder);
+		assertEquals("Other Form", otherBuilder.getItemName());
+
+		// Loading more files than are kept should drop the oldest builder
+		for (int i = 0; i < SerializedItemBuilder.CACHE_SIZE; i++) {
+			SerializedItemBuilder.getBuilder(new ByteArrayInputStream(psf
+					.replace("Cached Form", "Form " + i).getBytes()));
+		}
+		assertNotSame(builder, SerializedItemBuilder.getBuilder(
+				new ByteArrayInputStream(psf.getBytes())));
+
+		return;
+	}
 }
\ No newline at end of file
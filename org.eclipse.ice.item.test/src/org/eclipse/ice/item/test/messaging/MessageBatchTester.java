@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.item.test.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.ice.item.messaging.Message;
+import org.eclipse.ice.item.messaging.MessageBatch;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the MessageBatch class.
+ *
+ */
+public class MessageBatchTester {
+
+	/**
+	 * This operation checks that batches can be encoded and decoded into the
+	 * same Messages that the ICE Updater posts for single values.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkRoundTrip() throws IOException {
+
+		// Create a batch
+		MessageBatch batch = new MessageBatch(7);
+		batch.add("temperature", 0.5, 300.25);
+		batch.add("pressure", 0.5, 1.0e5);
+		assertEquals(2, batch.size());
+
+		// Decode it and check the Messages
+		List<Message> messages = MessageBatch.decode(batch.toBytes());
+		assertEquals(2, messages.size());
+		for (Message message : messages) {
+			assertEquals(7, message.getItemId());
+			assertEquals(MessageBatch.POSTED_TYPE, message.getType());
+		}
+		assertEquals("temperature:0.5:300.25", messages.get(0).getMessage());
+		assertEquals("pressure:0.5:100000.0", messages.get(1).getMessage());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that invalid batches are rejected.
+	 */
+	@Test
+	public void checkInvalidBatches() {
+
+		// A truncated batch should fail
+		MessageBatch batch = new MessageBatch(1);
+		batch.add("temperature", 0.5, 300.25);
+		byte[] bytes = batch.toBytes();
+		byte[][] invalidBatches = { null, new byte[4],
+				Arrays.copyOf(bytes, bytes.length - 1) };
+		for (byte[] invalidBatch : invalidBatches) {
+			try {
+				MessageBatch.decode(invalidBatch);
+				fail();
+			} catch (IOException e) {
+				// This is expected
+			}
+		}
+
+		return;
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.item.test.nuclear;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.ice.item.nuclear.PostprocessorBuffer;
+import org.eclipse.ice.item.nuclear.PostprocessorSeries;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the PostprocessorBuffer and
+ * PostprocessorSeries classes.
+ *
+ */
+public class PostprocessorBufferTester {
+
+	/**
+	 * This operation checks that series can be read incrementally across the
+	 * boundaries between chunks.
+	 */
+	@Test
+	public void checkSeries() {
+
+		// Fill more than two chunks
+		PostprocessorSeries series = new PostprocessorSeries("temperature");
+		int size = 2 * PostprocessorSeries.CHUNK_SIZE + 10;
+		for (int i = 0; i < size; i++) {
+			series.add(i, 2.0 * i);
+		}
+		assertEquals(size, series.size());
+
+		// Read a slice that crosses a chunk boundary
+		double[] times = new double[100];
+		double[] values = new double[100];
+		int from = PostprocessorSeries.CHUNK_SIZE - 50;
+		assertEquals(100, series.read(from, times, values));
+		for (int i = 0; i < 100; i++) {
+			assertEquals(from + i, times[i], 0.0);
+			assertEquals(2.0 * (from + i), values[i], 0.0);
+		}
+
+		// Reading at the end should only return what is left
+		assertEquals(10, series.read(size - 10, times, values));
+		assertEquals(0, series.read(size, times, values));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the buffer keeps the series and writes only
+	 * the new values to the sink in each flush.
+	 */
+	@Test
+	public void checkFlush() {
+
+		// Create a buffer that records what it writes
+		final List<Map<String, String>> writes = new ArrayList<Map<String, String>>();
+		PostprocessorBuffer buffer = new PostprocessorBuffer(
+				chunks -> writes.add(chunks));
+
+		// Add some values and flush them
+		buffer.add("temperature", 0.0, 300.0);
+		buffer.add("pressure", 0.0, 1.0);
+		buffer.add("temperature", 1.0, 310.0);
+		buffer.flush();
+		assertEquals(1, writes.size());
+		assertEquals("0.0,300.0\n1.0,310.0\n",
+				writes.get(0).get("temperature"));
+		assertEquals("0.0,1.0\n", writes.get(0).get("pressure"));
+
+		// Only new values should be written by the next flush
+		buffer.add("temperature", 2.0, 320.0);
+		buffer.flush();
+		assertEquals(2, writes.size());
+		assertEquals(1, writes.get(1).size());
+		assertEquals("2.0,320.0\n", writes.get(1).get("temperature"));
+
+		// The series should have everything
+		assertEquals(3, buffer.getSeries("temperature").size());
+		assertEquals(2, buffer.getNames().size());
+
+		// Clearing the buffer discards the series
+		buffer.clear();
+		assertNull(buffer.getSeries("temperature"));
+		assertTrue(buffer.getNames().isEmpty());
+
+		return;
+	}
+}
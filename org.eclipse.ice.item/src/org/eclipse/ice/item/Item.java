@@ -28,6 +28,7 @@ import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
 
 import javax.xml.bind.annotation.XmlAnyElement;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -1006,6 +1007,20 @@ public class Item
 
 	}
 
+	/**
+	 * This operation returns true if the action is a batch action, such as a
+	 * job launch, that may run for a long time. The Core runs batch actions
+	 * after any interactive requests that are waiting. Subclasses that launch
+	 * jobs should override it. By default, no actions are batch actions.
+	 *
+	 * @param actionName
+	 *            The name of the action
+	 * @return True if the action is a batch action, false otherwise
+	 */
+	public boolean isBatchAction(String actionName) {
+		return false;
+	}
+
 	/**
 	 * This operation cancels all processes with the specified name.
 	 * 
@@ -1343,22 +1358,16 @@ public class Item
 			}
 			// Just forward the load to the Form, which is always a
 			// PainfullySimpleForm in this class.
-			((PainfullySimpleForm) form).loadFromPSF(inputLines);
+			PainfullySimpleForm psfForm = (PainfullySimpleForm) form;
+			psfForm.loadFromPSF(inputLines);
 			// Setup the Entry list and register dependencies
 			setupEntryList();
 			// Set the Item name and description
 			setName(form.getName());
 			setDescription(form.getDescription());
-			// Get the ItemType - just a linear search for now
-			for (String i : inputLines) {
-				if (i.startsWith("formType=")) {
-					// Clear out comments
-					String[] typeStringWithoutComments = i.split("\\s+");
-					// Split on equals and parse the type
-					itemType = ItemType.valueOf(
-							typeStringWithoutComments[0].split("=")[1].trim());
-					break;
-				}
+			// Get the ItemType, which the Form found while it was parsed
+			if (psfForm.getFormType() != null) {
+				itemType = ItemType.valueOf(psfForm.getFormType());
 			}
 		} else {
 			throw new IOException(
@@ -2028,6 +2037,31 @@ public class Item
 		return true;
 	}
 
+	/**
+	 * This operation updates the Item with a batch of Messages that were
+	 * posted together, such as all of the postprocessor values for a single
+	 * time step of a simulation.
+	 * 
+	 * The base class simply passes each Message to update(Message). Subclasses
+	 * that receive many Messages at once should override this operation to
+	 * handle them together.
+	 * 
+	 * @param messages
+	 *            The incoming Messages, in the order they were posted.
+	 * @return True if the Item was able to respond to every Message, false
+	 *         otherwise.
+	 */
+	public boolean update(List<Message> messages) {
+
+		boolean retVal = true;
+
+		for (Message msg : messages) {
+			retVal &= update(msg);
+		}
+
+		return retVal;
+	}
+
 	/**
 	 * This operation sets the Item's builderName. This operation can only be
 	 * called once. Although this operation is public, it should only be called
@@ -12,15 +12,16 @@
  *******************************************************************************/
 package org.eclipse.ice.item;
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.io.StringWriter;
-import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.bind.JAXBException;
 
@@ -43,6 +44,11 @@ import org.slf4j.LoggerFactory;
  * It attempts to close the input stream after loading the SerializedItem.
  * </p>
  * <p>
+ * Builders that are created with getBuilder() are cached by the hash of the
+ * contents of their streams so that the same file is only parsed once. Only
+ * the {@link #CACHE_SIZE} builders that were used last are kept.
+ * </p>
+ * <p>
  * The Item Builder name of the Item is set to the name of the Item in file and
  * the SerializedItemBuilder will return the same name by calling getItemName().
  * </p>
@@ -81,6 +87,26 @@ public class SerializedItemBuilder implements ItemBuilder {
 	 */
 	private Item originalItem;
 
+	/**
+	 * The largest number of builders that are kept by getBuilder().
+	 */
+	public static final int CACHE_SIZE = 32;
+
+	/**
+	 * The builders that were used last by getBuilder(), keyed by the hash of
+	 * the contents of their files. It must be locked to be used.
+	 */
+	private static final Map<String, SerializedItemBuilder> builderCache = new LinkedHashMap<String, SerializedItemBuilder>(
+			CACHE_SIZE, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(
+				Map.Entry<String, SerializedItemBuilder> eldest) {
+			return size() > CACHE_SIZE;
+		}
+	};
+
 	/**
 	 * <p>
 	 * The constructor. SerializedItemBuilders must be initialized with an
@@ -99,47 +125,37 @@ public class SerializedItemBuilder implements ItemBuilder {
 	 * @throws IOException
 	 */
 	public SerializedItemBuilder(InputStream inputStream) throws IOException {
+		this(readContents(inputStream));
+	}
+
+	/**
+	 * This constructor builds the template SerializedItem from the contents of
+	 * a Painfully Simple Form file or an XML file. XML is only tried if the
+	 * contents start with a tag, so PSF files are parsed directly.
+	 *
+	 * @param contents
+	 *            The bytes of the file
+	 * @throws IOException
+	 */
+	private SerializedItemBuilder(byte[] contents) throws IOException {
 
 		// Local Declarations
-		int numChars = 0;
 		ByteArrayInputStream itemReadStream = null;
-		char[] buffer = null;
-		Writer writer = null;
-		Reader reader = null;
 		ICEJAXBHandler xmlMarshaller = new ICEJAXBHandler();
-		boolean tryAgain = false;
+		String text = new String(contents, StandardCharsets.UTF_8);
+		boolean tryAgain = !isXML(text);
 		ArrayList<Class> classList = new ArrayList<Class>();
 
-		// The input stream should be legit
-		if (inputStream != null) {
-
-			// Instantiate the template SerializedItem
-			originalItem = new Item(null);
-
-			// Get the bytes from the InputStream, put it into a new stream and
-			// close the original. We're doing this in case we have to read it
-			// twice.
-			writer = new StringWriter();
-			buffer = new char[1024];
-			try {
-				// Setup the reader
-				reader = new BufferedReader(new InputStreamReader(inputStream,
-						"UTF-8"));
-				// Load the bytes into the writer
-				while ((numChars = reader.read(buffer)) != -1) {
-					writer.write(buffer, 0, numChars);
-				}
-			} finally {
-				// Close the original stream
-				inputStream.close();
-			}
+		// Instantiate the template SerializedItem
+		originalItem = new Item(null);
 
-			// Read an input stream from the writer
-			itemReadStream = new ByteArrayInputStream(writer.toString()
-					.getBytes());
+		// Read an input stream from the contents. We're doing this in case we
+		// have to read it more than once.
+		itemReadStream = new ByteArrayInputStream(text.getBytes());
 
-			// Start by trying load the Item as a JobLauncher. Catch any
-			// exceptions so that we can try again.
+		// Start by trying load the Item as a JobLauncher. Catch any
+		// exceptions so that we can try again.
+		if (!tryAgain) {
 			try {
 				classList.add(JobLauncher.class);
 				originalItem = (Item) xmlMarshaller.read(classList,
@@ -172,38 +188,158 @@ public class SerializedItemBuilder implements ItemBuilder {
 					tryAgain = true;
 				}
 			}
+		}
 
-			// If that failed, try loading it as a PSF. Don't catch the
-			// exception because if it fails this time, we want it to fail
-			// permanently because it is a real error.
-			if (tryAgain) {
-				// Reset the stream
-				itemReadStream.reset();
-				try {
-					originalItem.loadFromPSF(itemReadStream);
-				} catch (IOException e) {
-					throw new IOException("SerializedBuilder Error:"
-							+ " Unable to load the serialized "
-							+ "Item. It is not of the proper "
-							+ "form for a serialized XML Item "
-							+ "or a serialized PSF Item.");
+		// If that failed or it is not XML, try loading it as a PSF. Don't
+		// catch the exception because if it fails this time, we want it to
+		// fail permanently because it is a real error.
+		if (tryAgain) {
+			// Reset the stream
+			itemReadStream.reset();
+			try {
+				originalItem.loadFromPSF(itemReadStream);
+			} catch (IOException e) {
+				throw new IOException("SerializedBuilder Error:"
+						+ " Unable to load the serialized "
+						+ "Item. It is not of the proper "
+						+ "form for a serialized XML Item "
+						+ "or a serialized PSF Item.");
+			}
+		}
+
+		// Close the second stream
+		itemReadStream.close();
+
+		// Set the name and type
+		name = originalItem.getName();
+		type = originalItem.getItemType();
+
+		return;
+
+	}
+
+	/**
+	 * This operation returns a SerializedItemBuilder for the contents of a
+	 * stream, like the constructor. Builders are cached by a hash of the
+	 * contents of the stream, so a file that has been loaded recently is not
+	 * parsed again. Since build() copies the template Item, the same builder
+	 * can be shared.
+	 *
+	 * @param inputStream
+	 *            The InputStream from which the SerializedItemBuilder should
+	 *            build the SerializedItem. It is closed.
+	 * @return The builder
+	 * @throws IOException
+	 */
+	public static SerializedItemBuilder getBuilder(InputStream inputStream)
+			throws IOException {
+
+		// Local Declarations
+		byte[] contents = readContents(inputStream);
+		String hash = hash(contents);
+		SerializedItemBuilder builder;
+		synchronized (builderCache) {
+			builder = builderCache.get(hash);
+		}
+
+		// Load the builder if it has not been loaded recently
+		if (builder == null) {
+			builder = new SerializedItemBuilder(contents);
+			synchronized (builderCache) {
+				SerializedItemBuilder cached = builderCache.get(hash);
+				if (cached != null) {
+					builder = cached;
+				} else {
+					builderCache.put(hash, builder);
 				}
 			}
+		}
 
-			// Close the second stream
-			itemReadStream.close();
+		return builder;
+	}
+
+	/**
+	 * This operation reads all of the bytes from the InputStream and closes it.
+	 *
+	 * @param inputStream
+	 *            The stream
+	 * @return The bytes
+	 * @throws IOException
+	 *             An exception if the stream is null or can not be read
+	 */
+	private static byte[] readContents(InputStream inputStream)
+			throws IOException {
 
-			// Set the name and type
-			name = originalItem.getName();
-			type = originalItem.getItemType();
+		// Local Declarations
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int numBytes = 0;
 
-		} else {
+		// The input stream should be legit
+		if (inputStream == null) {
 			throw new IOException("SerializedBuilder Error: Items can not be "
 					+ "created from null input streams! Make sure the file "
 					+ "exists in the data directory and re-load ICE.");
 		}
-		return;
 
+		try {
+			while ((numBytes = inputStream.read(buffer)) != -1) {
+				out.write(buffer, 0, numBytes);
+			}
+		} finally {
+			// Close the original stream
+			inputStream.close();
+		}
+
+		return out.toByteArray();
+	}
+
+	/**
+	 * This operation computes the SHA-256 hash of the contents of a file.
+	 *
+	 * @param contents
+	 *            The contents
+	 * @return The hash in hex
+	 */
+	private static String hash(byte[] contents) {
+
+		// Local Declarations
+		byte[] digest;
+		StringBuilder hex = new StringBuilder();
+
+		try {
+			digest = MessageDigest.getInstance("SHA-256").digest(contents);
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform has SHA-256, so this should never happen
+			throw new IllegalStateException(e);
+		}
+		for (byte b : digest) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16))
+					.append(Character.forDigit(b & 0xf, 16));
+		}
+
+		return hex.toString();
+	}
+
+	/**
+	 * This operation returns true if the contents of a file look like XML,
+	 * meaning that the first character that is not whitespace or a byte order
+	 * mark starts a tag.
+	 *
+	 * @param text
+	 *            The contents
+	 * @return True if the contents may be XML, false if they can not be
+	 */
+	private static boolean isXML(String text) {
+
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (!Character.isWhitespace(c) && c != '\uFEFF') {
+				return c == '<';
+			}
+		}
+
+		return false;
 	}
 
 	/**
@@ -45,6 +45,7 @@ import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
 import org.eclipse.remote.core.IRemoteConnection;
 import org.eclipse.remote.core.IRemoteConnectionHostService;
 import org.eclipse.remote.core.IRemoteConnectionType;
@@ -334,6 +335,21 @@ import org.eclipse.remote.core.exception.RemoteConnectionException;
  */
 public class JobLaunchAction extends Action implements Runnable {
 
+	/**
+	 * The time it takes to set up the launch folder and copy the files.
+	 */
+	private static final MetricsRegistry.Timer setupTimer = getStageTimer("setup");
+
+	/**
+	 * The time it takes to run each stage of a local job.
+	 */
+	private static final MetricsRegistry.Timer localStageTimer = getStageTimer("local");
+
+	/**
+	 * The time it takes to launch and run a remote job.
+	 */
+	private static final MetricsRegistry.Timer remoteTimer = getStageTimer("remote");
+
 	/**
 	 * The username with which to log into the remote system.
 	 */
@@ -703,8 +719,10 @@ public class JobLaunchAction extends Action implements Runnable {
 				break;
 			}
 			// Launch the current stage of the job
+			long stageStart = System.nanoTime();
 			launchStatus = launchStageLocally(splitCMD.get(i), stdOut, stdErr);
 			monitorJob();
+			localStageTimer.recordSince(stageStart);
 			if (launchStatus.equals(FormStatus.InfoError)) {
 				// Look for abnormal launches
 				// // Look for still running jobs and watch them
@@ -1376,6 +1394,7 @@ public class JobLaunchAction extends Action implements Runnable {
 		String executable = null, inputFile = null, hostname = null;
 		String stdOutFileName = null, stdErrFileName = null;
 		String stdOutHeader = null, stdErrHeader = null;
+		long start = System.nanoTime();
 
 		// Make sure the dictionary exists
 		if (execDictionary != null) {
@@ -1444,6 +1463,7 @@ public class JobLaunchAction extends Action implements Runnable {
 			status = FormStatus.InfoError;
 			return;
 		}
+		setupTimer.recordSince(start);
 
 		// Determine where to launch
 		if (isLocal.get()) {
@@ -1451,7 +1471,9 @@ public class JobLaunchAction extends Action implements Runnable {
 			launchLocally();
 		} else {
 			// Launch on a remote machine
+			long remoteStart = System.nanoTime();
 			launchRemotely();
+			remoteTimer.recordSince(remoteStart);
 		}
 
 		// Close the both output streams now that the work is done.
@@ -1468,6 +1490,17 @@ public class JobLaunchAction extends Action implements Runnable {
 		return;
 	}
 
+	/**
+	 * This operation returns the timer of a stage of job launches.
+	 *
+	 * @param stage
+	 *            The name of the stage
+	 * @return The timer
+	 */
+	private static MetricsRegistry.Timer getStageTimer(String stage) {
+		return MetricsRegistry.getInstance().timer("ice_job_launch_stage{stage=\"" + stage + "\"}");
+	}
+
 	/**
 	 * This operation creates a standard header that contains information about
 	 * the job being launched. It is used primarily by the run() operation.
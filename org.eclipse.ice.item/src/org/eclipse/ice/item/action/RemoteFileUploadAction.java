@@ -21,7 +21,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
@@ -29,6 +28,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.FormStatus;
@@ -386,16 +386,15 @@ public class RemoteFileUploadAction extends RemoteAction {
 		// Create new JAXB class context and unmarshaller
 		JAXBContext context = null;
 		try {
-			context = JAXBContext.newInstance(classList.toArray(classArray));
+			context = ICEJAXBContextCache.getContext(classList.toArray(classArray));
 		} catch (JAXBException e1) {
 			actionError("Remote File Upload could not get JAXBContext.", e1);
 		}
 
 		try {
-			// Create the unmarshaller and load the item
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			comp = (T) unmarshaller
-					.unmarshal(new ByteArrayInputStream(xmlForm.getBytes()));
+			// Load the item with a pooled unmarshaller
+			comp = (T) ICEJAXBContextCache.unmarshal(context,
+					new ByteArrayInputStream(xmlForm.getBytes()));
 		} catch (JAXBException e) {
 			// Complain
 			actionError("Remote File Upload error in unmarshalling XML data.",
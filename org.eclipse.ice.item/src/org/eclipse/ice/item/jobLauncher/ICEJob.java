@@ -20,6 +20,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.ice.datastructures.form.FormStatus;
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
 import org.eclipse.ice.item.action.Action;
 import org.eclipse.remote.core.IRemoteConnection;
 import org.eclipse.remote.core.IRemoteConnectionType;
@@ -110,6 +111,7 @@ public class ICEJob extends Job {
 			monitor.subTask("Executing " + currentlyRunningAction.getActionName() + "...");
 
 			// Execute the Action
+			long start = System.nanoTime();
 			FormStatus tempStatus = currentlyRunningAction.execute(actionDataMap);
 
 			// If the Action returned with an InfoError status,
@@ -138,6 +140,10 @@ public class ICEJob extends Job {
 				tempStatus = currentlyRunningAction.getStatus();
 			}
 
+			// Record how long the Action took
+			MetricsRegistry.getInstance().timer("ice_job_action{action=\""
+					+ action.getActionName() + "\"}").recordSince(start);
+
 			// Increment the worked ticker
 			worked += ticks / actions.size();
 			monitor.worked(worked);
@@ -932,6 +932,16 @@ public class JobLauncher extends Item {
 
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.ice.item.Item#isBatchAction(java.lang.String)
+	 */
+	@Override
+	public boolean isBatchAction(String actionName) {
+		return "Launch the Job".equals(actionName);
+	}
+
 	/**
 	 * <p>
 	 * This operation performs the job launch if the action name is equal to
@@ -2132,6 +2142,11 @@ public class JobLauncher extends Item {
 		// Use the IReader to find all occurrences of the given Regular
 		// Expression for each of those add a new Input file Entry
 		ArrayList<IEntry> entriesFound = getReader().findAll(file, regex);
+		if (entriesFound == null) {
+			logger.info("JobLauncher Error: Could not search "
+					+ file.getName() + " for input files.");
+			return;
+		}
 		for (IEntry e : entriesFound) {
 			addInputType(e.getName(), e.getName().replaceAll(" ", ""),
 					e.getDescription(),
@@ -273,6 +273,16 @@ public class MultiLauncher extends Item implements Runnable {
 
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.ice.item.Item#isBatchAction(java.lang.String)
+	 */
+	@Override
+	public boolean isBatchAction(String actionName) {
+		return "Launch".equals(actionName);
+	}
+
 	/**
 	 * <p>
 	 * This operation directs the MultiLauncher to launch the jobs. The only
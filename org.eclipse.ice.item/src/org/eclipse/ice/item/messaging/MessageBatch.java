@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.item.messaging;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class encodes and decodes batches of postprocessor values that are
+ * posted to a single Item in one request. It is much cheaper to send and parse
+ * than the JSON posts used for other messages, so simulations can report
+ * hundreds of values per time step.
+ *
+ * A batch is a binary frame written in network byte order:
+ *
+ * <pre>
+ * int    magic number, 0x49434542 ("ICEB")
+ * int    Item id
+ * int    number of values
+ * then for each value:
+ * short  length of the postprocessor name in bytes
+ * byte[] the name in (modified) UTF-8
+ * double time
+ * double value
+ * </pre>
+ *
+ * Each value is decoded into a Message of type "MESSAGE_POSTED" whose content
+ * is "name:time:value", which is the same message that the ICE Updater posts
+ * for a single value.
+ *
+ */
+public class MessageBatch {
+
+	/**
+	 * The magic number at the start of every batch.
+	 */
+	private static final int MAGIC = 0x49434542;
+
+	/**
+	 * The message type used for postprocessor values.
+	 */
+	public static final String POSTED_TYPE = "MESSAGE_POSTED";
+
+	/**
+	 * The id of the Item to which the batch is posted.
+	 */
+	private final int itemId;
+
+	/**
+	 * The number of values in the batch.
+	 */
+	private int size = 0;
+
+	/**
+	 * The bytes of the values in the batch.
+	 */
+	private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+	/**
+	 * The stream used to write the values.
+	 */
+	private final DataOutputStream output = new DataOutputStream(bytes);
+
+	/**
+	 * The constructor.
+	 *
+	 * @param itemId
+	 *            The id of the Item to which the batch will be posted
+	 */
+	public MessageBatch(int itemId) {
+		this.itemId = itemId;
+	}
+
+	/**
+	 * This operation adds a postprocessor value to the batch.
+	 *
+	 * @param name
+	 *            The name of the postprocessor
+	 * @param time
+	 *            The simulation time
+	 * @param value
+	 *            The value
+	 */
+	public void add(String name, double time, double value) {
+		try {
+			output.writeUTF(name);
+			output.writeDouble(time);
+			output.writeDouble(value);
+			size++;
+		} catch (IOException e) {
+			// Writing to a byte array can only fail if the name is too long
+			throw new IllegalArgumentException(
+					"Postprocessor name is too long: " + name, e);
+		}
+	}
+
+	/**
+	 * This operation returns the number of values in the batch.
+	 *
+	 * @return The number of values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * This operation returns the encoded batch.
+	 *
+	 * @return The bytes that should be posted
+	 */
+	public byte[] toBytes() {
+		ByteArrayOutputStream frame = new ByteArrayOutputStream(
+				bytes.size() + 12);
+		DataOutputStream frameOutput = new DataOutputStream(frame);
+		try {
+			frameOutput.writeInt(MAGIC);
+			frameOutput.writeInt(itemId);
+			frameOutput.writeInt(size);
+			bytes.writeTo(frameOutput);
+			frameOutput.flush();
+		} catch (IOException e) {
+			// This can't happen when writing to a byte array
+			throw new IllegalStateException(e);
+		}
+		return frame.toByteArray();
+	}
+
+	/**
+	 * This operation decodes a batch into Messages for its Item.
+	 *
+	 * @param batch
+	 *            The encoded batch
+	 * @return The Messages in the order they were added to the batch
+	 * @throws IOException
+	 *             An exception indicating that the batch was not valid.
+	 */
+	public static List<Message> decode(byte[] batch) throws IOException {
+
+		// Throw an exception if the input is null
+		if (batch == null) {
+			throw new IOException("Null batch");
+		}
+
+		// Local Declarations
+		DataInputStream input = new DataInputStream(
+				new ByteArrayInputStream(batch));
+		StringBuilder content = new StringBuilder();
+
+		// Read the header
+		if (batch.length < 12 || input.readInt() != MAGIC) {
+			throw new IOException("Invalid update batch");
+		}
+		int itemId = input.readInt();
+		int count = input.readInt();
+		// Each value needs at least 18 bytes, so don't trust larger counts
+		if (count < 0 || count > (batch.length - 12) / 18) {
+			throw new IOException("Invalid update batch size " + count);
+		}
+
+		// Read the values
+		List<Message> messages = new ArrayList<Message>(count);
+		for (int i = 0; i < count; i++) {
+			String name = input.readUTF();
+			double time = input.readDouble();
+			double value = input.readDouble();
+			content.setLength(0);
+			content.append(name).append(':').append(time).append(':')
+					.append(value);
+			Message message = new Message();
+			message.setId(i);
+			message.setItemId(itemId);
+			message.setType(POSTED_TYPE);
+			message.setMessage(content.toString());
+			messages.add(message);
+		}
+
+		return messages;
+	}
+}
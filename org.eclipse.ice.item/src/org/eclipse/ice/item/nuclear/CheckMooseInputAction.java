@@ -24,7 +24,6 @@ import java.util.Dictionary;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -36,6 +35,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
 import org.eclipse.ice.datastructures.entry.FileEntry;
 import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
@@ -407,16 +407,15 @@ public class CheckMooseInputAction extends RemoteAction {
 		// Create new JAXB class context and unmarshaller
 		JAXBContext context = null;
 		try {
-			context = JAXBContext.newInstance(classList.toArray(classArray));
+			context = ICEJAXBContextCache.getContext(classList.toArray(classArray));
 		} catch (JAXBException e1) {
 			e1.printStackTrace();
 			logger.error("Could not get JAXBContext.", e1);
 		}
 
 		try {
-			// Create the unmarshaller and load the item
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			comp = (T) unmarshaller.unmarshal(new ByteArrayInputStream(xmlForm.getBytes()));
+			// Load the item with a pooled unmarshaller
+			comp = (T) ICEJAXBContextCache.unmarshal(context, new ByteArrayInputStream(xmlForm.getBytes()));
 		} catch (JAXBException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
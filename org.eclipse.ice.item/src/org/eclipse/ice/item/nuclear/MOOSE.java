@@ -26,10 +26,10 @@ import java.util.Date;
 import java.util.Dictionary;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlTransient;
 
@@ -39,6 +39,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
 import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
 import org.eclipse.ice.datastructures.entry.DiscreteEntry;
 import org.eclipse.ice.datastructures.entry.ExecutableEntry;
@@ -120,6 +121,14 @@ public class MOOSE extends Item {
 	@XmlTransient()
 	private boolean registered = false;
 
+	/**
+	 * The buffer that keeps the postprocessor values posted by the ICE Updater
+	 * in memory and appends them to their CSV files in bulk.
+	 */
+	@XmlTransient()
+	private final PostprocessorBuffer postprocessorBuffer = new PostprocessorBuffer(
+			chunks -> writePostprocessorData(chunks));
+
 	/**
 	 * Nullary constructor.
 	 */
@@ -267,6 +276,16 @@ public class MOOSE extends Item {
 		return status;
 	}
 
+	/**
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.ice.item.Item#isBatchAction(java.lang.String)
+	 */
+	@Override
+	public boolean isBatchAction(String actionName) {
+		return "Launch the Job".equals(actionName);
+	}
+
 	/**
 	 * (non-Javadoc)
 	 * 
@@ -315,6 +334,10 @@ public class MOOSE extends Item {
 			// If not remote, then this will just be localhost
 			createICEUpdaterBlock(thisHost);
 
+			// Finish writing the postprocessors from the last run and start
+			// new series for this one
+			postprocessorBuffer.clear();
+
 			// Populate the MOOSELaunchers files list, check for error.
 			if (populateListOfLauncherFiles() != FormStatus.ReadyToProcess) {
 				logger.error(getClass().getName() + " Error Populating list of files");
@@ -454,20 +477,16 @@ public class MOOSE extends Item {
 	private <T> String writeComponentToXML(T comp) throws JAXBException {
 		// Get the XML
 		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		// Create the marshaller and write the item
-		Marshaller marshaller;
-		
 		// Make an array to store the class list of registered Items
 		ArrayList<Class> classList = new ArrayList<Class>();
 		Class[] classArray = {};
 		classList.addAll(new ICEJAXBClassProvider().getClasses());
-		// Create new JAXB class context and unmarshaller
-		JAXBContext context = JAXBContext.newInstance(classList.toArray(classArray));
+		// Get the shared JAXB class context
+		JAXBContext context = ICEJAXBContextCache.getContext(classList.toArray(classArray));
 
 		try {
-			marshaller = context.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			marshaller.marshal(comp, outputStream);
+			// Write the item with a pooled marshaller
+			ICEJAXBContextCache.marshal(context, comp, outputStream);
 		} catch (JAXBException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
@@ -800,43 +819,141 @@ public class MOOSE extends Item {
 	@Override
 	public boolean update(Message message) {
 
-		// Get the message type and string text
-		String type = message.getType();
-		String text = message.getMessage();
-
 		// Parse the message type
-		if ("MESSAGE_POSTED".equals(type)) {
-
-			// If its a message posted, we expect it to
-			// be of the format pp_name:time:value
-			String[] data = text.split(":");
-			String name = data[0];
-			Double time = Double.valueOf(data[1]);
-			Double value = Double.valueOf(data[2]);
+		if ("MESSAGE_POSTED".equals(message.getType())) {
 
 			// We need the jobLaunch directory to create new VizResources
-			IFolder directory = mooseLauncher.getJobLaunchFolder();
-			if (directory == null || !directory.exists()) {
-				logger.info("MOOSE Job Launch directory was null or did not exist. Cannot show real-time plots.");
+			if (!hasJobLaunchFolder()) {
 				return false;
 			}
 
-			// Refresh the project space
-			refreshProjectSpace();
+			// Buffer the value to be written with any others that arrive soon
+			bufferPostprocessorValue(message.getMessage());
+		}
 
-			// Grab the new Postprocessor CSV file
-			IFile dataFile = directory.getFile(name + ".csv");
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see org.eclipse.ice.item.Item#update(java.util.List)
+	 */
+	@Override
+	public boolean update(List<Message> messages) {
+
+		// Local Declarations
+		boolean checkedFolder = false;
+
+		// Buffer all of the values so that they are written together. Other
+		// Messages are ignored, as they are by update(Message).
+		for (Message message : messages) {
+			if ("MESSAGE_POSTED".equals(message.getType())) {
+				// Check the directory once for the whole batch
+				if (!checkedFolder) {
+					if (!hasJobLaunchFolder()) {
+						return false;
+					}
+					checkedFolder = true;
+				}
+				bufferPostprocessorValue(message.getMessage());
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * This operation returns the in-memory time series of the values posted
+	 * for a postprocessor during the current run. Plots should read it
+	 * incrementally instead of reading the postprocessor's CSV file again.
+	 * 
+	 * @param name
+	 *            The name of the postprocessor
+	 * @return The series or null if no values have been posted for it
+	 */
+	public PostprocessorSeries getPostprocessorSeries(String name) {
+		return postprocessorBuffer.getSeries(name);
+	}
 
-			// Get a reference to the ResourceComponent
-			ResourceComponent comp = (ResourceComponent) form.getComponent(3);
+	/**
+	 * This operation returns the names of the postprocessors for which values
+	 * have been posted during the current run.
+	 * 
+	 * @return The names of the postprocessors
+	 */
+	public List<String> getPostprocessorNames() {
+		return postprocessorBuffer.getNames();
+	}
+
+	/**
+	 * This private method checks that the job launch directory, where the
+	 * postprocessor CSV files are written, exists.
+	 * 
+	 * @return True if the directory exists, false otherwise
+	 */
+	private boolean hasJobLaunchFolder() {
+		IFolder directory = mooseLauncher.getJobLaunchFolder();
+		if (directory == null || !directory.exists()) {
+			logger.info("MOOSE Job Launch directory was null or did not exist. Cannot show real-time plots.");
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * This private method parses a postprocessor value posted by the ICE
+	 * Updater and adds it to the buffer.
+	 * 
+	 * @param text
+	 *            The message text, in the format pp_name:time:value
+	 */
+	private void bufferPostprocessorValue(String text) {
+		String[] data = text.split(":");
+		try {
+			postprocessorBuffer.add(data[0], Double.parseDouble(data[1]),
+					Double.parseDouble(data[2]));
+		} catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+	}
+
+	/**
+	 * This private method appends buffered postprocessor values to their CSV
+	 * files in the job launch directory, creating the files and the plot
+	 * resources for them if needed. It is called by the postprocessor buffer.
+	 * 
+	 * @param chunks
+	 *            The CSV lines to append for each postprocessor
+	 */
+	private void writePostprocessorData(Map<String, String> chunks) {
+
+		// We need the jobLaunch directory to create new VizResources
+		IFolder directory = mooseLauncher.getJobLaunchFolder();
+		if (directory == null || !directory.exists()) {
+			logger.info("MOOSE Job Launch directory was null or did not exist. Cannot show real-time plots.");
+			return;
+		}
+
+		// Refresh the project space once for the whole batch
+		refreshProjectSpace();
+
+		// Get a reference to the ResourceComponent
+		ResourceComponent comp = (ResourceComponent) form.getComponent(3);
+
+		for (Map.Entry<String, String> chunk : chunks.entrySet()) {
+
+			// Grab the Postprocessor CSV file
+			String name = chunk.getKey();
+			IFile dataFile = directory.getFile(name + ".csv");
 
 			try {
 
 				if (!dataFile.exists()) {
 					// If the file hasn't been created yet, we need to create
 					// it and start filling it with post processor data
-					String initialData = "Time," + name + "\n" + time + "," + value + "\n";
-					dataFile.create(new ByteArrayInputStream(initialData.getBytes()), true, null);// .createNewFile();
+					String initialData = "Time," + name + "\n" + chunk.getValue();
+					dataFile.create(new ByteArrayInputStream(initialData.getBytes()), true, null);
 
 					// Create the VizResource, and add it to the
 					// ResourceComponent
@@ -846,8 +963,8 @@ public class MOOSE extends Item {
 				} else {
 
 					// Write the data to the existing resource
-					dataFile.appendContents(new ByteArrayInputStream(new String(time + "," + value + "\n").getBytes()),
-							IResource.FORCE, null);
+					dataFile.appendContents(new ByteArrayInputStream(chunk.getValue().getBytes()), IResource.FORCE,
+							null);
 				}
 
 			} catch (IOException | CoreException e) {
@@ -855,7 +972,7 @@ public class MOOSE extends Item {
 			}
 		}
 
-		return true;
+		return;
 	}
 
 	/**
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.item.nuclear;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This class keeps the postprocessor values that are posted to an Item in
+ * memory and writes them in bulk on a background thread. Each postprocessor
+ * has a {@link PostprocessorSeries} that plots can read directly with
+ * {@link #getSeries(String)}, so they do not need to read the files again as
+ * a run progresses.
+ *
+ * New values are also written to a sink, which should append them to the
+ * postprocessor's file, as CSV lines ("time,value") a short time after the
+ * first value arrives. Every value that arrives in the meantime is written
+ * with it, so a simulation that reports hundreds of postprocessors per time
+ * step only causes one write per file per flush.
+ *
+ * The sink is always called with the lines in the order in which the values
+ * arrived and never from two threads at once. All of the buffers share a
+ * single daemon thread.
+ *
+ */
+public class PostprocessorBuffer {
+
+	/**
+	 * The time in milliseconds between the first value added to an empty
+	 * buffer and the write that includes it.
+	 */
+	public static final long FLUSH_DELAY = 250;
+
+	/**
+	 * The thread that writes the buffers.
+	 */
+	private static final ScheduledExecutorService flusher = Executors
+			.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable,
+						"ICE Postprocessor Flusher");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+	/**
+	 * The series for each postprocessor in the order they were first posted.
+	 */
+	private final LinkedHashMap<String, PostprocessorSeries> series = new LinkedHashMap<String, PostprocessorSeries>();
+
+	/**
+	 * The number of samples of each series that have been written to the
+	 * sink. It is only used while holding the write lock.
+	 */
+	private final HashMap<PostprocessorSeries, Integer> written = new HashMap<PostprocessorSeries, Integer>();
+
+	/**
+	 * True if a flush has been scheduled for the new values.
+	 */
+	private boolean scheduled = false;
+
+	/**
+	 * The lock that keeps flushes in order.
+	 */
+	private final Object writeLock = new Object();
+
+	/**
+	 * The sink that writes the CSV lines for each postprocessor.
+	 */
+	private final Consumer<Map<String, String>> sink;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param sink
+	 *            The sink to which new values are written. It receives a map
+	 *            of postprocessor names to the CSV lines for each.
+	 */
+	public PostprocessorBuffer(Consumer<Map<String, String>> sink) {
+		this.sink = sink;
+	}
+
+	/**
+	 * This operation adds a value to the series for the postprocessor and
+	 * schedules a flush if one is not already scheduled.
+	 *
+	 * @param name
+	 *            The name of the postprocessor
+	 * @param time
+	 *            The simulation time
+	 * @param value
+	 *            The value
+	 */
+	public synchronized void add(String name, double time, double value) {
+
+		// Append the value to the series for the postprocessor
+		PostprocessorSeries postprocessor = series.get(name);
+		if (postprocessor == null) {
+			postprocessor = new PostprocessorSeries(name);
+			series.put(name, postprocessor);
+		}
+		postprocessor.add(time, value);
+
+		// Schedule the write
+		if (!scheduled) {
+			scheduled = true;
+			flusher.schedule(() -> flush(), FLUSH_DELAY,
+					TimeUnit.MILLISECONDS);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the series for a postprocessor.
+	 *
+	 * @param name
+	 *            The name of the postprocessor
+	 * @return The series or null if no values have been posted for it
+	 */
+	public synchronized PostprocessorSeries getSeries(String name) {
+		return series.get(name);
+	}
+
+	/**
+	 * This operation returns the names of the postprocessors for which values
+	 * have been posted.
+	 *
+	 * @return The names in the order they were first posted
+	 */
+	public synchronized List<String> getNames() {
+		return new ArrayList<String>(series.keySet());
+	}
+
+	/**
+	 * This operation writes all of the new values immediately on the calling
+	 * thread.
+	 */
+	public void flush() {
+		synchronized (writeLock) {
+
+			// Local Declarations
+			List<PostprocessorSeries> all;
+			LinkedHashMap<String, String> chunks = new LinkedHashMap<String, String>();
+			double[] times = new double[PostprocessorSeries.CHUNK_SIZE];
+			double[] values = new double[PostprocessorSeries.CHUNK_SIZE];
+
+			// Get the series. Values that arrive from now on will be written
+			// by the next flush if they are not written by this one.
+			synchronized (this) {
+				all = new ArrayList<PostprocessorSeries>(series.values());
+				scheduled = false;
+			}
+
+			// Format the new samples of each series
+			for (PostprocessorSeries postprocessor : all) {
+				Integer start = written.get(postprocessor);
+				int from = (start != null) ? start : 0;
+				int end = postprocessor.size();
+				if (end > from) {
+					StringBuilder lines = new StringBuilder();
+					while (from < end) {
+						int count = postprocessor.read(from, times, values);
+						count = Math.min(count, end - from);
+						for (int i = 0; i < count; i++) {
+							lines.append(times[i]).append(',')
+									.append(values[i]).append('\n');
+						}
+						from += count;
+					}
+					written.put(postprocessor, end);
+					chunks.put(postprocessor.getName(), lines.toString());
+				}
+			}
+
+			// Write them
+			if (!chunks.isEmpty()) {
+				sink.accept(chunks);
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation writes all of the new values and then discards every
+	 * series, for example before a new run starts.
+	 */
+	public void clear() {
+		synchronized (writeLock) {
+			flush();
+			synchronized (this) {
+				series.clear();
+			}
+			written.clear();
+		}
+	}
+}
@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.item.nuclear;
+
+import java.util.ArrayList;
+
+/**
+ * This class stores the time series of a single postprocessor in memory. The
+ * samples are kept in fixed-size chunks of primitive doubles, so appending
+ * never copies the samples that are already stored and millions of samples
+ * take little more memory than the values themselves.
+ *
+ * Samples are only ever appended, so the index of a sample never changes.
+ * Plots and other consumers can remember how many samples they have already
+ * read and use {@link #read(int, double[], double[])} to get only the samples
+ * that arrived since then instead of reading the whole series again.
+ *
+ * This class is thread-safe.
+ *
+ */
+public class PostprocessorSeries {
+
+	/**
+	 * The number of samples in each chunk.
+	 */
+	public static final int CHUNK_SIZE = 4096;
+
+	/**
+	 * The name of the postprocessor.
+	 */
+	private final String name;
+
+	/**
+	 * The chunks of times.
+	 */
+	private final ArrayList<double[]> times = new ArrayList<double[]>();
+
+	/**
+	 * The chunks of values.
+	 */
+	private final ArrayList<double[]> values = new ArrayList<double[]>();
+
+	/**
+	 * The number of samples in the series.
+	 */
+	private volatile int size = 0;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param name
+	 *            The name of the postprocessor
+	 */
+	public PostprocessorSeries(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * This operation returns the name of the postprocessor.
+	 *
+	 * @return The name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * This operation returns the number of samples in the series.
+	 *
+	 * @return The number of samples
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * This operation appends a sample to the series.
+	 *
+	 * @param time
+	 *            The simulation time
+	 * @param value
+	 *            The value of the postprocessor at that time
+	 */
+	public synchronized void add(double time, double value) {
+
+		// Start a new chunk if the last one is full
+		int offset = size % CHUNK_SIZE;
+		if (offset == 0) {
+			times.add(new double[CHUNK_SIZE]);
+			values.add(new double[CHUNK_SIZE]);
+		}
+
+		// Store the sample
+		int chunk = size / CHUNK_SIZE;
+		times.get(chunk)[offset] = time;
+		values.get(chunk)[offset] = value;
+		size++;
+
+		return;
+	}
+
+	/**
+	 * This operation copies samples from the series, starting at the given
+	 * index, into the arrays. It copies as many samples as are available or
+	 * will fit in the arrays, whichever is fewer.
+	 *
+	 * @param from
+	 *            The index of the first sample to copy
+	 * @param timeSlice
+	 *            The array into which the times are copied
+	 * @param valueSlice
+	 *            The array into which the values are copied. It must be at
+	 *            least as long as the array of times.
+	 * @return The number of samples copied
+	 */
+	public synchronized int read(int from, double[] timeSlice,
+			double[] valueSlice) {
+
+		if (from < 0) {
+			throw new IndexOutOfBoundsException(
+					"Invalid sample index " + from);
+		}
+
+		// Figure out how much to copy
+		int count = Math.max(0, Math.min(size - from, timeSlice.length));
+
+		// Copy chunk by chunk
+		int copied = 0;
+		while (copied < count) {
+			int index = from + copied;
+			int chunk = index / CHUNK_SIZE;
+			int offset = index % CHUNK_SIZE;
+			int length = Math.min(CHUNK_SIZE - offset, count - copied);
+			System.arraycopy(times.get(chunk), offset, timeSlice, copied,
+					length);
+			System.arraycopy(values.get(chunk), offset, valueSlice, copied,
+					length);
+			copied += length;
+		}
+
+		return count;
+	}
+}
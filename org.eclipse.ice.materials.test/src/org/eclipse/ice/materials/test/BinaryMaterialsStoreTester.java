@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.materials.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.materials.BinaryMaterialsStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the BinaryMaterialsStore class.
+ *
+ */
+public class BinaryMaterialsStoreTester {
+
+	/**
+	 * The XML file that is the source of the store in the tests.
+	 */
+	private File xmlFile;
+
+	/**
+	 * The store under test.
+	 */
+	private BinaryMaterialsStore store;
+
+	/**
+	 * This operation creates the source file and the store.
+	 *
+	 * @throws IOException
+	 */
+	@Before
+	public void setup() throws IOException {
+		xmlFile = File.createTempFile("materialsStore", ".xml");
+		store = new BinaryMaterialsStore(xmlFile);
+	}
+
+	/**
+	 * This operation removes the files created by the tests.
+	 *
+	 * @throws IOException
+	 */
+	@After
+	public void cleanup() throws IOException {
+		store.clear();
+		xmlFile.delete();
+	}
+
+	/**
+	 * This operation checks that materials survive a snapshot and that changes
+	 * to the source file make the snapshot stale.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkSnapshot() throws IOException {
+
+		// Write the snapshot
+		List<Material> materials = new ArrayList<Material>();
+		materials.add(TestMaterialFactory.createH2O());
+		materials.add(TestMaterialFactory.createCO2());
+		assertFalse(store.isCurrent());
+		store.writeSnapshot(materials);
+		assertTrue(store.isCurrent());
+
+		// Load it and make sure the order is preserved
+		assertEquals(materials, store.load());
+
+		// Changing the source file should invalidate the snapshot
+		try (FileOutputStream stream = new FileOutputStream(xmlFile)) {
+			stream.write("<list/>".getBytes("UTF-8"));
+		}
+		assertFalse(store.isCurrent());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that changes in the delta log are applied on load
+	 * and folded into the next snapshot.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkDeltas() throws IOException {
+
+		// Start with one material
+		List<Material> materials = new ArrayList<Material>();
+		materials.add(TestMaterialFactory.createH2O());
+		store.writeSnapshot(materials);
+
+		// Add, update and delete materials
+		Material co2 = TestMaterialFactory.createCO2();
+		store.appendPut(co2);
+		co2.setProperty("molar mass (g/mol)", 20.0);
+		store.appendPut(co2);
+		store.appendDelete("H2O");
+		assertEquals(3, store.getDeltaCount());
+
+		// Check the result
+		List<Material> loaded = store.load();
+		assertEquals(1, loaded.size());
+		assertEquals(co2, loaded.get(0));
+
+		// Compact and check again
+		store.writeSnapshot(loaded);
+		assertEquals(0, store.getDeltaCount());
+		assertEquals(loaded, store.load());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the delta log is kept when the snapshot
+	 * becomes stale and that it can be replayed onto the materials read from
+	 * the source file.
+	 *
+	 * @throws IOException
+	 */
+	@Test
+	public void checkReplayDeltas() throws IOException {
+
+		// Log a change against a snapshot
+		List<Material> materials = new ArrayList<Material>();
+		materials.add(TestMaterialFactory.createH2O());
+		store.writeSnapshot(materials);
+		Material co2 = TestMaterialFactory.createCO2();
+		store.appendPut(co2);
+
+		// Replace the source file so that the snapshot is stale
+		try (FileOutputStream stream = new FileOutputStream(xmlFile)) {
+			stream.write("<list/>".getBytes("UTF-8"));
+		}
+		assertFalse(store.isCurrent());
+
+		// The change should still be applied to the reloaded materials
+		List<Material> replayed = store.replayDeltas(materials);
+		assertEquals(2, replayed.size());
+		assertEquals(TestMaterialFactory.createH2O(), replayed.get(0));
+		assertEquals(co2, replayed.get(1));
+		assertEquals(1, store.getDeltaCount());
+
+		return;
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.materials.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.materials.MaterialsIndex;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing the MaterialsIndex class.
+ *
+ */
+public class MaterialsIndexTester {
+
+	/**
+	 * The index under test.
+	 */
+	private MaterialsIndex index;
+
+	/**
+	 * This operation creates an elemental material with a density.
+	 *
+	 * @param name
+	 *            The name of the material
+	 * @param density
+	 *            The density
+	 * @return The material
+	 */
+	private Material createElement(String name, double density) {
+		Material material = new Material();
+		material.setName(name);
+		material.setProperty(Material.DENSITY, density);
+		return material;
+	}
+
+	/**
+	 * This operation fills the index with a few elements, isotopes and
+	 * compounds.
+	 */
+	@Before
+	public void setup() {
+		List<Material> materials = new ArrayList<Material>();
+		materials.add(createElement("Fe", 7.87));
+		materials.add(createElement("56Fe", 7.87));
+		materials.add(createElement("54Fe", 7.6));
+		materials.add(createElement("Co", 8.9));
+		materials.add(TestMaterialFactory.createCO2());
+		materials.add(TestMaterialFactory.createH2O());
+		index = new MaterialsIndex();
+		index.reset(materials);
+	}
+
+	/**
+	 * This operation checks prefix searches.
+	 */
+	@Test
+	public void checkPrefix() {
+
+		// Element names should find all of the isotopes
+		List<Material> found = index.findByPrefix("fe");
+		assertEquals(3, found.size());
+
+		// Isotope numbers should only find that isotope
+		found = index.findByPrefix("56");
+		assertEquals(1, found.size());
+		assertEquals("56Fe", found.get(0).getName());
+
+		// Names that differ only by case are both found
+		found = index.findByPrefix("CO");
+		assertEquals(2, found.size());
+
+		// Everything matches the empty prefix
+		assertEquals(6, index.findByPrefix("").size());
+		assertTrue(index.findByPrefix("Zr").isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This operation checks property range queries and that updates and
+	 * removals are reflected in them.
+	 */
+	@Test
+	public void checkRange() {
+
+		// Check an inclusive range
+		List<Material> found = index.findByRange(Material.DENSITY, 7.6, 7.87);
+		assertEquals(3, found.size());
+		assertEquals("54Fe", found.get(0).getName());
+
+		// Update a material in place and make sure the old value is gone
+		Material cobalt = index.get("Co");
+		cobalt.setProperty(Material.DENSITY, 7.7);
+		index.put(cobalt);
+		assertEquals(4, index.findByRange(Material.DENSITY, 7.6, 7.87).size());
+		assertTrue(index.findByRange(Material.DENSITY, 8.0, 9.0).isEmpty());
+
+		// Remove it
+		index.remove("Co");
+		assertNull(index.get("Co"));
+		assertEquals(3, index.findByRange(Material.DENSITY, 7.6, 7.87).size());
+
+		// Unknown properties have no matches
+		assertTrue(index.findByRange("color", 0.0, 1.0).isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This operation checks isotope and composite lookups.
+	 */
+	@Test
+	public void checkElements() {
+
+		// The isotopes should be in isotopic order
+		List<Material> isotopes = index.getIsotopes("Fe");
+		assertEquals(3, isotopes.size());
+		assertEquals("Fe", isotopes.get(0).getName());
+		assertEquals("54Fe", isotopes.get(1).getName());
+		assertEquals("56Fe", isotopes.get(2).getName());
+
+		// Both test compounds contain oxygen
+		assertEquals(2, index.getComposites("O").size());
+		List<Material> composites = index.getComposites("C");
+		assertEquals(1, composites.size());
+		assertSame(index.get("CO2"), composites.get(0));
+
+		return;
+	}
+}
@@ -95,6 +95,11 @@ public class XMLMaterialDatabaseTester {
 		if (defaultTestFile.exists()) {
 			defaultTestFile.delete();
 		}
+		// Delete the binary snapshots and delta logs
+		for (File file : new File[] { userTestFile, defaultTestFile }) {
+			new File(file.getPath() + ".bin").delete();
+			new File(file.getPath() + ".delta").delete();
+		}
 	}
 
 	/**
@@ -14,7 +14,6 @@ package org.eclipse.ice.materials.ui;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 
 import org.eclipse.ice.client.widgets.ListComponentNattable;
 import org.eclipse.ice.datastructures.ICEObject.ListComponent;
@@ -247,18 +246,13 @@ public class MaterialDetailsPage implements IDetailsPage {
 							@Override
 							public void selectionChanged(
 									SelectionChangedEvent arg0) {
-								List<Material> toUpdate = new ArrayList<Material>();
-								toUpdate.add(material);
-								for (Material mat : database.getMaterials()) {
-									if (material.isComponent(mat)) {
-										mat.updateProperties();
-										toUpdate.add(mat);
-									}
-								}
-
-								for (Material mat : toUpdate) {
-									database.updateMaterial(mat);
-								}
+								// Forget the values derived from the edited
+								// properties, then store the material and
+								// update the composites made from it
+								material.invalidateProperties();
+								database.updateMaterial(material);
+								database.updateCompositeProperties(
+										material.getName());
 							}
 
 						});
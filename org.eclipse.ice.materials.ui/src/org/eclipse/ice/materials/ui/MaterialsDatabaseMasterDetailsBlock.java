@@ -14,6 +14,7 @@ package org.eclipse.ice.materials.ui;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 
@@ -174,11 +175,15 @@ public class MaterialsDatabaseMasterDetailsBlock extends MasterDetailsBlock {
 				// Get the filter text
 				String filterText = filter.getText().toLowerCase();
 
-				// Checks to see if this is a search for a specific
-				// isotope or a element (in which case all isotopes should be
-				// shown through the filter).
-				boolean useElementName = !((filterText.length() > 0) && (Character
-						.isDigit(filterText.charAt(0))));
+				// Ask the database for the materials that match. It searches
+				// isotopes by their element names too, so all of the isotopes
+				// of an element are shown unless a specific isotope number is
+				// typed.
+				HashSet<String> matches = new HashSet<String>();
+				for (Material mat : materialsDatabase
+						.findMaterials(filterText)) {
+					matches.add(mat.getName());
+				}
 
 				// Iterate over the list and pick the items to keep from the
 				// filter text.
@@ -187,15 +192,9 @@ public class MaterialsDatabaseMasterDetailsBlock extends MasterDetailsBlock {
 
 					Material mat = materials.get(i);
 
-					String matName = "";
-					if (useElementName) {
-						matName = mat.getElementalName();
-					} else {
-						matName = mat.getName();
-					}
 					// Finally, if the material fits the filter, make sure it is
 					// in the list. Otherwise, take it out of the list.
-					if (matName.toLowerCase().startsWith(filterText)) {
+					if (matches.contains(mat.getName())) {
 						// make sure material is in list
 						if (!listFromTree.contains(mat)) {
 							listFromTree.add(i - numRemoved, mat);
@@ -0,0 +1,545 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.materials;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.datastructures.form.MaterialStack;
+
+/**
+ * This class is a compact, binary cache of a materials database XML file. It
+ * stores a snapshot of the materials in a file next to the XML file with the
+ * extension ".bin" and a log of changes made since the snapshot with the
+ * extension ".delta".
+ *
+ * The snapshot is read into memory in one piece and decoded, which is much
+ * faster than unmarshalling the XML with JAXB. It contains the materials in the
+ * order in which they were written. It is not mapped, so the files are never
+ * held open and can be replaced on every platform.
+ *
+ * The snapshot records the length and modification time of the XML file from
+ * which it was built. If the XML file is changed or replaced, the snapshot is
+ * no longer current and should be rebuilt from the XML. The snapshot should
+ * therefore only be written together with the XML file.
+ *
+ * Additions, updates and deletions are appended to the delta log as small
+ * checksummed records, so edits do not require the database to be rewritten.
+ * Records that were only partially written, for example because of a crash,
+ * are ignored. The delta log is kept when the snapshot is stale, so it can be
+ * replayed onto the materials read from the XML with
+ * {@link #replayDeltas(Collection)}. It is folded into a new snapshot by
+ * {@link #writeSnapshot(Collection)}.
+ *
+ * This class is not thread-safe. Callers should synchronize access to it.
+ *
+ */
+public class BinaryMaterialsStore {
+
+	/**
+	 * The magic number at the start and end of every snapshot, "ICEM".
+	 */
+	private static final int MAGIC = 0x4943454D;
+
+	/**
+	 * The version of the snapshot format.
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * The delta operation code for additions and updates.
+	 */
+	private static final byte PUT = 1;
+
+	/**
+	 * The delta operation code for deletions.
+	 */
+	private static final byte DELETE = 2;
+
+	/**
+	 * The XML file that is the source of the store.
+	 */
+	private final File xmlFile;
+
+	/**
+	 * The binary snapshot file.
+	 */
+	private final File snapshotFile;
+
+	/**
+	 * The delta log file.
+	 */
+	private final File deltaFile;
+
+	/**
+	 * The number of records in the delta log as of the last load or write.
+	 */
+	private int deltaCount = 0;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param xmlFile
+	 *            The XML database file that is cached by this store.
+	 */
+	public BinaryMaterialsStore(File xmlFile) {
+		this.xmlFile = xmlFile;
+		snapshotFile = new File(xmlFile.getPath() + ".bin");
+		deltaFile = new File(xmlFile.getPath() + ".delta");
+	}
+
+	/**
+	 * This operation determines whether or not the snapshot exists and was
+	 * built from the current version of the XML file.
+	 *
+	 * @return True if the snapshot can be used instead of the XML file
+	 */
+	public boolean isCurrent() {
+
+		boolean current = false;
+
+		if (snapshotFile.isFile()) {
+			try (FileChannel channel = FileChannel
+					.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+				ByteBuffer header = ByteBuffer.allocate(24);
+				while (header.hasRemaining() && channel.read(header) >= 0) {
+					// Keep reading until the header is full
+				}
+				header.flip();
+				current = header.remaining() == 24
+						&& header.getInt() == MAGIC
+						&& header.getInt() == VERSION
+						&& header.getLong() == getXMLLength()
+						&& header.getLong() == getXMLModified();
+			} catch (IOException e) {
+				current = false;
+			}
+		}
+
+		return current;
+	}
+
+	/**
+	 * This operation loads all of the materials from the snapshot and then
+	 * applies the delta log.
+	 *
+	 * @return The materials in the order in which they were stored
+	 * @throws IOException
+	 *             An exception indicating that the snapshot could not be read
+	 *             or that it is corrupt.
+	 */
+	public List<Material> load() throws IOException {
+
+		// Local Declarations
+		List<Material> materials = new ArrayList<Material>();
+		ByteBuffer buffer = ByteBuffer
+				.wrap(Files.readAllBytes(snapshotFile.toPath()));
+
+		try {
+			// Read the header and the records
+			int count = readHeader(buffer);
+			for (int i = 0; i < count; i++) {
+				materials.add(readMaterial(buffer));
+			}
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Corrupt materials snapshot "
+					+ snapshotFile.getPath(), e);
+		}
+
+		// Apply the changes from the delta log
+		return replayDeltas(materials);
+	}
+
+	/**
+	 * This operation applies the changes in the delta log to a set of
+	 * materials. It is used by {@link #load()} and to keep the changes that
+	 * were logged against a snapshot when the snapshot is stale and the
+	 * materials are read from the XML file instead.
+	 *
+	 * @param materials
+	 *            The materials to apply the changes to
+	 * @return The changed materials in the order in which they were stored,
+	 *         with new materials at the end
+	 * @throws IOException
+	 *             An exception indicating that the delta log could not be
+	 *             read or that it is corrupt.
+	 */
+	public List<Material> replayDeltas(Collection<Material> materials)
+			throws IOException {
+
+		// Local Declarations
+		LinkedHashMap<String, Material> changed = new LinkedHashMap<String, Material>();
+
+		for (Material material : materials) {
+			changed.put(material.getName(), material);
+		}
+
+		deltaCount = 0;
+		if (deltaFile.isFile()) {
+			ByteBuffer deltas = ByteBuffer
+					.wrap(Files.readAllBytes(deltaFile.toPath()));
+			ByteBuffer record;
+			try {
+				while ((record = nextDelta(deltas)) != null) {
+					byte op = record.get();
+					if (op == PUT) {
+						Material material = readMaterial(record);
+						changed.put(material.getName(), material);
+					} else if (op == DELETE) {
+						changed.remove(readString(record));
+					}
+					deltaCount++;
+				}
+			} catch (BufferUnderflowException e) {
+				throw new IOException("Corrupt materials delta log "
+						+ deltaFile.getPath(), e);
+			}
+		}
+
+		return new ArrayList<Material>(changed.values());
+	}
+
+	/**
+	 * This operation writes a new snapshot of the materials and clears the
+	 * delta log. The snapshot is written to a temporary file and moved into
+	 * place, so the old snapshot and delta log remain valid if it fails.
+	 *
+	 * @param materials
+	 *            The materials to store, in the order they should be loaded
+	 * @throws IOException
+	 *             An exception indicating that the snapshot could not be
+	 *             written.
+	 */
+	public void writeSnapshot(Collection<Material> materials)
+			throws IOException {
+
+		// Local Declarations
+		File tempFile = new File(snapshotFile.getPath() + ".tmp");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+
+		// Write the header
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeLong(getXMLLength());
+		output.writeLong(getXMLModified());
+		output.writeInt(materials.size());
+
+		// Write the records and the trailing magic number
+		for (Material material : materials) {
+			writeMaterial(output, material);
+		}
+		output.writeInt(MAGIC);
+		output.flush();
+		ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+
+		// Write the temporary file and move it into place
+		try (FileChannel channel = FileChannel.open(tempFile.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+		try {
+			Files.move(tempFile.toPath(), snapshotFile.toPath(),
+					StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(tempFile.toPath(), snapshotFile.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+		}
+
+		// The delta log is now folded into the snapshot
+		Files.deleteIfExists(deltaFile.toPath());
+		deltaCount = 0;
+
+		return;
+	}
+
+	/**
+	 * This operation appends an addition or update of a material to the delta
+	 * log.
+	 *
+	 * @param material
+	 *            The material that was added or updated
+	 * @throws IOException
+	 *             An exception indicating that the log could not be written.
+	 */
+	public void appendPut(Material material) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeByte(PUT);
+		writeMaterial(output, material);
+		output.flush();
+		appendDelta(bytes.toByteArray());
+	}
+
+	/**
+	 * This operation appends a deletion of a material to the delta log.
+	 *
+	 * @param name
+	 *            The name of the material that was deleted
+	 * @throws IOException
+	 *             An exception indicating that the log could not be written.
+	 */
+	public void appendDelete(String name) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeByte(DELETE);
+		writeString(output, name);
+		output.flush();
+		appendDelta(bytes.toByteArray());
+	}
+
+	/**
+	 * This operation returns the number of records in the delta log that have
+	 * not been folded into the snapshot.
+	 *
+	 * @return The number of delta records
+	 */
+	public int getDeltaCount() {
+		return deltaCount;
+	}
+
+	/**
+	 * This operation deletes the snapshot and delta log.
+	 *
+	 * @throws IOException
+	 *             An exception indicating that the files could not be
+	 *             deleted.
+	 */
+	public void clear() throws IOException {
+		Files.deleteIfExists(snapshotFile.toPath());
+		Files.deleteIfExists(deltaFile.toPath());
+		deltaCount = 0;
+	}
+
+	/**
+	 * This operation appends a framed record to the delta log. Each record is
+	 * its length, its payload and the CRC32 checksum of the payload.
+	 *
+	 * @param payload
+	 *            The record payload
+	 * @throws IOException
+	 *             An exception indicating that the log could not be written.
+	 */
+	private void appendDelta(byte[] payload) throws IOException {
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		try (DataOutputStream output = new DataOutputStream(
+				new BufferedOutputStream(
+						new FileOutputStream(deltaFile, true)))) {
+			output.writeInt(payload.length);
+			output.write(payload);
+			output.writeInt((int) crc.getValue());
+		}
+		deltaCount++;
+	}
+
+	/**
+	 * This operation returns the payload of the next valid record in the
+	 * delta log or null if there are no more complete records.
+	 *
+	 * @param deltas
+	 *            The contents of the delta log
+	 * @return The payload of the record
+	 */
+	private ByteBuffer nextDelta(ByteBuffer deltas) {
+
+		ByteBuffer record = null;
+
+		if (deltas.remaining() >= 4) {
+			int length = deltas.getInt();
+			if (length > 0 && deltas.remaining() >= length + 4) {
+				byte[] payload = new byte[length];
+				deltas.get(payload);
+				CRC32 crc = new CRC32();
+				crc.update(payload);
+				if (deltas.getInt() == (int) crc.getValue()) {
+					record = ByteBuffer.wrap(payload);
+				}
+			}
+		}
+
+		return record;
+	}
+
+	/**
+	 * This operation reads and checks the snapshot header and leaves the
+	 * buffer positioned at the first record.
+	 *
+	 * @param buffer
+	 *            The snapshot buffer
+	 * @return The number of materials in the snapshot
+	 * @throws IOException
+	 *             An exception indicating that the snapshot is not valid.
+	 */
+	private int readHeader(ByteBuffer buffer) throws IOException {
+		if (buffer.capacity() < 32 || buffer.getInt() != MAGIC
+				|| buffer.getInt() != VERSION
+				|| buffer.getInt(buffer.capacity() - 4) != MAGIC) {
+			throw new IOException(
+					"Invalid materials snapshot " + snapshotFile.getPath());
+		}
+		// Skip the XML stamp
+		buffer.getLong();
+		buffer.getLong();
+		return buffer.getInt();
+	}
+
+	/**
+	 * This operation reads a material record, including its components.
+	 *
+	 * @param buffer
+	 *            The buffer positioned at the start of the record
+	 * @return The material
+	 */
+	private Material readMaterial(ByteBuffer buffer) {
+
+		Material material = new Material();
+		material.setName(readString(buffer));
+
+		// Read the properties and then the components
+		int propertyCount = buffer.getInt();
+		for (int i = 0; i < propertyCount; i++) {
+			material.setProperty(readString(buffer), buffer.getDouble());
+		}
+		int componentCount = buffer.getInt();
+		for (int i = 0; i < componentCount; i++) {
+			int amount = buffer.getInt();
+			material.addComponent(
+					new MaterialStack(readMaterial(buffer), amount));
+		}
+
+		return material;
+	}
+
+	/**
+	 * This operation writes a material record, including its components.
+	 *
+	 * @param output
+	 *            The output
+	 * @param material
+	 *            The material
+	 * @throws IOException
+	 *             An exception indicating that the record could not be
+	 *             written.
+	 */
+	private void writeMaterial(DataOutputStream output, Material material)
+			throws IOException {
+
+		writeString(output, material.getName());
+
+		// Null property values can not be stored, so skip them
+		Map<String, Double> properties = material.getProperties();
+		int propertyCount = 0;
+		for (Double value : properties.values()) {
+			if (value != null) {
+				propertyCount++;
+			}
+		}
+		output.writeInt(propertyCount);
+		for (Map.Entry<String, Double> property : properties.entrySet()) {
+			if (property.getValue() != null) {
+				writeString(output, property.getKey());
+				output.writeDouble(property.getValue());
+			}
+		}
+
+		// Stacks without materials can not be stored either
+		List<MaterialStack> components = new ArrayList<MaterialStack>();
+		for (MaterialStack stack : material.getComponents()) {
+			if (stack.getMaterial() != null) {
+				components.add(stack);
+			}
+		}
+		output.writeInt(components.size());
+		for (MaterialStack stack : components) {
+			output.writeInt(stack.getAmount());
+			writeMaterial(output, stack.getMaterial());
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation reads a length-prefixed UTF-8 string.
+	 *
+	 * @param buffer
+	 *            The buffer
+	 * @return The string
+	 */
+	private String readString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * This operation writes a length-prefixed UTF-8 string.
+	 *
+	 * @param output
+	 *            The output
+	 * @param value
+	 *            The string
+	 * @throws IOException
+	 *             An exception indicating that the string could not be
+	 *             written.
+	 */
+	private void writeString(DataOutputStream output, String value)
+			throws IOException {
+		byte[] bytes = (value == null ? "" : value)
+				.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * This operation returns the length of the XML file or -1 if it does not
+	 * exist.
+	 *
+	 * @return The length
+	 */
+	private long getXMLLength() {
+		return xmlFile.exists() ? xmlFile.length() : -1L;
+	}
+
+	/**
+	 * This operation returns the modification time of the XML file or -1 if
+	 * it does not exist.
+	 *
+	 * @return The modification time
+	 */
+	private long getXMLModified() {
+		return xmlFile.exists() ? xmlFile.lastModified() : -1L;
+	}
+}
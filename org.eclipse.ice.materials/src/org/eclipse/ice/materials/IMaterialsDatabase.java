@@ -75,6 +75,80 @@ public interface IMaterialsDatabase extends IElementSource<Material> {
 	 */
 	public void updateMaterial(Material material);
 
+	/**
+	 * This operation returns the material with the given name.
+	 * 
+	 * @param name
+	 *            the name of the material
+	 * @return The Material or null if it is not in the database
+	 */
+	public Material getMaterial(String name);
+
+	/**
+	 * This operation finds the materials whose names start with the prefix,
+	 * ignoring case. Isotopes are also found by the name of their element, so
+	 * "fe" finds Fe, FeO and 56Fe while "56" only finds 56Fe.
+	 * 
+	 * @param prefix
+	 *            the beginning of the name
+	 * @return The matching Materials ordered by name
+	 */
+	public List<Material> findMaterials(String prefix);
+
+	/**
+	 * This operation finds the materials that have a value for the property
+	 * between the lower and upper bounds, inclusive. For example,
+	 * findMaterials(Material.DENSITY, 1.0, 2.0) finds every material with a
+	 * density from 1.0 to 2.0 g/cm^3.
+	 * 
+	 * @param property
+	 *            the name of the property
+	 * @param min
+	 *            the lower bound
+	 * @param max
+	 *            the upper bound
+	 * @return The matching Materials ordered by the value of the property
+	 */
+	public List<Material> findMaterials(String property, double min,
+			double max);
+
+	/**
+	 * This operation returns the elemental materials for an element, which are
+	 * the element itself and each of its isotopes.
+	 * 
+	 * @param element
+	 *            the name of the element, such as "Fe"
+	 * @return The Materials ordered by isotopic number
+	 */
+	public List<Material> getIsotopes(String element);
+
+	/**
+	 * This operation returns the composite materials that directly contain the
+	 * material with the given name as a component.
+	 * 
+	 * @param name
+	 *            the name of the component
+	 * @return The composite Materials
+	 */
+	public List<Material> getCompositesOf(String name);
+
+	/**
+	 * This operation calculates the derived properties of composite materials
+	 * again, for example after a property of an element was edited. Each
+	 * composite first has its components replaced by the materials with the
+	 * same names in the database, so that it sees the edited values. Nested
+	 * composites are updated after the composites they contain and the
+	 * composites at each level are updated in parallel. The updated materials
+	 * are stored in the database.
+	 * 
+	 * @param name
+	 *            the name of the material that changed. Only the composites
+	 *            that contain it, directly or indirectly, are updated. If it is
+	 *            null, every composite is updated.
+	 * @return The composite Materials that were updated
+	 */
+	public List<Material> updateCompositeProperties(String name);
+
 	/**
 	 * This operation restores the database to its initial configuration,
 	 * destroying all new and updated material information in the process. It is
@@ -0,0 +1,416 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.materials;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.eclipse.ice.datastructures.form.Material;
+import org.eclipse.ice.datastructures.form.MaterialStack;
+
+/**
+ * This class maintains the indexes used to answer queries on a materials
+ * database without copying or scanning every material. It keeps:
+ * <ul>
+ * <li>a sorted index of lower case names, and of element names for isotopes,
+ * for prefix searches,</li>
+ * <li>a sorted index of values for every property for range queries,</li>
+ * <li>a map of element names to the elemental materials (the element and its
+ * isotopes) with that name and</li>
+ * <li>a map of material names to the composites that directly contain
+ * them.</li>
+ * </ul>
+ *
+ * Materials are mutable, so the index remembers the names and property values
+ * that it indexed for each material and uses them to remove the old entries
+ * when the material is updated.
+ *
+ * Queries are thread-safe and never block. They are weakly consistent with
+ * concurrent updates, which are serialized on the index.
+ *
+ */
+public class MaterialsIndex {
+
+	/**
+	 * The separator between the search key and the material name in the name
+	 * index. It sorts before every other character so that all of the entries
+	 * for a key are contiguous.
+	 */
+	private static final char SEPARATOR = '\u0000';
+
+	/**
+	 * The materials in the index by name.
+	 */
+	private final ConcurrentHashMap<String, Material> materials = new ConcurrentHashMap<String, Material>();
+
+	/**
+	 * The sorted index of search keys. Each key is a lower case name followed
+	 * by the separator and the name of the material.
+	 */
+	private final ConcurrentSkipListMap<String, Material> names = new ConcurrentSkipListMap<String, Material>();
+
+	/**
+	 * The sorted indexes of property values. Each maps a value to the names of
+	 * the materials that have it.
+	 */
+	private final ConcurrentHashMap<String, ConcurrentSkipListMap<Double, Set<String>>> properties = new ConcurrentHashMap<String, ConcurrentSkipListMap<Double, Set<String>>>();
+
+	/**
+	 * The names of the elemental materials for each element name.
+	 */
+	private final ConcurrentHashMap<String, Set<String>> isotopes = new ConcurrentHashMap<String, Set<String>>();
+
+	/**
+	 * The names of the composites that directly contain each material.
+	 */
+	private final ConcurrentHashMap<String, Set<String>> composites = new ConcurrentHashMap<String, Set<String>>();
+
+	/**
+	 * The entries that were indexed for each material, used to remove them.
+	 */
+	private final HashMap<String, IndexedEntries> indexed = new HashMap<String, IndexedEntries>();
+
+	/**
+	 * This class records the entries that were added to the indexes for a
+	 * single material.
+	 */
+	private static class IndexedEntries {
+
+		/**
+		 * The keys in the name index.
+		 */
+		private final List<String> keys = new ArrayList<String>();
+
+		/**
+		 * The property values in the property indexes.
+		 */
+		private final Map<String, Double> values = new HashMap<String, Double>();
+
+		/**
+		 * The element name if the material is elemental or null.
+		 */
+		private String element;
+
+		/**
+		 * The names of the direct components.
+		 */
+		private final List<String> components = new ArrayList<String>();
+	}
+
+	/**
+	 * This operation clears the index and adds all of the materials to it.
+	 *
+	 * @param all
+	 *            The materials
+	 */
+	public synchronized void reset(Collection<Material> all) {
+
+		// Clear everything
+		materials.clear();
+		names.clear();
+		properties.clear();
+		isotopes.clear();
+		composites.clear();
+		indexed.clear();
+
+		// Add the new materials
+		for (Material material : all) {
+			put(material);
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation adds a material to the index, replacing the entries for
+	 * any material with the same name.
+	 *
+	 * @param material
+	 *            The material
+	 */
+	public synchronized void put(Material material) {
+
+		// Materials without names can not be found, so don't index them
+		String name = material.getName();
+		if (name == null) {
+			return;
+		}
+
+		// Remove the old entries
+		remove(name);
+
+		// Local Declarations
+		IndexedEntries entries = new IndexedEntries();
+		String lowerName = name.toLowerCase(Locale.ENGLISH);
+
+		// Index the name and, for isotopes, the element name
+		entries.keys.add(lowerName + SEPARATOR + name);
+		if (material.isElemental()) {
+			entries.element = material.getElementalName();
+			String lowerElement = entries.element.toLowerCase(Locale.ENGLISH);
+			if (!lowerElement.equals(lowerName)) {
+				entries.keys.add(lowerElement + SEPARATOR + name);
+			}
+			getSet(isotopes, entries.element).add(name);
+		}
+		for (String key : entries.keys) {
+			names.put(key, material);
+		}
+
+		// Index the property values
+		for (Map.Entry<String, Double> property : material.getProperties()
+				.entrySet()) {
+			Double value = property.getValue();
+			if (value != null && !value.isNaN()) {
+				ConcurrentSkipListMap<Double, Set<String>> values = properties
+						.get(property.getKey());
+				if (values == null) {
+					values = new ConcurrentSkipListMap<Double, Set<String>>();
+					properties.put(property.getKey(), values);
+				}
+				Set<String> valueNames = values.get(value);
+				if (valueNames == null) {
+					valueNames = newSet();
+					values.put(value, valueNames);
+				}
+				valueNames.add(name);
+				entries.values.put(property.getKey(), value);
+			}
+		}
+
+		// Index the components
+		for (MaterialStack stack : material.getComponents()) {
+			if (stack.getMaterial() != null) {
+				String component = stack.getMaterial().getName();
+				getSet(composites, component).add(name);
+				entries.components.add(component);
+			}
+		}
+
+		materials.put(name, material);
+		indexed.put(name, entries);
+
+		return;
+	}
+
+	/**
+	 * This operation removes a material from the index.
+	 *
+	 * @param name
+	 *            The name of the material
+	 */
+	public synchronized void remove(String name) {
+
+		IndexedEntries entries = indexed.remove(name);
+
+		if (entries != null) {
+			materials.remove(name);
+			for (String key : entries.keys) {
+				names.remove(key);
+			}
+			for (Map.Entry<String, Double> value : entries.values
+					.entrySet()) {
+				ConcurrentSkipListMap<Double, Set<String>> values = properties
+						.get(value.getKey());
+				Set<String> valueNames = values.get(value.getValue());
+				valueNames.remove(name);
+				if (valueNames.isEmpty()) {
+					values.remove(value.getValue());
+				}
+			}
+			if (entries.element != null) {
+				removeFromSet(isotopes, entries.element, name);
+			}
+			for (String component : entries.components) {
+				removeFromSet(composites, component, name);
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation returns the material with the name.
+	 *
+	 * @param name
+	 *            The name
+	 * @return The material or null if it is not in the index
+	 */
+	public Material get(String name) {
+		return (name != null) ? materials.get(name) : null;
+	}
+
+	/**
+	 * This operation returns the materials whose names, or whose element names
+	 * if they are isotopes, start with the prefix, ignoring case.
+	 *
+	 * @param prefix
+	 *            The prefix
+	 * @return The materials in name order
+	 */
+	public List<Material> findByPrefix(String prefix) {
+
+		// Local Declarations
+		String lowerPrefix = prefix.toLowerCase(Locale.ENGLISH);
+		LinkedHashMap<String, Material> found = new LinkedHashMap<String, Material>();
+
+		// Every key that starts with the prefix sorts before the prefix
+		// followed by the largest character
+		for (Material material : names
+				.subMap(lowerPrefix, true, lowerPrefix + Character.MAX_VALUE,
+						false)
+				.values()) {
+			found.put(material.getName(), material);
+		}
+
+		return new ArrayList<Material>(found.values());
+	}
+
+	/**
+	 * This operation returns the materials that have a value for the property
+	 * between the bounds, inclusive.
+	 *
+	 * @param property
+	 *            The property name
+	 * @param min
+	 *            The lower bound
+	 * @param max
+	 *            The upper bound
+	 * @return The materials in order of increasing value
+	 */
+	public List<Material> findByRange(String property, double min,
+			double max) {
+
+		List<Material> found = new ArrayList<Material>();
+		ConcurrentSkipListMap<Double, Set<String>> values = properties
+				.get(property);
+
+		if (values != null && min <= max) {
+			for (Set<String> valueNames : values.subMap(min, true, max, true)
+					.values()) {
+				addAll(found, valueNames);
+			}
+		}
+
+		return found;
+	}
+
+	/**
+	 * This operation returns the elemental materials for an element, which
+	 * are the element itself and all of its isotopes.
+	 *
+	 * @param element
+	 *            The element name, such as "Fe"
+	 * @return The materials in isotopic order
+	 */
+	public List<Material> getIsotopes(String element) {
+		List<Material> found = new ArrayList<Material>();
+		addAll(found, isotopes.get(element));
+		Collections.sort(found);
+		return found;
+	}
+
+	/**
+	 * This operation returns the composites that directly contain the
+	 * material.
+	 *
+	 * @param name
+	 *            The name of the component
+	 * @return The composites
+	 */
+	public List<Material> getComposites(String name) {
+		List<Material> found = new ArrayList<Material>();
+		addAll(found, composites.get(name));
+		return found;
+	}
+
+	/**
+	 * This operation adds the materials with the names to the list, skipping
+	 * any that were removed concurrently.
+	 *
+	 * @param list
+	 *            The list
+	 * @param materialNames
+	 *            The names or null
+	 */
+	private void addAll(List<Material> list, Set<String> materialNames) {
+		if (materialNames != null) {
+			for (String name : materialNames) {
+				Material material = materials.get(name);
+				if (material != null) {
+					list.add(material);
+				}
+			}
+		}
+	}
+
+	/**
+	 * This operation returns the set for the key, creating it if needed. It
+	 * must be called while holding the lock on the index.
+	 *
+	 * @param map
+	 *            The map of sets
+	 * @param key
+	 *            The key
+	 * @return The set
+	 */
+	private Set<String> getSet(ConcurrentHashMap<String, Set<String>> map,
+			String key) {
+		Set<String> set = map.get(key);
+		if (set == null) {
+			set = newSet();
+			map.put(key, set);
+		}
+		return set;
+	}
+
+	/**
+	 * This operation removes a name from the set for the key and removes the
+	 * set if it is empty. It must be called while holding the lock on the
+	 * index.
+	 *
+	 * @param map
+	 *            The map of sets
+	 * @param key
+	 *            The key
+	 * @param name
+	 *            The name to remove
+	 */
+	private void removeFromSet(ConcurrentHashMap<String, Set<String>> map,
+			String key, String name) {
+		Set<String> set = map.get(key);
+		if (set != null) {
+			set.remove(name);
+			if (set.isEmpty()) {
+				map.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * This operation creates a new concurrent set of names.
+	 *
+	 * @return The set
+	 */
+	private Set<String> newSet() {
+		return Collections
+				.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+	}
+}
@@ -17,10 +17,20 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -28,6 +38,7 @@ import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
 import org.eclipse.ice.datastructures.ICEObject.ICEList;
 import org.eclipse.ice.datastructures.form.Material;
 import org.eclipse.ice.datastructures.form.MaterialStack;
@@ -53,6 +64,13 @@ import ca.odell.glazedlists.gui.TableFormat;
  * bundle. It stores the (possibly) modified user list of Materials in its
  * bundle directory in the workspace.
  *
+ * The XML files are only read when their binary snapshots, kept next to them
+ * by a {@link BinaryMaterialsStore}, are missing or out of date. Changes to the
+ * user list are appended to the snapshot's delta log as they are made. The
+ * user XML file and a new snapshot are written when the service is stopped or
+ * the log grows long. If the user XML file is changed in between, the logged
+ * changes are replayed onto it when it is read, so they are not lost.
+ *
  * @author Jay Jay Billings
  *
  */
@@ -77,6 +95,22 @@ public class XMLMaterialsDatabase
 	 */
 	private File defaultDatabase;
 
+	/**
+	 * The binary snapshot and delta log of the user database.
+	 */
+	private BinaryMaterialsStore userStore;
+
+	/**
+	 * The binary snapshot of the default database.
+	 */
+	private BinaryMaterialsStore defaultStore;
+
+	/**
+	 * The number of changes that may be appended to the user delta log before
+	 * it is folded into a new snapshot.
+	 */
+	private static final int MAX_DELTAS = 1024;
+
 	/**
 	 * This context is used to create all of the JAXB related utilities for
 	 * marshalling and unmarshalling the file.
@@ -89,6 +123,17 @@ public class XMLMaterialsDatabase
 	 */
 	protected Hashtable<String, Material> materialsMap;
 
+	/**
+	 * The indexes used to answer queries on the materials in the map.
+	 */
+	private final MaterialsIndex index = new MaterialsIndex();
+
+	/**
+	 * The threads that update the properties of composites in parallel. They
+	 * are created when the service starts and stopped with it.
+	 */
+	private ExecutorService updateExecutor;
+
 	/**
 	 * The service registration to publish and unpublish this class as an
 	 * IMaterialsDatabase service.
@@ -143,6 +188,8 @@ public class XMLMaterialsDatabase
 	public void addMaterial(Material material) {
 		if (material != null) {
 			materialsMap.put(material.getName(), material);
+			index.put(material);
+			logPut(material);
 		}
 
 	}
@@ -158,6 +205,8 @@ public class XMLMaterialsDatabase
 	public void deleteMaterial(String name) {
 		if (name != null) {
 			materialsMap.remove(name);
+			index.remove(name);
+			logDelete(name);
 		}
 	}
 
@@ -172,6 +221,8 @@ public class XMLMaterialsDatabase
 	public void deleteMaterial(Material material) {
 		if (material != null) {
 			materialsMap.remove(material.getName());
+			index.remove(material.getName());
+			logDelete(material.getName());
 		}
 	}
 
@@ -186,13 +237,335 @@ public class XMLMaterialsDatabase
 	public void updateMaterial(Material material) {
 		if (material != null) {
 			materialsMap.put(material.getName(), material);
+			index.put(material);
+			logPut(material);
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#getMaterial(java.lang.
+	 * String)
+	 */
+	@Override
+	public Material getMaterial(String name) {
+		return index.get(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#findMaterials(java.lang.
+	 * String)
+	 */
+	@Override
+	public List<Material> findMaterials(String prefix) {
+		return (prefix != null) ? index.findByPrefix(prefix)
+				: new ArrayList<Material>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#findMaterials(java.lang.
+	 * String, double, double)
+	 */
+	@Override
+	public List<Material> findMaterials(String property, double min,
+			double max) {
+		return (property != null) ? index.findByRange(property, min, max)
+				: new ArrayList<Material>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#getIsotopes(java.lang.
+	 * String)
+	 */
+	@Override
+	public List<Material> getIsotopes(String element) {
+		return (element != null) ? index.getIsotopes(element)
+				: new ArrayList<Material>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#getCompositesOf(java.lang.
+	 * String)
+	 */
+	@Override
+	public List<Material> getCompositesOf(String name) {
+		return (name != null) ? index.getComposites(name)
+				: new ArrayList<Material>();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.eclipse.ice.materials.IMaterialsDatabase#updateCompositeProperties(
+	 * java.lang.String)
+	 */
+	@Override
+	public List<Material> updateCompositeProperties(String name) {
+
+		// Local Declarations
+		HashMap<String, Material> affected = new HashMap<String, Material>();
+		List<List<Material>> levels = new ArrayList<List<Material>>();
+		HashMap<String, Integer> depths = new HashMap<String, Integer>();
+		List<Material> updated = new ArrayList<Material>();
+
+		// Find the composites that need to be updated
+		if (name == null) {
+			for (Material material : getMaterials()) {
+				if (!material.isElemental()) {
+					affected.put(material.getName(), material);
+				}
+			}
+		} else {
+			ArrayDeque<String> toVisit = new ArrayDeque<String>();
+			toVisit.add(name);
+			while (!toVisit.isEmpty()) {
+				for (Material composite : index
+						.getComposites(toVisit.poll())) {
+					if (affected.put(composite.getName(), composite) == null) {
+						toVisit.add(composite.getName());
+					}
+				}
+			}
+		}
+		if (affected.isEmpty()) {
+			return updated;
+		}
+
+		// Point the components at the materials in the database so that the
+		// composites see any edits made to them
+		for (Material composite : affected.values()) {
+			for (MaterialStack stack : composite.getComponents()) {
+				Material current = materialsMap
+						.get(stack.getMaterial().getName());
+				if (current != null && current != composite) {
+					stack.setMaterial(current);
+				}
+			}
+		}
+
+		// Sort the composites into levels so that nested composites are
+		// updated after the composites they contain
+		for (Material composite : affected.values()) {
+			int depth = getDepth(composite, affected, depths,
+					new HashSet<String>());
+			while (levels.size() <= depth) {
+				levels.add(new ArrayList<Material>());
+			}
+			levels.get(depth).add(composite);
+		}
+
+		// Update each level in parallel, or on this thread if the service
+		// has not been started
+		ExecutorService executor = updateExecutor;
+		try {
+			for (List<Material> level : levels) {
+				if (executor == null || level.size() == 1) {
+					for (Material composite : level) {
+						composite.invalidateProperties();
+						composite.updateProperties();
+					}
+				} else {
+					List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+					for (final Material composite : level) {
+						tasks.add(new Callable<Void>() {
+							@Override
+							public Void call() {
+								composite.invalidateProperties();
+								composite.updateProperties();
+								return null;
+							}
+						});
+					}
+					for (Future<Void> result : executor.invokeAll(tasks)) {
+						result.get();
+					}
+				}
+				updated.addAll(level);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error(getClass().getName() + " Exception!", e);
+		} catch (ExecutionException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+		}
+
+		// Store the updated composites
+		for (Material composite : updated) {
+			updateMaterial(composite);
+		}
+
+		return updated;
+	}
+
+	/**
+	 * This operation determines how deeply a composite is nested in the other
+	 * composites that are being updated. Composites that contain none of the
+	 * others have a depth of zero.
+	 *
+	 * @param composite
+	 *            The composite
+	 * @param affected
+	 *            The composites that are being updated by name
+	 * @param depths
+	 *            The depths that have already been determined by name
+	 * @param visiting
+	 *            The names of the composites above this one, used to stop at
+	 *            cycles
+	 * @return The depth
+	 */
+	private int getDepth(Material composite, Map<String, Material> affected,
+			Map<String, Integer> depths, Set<String> visiting) {
+
+		Integer depth = depths.get(composite.getName());
+
+		if (depth == null) {
+			depth = 0;
+			visiting.add(composite.getName());
+			for (MaterialStack stack : composite.getComponents()) {
+				Material component = affected
+						.get(stack.getMaterial().getName());
+				if (component != null
+						&& !visiting.contains(component.getName())) {
+					depth = Math.max(depth,
+							getDepth(component, affected, depths, visiting)
+									+ 1);
+				}
+			}
+			visiting.remove(composite.getName());
+			depths.put(composite.getName(), depth);
+		}
+
+		return depth;
+	}
+
+	/**
+	 * This operation appends an addition or update to the user delta log.
+	 *
+	 * @param material
+	 *            The material that was added or updated
+	 */
+	private void logPut(Material material) {
+		if (userStore != null) {
+			synchronized (userStore) {
+				try {
+					userStore.appendPut(material);
+				} catch (IOException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
+			compactIfNeeded();
+		}
+	}
+
+	/**
+	 * This operation appends a deletion to the user delta log.
+	 *
+	 * @param name
+	 *            The name of the material that was deleted
+	 */
+	private void logDelete(String name) {
+		if (userStore != null) {
+			synchronized (userStore) {
+				try {
+					userStore.appendDelete(name);
+				} catch (IOException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
+			compactIfNeeded();
+		}
+	}
+
+	/**
+	 * This operation folds the user delta log into a new snapshot if it has
+	 * grown too long.
+	 */
+	private void compactIfNeeded() {
+		if (userStore.getDeltaCount() > MAX_DELTAS) {
+			writeDatabase();
+		}
+	}
+
+	/**
+	 * This operation loads the database that is in the provided file, using
+	 * the binary snapshot in the store if it is current. If it is not, the XML
+	 * file is read and a new snapshot is written.
+	 *
+	 * @param fileToLoad
+	 *            the file that contains a materials database in XML and which
+	 *            should be loaded.
+	 * @param store
+	 *            the binary store for the file
+	 */
+	private void loadDatabase(File fileToLoad, BinaryMaterialsStore store) {
+
+		// Use the snapshot if possible
+		if (store.isCurrent()) {
+			try {
+				List<Material> materials = store.load();
+				materialsMap = new Hashtable<String, Material>();
+				for (Material material : materials) {
+					materialsMap.put(material.getName(), material);
+				}
+				index.reset(materials);
+				return;
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+				logger.info("Reloading " + fileToLoad.getPath()
+						+ " because its snapshot could not be read.");
+			}
+		}
+
+		// Otherwise read the XML and keep any changes that were logged
+		// against the old snapshot
+		loadDatabase(fileToLoad);
+		if (materialsMap != null) {
+			try {
+				List<Material> materials = store.replayDeltas(getMaterials());
+				materialsMap = new Hashtable<String, Material>();
+				for (Material material : materials) {
+					materialsMap.put(material.getName(), material);
+				}
+			} catch (IOException e) {
+				logger.error(getClass().getName() + " Exception!", e);
+			}
+			index.reset(getMaterials());
+
+			// Replace the snapshot. The user XML file is written with it so
+			// that the replayed changes are kept in both.
+			if (store == userStore) {
+				writeDatabase();
+			} else {
+				try {
+					store.writeSnapshot(getMaterials());
+				} catch (IOException e) {
+					logger.error(getClass().getName() + " Exception!", e);
+				}
+			}
+		}
+
+		return;
+	}
+
 	/**
 	 * This operation loads the database that is in the provided file.
 	 *
-	 * @param streamToLoad
+	 * @param fileToLoad
 	 *            the file that contains a materials database in XML and which
 	 *            should be loaded.
 	 */
@@ -202,10 +575,17 @@ public class XMLMaterialsDatabase
 			// Create the input stream
 			FileInputStream stream = new FileInputStream(fileToLoad);
 			// Create the necessary JAXB equipment to load the file
-			Unmarshaller jaxbUnmarshaller = jaxbContext.createUnmarshaller();
+			Unmarshaller jaxbUnmarshaller = ICEJAXBContextCache
+					.acquireUnmarshaller(jaxbContext);
 			// And unmarshall it into the list
-			ICEList<Material> rawList = (ICEList<Material>) jaxbUnmarshaller
-					.unmarshal(stream);
+			ICEList<Material> rawList;
+			try {
+				rawList = (ICEList<Material>) jaxbUnmarshaller
+						.unmarshal(stream);
+			} finally {
+				ICEJAXBContextCache.releaseUnmarshaller(jaxbContext,
+						jaxbUnmarshaller);
+			}
 
 			// Load the list into the material map
 			materialsMap = new Hashtable<String, Material>();
@@ -219,22 +599,31 @@ public class XMLMaterialsDatabase
 	}
 
 	/**
-	 * This operation writes the database to disk in the user database file.
+	 * This operation writes the database to the user XML file and then writes
+	 * a new snapshot of it, which also clears the user delta log. The delta
+	 * log is kept if the XML file could not be written.
 	 */
 	private void writeDatabase() {
-
-		try {
-			// Create the necessary JAXB equipment to dump the file
-			Marshaller jaxbMarshaller = jaxbContext.createMarshaller();
-			jaxbMarshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-			// Create the ICEList of Materials
-			ICEList<Material> materialsList = new ICEList<Material>();
-			materialsList.setList(new ArrayList<Material>(getMaterials()));
-			// And dump it into the file
-			jaxbMarshaller.marshal(materialsList, userDatabase);
-		} catch (JAXBException e) {
-			System.err.println("XMLMaterialDatabase: Error writing database!");
-			logger.error(getClass().getName() + " Exception!", e);
+		synchronized (userStore) {
+			try {
+				// Create the ICEList of Materials and dump it into the file
+				ICEList<Material> materialsList = new ICEList<Material>();
+				materialsList.setList(new ArrayList<Material>(getMaterials()));
+				Marshaller jaxbMarshaller = ICEJAXBContextCache
+						.acquireMarshaller(jaxbContext);
+				try {
+					jaxbMarshaller.marshal(materialsList, userDatabase);
+				} finally {
+					ICEJAXBContextCache.releaseMarshaller(jaxbContext,
+							jaxbMarshaller);
+				}
+				// Snapshot the file that was just written
+				userStore.writeSnapshot(getMaterials());
+			} catch (JAXBException | IOException e) {
+				System.err.println(
+						"XMLMaterialDatabase: Error writing database!");
+				logger.error(getClass().getName() + " Exception!", e);
+			}
 		}
 	}
 
@@ -246,7 +635,7 @@ public class XMLMaterialsDatabase
 	@Override
 	public void restoreDefaults() {
 		// Load the default database
-		loadDatabase(defaultDatabase);
+		loadDatabase(defaultDatabase, defaultStore);
 		// Overwrite the user database
 		writeDatabase();
 	}
@@ -259,21 +648,44 @@ public class XMLMaterialsDatabase
 		// Local Declarations
 		File fileToLoad;
 
-		// Create the JAXB context to manipulate the files
+		// Get the shared JAXB context to manipulate the files
 		try {
-			jaxbContext = JAXBContext.newInstance(ICEList.class, Material.class,
-					MaterialStack.class);
+			jaxbContext = ICEJAXBContextCache.getContext(ICEList.class,
+					Material.class, MaterialStack.class);
 		} catch (JAXBException e) {
 			// Complain to the logger service
 			logger.error("Unable to initialize JAXB!", e);
 		}
 
-		// Choose which database to load and do so
-		if (userDatabase.exists()) {
+		// Create the threads that update composites
+		if (updateExecutor == null) {
+			updateExecutor = Executors.newFixedThreadPool(
+					Runtime.getRuntime().availableProcessors(),
+					new ThreadFactory() {
+						@Override
+						public Thread newThread(Runnable runnable) {
+							Thread thread = new Thread(runnable,
+									"ICE Materials Update");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+		}
+
+		// Create the binary stores for the databases
+		userStore = new BinaryMaterialsStore(userDatabase);
+		defaultStore = new BinaryMaterialsStore(defaultDatabase);
+
+		// Choose which database to load and do so. The user snapshot is
+		// current if it was written by this service, even if the user XML
+		// file does not exist.
+		if (userStore.isCurrent() || userDatabase.exists()) {
 			logger.info("Loading user-modified database.");
-			loadDatabase(userDatabase);
+			loadDatabase(userDatabase, userStore);
 		} else {
-			loadDatabase(defaultDatabase);
+			loadDatabase(defaultDatabase, defaultStore);
+			// Start a user snapshot so that changes can be logged against it
+			writeDatabase();
 		}
 
 		// Throw some info in the log
@@ -327,6 +739,12 @@ public class XMLMaterialsDatabase
 		// Write the database
 		writeDatabase();
 
+		// Stop the threads that update composites
+		if (updateExecutor != null) {
+			updateExecutor.shutdown();
+			updateExecutor = null;
+		}
+
 		logger.info("Service stopped!");
 
 		return;
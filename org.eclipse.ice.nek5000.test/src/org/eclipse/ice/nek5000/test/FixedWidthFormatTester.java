@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.nek5000.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.eclipse.ice.nek5000.FixedWidthFormat;
+import org.junit.Test;
+
+/**
+ * Tests that the FixedWidthFormat writes the same fields as String.format().
+ *
+ */
+public class FixedWidthFormatTester {
+
+	/*
+	 * Tests the %G conversions that the NekWriter uses for boundary conditions
+	 * and coordinates.
+	 */
+	@Test
+	public void checkAppendG() {
+
+		Random random = new Random(1);
+		double[] values = { 0.0, -0.0, 1.0, -1.0, 0.5, 0.1f, 2.5, 1.0e-4,
+				9.99995e-5, 0.00009999995, 999999.5, 9999999.5, 99999995.0,
+				123456.5, 1.0e7, 1.0e-300, Double.MIN_VALUE, Float.MAX_VALUE,
+				-Double.MAX_VALUE, Double.NaN, Double.NEGATIVE_INFINITY };
+
+		// Check values on the boundaries of rounding and notation
+		for (double value : values) {
+			checkG(value, 14, 7);
+			checkG(value, 9, 6);
+			checkG(value, 3, 1);
+		}
+
+		// Check floats and doubles of every magnitude
+		for (int i = 0; i < 100000; i++) {
+			float single = (float) (random.nextGaussian()
+					* Math.pow(10, random.nextInt(20) - 10));
+			checkG(single, 14, 7);
+			checkG(single, 9, 6);
+			checkG(Double.longBitsToDouble(random.nextLong()), 14, 7);
+		}
+	}
+
+	/*
+	 * Tests the %d and %s conversions.
+	 */
+	@Test
+	public void checkAppendFields() {
+
+		StringBuilder builder = new StringBuilder();
+
+		FixedWidthFormat.appendInt(builder, 42, 3);
+		FixedWidthFormat.appendInt(builder, -7, 6);
+		FixedWidthFormat.appendInt(builder, 123456, 3);
+		FixedWidthFormat.appendRight(builder, "ab", 4);
+		FixedWidthFormat.appendLeft(builder, "W", 3);
+		FixedWidthFormat.appendLeft(builder, null, 5);
+
+		assertEquals(String.format("%3d%6d%3d%4s%-3s%-5s", 42, -7, 123456,
+				"ab", "W", null), builder.toString());
+	}
+
+	/*
+	 * Checks that a value is written the same way by the FixedWidthFormat and
+	 * String.format().
+	 */
+	private void checkG(double value, int width, int precision) {
+		assertEquals(
+				String.format(Locale.US, "%" + width + "." + precision + "G",
+						value),
+				FixedWidthFormat.appendG(new StringBuilder(), value, width,
+						precision).toString());
+	}
+}
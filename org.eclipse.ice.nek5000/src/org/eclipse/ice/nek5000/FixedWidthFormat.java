@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.nek5000;
+
+/**
+ * This class appends numbers and strings to a StringBuilder in fixed width
+ * fields the way the %G, %d and %s conversions of String.format() write them
+ * in an English locale. It does not parse a format string or create a
+ * Formatter for every value, so it is much faster when the columns of a large
+ * reafile are written.
+ *
+ * Numbers are always written with a period as the decimal separator so that
+ * Nek5000 can read them no matter what the default locale is.
+ *
+ */
+public final class FixedWidthFormat {
+
+	/**
+	 * The largest precision of the %G conversion that is supported. Double
+	 * values do not have more significant digits than this.
+	 */
+	private static final int MAX_PRECISION = 17;
+
+	/**
+	 * The constructor is private because this class only has static
+	 * operations.
+	 */
+	private FixedWidthFormat() {
+	}
+
+	/**
+	 * This operation appends a floating point value like the "%width.precisionG"
+	 * conversion of String.format(). The value is rounded half up to the
+	 * number of significant digits given by the precision and written in
+	 * decimal notation if its exponent is between -4 and the precision or in
+	 * scientific notation otherwise. The field is padded on the left with
+	 * spaces.
+	 *
+	 * @param builder
+	 *            The StringBuilder to append to
+	 * @param value
+	 *            The value
+	 * @param width
+	 *            The minimum width of the field
+	 * @param precision
+	 *            The number of significant digits, which must be between 1
+	 *            and 17
+	 * @return The StringBuilder
+	 */
+	public static StringBuilder appendG(StringBuilder builder, double value,
+			int width, int precision) {
+
+		// Local Declarations
+		char[] digits = new char[MAX_PRECISION + 1];
+		int exponent;
+		int start = builder.length();
+
+		if (precision < 1 || precision > MAX_PRECISION) {
+			throw new IllegalArgumentException("FixedWidthFormat Message: "
+					+ "The precision must be between 1 and " + MAX_PRECISION
+					+ ".");
+		}
+
+		// Special values are rare enough to leave to the Formatter
+		if (Double.isNaN(value) || Double.isInfinite(value)) {
+			return builder.append(String.format(
+					"%" + width + "." + precision + "G", value));
+		}
+
+		// The Formatter writes a sign for negative zero too
+		if (Double.compare(value, 0.0) < 0) {
+			builder.append('-');
+		}
+
+		// Get the significant digits, rounded to the precision
+		exponent = round(Math.abs(value), digits, precision);
+
+		// Write the value in scientific notation if it is very small or large
+		if (exponent < -4 || exponent >= precision) {
+			builder.append(digits[0]);
+			if (precision > 1) {
+				builder.append('.').append(digits, 1, precision - 1);
+			}
+			builder.append('E').append(exponent < 0 ? '-' : '+');
+			if (Math.abs(exponent) < 10) {
+				builder.append('0');
+			}
+			builder.append(Math.abs(exponent));
+		} else if (exponent >= 0) {
+			// Otherwise write it with the decimal point after the digits of
+			// the integer part
+			builder.append(digits, 0, exponent + 1);
+			if (exponent + 1 < precision) {
+				builder.append('.').append(digits, exponent + 1,
+						precision - exponent - 1);
+			}
+		} else {
+			// Or before the leading zeros of the fraction
+			builder.append("0.");
+			for (int i = -1; i > exponent; i--) {
+				builder.append('0');
+			}
+			builder.append(digits, 0, precision);
+		}
+
+		return pad(builder, start, width);
+	}
+
+	/**
+	 * This operation appends an integer like the "%widthd" conversion of
+	 * String.format(), padded on the left with spaces.
+	 *
+	 * @param builder
+	 *            The StringBuilder to append to
+	 * @param value
+	 *            The value
+	 * @param width
+	 *            The minimum width of the field
+	 * @return The StringBuilder
+	 */
+	public static StringBuilder appendInt(StringBuilder builder, long value,
+			int width) {
+
+		// Local Declarations
+		int start = builder.length();
+
+		builder.append(value);
+
+		return pad(builder, start, width);
+	}
+
+	/**
+	 * This operation appends a value like the "%widths" conversion of
+	 * String.format(), padded on the left with spaces.
+	 *
+	 * @param builder
+	 *            The StringBuilder to append to
+	 * @param value
+	 *            The value, which is written as "null" if it is null
+	 * @param width
+	 *            The minimum width of the field
+	 * @return The StringBuilder
+	 */
+	public static StringBuilder appendRight(StringBuilder builder,
+			Object value, int width) {
+
+		// Local Declarations
+		int start = builder.length();
+
+		builder.append(String.valueOf(value));
+
+		return pad(builder, start, width);
+	}
+
+	/**
+	 * This operation appends a value like the "%-widths" conversion of
+	 * String.format(), padded on the right with spaces.
+	 *
+	 * @param builder
+	 *            The StringBuilder to append to
+	 * @param value
+	 *            The value, which is written as "null" if it is null
+	 * @param width
+	 *            The minimum width of the field
+	 * @return The StringBuilder
+	 */
+	public static StringBuilder appendLeft(StringBuilder builder, Object value,
+			int width) {
+
+		// Local Declarations
+		int start = builder.length();
+
+		builder.append(String.valueOf(value));
+		for (int i = builder.length() - start; i < width; i++) {
+			builder.append(' ');
+		}
+
+		return builder;
+	}
+
+	/**
+	 * This operation rounds a positive value or zero to a number of
+	 * significant digits. The digits are taken from the shortest decimal
+	 * string that represents the value, which Double.toString() returns, and
+	 * rounded half up the same way the Formatter rounds them.
+	 *
+	 * @param magnitude
+	 *            The value
+	 * @param digits
+	 *            The array that is filled with the rounded digits
+	 * @param precision
+	 *            The number of significant digits
+	 * @return The exponent of the value in scientific notation after it is
+	 *         rounded
+	 */
+	private static int round(double magnitude, char[] digits, int precision) {
+
+		// Local Declarations
+		String text = Double.toString(magnitude);
+		int count = 0;
+		int integerDigits = -1;
+		int exponent = 0;
+		int i;
+
+		// Zero has no significant digits
+		if (magnitude == 0.0) {
+			for (i = 0; i < precision; i++) {
+				digits[i] = '0';
+			}
+			return 0;
+		}
+
+		// Collect the significant digits, which start at the first non-zero
+		// digit, and find the decimal point and the exponent
+		for (i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '.') {
+				integerDigits = i;
+			} else if (c == 'E') {
+				exponent = Integer.parseInt(text.substring(i + 1));
+				break;
+			} else if (count > 0 || c != '0') {
+				// Keep one digit past the precision to round with
+				if (count <= precision) {
+					digits[count] = c;
+				}
+				count++;
+			} else {
+				// Leading zeros in the fraction lower the exponent
+				exponent--;
+			}
+		}
+		exponent += integerDigits - 1;
+
+		// Pad the digits with zeros up to the precision
+		for (i = count; i < precision; i++) {
+			digits[i] = '0';
+		}
+
+		// Round half up on the digit after the last one that is kept
+		if (count > precision && digits[precision] >= '5') {
+			i = precision - 1;
+			while (i >= 0 && digits[i] == '9') {
+				digits[i--] = '0';
+			}
+			if (i >= 0) {
+				digits[i]++;
+			} else {
+				// All of the digits were nines, so 99.9 became 100
+				digits[0] = '1';
+				exponent++;
+			}
+		}
+
+		return exponent;
+	}
+
+	/**
+	 * This operation pads a field that was appended on the left with spaces.
+	 *
+	 * @param builder
+	 *            The StringBuilder
+	 * @param start
+	 *            The index in the StringBuilder where the field starts
+	 * @param width
+	 *            The minimum width of the field
+	 * @return The StringBuilder
+	 */
+	private static StringBuilder pad(StringBuilder builder, int start,
+			int width) {
+
+		// Local Declarations
+		int padding = width - (builder.length() - start);
+
+		for (int i = 0; i < padding; i++) {
+			builder.insert(start, ' ');
+		}
+
+		return builder;
+	}
+}
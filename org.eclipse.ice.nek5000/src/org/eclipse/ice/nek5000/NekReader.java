@@ -13,9 +13,9 @@
 package org.eclipse.ice.nek5000;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -38,6 +38,8 @@ import org.eclipse.ice.datastructures.entry.IEntry;
 import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.MeshComponent;
+import org.eclipse.ice.io.mapped.MappedLineScanner;
+import org.eclipse.ice.io.serializable.IOMetrics;
 
 /**
  * NekReader class is responsible for reading in the contents of a Nek5000 .rea
@@ -153,6 +155,7 @@ public class NekReader {
 		}
 
 		ArrayList<Component> components = new ArrayList<Component>();
+		long start = System.nanoTime();
 
 		// Read lines into an ArrayList of Strings
 		ArrayList<String> lines = readFileLines(reaFile);
@@ -191,6 +194,7 @@ public class NekReader {
 		ProblemProperties properties = new ProblemProperties(numDimensions,
 				numThermalElements, numFluidElements, numPassiveScalars);
 		this.properties = properties;
+		IOMetrics.recordRead("Nek5000", reaFile, start);
 
 		// Return the components
 		return components;
@@ -206,29 +210,23 @@ public class NekReader {
 	 * @throws FileNotFoundException
 	 *             Thrown when input file cannot be found
 	 * @throws IOException
-	 *             Thrown when the FileInputStream cannot be read or closed
+	 *             Thrown when the file cannot be mapped into memory
 	 */
 	public ArrayList<String> readFileLines(File file)
 			throws FileNotFoundException, IOException {
 
-		// Convert to FileInputStream
-		FileInputStream fileStream = null;
-		fileStream = new FileInputStream(file);
-
-		// Read the FileInputStream and append to a StringBuffer
-		StringBuffer buffer = new StringBuffer();
-		int fileByte;
-		while ((fileByte = fileStream.read()) != -1) {
-			buffer.append((char) fileByte);
+		// Map the file and decode its lines. Each byte is one character.
+		ArrayList<String> fileLines;
+		try (MappedLineScanner scanner = MappedLineScanner.open(file,
+				StandardCharsets.ISO_8859_1)) {
+			fileLines = scanner.getLines();
 		}
 
-		// Close the stream
-		fileStream.close();
-
-		// Break up the StringBuffer at each newline character
-		String[] bufferSplit = (buffer.toString()).split("\n");
-		ArrayList<String> fileLines = new ArrayList<String>(
-				Arrays.asList(bufferSplit));
+		// Drop the blank lines at the end of the file
+		while (!fileLines.isEmpty()
+				&& fileLines.get(fileLines.size() - 1).isEmpty()) {
+			fileLines.remove(fileLines.size() - 1);
+		}
 
 		return fileLines;
 	}
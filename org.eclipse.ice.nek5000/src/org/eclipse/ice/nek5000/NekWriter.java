@@ -12,18 +12,29 @@
  *******************************************************************************/
 package org.eclipse.ice.nek5000;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.eclipse.eavp.viz.modeling.base.IController;
 import org.eclipse.eavp.viz.modeling.properties.MeshCategory;
@@ -49,6 +60,7 @@ import org.eclipse.ice.datastructures.form.TableComponent;
 import org.eclipse.ice.datastructures.form.TimeDataComponent;
 import org.eclipse.ice.datastructures.form.TreeComposite;
 import org.eclipse.ice.datastructures.form.emf.EMFComponent;
+import org.eclipse.ice.io.serializable.IOMetrics;
 
 /**
  * This class is responsible for writing the contents of a Component collection
@@ -72,6 +84,56 @@ public class NekWriter implements IComponentVisitor {
 	 */
 	private ProblemProperties properties;
 
+	/*
+	 * The size in characters of the buffer that the reafile is written
+	 * through.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/*
+	 * The number of mesh elements that one task formats. Meshes with more
+	 * elements than this are split into chunks that are formatted in parallel
+	 * and then written in order.
+	 */
+	private static final int ELEMENTS_PER_TASK = 2048;
+
+	/**
+	 * The lines of a chunk of mesh elements and of their boundary conditions,
+	 * formatted by formatMesh(...).
+	 */
+	private static class MeshChunk {
+
+		/**
+		 * The headers and coordinates of the elements.
+		 */
+		private final StringBuilder elements = new StringBuilder();
+
+		/**
+		 * The fluid boundary condition lines.
+		 */
+		private final StringBuilder fluidBCs = new StringBuilder();
+
+		/**
+		 * The thermal boundary condition lines.
+		 */
+		private final StringBuilder thermalBCs = new StringBuilder();
+
+		/**
+		 * The boundary condition lines of each set of passive scalars.
+		 */
+		private final ArrayList<StringBuilder> passiveScalarBCs = new ArrayList<StringBuilder>();
+
+		/**
+		 * The number of fluid boundary condition lines.
+		 */
+		private int numFluidBCs = 0;
+
+		/**
+		 * The number of thermal boundary condition lines.
+		 */
+		private int numThermalBCs = 0;
+	}
+
 	/**
 	 * Nullary constructor
 	 */
@@ -97,7 +159,7 @@ public class NekWriter implements IComponentVisitor {
 	 *             Thrown when the output file cannot be found
 	 * @throws IOException
 	 *             Thrown when any of the writeSomething(...) methods fail to
-	 *             write to the OutputStream
+	 *             write to the output file
 	 * 
 	 */
 	public void writeReaFile(ArrayList<Component> components, File outputFile,
@@ -112,38 +174,41 @@ public class NekWriter implements IComponentVisitor {
 				&& properties.getNumPassiveScalars() >= 0) {
 
 			// Local declarations
-			OutputStream stream = null;
 			Component currComponent;
+			long start = System.nanoTime();
 
 			// Set the problem properties
 			this.properties = properties;
 
-			// Set the output stream to the output file
-			stream = new FileOutputStream(outputFile);
+			// Write to the output file through one buffer, encoding the text
+			// as it is written instead of line by line
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+					new FileOutputStream(outputFile), StandardCharsets.UTF_8),
+					BUFFER_SIZE)) {
+
+				// Verify all the Components are valid and then add
+				// componentMap Map
+				for (int i = 0; i < components.size(); i++) {
+					currComponent = components.get(i);
+					currComponent.accept(this);
+				}
 
-			// Verify all the Components are valid and then add componentMap Map
-			for (int i = 0; i < components.size(); i++) {
-				currComponent = components.get(i);
-				currComponent.accept(this);
+				// Write the output file sections
+				writeParameters(writer);
+				writePassiveScalarData(writer);
+				writeLogicalSwitches(writer);
+				writePreNekAxes(writer);
+				writeMesh(writer);
+				writePresolveRestartOpts(writer);
+				writeInitialConditions(writer);
+				writeDriveForceData(writer);
+				writeVarPropertyData(writer);
+				writeHistoryIntegralData(writer);
+				writeOutputFieldSpec(writer);
+				writeObjectSpec(writer);
+				writeICEHeader(writer);
 			}
-
-			// Write the output file sections
-			writeParameters(stream);
-			writePassiveScalarData(stream);
-			writeLogicalSwitches(stream);
-			writePreNekAxes(stream);
-			writeMesh(stream);
-			writePresolveRestartOpts(stream);
-			writeInitialConditions(stream);
-			writeDriveForceData(stream);
-			writeVarPropertyData(stream);
-			writeHistoryIntegralData(stream);
-			writeOutputFieldSpec(stream);
-			writeObjectSpec(stream);
-			writeICEHeader(stream);
-
-			// Close the output stream
-			stream.close();
+			IOMetrics.recordWrite("Nek5000", outputFile, start);
 
 		}
 
@@ -154,14 +219,14 @@ public class NekWriter implements IComponentVisitor {
 	 * Writes an ICE header at the top of the reafile, providing the date, time
 	 * and hostname where the file was generated.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws UnknownHostException
 	 *             Thrown when the host cannot be resolved
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeICEHeader(OutputStream stream)
+	private void writeICEHeader(Writer writer)
 			throws UnknownHostException, IOException {
 
 		DateFormat dateFormat = new SimpleDateFormat("MM/dd/yyyy HH:mm:ss");
@@ -178,22 +243,21 @@ public class NekWriter implements IComponentVisitor {
 				date, user, hostname);
 
 		// Write to the output stream
-		byte[] byteArray = iceHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(iceHeader);
 
 		return;
 	}
 
 	/**
 	 * Grabs the PARAMETERS DataComponent from the componentMap and writes the
-	 * contents to the specified OutputStream.
+	 * contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeParameters(OutputStream stream) throws IOException {
+	private void writeParameters(Writer writer) throws IOException {
 
 		// Local declarations
 		DataComponent parameters = (DataComponent) componentMap
@@ -214,8 +278,7 @@ public class NekWriter implements IComponentVisitor {
 				numEntries);
 
 		// Write the parameters header
-		byte[] byteArray = paramHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(paramHeader);
 
 		// Write the parameters
 		for (int i = 0; i < numEntries; i++) {
@@ -229,8 +292,7 @@ public class NekWriter implements IComponentVisitor {
 					currName, currDesc);
 
 			// Write to the output stream
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.write(currLine);
 		}
 
 		return;
@@ -238,14 +300,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the PASSIVE SCALARA DATA DataComponent from the componentMap and
-	 * writes the contents to the specified OutputStream.
+	 * writes the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writePassiveScalarData(OutputStream stream)
+	private void writePassiveScalarData(Writer writer)
 			throws IOException {
 
 		// Local declarations
@@ -262,8 +324,7 @@ public class NekWriter implements IComponentVisitor {
 						+ "2 CONDUCT; 2RHOCP\n", numEntries);
 
 		// Write the passive scalars header
-		byte[] byteArray = passiveScalarsHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(passiveScalarsHeader);
 
 		// Write the passive scalars
 		for (int i = 0; i < numEntries; i++) {
@@ -274,8 +335,7 @@ public class NekWriter implements IComponentVisitor {
 			currLine = String.format("      %-10s\n", currValue);
 
 			// Write to the output stream
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.write(currLine);
 		}
 
 		return;
@@ -283,14 +343,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the LOGICAL SWITCHES DataComponent from the componentMap and writes
-	 * the contents to the specified OutputStream.
+	 * the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeLogicalSwitches(OutputStream stream) throws IOException {
+	private void writeLogicalSwitches(Writer writer) throws IOException {
 
 		// Local declarations
 		DataComponent logicalSwitches = (DataComponent) componentMap
@@ -307,8 +367,7 @@ public class NekWriter implements IComponentVisitor {
 				.format("         %3s  LOGICAL SWITCHES FOLLOW\n", numEntries);
 
 		// Write the logical switches header
-		byte[] byteArray = switchesHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(switchesHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -339,22 +398,21 @@ public class NekWriter implements IComponentVisitor {
 				currLine = String.format("  %s     %s\n", currValue, currName);
 			}
 			// Write to the output stream
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.write(currLine);
 		}
 		return;
 	}
 
 	/**
 	 * Grabs the PRE-NEK AXES DataComponent from the componentMap and writes the
-	 * contents to the specified OutputStream.
+	 * contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writePreNekAxes(OutputStream stream) throws IOException {
+	private void writePreNekAxes(Writer writer) throws IOException {
 
 		// Local declarations
 		DataComponent preNekAxes = (DataComponent) componentMap
@@ -364,7 +422,6 @@ public class NekWriter implements IComponentVisitor {
 		String currValue;
 		String currName;
 		String currLine;
-		byte[] byteArray;
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -375,8 +432,7 @@ public class NekWriter implements IComponentVisitor {
 			currLine = String.format("   %s %s\n", currValue, currName);
 
 			// Write to the output stream
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.write(currLine);
 		}
 
 		return;
@@ -384,64 +440,192 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the MESH DATA MeshComponent from the componentMap and writes the
-	 * contents to the specified OutputStream. In the process of iterating
-	 * through each element/quad, this method also constructs 2+ ArrayLists of
-	 * Strings (thermal, fluid and if any passive scalar BCs) representing lines
-	 * of boundary conditions in a reafile. These ArrayLists are passed into the
-	 * writeBoundaryConditions(...) method.
+	 * contents to the specified Writer. The mesh elements and their thermal,
+	 * fluid and passive scalar boundary conditions are formatted in chunks by
+	 * formatMesh(...), and the boundary conditions are written after the
+	 * curved side data by writeBoundaryConditions(...).
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeMesh(OutputStream stream) throws IOException {
+	private void writeMesh(Writer writer) throws IOException {
 
 		// Local declarations
 		MeshComponent mesh = (MeshComponent) componentMap.get("Mesh Data");
-		NekPolygonController currQuad;
-		IController currEdge;
-		int currEdgeId;
-		String currValue;
+		int numPassiveScalars = properties.getNumPassiveScalars();
+		int numThermalBCs = 0;
+		int numFluidBCs = 0;
 
-		// String buffer used to construct the mesh data, as the MeshComponent
+		// Format the mesh elements and boundary conditions. The MeshComponent
 		// must be read first before its header can be written, preventing a
-		// simple top-down writing to the output stream
-		StringBuffer buffer = new StringBuffer();
-		ArrayList<String> bufferArray = new ArrayList<String>();
+		// simple top-down writing to the output file.
+		List<MeshChunk> chunks = formatMesh(mesh.getPolygons(),
+				numPassiveScalars);
+		for (MeshChunk chunk : chunks) {
+			numThermalBCs += chunk.numThermalBCs;
+			numFluidBCs += chunk.numFluidBCs;
+		}
 
-		ArrayList<Float> xCoords = new ArrayList<Float>();
-		ArrayList<Float> yCoords = new ArrayList<Float>();
+		// Update the ProblemProperties if any mesh element counts changed
+		updateProperties(properties.getNumDimensions(),
+				numThermalBCs == 0 ? properties.getNumThermalElements()
+						: numThermalBCs / 4,
+				numFluidBCs == 0 ? properties.getNumFluidElements()
+						: numFluidBCs / 4,
+				numPassiveScalars);
 
-		BoundaryCondition currBC;
-		ArrayList<Float> currBCValues = new ArrayList<Float>();
-		ArrayList<String> thermalBCs = new ArrayList<String>();
-		ArrayList<String> fluidBCs = new ArrayList<String>();
-		ArrayList<ArrayList<String>> passiveScalarBCs = null;
+		// Construct the header
+		String meshHeader = String.format(
+				"  *** MESH DATA ***\n"
+						+ "      %3d      %3d      %3d           NEL,NDIM,NELV\n",
+				properties.getNumThermalElements(),
+				properties.getNumDimensions(),
+				properties.getNumFluidElements());
+
+		// Write the mesh data header and then the elements in order
+		writer.write(meshHeader);
+		for (MeshChunk chunk : chunks) {
+			writer.append(chunk.elements);
+		}
+
+		// Write curved side data
+		writeCurvedSideData(writer);
+
+		// Write boundary conditions
+		writeBoundaryConditions(writer, chunks, numFluidBCs, numThermalBCs);
+
+		return;
+	}
+
+	/**
+	 * Formats the mesh elements and their boundary conditions in chunks of
+	 * ELEMENTS_PER_TASK elements. Large meshes are formatted on several
+	 * threads, but the chunks are always returned in the order of their
+	 * elements.
+	 * 
+	 * @param polygons
+	 *            The elements of the mesh
+	 * @param numPassiveScalars
+	 *            The number of sets of passive scalars
+	 * @return The formatted chunks, in order
+	 * @throws IOException
+	 *             Thrown when formatting is interrupted or fails
+	 */
+	private List<MeshChunk> formatMesh(final List<IController> polygons,
+			final int numPassiveScalars) throws IOException {
+
+		// Local declarations
+		int numChunks = (polygons.size() + ELEMENTS_PER_TASK - 1)
+				/ ELEMENTS_PER_TASK;
+		ArrayList<MeshChunk> chunks = new ArrayList<MeshChunk>(numChunks);
+		ArrayList<Future<MeshChunk>> futures = new ArrayList<Future<MeshChunk>>(
+				numChunks);
+		ExecutorService pool;
+
+		// Small meshes are not worth the threads
+		if (numChunks <= 1) {
+			chunks.add(formatElements(polygons, 0, polygons.size(),
+					numPassiveScalars));
+			return chunks;
+		}
+
+		// Otherwise format the chunks in parallel
+		pool = Executors.newFixedThreadPool(Math.min(numChunks,
+				Runtime.getRuntime().availableProcessors()),
+				new ThreadFactory() {
+					@Override
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread(runnable,
+								"ICE Nek5000 Writer");
+						thread.setDaemon(true);
+						return thread;
+					}
+				});
+		try {
+			for (int i = 0; i < numChunks; i++) {
+				final int first = i * ELEMENTS_PER_TASK;
+				final int last = Math.min(first + ELEMENTS_PER_TASK,
+						polygons.size());
+				futures.add(pool.submit(new Callable<MeshChunk>() {
+					@Override
+					public MeshChunk call() {
+						return formatElements(polygons, first, last,
+								numPassiveScalars);
+					}
+				}));
+			}
+			for (Future<MeshChunk> future : futures) {
+				chunks.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException(
+					"NekWriter Message: Formatting the mesh was interrupted.");
+		} catch (ExecutionException e) {
+			// Rethrow what the task threw so that errors look the same as
+			// when the mesh is formatted on this thread
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return chunks;
+	}
+
+	/**
+	 * Formats a range of mesh elements. The header and the coordinates of each
+	 * element are added to the chunk's elements and the lines of each of its
+	 * boundary conditions to the lists of boundary conditions of the chunk.
+	 * 
+	 * @param polygons
+	 *            The elements of the mesh
+	 * @param first
+	 *            The index of the first element to format
+	 * @param last
+	 *            The index after the last element to format
+	 * @param numPassiveScalars
+	 *            The number of sets of passive scalars
+	 * @return The formatted chunk
+	 */
+	private static MeshChunk formatElements(List<IController> polygons,
+			int first, int last, int numPassiveScalars) {
+
+		// Local declarations
+		MeshChunk chunk = new MeshChunk();
+		StringBuilder buffer = chunk.elements;
+		NekPolygonController currQuad;
+		List<EdgeController> edges;
+		IController currEdge;
+		int currEdgeId;
+
+		for (int k = 0; k < numPassiveScalars; k++) {
+			chunk.passiveScalarBCs.add(new StringBuilder());
+		}
 
 		// Iterate through the mesh elements
-		for (int i = 0; i < mesh.getPolygons().size(); i++) {
+		for (int i = first; i < last; i++) {
 
 			// Define the current mesh element
-			currQuad = (NekPolygonController) mesh.getPolygons().get(i);
-			currValue = String.format(
-					"           ELEMENT%6s [ %4s]" // FORMAT:
-													// 18X,I6,4X,I3,A1,11x,i5
-							+ "  GROUP   %5s\n",
-					(i + 1), currQuad.getPolygonProperties().getMaterialId(),
-					currQuad.getPolygonProperties().getGroupNum());
-
-			// Write the mesh element header
-			buffer.append(currValue);
-
-			/* --- Construct mesh elements --- */
-
-			// Populate the lists of coordinates, in order, from the start points of the entity's edges.
-			for (EdgeController entity : currQuad
-					.getEntitiesFromCategory(MeshCategory.EDGES, EdgeController.class)) {
-				xCoords.add((float) entity.getStartLocation()[0]); 
-				yCoords.add((float) entity.getStartLocation()[1]); 
-			}
+			currQuad = (NekPolygonController) polygons.get(i);
+
+			// Write the mesh element header. FORMAT: 18X,I6,4X,I3,A1,11x,i5
+			buffer.append("           ELEMENT");
+			FixedWidthFormat.appendInt(buffer, i + 1, 6).append(" [ ");
+			FixedWidthFormat.appendRight(buffer,
+					currQuad.getPolygonProperties().getMaterialId(), 4)
+					.append("]  GROUP   ");
+			FixedWidthFormat.appendRight(buffer,
+					currQuad.getPolygonProperties().getGroupNum(), 5)
+					.append('\n');
+
+			/* --- Construct boundary conditions --- */
 
 			// Iterate through the Edges of the current Quad
 			for (int j = 0; j < 4; j++) {
@@ -460,149 +644,93 @@ public class NekWriter implements IComponentVisitor {
 				 * FIXME assuming only the case of < 1k elements
 				 */
 
-				/* --- Construct fluid boundary condition --- */
-
-				// Grab the current edge's fluid boundary conditions
-				currBC = currQuad.getFluidBoundaryCondition(currEdgeId);
-
-				// Check if the current edge has a valid fluid BC
-				if (currBC.getType() != BoundaryConditionType.None) {
-
-					// Get its values
-					currBCValues = currBC.getValues();
-
-					// Construct the proper string format
-					currValue = String.format(
-							" %-3s%3d%3d%14.7G%14.7G%14.7G%14.7G%14.7G\n",
-							currBC.getType().id, (i + 1), (j + 1),
-							currBCValues.get(0), currBCValues.get(1),
-							currBCValues.get(2), currBCValues.get(3),
-							currBCValues.get(4));
-
-					// Add to fluid boundary conditions list
-					fluidBCs.add(currValue);
+				// Add the fluid and thermal boundary conditions
+				if (appendBoundaryCondition(chunk.fluidBCs,
+						currQuad.getFluidBoundaryCondition(currEdgeId), i + 1,
+						j + 1)) {
+					chunk.numFluidBCs++;
 				}
-
-				/* --- Construct thermal boundary condition --- */
-
-				// Grab the current edge's thermal boundary condition
-				currBC = currQuad.getThermalBoundaryCondition(currEdgeId);
-
-				// Check if the current Quad has a valid thermal BC
-				if (currBC.getType() != BoundaryConditionType.None) {
-
-					// Get its values
-					currBCValues = currBC.getValues();
-
-					// Construct the proper string format
-					currValue = String.format(
-							" %-3s%3d%3d%14.7G%14.7G%14.7G%14.7G%14.7G\n",
-							currBC.getType().id, (i + 1), (j + 1),
-							currBCValues.get(0), currBCValues.get(1),
-							currBCValues.get(2), currBCValues.get(3),
-							currBCValues.get(4));
-
-					// Add to thermal boundary conditions list
-					thermalBCs.add(currValue);
+				if (appendBoundaryCondition(chunk.thermalBCs,
+						currQuad.getThermalBoundaryCondition(currEdgeId), i + 1,
+						j + 1)) {
+					chunk.numThermalBCs++;
 				}
 
-				/* --- Construct passive scalar boundary condition line --- */
-
-				if (properties.getNumPassiveScalars() > 0) {
-
-					passiveScalarBCs = new ArrayList<ArrayList<String>>(
-							properties.getNumPassiveScalars());
-
-					// Iterate through as many passive scalars as there are
-					for (int k = 1; k <= properties
-							.getNumPassiveScalars(); k++) {
-
-						// Grab the current element's kth passive scalar
-						// boundary condition
-						currBC = currQuad.getOtherBoundaryCondition(currEdgeId,
-								k);
-
-						// Check if the current Quad has a valid passive scalar
-						// BC
-						if (currBC.getType() != BoundaryConditionType.None) {
-
-							// Get its values
-							currBCValues = currBC.getValues();
-
-							// Construct the proper string format
-							currValue = String.format(
-									" %-3s%3d%3d%14.7G%14.7G%14.7G%14.7G%14.7G\n",
-									currBC.getType().id, (i + 1), (j + 1),
-									currBCValues.get(0), currBCValues.get(1),
-									currBCValues.get(2), currBCValues.get(3),
-									currBCValues.get(4));
-
-							// Add to passive scalar boundary condition list
-							passiveScalarBCs.get(k).add(currValue);
-						}
-					}
-
+				// Add the boundary condition of each passive scalar set
+				for (int k = 1; k <= numPassiveScalars; k++) {
+					appendBoundaryCondition(chunk.passiveScalarBCs.get(k - 1),
+							currQuad.getOtherBoundaryCondition(currEdgeId, k),
+							i + 1, j + 1);
 				}
-
 			}
 
-			// Write the coordinates to the buffer
-			currValue = String.format(
-					" %9.6G     %9.6G     %9.6G     %9.6G\n"
-							+ " %9.6G     %9.6G     %9.6G     %9.6G\n",
-					xCoords.get(0), xCoords.get(1), xCoords.get(2),
-					xCoords.get(3), yCoords.get(0), yCoords.get(1),
-					yCoords.get(2), yCoords.get(3));
-			buffer.append(currValue);
-
-			// Clear the coordinates for the next edge
-			xCoords.clear();
-			yCoords.clear();
-
+			/* --- Construct mesh element coordinates --- */
+
+			// The coordinates are the start points of the entity's edges, in
+			// order
+			edges = currQuad.getEntitiesFromCategory(MeshCategory.EDGES,
+					EdgeController.class);
+			for (int axis = 0; axis < 2; axis++) {
+				for (int j = 0; j < 4; j++) {
+					buffer.append(j == 0 ? " " : "     ");
+					FixedWidthFormat.appendG(buffer,
+							(float) edges.get(j).getStartLocation()[axis], 9,
+							6);
+				}
+				buffer.append('\n');
+			}
 		}
 
-		// Update the ProblemProperties if any mesh element counts changed
-		updateProperties(properties.getNumDimensions(),
-				thermalBCs.isEmpty() ? properties.getNumThermalElements()
-						: thermalBCs.size() / 4,
-				fluidBCs.isEmpty() ? properties.getNumFluidElements()
-						: fluidBCs.size() / 4,
-				passiveScalarBCs == null ? 0 : passiveScalarBCs.size() / 4);
-
-		// Construct the header
-		String meshHeader = String.format(
-				"  *** MESH DATA ***\n"
-						+ "      %3d      %3d      %3d           NEL,NDIM,NELV\n",
-				properties.getNumThermalElements(),
-				properties.getNumDimensions(),
-				properties.getNumFluidElements());
-
-		// Write the mesh data header to the beginning of the StringBuffer
-		buffer.insert(0, meshHeader);
+		return chunk;
+	}
 
-		// Write the StringBuffer to the OutputStream
-		byte[] byteArray = buffer.toString().getBytes();
-		stream.write(byteArray);
+	/**
+	 * Adds the line of a boundary condition in a reafile to a StringBuilder
+	 * if the boundary condition is set.
+	 * 
+	 * @param lines
+	 *            The StringBuilder to add the line to
+	 * @param condition
+	 *            The boundary condition
+	 * @param element
+	 *            The number of the mesh element, starting at 1
+	 * @param edge
+	 *            The number of the edge of the element, starting at 1
+	 * @return True if the line was added, false if the boundary condition is
+	 *         None
+	 */
+	private static boolean appendBoundaryCondition(StringBuilder lines,
+			BoundaryCondition condition, int element, int edge) {
 
-		// Write curved side data
-		writeCurvedSideData(stream);
+		// Skip edges without a boundary condition
+		if (condition.getType() == BoundaryConditionType.None) {
+			return false;
+		}
 
-		// Write boundary conditions
-		writeBoundaryConditions(stream, fluidBCs, thermalBCs, passiveScalarBCs);
+		// Format: " %-3s%3d%3d%14.7G%14.7G%14.7G%14.7G%14.7G\n"
+		ArrayList<Float> values = condition.getValues();
+		lines.append(' ');
+		FixedWidthFormat.appendLeft(lines, condition.getType().id, 3);
+		FixedWidthFormat.appendInt(lines, element, 3);
+		FixedWidthFormat.appendInt(lines, edge, 3);
+		for (int i = 0; i < 5; i++) {
+			FixedWidthFormat.appendG(lines, values.get(i), 14, 7);
+		}
+		lines.append('\n');
 
-		return;
+		return true;
 	}
 
 	/**
 	 * Grabs the CURVED SIDE DATA MeshComponent from the componentMap and writes
-	 * the contents to the specified OutputStream.
+	 * the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeCurvedSideData(OutputStream stream) throws IOException {
+	private void writeCurvedSideData(Writer writer) throws IOException {
 
 		// Local declarations
 		MeshComponent curvedSides = (MeshComponent) componentMap
@@ -616,8 +744,7 @@ public class NekWriter implements IComponentVisitor {
 						+ "IEDGE,IEL,CURVE(I),I=1,5, CCURVE\n", numEntries);
 
 		// Write the curved sides header
-		byte[] byteArray = curvedSidesHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(curvedSidesHeader);
 
 		// TODO implement me!
 
@@ -625,96 +752,72 @@ public class NekWriter implements IComponentVisitor {
 	}
 
 	/**
-	 * Reads in ArrayLists of boundary conditions constructed by writeMesh(...)
-	 * and writes them to the specified OutputStream.
+	 * Writes the boundary condition lines of the mesh chunks constructed by
+	 * writeMesh(...) to the specified Writer, in the order of the chunks.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
-	 * @param fluidBCs
-	 *            ArrayList of Strings representing the lines of fluid boundary
-	 *            conditions in a reafile
-	 * @param thermalBCs
-	 *            ArrayList of Strings representing the lines of thermal
-	 *            boundary conditions in a reafile
-	 * @param passiveScalarBCs
-	 *            ArrayList of ArrayLists of Strings representing all possible
-	 *            sets (if any) of passive scalar boundary conditions, where
-	 *            each String represents a line in a reafile
+	 * @param writer
+	 *            The Writer to write to
+	 * @param chunks
+	 *            The formatted mesh chunks, which hold the lines of fluid,
+	 *            thermal and passive scalar boundary conditions in a reafile
+	 * @param numFluidBCs
+	 *            The number of fluid boundary condition lines in the chunks
+	 * @param numThermalBCs
+	 *            The number of thermal boundary condition lines in the chunks
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeBoundaryConditions(OutputStream stream,
-			ArrayList<String> fluidBCs, ArrayList<String> thermalBCs,
-			ArrayList<ArrayList<String>> passiveScalarBCs) throws IOException {
+	private void writeBoundaryConditions(Writer writer, List<MeshChunk> chunks,
+			int numFluidBCs, int numThermalBCs) throws IOException {
 
 		// Construct the header
 		String boundaryConditionHeader = "  ***** BOUNDARY CONDITIONS *****\n";
 
 		// Write the boundary conditions header
-		byte[] byteArray = boundaryConditionHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(boundaryConditionHeader);
 
 		// Check that there are fluid boundary conditions
-		if (!fluidBCs.isEmpty()) {
+		if (numFluidBCs > 0) {
 			// Write the fluid boundary conditions header
 			String fluidHeader = "  ***** FLUID   BOUNDARY CONDITIONS *****\n";
-			byteArray = fluidHeader.getBytes();
-			stream.write(byteArray);
+			writer.write(fluidHeader);
 
 			// Write fluid boundary condition lines
-			for (int i = 0; i < fluidBCs.size(); i++) {
-				byteArray = fluidBCs.get(i).getBytes();
-				stream.write(byteArray);
+			for (MeshChunk chunk : chunks) {
+				writer.append(chunk.fluidBCs);
 			}
 		} else {
 			String noFluidHeader = "  ***** NO FLUID   BOUNDARY CONDITIONS *****\n";
-			byteArray = noFluidHeader.getBytes();
-			stream.write(byteArray);
+			writer.write(noFluidHeader);
 		}
 
 		// Check that there are thermal boundary conditions
-		if (!thermalBCs.isEmpty()) {
+		if (numThermalBCs > 0) {
 			// Write the thermal boundary conditions header
 			String thermalHeader = "  ***** THERMAL BOUNDARY CONDITIONS *****\n";
-			byteArray = thermalHeader.getBytes();
-			stream.write(byteArray);
+			writer.write(thermalHeader);
 
 			// Write thermal boundary condition lines
-			for (int i = 0; i < thermalBCs.size(); i++) {
-				byteArray = thermalBCs.get(i).getBytes();
-				stream.write(byteArray);
+			for (MeshChunk chunk : chunks) {
+				writer.append(chunk.thermalBCs);
 			}
 		} else {
 			String noThermalHeader = "  ***** NO THERMAL BOUNDARY CONDITIONS *****\n";
-			byteArray = noThermalHeader.getBytes();
-			stream.write(byteArray);
+			writer.write(noThermalHeader);
 		}
 
 		// Write passive scalar boundary condition lines
-		if (properties.getNumPassiveScalars() > 0) {
-
-			ArrayList<String> currPassiveScalarBC = new ArrayList<String>();
-
-			// Write passive scalar boundary condition lines
-			for (int i = 0; i < properties.getNumPassiveScalars(); i++) {
+		for (int i = 0; i < properties.getNumPassiveScalars(); i++) {
 
-				// Define the current passive scalar set
-				currPassiveScalarBC = passiveScalarBCs.get(i);
+			// Write the passive scalar boundary conditions header
+			String passiveScalarHeader = String.format(
+					"  ***** PASSIVE SCALAR         %3s BOUNDARY CONDITIONS *****\n",
+					(i + 1));
+			writer.write(passiveScalarHeader);
 
-				// Write the passive scalar boundary conditions header
-				String passiveScalarHeader = String.format(
-						"  ***** PASSIVE SCALAR         %3s BOUNDARY CONDITIONS *****\n",
-						(i + 1));
-				byteArray = passiveScalarHeader.getBytes();
-				stream.write(byteArray);
-
-				// Iterate through the boundary conditions of the set
-				for (int j = 0; j < currPassiveScalarBC.size(); j++) {
-
-					// Write the current passive scalar boundary condition
-					byteArray = currPassiveScalarBC.get(j).getBytes();
-					stream.write(byteArray);
-				}
+			// Write the boundary conditions of the set
+			for (MeshChunk chunk : chunks) {
+				writer.append(chunk.passiveScalarBCs.get(i));
 			}
 		}
 
@@ -723,14 +826,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the PRE-SOLVE/RESTART OPTIONS DataComponent from the componentMap
-	 * and writes the contents to the specified OutputStream.
+	 * and writes the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writePresolveRestartOpts(OutputStream stream)
+	private void writePresolveRestartOpts(Writer writer)
 			throws IOException {
 
 		// Local declarations
@@ -745,8 +848,7 @@ public class NekWriter implements IComponentVisitor {
 				.format("%3s PRESOLVE/RESTART OPTIONS  *****\n", numEntries);
 
 		// Write the presolve/restart options header
-		byte[] byteArray = presolveRestartOptsHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(presolveRestartOptsHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -755,8 +857,7 @@ public class NekWriter implements IComponentVisitor {
 			currValue = currEntry.getValue() + "\n";
 
 			// Write to the output stream
-			byteArray = currValue.getBytes();
-			stream.write(byteArray);
+			writer.write(currValue);
 		}
 
 		return;
@@ -764,14 +865,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the INITIAL CONDITIONS DataComponent from the componentMap and
-	 * writes the contents to the specified OutputStream.
+	 * writes the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeInitialConditions(OutputStream stream)
+	private void writeInitialConditions(Writer writer)
 			throws IOException {
 
 		// Local declarations
@@ -786,8 +887,7 @@ public class NekWriter implements IComponentVisitor {
 				.format("%3s         INITIAL CONDITIONS *****\n", numEntries);
 
 		// Write the initial conditions header
-		byte[] byteArray = initialConditionsHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(initialConditionsHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -796,8 +896,7 @@ public class NekWriter implements IComponentVisitor {
 			currValue = currEntry.getValue() + "\n";
 
 			// Write to the output stream
-			byteArray = currValue.getBytes();
-			stream.write(byteArray);
+			writer.write(currValue);
 
 		}
 
@@ -806,14 +905,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the DRIVE FORCE DATA DataComponent from the componentMap and writes
-	 * the contents to the specified OutputStream.
+	 * the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeDriveForceData(OutputStream stream) throws IOException {
+	private void writeDriveForceData(Writer writer) throws IOException {
 
 		// Local declarations
 		DataComponent driveForceData = (DataComponent) componentMap
@@ -829,8 +928,7 @@ public class NekWriter implements IComponentVisitor {
 				numEntries);
 
 		// Write the drive force data header
-		byte[] byteArray = driveForceDataHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(driveForceDataHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -839,8 +937,7 @@ public class NekWriter implements IComponentVisitor {
 			currValue = currEntry.getValue() + "\n";
 
 			// Write to the output stream
-			byteArray = currValue.getBytes();
-			stream.write(byteArray);
+			writer.write(currValue);
 		}
 
 		return;
@@ -848,14 +945,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the VARIABLE PROPERTY DATA DataComponent from the componentMap and
-	 * writes the contents to the specified OutputStream.
+	 * writes the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeVarPropertyData(OutputStream stream) throws IOException {
+	private void writeVarPropertyData(Writer writer) throws IOException {
 
 		// Local declarations
 		DataComponent varPropertyData = (DataComponent) componentMap
@@ -870,8 +967,7 @@ public class NekWriter implements IComponentVisitor {
 						+ "%3s Lines follow.\n", numEntries);
 
 		// Write the variable property data header
-		byte[] byteArray = varPropertyDataHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(varPropertyDataHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -880,8 +976,7 @@ public class NekWriter implements IComponentVisitor {
 			currValue = currEntry.getValue() + "\n";
 
 			// Write to the output stream
-			byteArray = currValue.getBytes();
-			stream.write(byteArray);
+			writer.write(currValue);
 		}
 
 		return;
@@ -889,14 +984,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the HISTORY & INTEGRAL DATA DataComponent from the componentMap and
-	 * writes the contents to the specified OutputStream.
+	 * writes the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeHistoryIntegralData(OutputStream stream)
+	private void writeHistoryIntegralData(Writer writer)
 			throws IOException {
 
 		// Local declarations
@@ -913,8 +1008,7 @@ public class NekWriter implements IComponentVisitor {
 				numEntries);
 
 		// Write the history and integral data header
-		byte[] byteArray = historyIntegralDataHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(historyIntegralDataHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -923,8 +1017,7 @@ public class NekWriter implements IComponentVisitor {
 			currValue = currEntry.getValue() + "\n";
 
 			// Write to the output stream
-			byteArray = currValue.getBytes();
-			stream.write(byteArray);
+			writer.write(currValue);
 
 		}
 
@@ -933,14 +1026,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the OUTPUT FIELD SPECIFCATION DataComponent from the componentMap
-	 * and writes the contents to the specified OutputStream.
+	 * and writes the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeOutputFieldSpec(OutputStream stream) throws IOException {
+	private void writeOutputFieldSpec(Writer writer) throws IOException {
 
 		// Local declarations
 		DataComponent outputFieldSpec = (DataComponent) componentMap
@@ -957,8 +1050,7 @@ public class NekWriter implements IComponentVisitor {
 						+ " %3s  SPECIFICATIONS FOLLOW\n", numEntries);
 
 		// Write the output field specification header
-		byte[] byteArray = outputFieldSpecHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(outputFieldSpecHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -971,8 +1063,7 @@ public class NekWriter implements IComponentVisitor {
 			currLine = String.format("  %s       %s\n", currValue, currName);
 
 			// Write to the output stream
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.write(currLine);
 
 		}
 
@@ -981,14 +1072,14 @@ public class NekWriter implements IComponentVisitor {
 
 	/**
 	 * Grabs the OBJECT SPECIFICATION DataComponent from the componentMap and
-	 * writes the contents to the specified OutputStream.
+	 * writes the contents to the specified Writer.
 	 * 
-	 * @param stream
-	 *            The OutputStream to write to
+	 * @param writer
+	 *            The Writer to write to
 	 * @throws IOException
-	 *             Thrown when writing to OutputStream fails
+	 *             Thrown when writing to the Writer fails
 	 */
-	private void writeObjectSpec(OutputStream stream) throws IOException {
+	private void writeObjectSpec(Writer writer) throws IOException {
 
 		// Local declarations
 		DataComponent objectSpec = (DataComponent) componentMap
@@ -1003,8 +1094,7 @@ public class NekWriter implements IComponentVisitor {
 		String objectSpecHeader = "  ***** OBJECT SPECIFICATION *****\n";
 
 		// Write the object specification header
-		byte[] byteArray = objectSpecHeader.getBytes();
-		stream.write(byteArray);
+		writer.write(objectSpecHeader);
 
 		for (int i = 0; i < numEntries; i++) {
 
@@ -1016,8 +1106,7 @@ public class NekWriter implements IComponentVisitor {
 					currName);
 
 			// Write to the output stream
-			byteArray = currLine.getBytes();
-			stream.write(byteArray);
+			writer.write(currLine);
 
 		}
 
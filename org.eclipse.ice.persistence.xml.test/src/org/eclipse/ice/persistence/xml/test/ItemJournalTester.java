@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.ice.datastructures.entry.StringEntry;
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.datastructures.jaxbclassprovider.ICEJAXBClassProvider;
+import org.eclipse.ice.item.Item;
+import org.eclipse.ice.item.ItemBuilder;
+import org.eclipse.ice.item.ItemType;
+import org.eclipse.ice.persistence.xml.ItemJournal;
+import org.eclipse.ice.persistence.xml.XMLPersistenceProvider;
+import org.junit.Test;
+
+/**
+ * This class is responsible for testing
+ * {@link org.eclipse.ice.persistence.xml.ItemJournal}.
+ *
+ */
+public class ItemJournalTester {
+
+	/**
+	 * This operation creates a simple Item with one DataComponent and two
+	 * Entries.
+	 *
+	 * @return The Item
+	 */
+	private Item createItem() {
+		Item item = new Item(null);
+		DataComponent dataComp = new DataComponent();
+		dataComp.setId(1);
+		dataComp.setName("Parameters");
+		StringEntry first = new StringEntry();
+		first.setName("first");
+		first.setValue("1");
+		StringEntry second = new StringEntry();
+		second.setName("second");
+		second.setValue("2");
+		dataComp.addEntry(first);
+		dataComp.addEntry(second);
+		item.getForm().addComponent(dataComp);
+		return item;
+	}
+
+	/**
+	 * This operation checks that records can be encoded and decoded and that
+	 * damaged records are rejected.
+	 */
+	@Test
+	public void checkRecords() {
+
+		// Check a round trip with characters that must be escaped
+		String line = ItemJournal.encode("0/name\twith tab",
+				"a\\b\nc");
+		assertTrue(line.endsWith("\n"));
+		String[] record = ItemJournal
+				.decode(line.substring(0, line.length() - 1));
+		assertArrayEquals(new String[] { "0/name\twith tab", "a\\b\nc" },
+				record);
+
+		// Null values must survive
+		line = ItemJournal.encode("key", null);
+		record = ItemJournal.decode(line.substring(0, line.length() - 1));
+		assertNotNull(record);
+		assertNull(record[1]);
+
+		// A torn record must fail its checksum
+		assertNull(ItemJournal.decode(line.substring(0, line.length() - 3)));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that journals are only parsed for the snapshot to
+	 * which they apply and that torn trailing records are ignored.
+	 */
+	@Test
+	public void checkParse() {
+
+		String journal = ItemJournal.header(42L) + ItemJournal.encode("a", "1")
+				+ ItemJournal.encode("b", "2");
+		String torn = ItemJournal.encode("c", "3");
+		journal += torn.substring(0, torn.length() - 2);
+
+		// Only the two complete records should be read
+		List<String[]> records = ItemJournal.parse(journal, 42L);
+		assertEquals(2, records.size());
+		assertEquals("b", records.get(1)[0]);
+
+		// Nothing should be read for a different snapshot
+		assertTrue(ItemJournal.parse(journal, 43L).isEmpty());
+
+		return;
+	}
+
+	/**
+	 * This operation checks that Entry changes are journaled, that structural
+	 * changes are not and that records can be replayed.
+	 */
+	@Test
+	public void checkDiffAndReplay() {
+
+		ItemJournal journal = new ItemJournal(null);
+		Item item = createItem();
+		ItemJournal.Snapshot original = journal.capture(item);
+		assertTrue(original.isJournalable());
+
+		// No changes should produce no records
+		assertTrue(ItemJournal.diff(original, journal.capture(item))
+				.isEmpty());
+
+		// Change a value and check the record
+		DataComponent dataComp = (DataComponent) item.getForm()
+				.getComponent(1);
+		dataComp.retrieveEntry("second").setValue("22");
+		List<String[]> records = ItemJournal.diff(original,
+				journal.capture(item));
+		assertEquals(1, records.size());
+		assertEquals("22", records.get(0)[1]);
+
+		// Replay the record on a fresh copy of the Item
+		Item copy = createItem();
+		assertEquals(1, journal.replay(copy, records));
+		assertEquals("22", ((DataComponent) copy.getForm().getComponent(1))
+				.retrieveEntry("second").getValue());
+
+		// Adding an Entry is a structural change
+		StringEntry third = new StringEntry();
+		third.setName("third");
+		dataComp.addEntry(third);
+		assertNull(ItemJournal.diff(original, journal.capture(item)));
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the checksums of Components that are not
+	 * journaled entry by entry are reused until the Components change.
+	 *
+	 * @throws JAXBException
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkComponentChecksums()
+			throws JAXBException, InterruptedException {
+
+		// Local Declarations
+		ItemJournal journal = new ItemJournal(
+				JAXBContext.newInstance(Form.class, TableComponent.class));
+		Item item = createItem();
+		TableComponent table = new TableComponent();
+		table.setId(2);
+		table.setName("Table");
+		item.getForm().addComponent(table);
+
+		// Unchanged Components should keep their checksums
+		ItemJournal.Snapshot original = journal.capture(item);
+		assertTrue(original.isJournalable());
+		ItemJournal.Snapshot current = journal.capture(item, original);
+		assertTrue(ItemJournal.diff(original, current).isEmpty());
+
+		// Changing the table is a structural change once its listeners hear
+		// about it
+		table.setDescription("A changed table");
+		List<String[]> records = ItemJournal.diff(original, current);
+		for (int i = 0; i < 500 && records != null; i++) {
+			Thread.sleep(10);
+			current = journal.capture(item, current);
+			records = ItemJournal.diff(original, current);
+		}
+		assertNull(records);
+
+		return;
+	}
+
+	/**
+	 * This operation checks that the IReader read() operation of the
+	 * XMLPersistenceProvider returns the values in the journal of an Item
+	 * instead of the stale values in its XML file.
+	 *
+	 * @throws CoreException
+	 * @throws JAXBException
+	 * @throws InterruptedException
+	 */
+	@Test
+	public void checkReadJournaledItem()
+			throws CoreException, JAXBException, InterruptedException {
+
+		// Create a project for the Item
+		String separator = System.getProperty("file.separator");
+		String projectPath = System.getProperty("user.home") + separator
+				+ "ICETests" + separator + "persistenceData" + separator
+				+ "journalDB";
+		IProject project = ResourcesPlugin.getWorkspace().getRoot()
+				.getProject("journalDB");
+		if (!project.exists()) {
+			IProjectDescription desc = ResourcesPlugin.getWorkspace()
+					.newProjectDescription("journalDB");
+			desc.setLocationURI(new File(projectPath).toURI());
+			project.create(desc, null);
+		}
+		if (!project.isOpen()) {
+			project.open(null);
+		}
+
+		// Register the plain Item with a provider so it can be unmarshalled
+		XMLPersistenceProvider provider = new XMLPersistenceProvider(project);
+		provider.addBuilder(new ItemBuilder() {
+			@Override
+			public String getItemName() {
+				return "Journal Item";
+			}
+
+			@Override
+			public ItemType getItemType() {
+				return ItemType.Model;
+			}
+
+			@Override
+			public boolean isPublishable() {
+				return false;
+			}
+
+			@Override
+			public Item build(IProject projectSpace) {
+				return createItem();
+			}
+		});
+		provider.registerClassProvider(new ICEJAXBClassProvider());
+		provider.start();
+
+		try {
+			// Persist the Item and then change a value so that the change is
+			// journaled
+			Item item = createItem();
+			item.setName("Journal Item");
+			item.setId(7);
+			item.setProject(project);
+			assertTrue(provider.persistItem(item));
+			Thread.sleep(2000);
+			((DataComponent) item.getForm().getComponent(1))
+					.retrieveEntry("second").setValue("22");
+			assertTrue(provider.persistItem(item));
+			Thread.sleep(2000);
+			IFile file = project.getFile("Journal_Item.xml");
+			assertTrue(project.getFile("Journal_Item.journal").exists());
+
+			// Read the Form back and check the journaled value
+			Form form = provider.read(file);
+			assertNotNull(form);
+			assertEquals("22", ((DataComponent) form.getComponent(1))
+					.retrieveEntry("second").getValue());
+			assertEquals("1", ((DataComponent) form.getComponent(1))
+					.retrieveEntry("first").getValue());
+		} finally {
+			provider.stop();
+			project.delete(true, null);
+		}
+
+		return;
+	}
+}
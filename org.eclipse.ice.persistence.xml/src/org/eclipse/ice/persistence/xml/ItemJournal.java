@@ -0,0 +1,838 @@
+/*******************************************************************************
+ * Copyright (c) 2016 UT-Battelle, LLC.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Initial API and implementation and/or initial documentation
+ *******************************************************************************/
+package org.eclipse.ice.persistence.xml;
+
+import java.io.OutputStream;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlTransient;
+
+import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateable;
+import org.eclipse.ice.datastructures.ICEObject.IUpdateableListener;
+import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.entry.MultiValueEntry;
+import org.eclipse.ice.datastructures.form.AdaptiveTreeComposite;
+import org.eclipse.ice.datastructures.form.DataComponent;
+import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.TreeComposite;
+import org.eclipse.ice.item.Item;
+
+/**
+ * This class records changes to the Entries of an Item as an append-only
+ * journal so that the XMLPersistenceProvider does not have to rewrite the
+ * entire Item every time a single value changes.
+ *
+ * The journal works by capturing a {@link Snapshot} of an Item after each
+ * write. A Snapshot contains a signature of everything about the Item that is
+ * not an Entry value (its biographical information, the structure of its Form
+ * and a checksum of any Component that is not a DataComponent or
+ * TreeComposite) and the values of all of its Entries, keyed by their location
+ * in the Form. Two Snapshots with the same signature differ only by Entry
+ * values, and those differences can be written as small journal records and
+ * replayed on top of the last full XML file when the Item is loaded. Any other
+ * difference requires a full snapshot.
+ *
+ * Each record in the journal file is a single line that starts with a CRC32
+ * checksum of the rest of the line, so a record that was only partially
+ * written before a crash is detected and ignored along with everything after
+ * it. The first line of the journal stores the checksum of the XML file to
+ * which the records apply, so a journal left over from an older XML file is
+ * never replayed on top of a newer one.
+ *
+ * The checksum of a Component that is not a DataComponent or TreeComposite
+ * requires writing it as XML, so it is only computed again when the Component
+ * tells its listeners that it changed. Components notify their listeners on
+ * a separate thread, so a change that is reported after a capture is picked
+ * up by the next one, which then writes the Item in full.
+ *
+ * Items are only journaled if their classes do not add any JAXB-bound state
+ * to that of the base Item class, since that state is not covered by the
+ * signature.
+ *
+ */
+public class ItemJournal {
+
+	/**
+	 * The header that starts the first line of every journal file.
+	 */
+	public static final String HEADER = "#ICE-JOURNAL";
+
+	/**
+	 * The escaped token used in place of null values.
+	 */
+	private static final String NULL_TOKEN = "\\N";
+
+	/**
+	 * The context used to compute checksums for Components that are not
+	 * journaled entry by entry.
+	 */
+	private final JAXBContext context;
+
+	/**
+	 * A cache of whether or not the Item classes that have been seen can be
+	 * journaled.
+	 */
+	private static final Map<Class<?>, Boolean> journalableClasses = new ConcurrentHashMap<Class<?>, Boolean>();
+
+	/**
+	 * This class is a capture of the state of an Item at the time of the last
+	 * write.
+	 *
+	 */
+	public static class Snapshot {
+
+		/**
+		 * The signature of everything in the Item that is not an Entry value.
+		 */
+		private String signature;
+
+		/**
+		 * The values of all of the Entries in the Item, keyed by their location
+		 * in the Form.
+		 */
+		private final LinkedHashMap<String, String> values = new LinkedHashMap<String, String>();
+
+		/**
+		 * True if the Item can be journaled, false if it must always be written
+		 * in full.
+		 */
+		private boolean journalable = true;
+
+		/**
+		 * The checksums of the Components that are neither DataComponents nor
+		 * TreeComposites, keyed by their location in the Form.
+		 */
+		private final Map<String, ComponentChecksum> checksums = new HashMap<String, ComponentChecksum>();
+
+		/**
+		 * This operation returns true if the Item from which this Snapshot was
+		 * captured can be journaled.
+		 *
+		 * @return True if the Item can be journaled
+		 */
+		public boolean isJournalable() {
+			return journalable;
+		}
+
+		/**
+		 * This operation returns the Entry values in the Snapshot.
+		 *
+		 * @return The map of Entry keys to values
+		 */
+		public Map<String, String> getValues() {
+			return values;
+		}
+	}
+
+	/**
+	 * This class holds the checksum of a Component and listens to the
+	 * Component so that the checksum is only computed again after the
+	 * Component changed.
+	 *
+	 */
+	private static class ComponentChecksum implements IUpdateableListener {
+
+		/**
+		 * The Component.
+		 */
+		private final Component component;
+
+		/**
+		 * The checksum or null if the Component could not be written.
+		 */
+		private Long checksum;
+
+		/**
+		 * True if the Component changed since its checksum was computed.
+		 */
+		private volatile boolean changed = true;
+
+		/**
+		 * The constructor. It registers with the Component.
+		 *
+		 * @param component
+		 *            The Component
+		 */
+		private ComponentChecksum(Component component) {
+			this.component = component;
+			component.register(this);
+		}
+
+		/**
+		 * (non-Javadoc)
+		 *
+		 * @see IUpdateableListener#update(IUpdateable)
+		 */
+		@Override
+		public void update(IUpdateable component) {
+			changed = true;
+		}
+	}
+
+	/**
+	 * The constructor.
+	 *
+	 * @param context
+	 *            The JAXBContext used to write the Item. It may be null, in
+	 *            which case Forms that contain Components other than
+	 *            DataComponents and TreeComposites can not be journaled.
+	 */
+	public ItemJournal(JAXBContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * This operation captures the current state of an Item.
+	 *
+	 * @param item
+	 *            The Item
+	 * @return The Snapshot of the Item
+	 */
+	public Snapshot capture(Item item) {
+		return capture(item, null);
+	}
+
+	/**
+	 * This operation captures the current state of an Item. The checksums of
+	 * Components that have not changed since the previous Snapshot are reused
+	 * instead of being computed again.
+	 *
+	 * @param item
+	 *            The Item
+	 * @param previous
+	 *            The previous Snapshot of the same Item or null
+	 * @return The Snapshot of the Item
+	 */
+	public Snapshot capture(Item item, Snapshot previous) {
+
+		Snapshot snapshot = new Snapshot();
+		StringBuilder signature = new StringBuilder();
+		Form form = item.getForm();
+
+		// Only journal Items and Forms without any extra persistent state
+		if (form == null || form.getClass() != Form.class
+				|| !isJournalable(item.getClass())) {
+			snapshot.journalable = false;
+		} else {
+			// Add the biographical information of the Item and its Form
+			append(signature, item.getClass().getName(), item.getName(),
+					item.getDescription(), item.getId(), item.getStatus(),
+					item.getItemType(), item.getItemBuilderName(),
+					item.getContext(), item.getAvailableActions());
+			append(signature, form.getName(), form.getDescription(),
+					form.getId(), form.getItemID(), form.getActionList(),
+					form.isReady());
+
+			// Add the Components
+			List<Component> components = form.getComponents();
+			for (int i = 0; i < components.size()
+					&& snapshot.journalable; i++) {
+				captureComponent(snapshot, previous, signature,
+						String.valueOf(i), components.get(i));
+			}
+
+			snapshot.signature = signature.toString();
+		}
+
+		// Stop listening to the Components whose checksums are not kept.
+		// Snapshots that can not be journaled are never compared, so they do
+		// not keep any.
+		if (previous != null) {
+			for (ComponentChecksum checksum : previous.checksums.values()) {
+				if (!snapshot.journalable
+						|| !snapshot.checksums.containsValue(checksum)) {
+					checksum.component.unregister(checksum);
+				}
+			}
+		}
+		if (!snapshot.journalable) {
+			for (ComponentChecksum checksum : snapshot.checksums.values()) {
+				checksum.component.unregister(checksum);
+			}
+			snapshot.checksums.clear();
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * This operation computes the records that must be journaled to move from
+	 * the previous Snapshot to the current one.
+	 *
+	 * @param previous
+	 *            The Snapshot captured at the last write
+	 * @param current
+	 *            The current Snapshot
+	 * @return The list of key/value records, which is empty if nothing
+	 *         changed, or null if the change can not be journaled and the Item
+	 *         must be written in full.
+	 */
+	public static List<String[]> diff(Snapshot previous, Snapshot current) {
+
+		// Structural changes require a full write
+		if (previous == null || current == null || !previous.journalable
+				|| !current.journalable
+				|| !previous.signature.equals(current.signature)) {
+			return null;
+		}
+
+		// Collect the changed values. The signature includes every key, so
+		// both Snapshots have the same keys.
+		List<String[]> records = new ArrayList<String[]>();
+		for (Map.Entry<String, String> entry : current.values.entrySet()) {
+			String oldValue = previous.values.get(entry.getKey());
+			String newValue = entry.getValue();
+			if (oldValue == null ? newValue != null
+					: !oldValue.equals(newValue)) {
+				records.add(new String[] { entry.getKey(), newValue });
+			}
+		}
+
+		return records;
+	}
+
+	/**
+	 * This operation replays journal records on an Item that was loaded from
+	 * the XML file to which the records apply.
+	 *
+	 * @param item
+	 *            The Item
+	 * @param records
+	 *            The key/value records in the order they were written
+	 * @return The number of records that were applied
+	 */
+	public int replay(Item item, List<String[]> records) {
+
+		int count = 0;
+
+		// Map the keys of the Item to its Entries
+		Map<String, IEntry> entries = new LinkedHashMap<String, IEntry>();
+		Form form = item.getForm();
+		if (form != null) {
+			List<Component> components = form.getComponents();
+			for (int i = 0; i < components.size(); i++) {
+				collectEntries(entries, String.valueOf(i), components.get(i));
+			}
+		}
+
+		// Apply the values
+		for (String[] record : records) {
+			IEntry entry = entries.get(record[0]);
+			if (entry != null) {
+				entry.setValue(record[1]);
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * This operation encodes a key/value pair as a single journal record line,
+	 * including its checksum and trailing newline.
+	 *
+	 * @param key
+	 *            The key of the Entry
+	 * @param value
+	 *            The value of the Entry
+	 * @return The journal line
+	 */
+	public static String encode(String key, String value) {
+		String payload = escape(key) + "\t" + escape(value);
+		return recordChecksum(payload) + "\t" + payload + "\n";
+	}
+
+	/**
+	 * This operation decodes a single journal record line without its
+	 * trailing newline.
+	 *
+	 * @param line
+	 *            The journal line
+	 * @return The key/value pair, or null if the line is not a valid record
+	 */
+	public static String[] decode(String line) {
+
+		String[] record = null;
+		String[] parts = line.split("\t", -1);
+
+		// Check the checksum and unescape the fields
+		if (parts.length == 3) {
+			String payload = parts[1] + "\t" + parts[2];
+			if (recordChecksum(payload).equals(parts[0])) {
+				record = new String[] { unescape(parts[1]),
+						unescape(parts[2]) };
+			}
+		}
+
+		return record;
+	}
+
+	/**
+	 * This operation creates the header line of a journal for an XML file.
+	 *
+	 * @param snapshotChecksum
+	 *            The CRC32 checksum of the XML file
+	 * @return The header line
+	 */
+	public static String header(long snapshotChecksum) {
+		return HEADER + "\t" + Long.toHexString(snapshotChecksum) + "\n";
+	}
+
+	/**
+	 * This operation parses the contents of a journal file and returns the
+	 * records that apply to the XML file with the given checksum. Parsing stops
+	 * at the first invalid record.
+	 *
+	 * @param journal
+	 *            The contents of the journal file
+	 * @param snapshotChecksum
+	 *            The CRC32 checksum of the XML file
+	 * @return The records, which are empty if the journal is for a different
+	 *         XML file
+	 */
+	public static List<String[]> parse(String journal, long snapshotChecksum) {
+
+		List<String[]> records = new ArrayList<String[]>();
+		String[] lines = journal.split("\n", -1);
+
+		// Check the header and then read every complete line that follows it.
+		// The last element is either empty or a torn record with no newline.
+		String header = header(snapshotChecksum);
+		if (lines.length > 1
+				&& lines[0].equals(header.substring(0, header.length() - 1))) {
+			for (int i = 1; i < lines.length - 1; i++) {
+				String[] record = decode(lines[i]);
+				if (record == null) {
+					break;
+				}
+				records.add(record);
+			}
+		}
+
+		return records;
+	}
+
+	/**
+	 * This operation computes the CRC32 checksum of a byte array.
+	 *
+	 * @param bytes
+	 *            The bytes
+	 * @return The checksum
+	 */
+	public static long checksum(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return crc.getValue();
+	}
+
+	/**
+	 * This operation adds a Component to the Snapshot.
+	 *
+	 * @param snapshot
+	 *            The Snapshot
+	 * @param previous
+	 *            The previous Snapshot or null
+	 * @param signature
+	 *            The signature being built for the Snapshot
+	 * @param path
+	 *            The location of the Component in the Form
+	 * @param component
+	 *            The Component
+	 */
+	private void captureComponent(Snapshot snapshot, Snapshot previous,
+			StringBuilder signature, String path, Component component) {
+
+		if (component instanceof DataComponent) {
+			// Add the Entries of DataComponents
+			DataComponent dataComp = (DataComponent) component;
+			append(signature, path, "D", dataComp.getName(),
+					dataComp.getDescription(), dataComp.getId());
+			for (IEntry entry : dataComp.retrieveAllEntries()) {
+				String key = path + "/" + entry.getName();
+				// Duplicate names can not be told apart
+				if (snapshot.values.containsKey(key)) {
+					snapshot.journalable = false;
+					return;
+				}
+				append(signature, key, entry.getClass().getName(),
+						entry.getId(), entry.getDescription(),
+						entry.getDefaultValue(), entry.getAllowedValues(),
+						entry.getComment(), entry.getTag(), entry.isReady(),
+						entry.isRequired(), entry.isSecret());
+				// Multi-valued Entries are part of the signature
+				if (entry instanceof MultiValueEntry) {
+					append(signature, Arrays.toString(entry.getValues()));
+				}
+				snapshot.values.put(key, entry.getValue());
+			}
+		} else if (component instanceof TreeComposite) {
+			// Add the nodes, children and exemplars of trees
+			TreeComposite tree = (TreeComposite) component;
+			append(signature, path, "T", tree.getClass().getName(),
+					tree.getName(), tree.getDescription(), tree.getId(),
+					tree.isActive(), tree.getNumberOfDataNodes(),
+					tree.getNumberOfChildren());
+			if (tree instanceof AdaptiveTreeComposite) {
+				AdaptiveTreeComposite adaptiveTree = (AdaptiveTreeComposite) tree;
+				append(signature, adaptiveTree.getType(),
+						adaptiveTree.getTypes());
+			}
+			List<Component> dataNodes = tree.getDataNodes();
+			for (int i = 0; i < dataNodes.size() && snapshot.journalable; i++) {
+				captureComponent(snapshot, previous, signature,
+						path + "/d" + i, dataNodes.get(i));
+			}
+			for (int i = 0; i < tree.getNumberOfChildren()
+					&& snapshot.journalable; i++) {
+				captureComponent(snapshot, previous, signature,
+						path + "/c" + i, tree.getChildAtIndex(i));
+			}
+			List<TreeComposite> exemplars = tree.getChildExemplars();
+			for (int i = 0; i < exemplars.size() && snapshot.journalable; i++) {
+				captureComponent(snapshot, previous, signature,
+						path + "/x" + i, exemplars.get(i));
+			}
+		} else {
+			// Everything else is added by its checksum, which is only
+			// computed again if the Component changed
+			ComponentChecksum checksum = (previous != null)
+					? previous.checksums.get(path) : null;
+			if (checksum == null || checksum.component != component) {
+				checksum = new ComponentChecksum(component);
+			}
+			if (checksum.changed) {
+				// Clear the flag first so that changes made while the
+				// checksum is computed are not missed
+				checksum.changed = false;
+				checksum.checksum = componentChecksum(component);
+			}
+			snapshot.checksums.put(path, checksum);
+			if (checksum.checksum == null) {
+				snapshot.journalable = false;
+			} else {
+				append(signature, path, "C", component.getClass().getName(),
+						checksum.checksum);
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation maps the keys of the Entries in a Component to the
+	 * Entries. The keys match those used in
+	 * {@link #captureComponent(Snapshot, Snapshot, StringBuilder, String, Component)}.
+	 *
+	 * @param entries
+	 *            The map to fill
+	 * @param path
+	 *            The location of the Component in the Form
+	 * @param component
+	 *            The Component
+	 */
+	private void collectEntries(Map<String, IEntry> entries, String path,
+			Component component) {
+
+		if (component instanceof DataComponent) {
+			for (IEntry entry : ((DataComponent) component)
+					.retrieveAllEntries()) {
+				entries.put(path + "/" + entry.getName(), entry);
+			}
+		} else if (component instanceof TreeComposite) {
+			TreeComposite tree = (TreeComposite) component;
+			List<Component> dataNodes = tree.getDataNodes();
+			for (int i = 0; i < dataNodes.size(); i++) {
+				collectEntries(entries, path + "/d" + i, dataNodes.get(i));
+			}
+			for (int i = 0; i < tree.getNumberOfChildren(); i++) {
+				collectEntries(entries, path + "/c" + i,
+						tree.getChildAtIndex(i));
+			}
+			List<TreeComposite> exemplars = tree.getChildExemplars();
+			for (int i = 0; i < exemplars.size(); i++) {
+				collectEntries(entries, path + "/x" + i, exemplars.get(i));
+			}
+		}
+
+		return;
+	}
+
+	/**
+	 * This operation computes the CRC32 checksum of the XML of a Component
+	 * without buffering the XML.
+	 *
+	 * @param component
+	 *            The Component
+	 * @return The checksum or null if the Component could not be written
+	 */
+	private Long componentChecksum(Component component) {
+
+		Long checksum = null;
+
+		if (context != null) {
+			CheckedOutputStream stream = new CheckedOutputStream(
+					new OutputStream() {
+						@Override
+						public void write(int b) {
+							// Discard the bytes, only the checksum is needed
+						}
+
+						@Override
+						public void write(byte[] b, int off, int len) {
+							// Discard the bytes, only the checksum is needed
+						}
+					}, new CRC32());
+			Marshaller marshaller = null;
+			try {
+				marshaller = ICEJAXBContextCache.acquireMarshaller(context);
+				marshaller.marshal(component, stream);
+				checksum = stream.getChecksum().getValue();
+			} catch (JAXBException e) {
+				// Components that can not be written alone can not be
+				// journaled.
+				checksum = null;
+			} finally {
+				ICEJAXBContextCache.releaseMarshaller(context, marshaller);
+			}
+		}
+
+		return checksum;
+	}
+
+	/**
+	 * This operation determines whether or not an Item class adds any
+	 * JAXB-bound state to the base Item class. It looks for annotated or
+	 * public fields and public property pairs that are not transient.
+	 *
+	 * @param itemClass
+	 *            The Item class
+	 * @return True if the class has no extra state and can be journaled
+	 */
+	private static boolean isJournalable(Class<?> itemClass) {
+
+		Boolean journalable = journalableClasses.get(itemClass);
+
+		if (journalable == null) {
+			journalable = true;
+			for (Class<?> clazz = itemClass; clazz != Item.class
+					&& clazz != null && journalable; clazz = clazz
+							.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())
+							&& !Modifier.isTransient(field.getModifiers())
+							&& !field.isAnnotationPresent(XmlTransient.class)
+							&& (Modifier.isPublic(field.getModifiers())
+									|| hasXmlAnnotation(field))) {
+						journalable = false;
+					}
+				}
+				for (Method method : clazz.getDeclaredMethods()) {
+					if (!method.isAnnotationPresent(XmlTransient.class)
+							&& (hasXmlAnnotation(method)
+									|| isPublicProperty(clazz, method))) {
+						journalable = false;
+					}
+				}
+			}
+			journalableClasses.put(itemClass, journalable);
+		}
+
+		return journalable;
+	}
+
+	/**
+	 * This operation determines whether or not a member has a JAXB
+	 * annotation.
+	 *
+	 * @param element
+	 *            The member
+	 * @return True if it has a JAXB annotation
+	 */
+	private static boolean hasXmlAnnotation(AnnotatedElement element) {
+		for (java.lang.annotation.Annotation annotation : element
+				.getAnnotations()) {
+			if (annotation.annotationType().getName()
+					.startsWith("javax.xml.bind.annotation")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * This operation determines whether or not a method is the public getter
+	 * of a property that has a public setter and is not declared by Item, in
+	 * which case JAXB binds it by default.
+	 *
+	 * @param clazz
+	 *            The class that declares the method
+	 * @param method
+	 *            The method
+	 * @return True if the method is the getter of a bound property
+	 */
+	private static boolean isPublicProperty(Class<?> clazz, Method method) {
+
+		String name = method.getName();
+		String property = null;
+
+		// Find the name of the property
+		if (Modifier.isPublic(method.getModifiers())
+				&& !Modifier.isStatic(method.getModifiers())
+				&& method.getParameterTypes().length == 0) {
+			if (name.startsWith("get") && name.length() > 3) {
+				property = name.substring(3);
+			} else if (name.startsWith("is") && name.length() > 2) {
+				property = name.substring(2);
+			}
+		}
+
+		// Look for a setter that Item does not already have
+		if (property != null) {
+			try {
+				clazz.getMethod("set" + property, method.getReturnType());
+				try {
+					Item.class.getMethod(name);
+					return false;
+				} catch (NoSuchMethodException e) {
+					return true;
+				}
+			} catch (NoSuchMethodException e) {
+				return false;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * This operation appends values to a signature.
+	 *
+	 * @param signature
+	 *            The signature
+	 * @param values
+	 *            The values to append
+	 */
+	private static void append(StringBuilder signature, Object... values) {
+		for (Object value : values) {
+			signature.append(escape(value == null ? null : value.toString()))
+					.append('\t');
+		}
+		signature.append('\n');
+	}
+
+	/**
+	 * This operation computes the checksum of a record payload as a hex
+	 * string.
+	 *
+	 * @param payload
+	 *            The payload
+	 * @return The checksum
+	 */
+	private static String recordChecksum(String payload) {
+		return Long.toHexString(
+				checksum(payload.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * This operation escapes backslashes, tabs and line breaks in a string so
+	 * that it can be stored in a single record field.
+	 *
+	 * @param value
+	 *            The string, which may be null
+	 * @return The escaped string
+	 */
+	private static String escape(String value) {
+
+		if (value == null) {
+			return NULL_TOKEN;
+		}
+
+		StringBuilder builder = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			default:
+				builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+
+	/**
+	 * This operation reverses {@link #escape(String)}.
+	 *
+	 * @param value
+	 *            The escaped string
+	 * @return The original string, which may be null
+	 */
+	private static String unescape(String value) {
+
+		if (NULL_TOKEN.equals(value)) {
+			return null;
+		}
+
+		StringBuilder builder = new StringBuilder(value.length());
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' && i + 1 < value.length()) {
+				char next = value.charAt(++i);
+				switch (next) {
+				case 't':
+					builder.append('\t');
+					break;
+				case 'n':
+					builder.append('\n');
+					break;
+				case 'r':
+					builder.append('\r');
+					break;
+				default:
+					builder.append(next);
+				}
+			} else {
+				builder.append(c);
+			}
+		}
+
+		return builder.toString();
+	}
+}
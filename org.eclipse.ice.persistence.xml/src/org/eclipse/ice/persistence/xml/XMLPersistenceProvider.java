@@ -14,6 +14,9 @@ package org.eclipse.ice.persistence.xml;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
@@ -21,20 +24,29 @@ import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import javax.naming.OperationNotSupportedException;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.ice.datastructures.ICEObject.Component;
+import org.eclipse.ice.datastructures.ICEObject.ICEJAXBContextCache;
+import org.eclipse.ice.datastructures.componentVisitor.SelectiveComponentVisitor;
 import org.eclipse.ice.datastructures.entry.IEntry;
+import org.eclipse.ice.datastructures.form.AdaptiveTreeComposite;
+import org.eclipse.ice.datastructures.form.DataComponent;
 import org.eclipse.ice.datastructures.form.Form;
+import org.eclipse.ice.datastructures.form.TreeComposite;
 import org.eclipse.ice.datastructures.jaxbclassprovider.IJAXBClassProvider;
+import org.eclipse.ice.datastructures.metrics.MetricsRegistry;
 import org.eclipse.ice.io.serializable.IReader;
 import org.eclipse.ice.io.serializable.IWriter;
 import org.eclipse.ice.item.Item;
@@ -61,6 +73,13 @@ import org.slf4j.LoggerFactory;
  *
  * Items that are loaded by the provider are not constructed with a project.
  *
+ * Updates to Items that only change the values of Entries are not written as
+ * full XML files. Instead, they are appended to a journal file,
+ * <itemName>.journal, next to the XML file using an {@link ItemJournal}. The
+ * journal is replayed when the Item is loaded and it is folded into a new XML
+ * file (compacted) after MAX_JOURNAL_RECORDS records or whenever the Item
+ * changes in some other way.
+ *
  * This provider should always be started AFTER all of the Items are registered
  * with it because registering Items while it is running would require stopping
  * the thread and recreating the JAXB context. That is easiest enough to do, but
@@ -82,6 +101,17 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 	 */
 	private static final Logger logger = LoggerFactory.getLogger(XMLPersistenceProvider.class);
 
+	/**
+	 * The name of the gauge of the number of tasks in the queue.
+	 */
+	private static final String QUEUE_DEPTH_GAUGE = "ice_persistence_queue_depth";
+
+	/**
+	 * The time it takes to marshal Items and Forms to XML.
+	 */
+	private static final MetricsRegistry.Timer marshalTimer = MetricsRegistry.getInstance()
+			.timer("ice_persistence_marshal");
+
 	/**
 	 * An atomic boolean used to manage the event loop. It is set to true when
 	 * start is called and false when stop is called.
@@ -162,6 +192,47 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 	 */
 	JAXBContext context;
 
+	/**
+	 * The maximum number of records that will be appended to the journal of
+	 * an Item before it is compacted into a new XML file.
+	 */
+	public static final int MAX_JOURNAL_RECORDS = 512;
+
+	/**
+	 * The journal used to compute and replay incremental updates to Items.
+	 */
+	private ItemJournal journal;
+
+	/**
+	 * This is a private class used to store the state of the journal of an
+	 * Item since its XML file was last written.
+	 *
+	 */
+	private static class JournalState {
+		/**
+		 * The Snapshot of the Item as of its last write or journal record.
+		 */
+		public ItemJournal.Snapshot snapshot;
+		/**
+		 * The CRC32 checksum of the XML file to which the journal applies.
+		 */
+		public long snapshotChecksum;
+		/**
+		 * The name of the XML file to which the journal applies.
+		 */
+		public String fileName;
+		/**
+		 * The number of records that have been written to the journal.
+		 */
+		public int records;
+	}
+
+	/**
+	 * A map of the ids of Items to the state of their journals. It only
+	 * contains Items that have been written since the provider started.
+	 */
+	private Hashtable<Integer, JournalState> journalStates = new Hashtable<Integer, JournalState>();
+
 	/**
 	 * Default constructor.
 	 */
@@ -275,8 +346,8 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 			}
 		}
 
-		// Create new JAXB class context and unmarshaller
-		context = JAXBContext.newInstance(classList.toArray(classArray));
+		// Get the shared JAXB class context for these classes
+		context = ICEJAXBContextCache.getContext(classList.toArray(classArray));
 	}
 
 	/**
@@ -295,6 +366,10 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 
 		// Create the JAXB context
 		createJAXBContext();
+		journal = new ItemJournal(context);
+
+		// Report the depth of the queue
+		MetricsRegistry.getInstance().gauge(QUEUE_DEPTH_GAUGE, taskQueue::size);
 
 		// Start the event loop
 		runFlag.set(true);
@@ -345,6 +420,9 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 			}
 		}
 
+		// Stop reporting the depth of the queue
+		MetricsRegistry.getInstance().removeGauge(QUEUE_DEPTH_GAUGE);
+
 		// Debug information
 		logger.info("XMLPersistenceProvider Message: " + "Provider stopped.");
 
@@ -385,17 +463,16 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 	private ByteArrayOutputStream createXMLStream(Object obj) {
 		// Get the XML
 		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-		// Create the marshaller and write the item
-		Marshaller marshaller;
+		long start = System.nanoTime();
+		// Write the item with a pooled marshaller
 		try {
-			marshaller = context.createMarshaller();
-			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			marshaller.marshal(obj, outputStream);
+			ICEJAXBContextCache.marshal(context, obj, outputStream);
 		} catch (JAXBException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
 			logger.info("XMLPersistenceProvider Message: " + "Failed to execute persistence task for " + obj);
 		}
+		marshalTimer.recordSince(start);
 		return outputStream;
 	}
 
@@ -409,9 +486,21 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 	 */
 	private void writeFile(Object obj, IFile file) {
 		// Create an output stream containing the XML.
-		ByteArrayOutputStream outputStream = createXMLStream(obj);
-		// Convert it to an input stream so it can be pushed to file
-		ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
+		writeBytes(createXMLStream(obj).toByteArray(), file);
+		return;
+	}
+
+	/**
+	 * This operation writes the bytes to the file, creating it if needed.
+	 *
+	 * @param bytes
+	 *            The bytes to write
+	 * @param file
+	 *            The file to where they should be written
+	 */
+	private void writeBytes(byte[] bytes, IFile file) {
+		// Convert the bytes to an input stream so it can be pushed to file
+		ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
 		try {
 			// Update the output file if it already exists
 			if (file.exists()) {
@@ -427,6 +516,103 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 		return;
 	}
 
+	/**
+	 * This operation returns the journal file for an Item XML file.
+	 *
+	 * @param file
+	 *            The XML file of the Item
+	 * @return The journal file, which may not exist
+	 */
+	private IFile getJournalFile(IFile file) {
+		String name = file.getName();
+		if (name.endsWith(".xml")) {
+			name = name.substring(0, name.length() - 4);
+		}
+		return file.getParent().getFile(new Path(name + ".journal"));
+	}
+
+	/**
+	 * This operation persists an Item to its file. If only the values of its
+	 * Entries have changed since it was last written, the changes are
+	 * appended to its journal. Otherwise, or if the journal is full, the
+	 * entire Item is written and the journal is removed.
+	 *
+	 * @param item
+	 *            The Item to persist
+	 * @param file
+	 *            The XML file of the Item
+	 * @throws CoreException
+	 *             An exception indicating that the journal could not be
+	 *             written or removed.
+	 */
+	private void persistIncrementally(Item item, IFile file)
+			throws CoreException {
+
+		// Local Declarations
+		IFile journalFile = getJournalFile(file);
+		JournalState state = journalStates.get(item.getId());
+		ItemJournal.Snapshot snapshot = null;
+		List<String[]> records = null;
+
+		// Compute the changes since the last write if possible
+		if (journal != null) {
+			snapshot = journal.capture(item,
+					(state != null) ? state.snapshot : null);
+			if (state != null && file.exists()
+					&& file.getName().equals(state.fileName)) {
+				records = ItemJournal.diff(state.snapshot, snapshot);
+				// Records can not be added if the journal has been removed
+				if (state.records > 0 && !journalFile.exists()) {
+					records = null;
+				}
+			}
+		}
+
+		// Append the changes to the journal if there is room
+		if (records != null
+				&& state.records + records.size() <= MAX_JOURNAL_RECORDS) {
+			if (!records.isEmpty()) {
+				StringBuilder builder = new StringBuilder();
+				if (!journalFile.exists()) {
+					builder.append(ItemJournal.header(state.snapshotChecksum));
+				}
+				for (String[] record : records) {
+					builder.append(ItemJournal.encode(record[0], record[1]));
+				}
+				ByteArrayInputStream stream = new ByteArrayInputStream(
+						builder.toString().getBytes(StandardCharsets.UTF_8));
+				if (journalFile.exists()) {
+					journalFile.appendContents(stream, IResource.FORCE, null);
+				} else {
+					journalFile.create(stream, IResource.FORCE, null);
+				}
+				state.records += records.size();
+			}
+			// Keep the new Snapshot so that its checksums are reused
+			state.snapshot = snapshot;
+		} else {
+			// Otherwise write the whole Item and drop the journal, in that
+			// order so that a crash can not lose any changes.
+			byte[] bytes = createXMLStream(item).toByteArray();
+			writeBytes(bytes, file);
+			if (journalFile.exists()) {
+				journalFile.delete(true, null);
+			}
+			// Start a new journal if the Item can be journaled
+			if (snapshot != null && snapshot.isJournalable()) {
+				state = new JournalState();
+				state.snapshot = snapshot;
+				state.snapshotChecksum = ItemJournal.checksum(bytes);
+				state.fileName = file.getName();
+				journalStates.put(item.getId(), state);
+			} else {
+				journalStates.remove(item.getId());
+			}
+		}
+
+		return;
+	}
+
 	/**
 	 * A utility operation for processing tasks in the event loop.
 	 *
@@ -453,8 +639,8 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 				}
 				// Process persists
 				if ("persist".equals(currentTask.task)) {
-					// Send the Item off to be written to the file
-					writeFile(currentTask.item, file);
+					// Send the Item off to be written to the file or journal
+					persistIncrementally(currentTask.item, file);
 					// Update the item id map
 					itemIdMap.put(currentTask.item.getId(), file.getName());
 				} else if ("delete".equals(currentTask.task)) {
@@ -467,8 +653,13 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 					if (file.exists()) {
 						file.delete(true, null);
 					}
+					IFile journalFile = getJournalFile(file);
+					if (journalFile.exists()) {
+						journalFile.delete(true, null);
+					}
 					// Update the item id map
 					itemIdMap.remove(currentTask.item.getId());
+					journalStates.remove(currentTask.item.getId());
 				} else if ("write".equals(currentTask.task)) {
 					// Deal with simple Form write requests from the IWriter
 					// interface.
@@ -487,6 +678,13 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 						if (oldFileHandle.exists()) {
 							oldFileHandle.move(currentTask.file.getProjectRelativePath(), true, null);
 						}
+						// Move the journal along with it
+						IFile oldJournalHandle = getJournalFile(oldFileHandle);
+						if (oldJournalHandle.exists()) {
+							oldJournalHandle.move(getJournalFile(currentTask.file).getProjectRelativePath(), true,
+									null);
+						}
+						journalStates.remove(currentTask.item.getId());
 						
 					}
 
@@ -624,10 +822,9 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 		Item item = null;
 
 		try {
-			// Create the unmarshaller and load the item
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			item = (Item) unmarshaller.unmarshal(file.getContents());
-		} catch (CoreException | JAXBException e) {
+			// Load the item and its journal
+			item = (Item) unmarshalJournaled(file);
+		} catch (CoreException | JAXBException | IOException e) {
 			// Complain
 			logger.error(getClass().getName() + " Exception!", e);
 			// Null out the Item so that it can't be returned uninitialized
@@ -637,6 +834,77 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 		return item;
 	}
 
+	/**
+	 * This operation unmarshals the contents of an XML file with a pooled
+	 * unmarshaller. If the file holds an Item that has a journal, the records
+	 * of the journal that apply to the file are replayed on the Item so that
+	 * its Entries have their latest values.
+	 *
+	 * @param file
+	 *            The XML file
+	 * @return The unmarshalled Item or Form
+	 * @throws CoreException
+	 *             An exception indicating that a file could not be read.
+	 * @throws JAXBException
+	 *             An exception indicating that the XML could not be
+	 *             unmarshalled.
+	 * @throws IOException
+	 *             An exception indicating that a file could not be read.
+	 */
+	private Object unmarshalJournaled(IFile file)
+			throws CoreException, JAXBException, IOException {
+
+		// Local Declarations
+		IFile journalFile = getJournalFile(file);
+		Object contents;
+
+		// Without a journal the file is current
+		if (!journalFile.exists()) {
+			return ICEJAXBContextCache.unmarshal(context, file.getContents());
+		}
+
+		// Otherwise load it and replay the journal if its checksum matches
+		byte[] bytes = readBytes(file.getContents());
+		contents = ICEJAXBContextCache.unmarshal(context,
+				new ByteArrayInputStream(bytes));
+		if (contents instanceof Item) {
+			String journalContents = new String(
+					readBytes(journalFile.getContents()),
+					StandardCharsets.UTF_8);
+			List<String[]> records = ItemJournal.parse(journalContents,
+					ItemJournal.checksum(bytes));
+			int count = new ItemJournal(context).replay((Item) contents,
+					records);
+			logger.info("XMLPersistenceProvider Message: " + "Replayed "
+					+ count + " journal records for " + file.getName());
+		}
+
+		return contents;
+	}
+
+	/**
+	 * This operation reads all of the bytes from a stream and closes it.
+	 *
+	 * @param stream
+	 *            The stream
+	 * @return The bytes
+	 * @throws IOException
+	 *             An exception indicating that the stream could not be read.
+	 */
+	private byte[] readBytes(InputStream stream) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		try {
+			int count;
+			while ((count = stream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, count);
+			}
+		} finally {
+			stream.close();
+		}
+		return outputStream.toByteArray();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -685,8 +953,9 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 	 * This operation updates the Item. It logs the update order with the queue
 	 * and only returns false if an exception is thrown.
 	 *
-	 * This operation is identical to calling persistItem() because there is no
-	 * way to do an efficient merge of the XML files.
+	 * This operation is identical to calling persistItem(). Updates that only
+	 * change Entry values are appended to the journal of the Item instead of
+	 * rewriting its XML file.
 	 *
 	 * @param item
 	 *            Item to update.
@@ -773,14 +1042,18 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 		Form form = null;
 
 		try {
-			// Create the marshaller
-			Unmarshaller unmarshaller = context.createUnmarshaller();
-			// Grab the form
-			form = (Form) unmarshaller.unmarshal(file.getContents());
+			// Grab the form, which is the Form of an Item if the file holds
+			// one, with the Item's journal replayed
+			Object contents = unmarshalJournaled(file);
+			if (contents instanceof Item) {
+				form = ((Item) contents).getForm();
+			} else {
+				form = (Form) contents;
+			}
 		} catch (JAXBException e) {
 			// TODO Auto-generated catch block
 			logger.error(getClass().getName() + " Exception!", e);
-		} catch (CoreException e) {
+		} catch (CoreException | IOException e) {
 			// TODO Auto-generated catch block
 			logger.error(getClass().getName() + " Exception!", e);
 		}
@@ -788,22 +1061,74 @@ public class XMLPersistenceProvider implements IPersistenceProvider, Runnable, I
 		return form;
 	}
 
-	/*
-	 * (non-Javadoc)
+	/**
+	 * This realization of IReader.findAll() reads the Form in the given file
+	 * and returns copies of its Entries for which "name = value" matches the
+	 * regular expression. The Entries of DataComponents and of the data nodes
+	 * of TreeComposites are searched.
 	 *
-	 * @see org.eclipse.ice.io.serializable.IReader#findAll(java.net.URI,
-	 * java.lang.String)
+	 * @param file
+	 *            The file to search in
+	 * @param regex
+	 *            The regular expression
+	 * @return The matching Entries in the order of the Form or null if the
+	 *         file could not be searched
 	 */
 	@Override
 	public ArrayList<IEntry> findAll(IFile file, String regex) {
+
+		// Local Declarations
+		final ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
+		final Matcher matcher;
+
+		// Make sure there's something to look in
+		if (file == null || regex == null) {
+			return null;
+		}
 		try {
-			throw new OperationNotSupportedException(
-					"XMLPersistenceProvider Error: " + "IReader.findAll() is not supported.");
-		} catch (OperationNotSupportedException e) {
-			// TODO Auto-generated catch block
+			matcher = Pattern.compile(regex).matcher("");
+		} catch (PatternSyntaxException e) {
 			logger.error(getClass().getName() + " Exception!", e);
+			return null;
 		}
-		return null;
+		Form form = read(file);
+		if (form == null) {
+			return null;
+		}
+
+		// Walk the components and keep the matching Entries
+		SelectiveComponentVisitor visitor = new SelectiveComponentVisitor() {
+			@Override
+			public void visit(DataComponent component) {
+				for (IEntry entry : component.retrieveAllEntries()) {
+					if (entry.getValue() != null && matcher
+							.reset(entry.getName() + " = " + entry.getValue())
+							.matches()) {
+						matchedEntries.add((IEntry) entry.clone());
+					}
+				}
+			}
+
+			@Override
+			public void visit(TreeComposite component) {
+				for (Component node : component.getDataNodes()) {
+					node.accept(this);
+				}
+				for (int i = 0; i < component.getNumberOfChildren(); i++) {
+					component.getChildAtIndex(i).accept(this);
+				}
+			}
+
+			@Override
+			public void visit(AdaptiveTreeComposite component) {
+				visit((TreeComposite) component);
+			}
+		};
+		for (Component component : form.getComponents()) {
+			component.accept(visitor);
+		}
+
+		return matchedEntries;
 	}
 
 	/*
@@ -128,4 +128,41 @@ public class ReflectivityModelTester implements IMaterialsDatabase {
 
 	}
 
+	@Override
+	public Material getMaterial(String name) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public List<Material> findMaterials(String prefix) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public List<Material> findMaterials(String property, double min,
+			double max) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public List<Material> getIsotopes(String element) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public List<Material> getCompositesOf(String name) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public List<Material> updateCompositeProperties(String name) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
 }
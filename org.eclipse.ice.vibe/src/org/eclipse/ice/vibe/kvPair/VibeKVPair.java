@@ -14,18 +14,18 @@ package org.eclipse.ice.vibe.kvPair;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.regex.PatternSyntaxException;
 
 import javax.xml.bind.annotation.XmlRootElement;
 
@@ -42,10 +42,13 @@ import org.eclipse.ice.datastructures.entry.StringEntry;
 import org.eclipse.ice.datastructures.form.Form;
 import org.eclipse.ice.datastructures.form.FormStatus;
 import org.eclipse.ice.datastructures.form.TableComponent;
+import org.eclipse.ice.io.mapped.LineSearch;
 import org.eclipse.ice.io.serializable.IIOService;
 import org.eclipse.ice.io.serializable.IOService;
+import org.eclipse.ice.io.serializable.IOMetrics;
 import org.eclipse.ice.io.serializable.IReader;
 import org.eclipse.ice.io.serializable.IWriter;
+import org.eclipse.ice.io.serializable.LineReplacer;
 import org.eclipse.ice.item.Item;
 
 /**
@@ -333,6 +336,7 @@ public class VibeKVPair extends Item implements IReader, IWriter {
 		// Read in the ini file to an ArrayList<String>
 		ArrayList<String> lines = new ArrayList<String>();
 		BufferedReader reader = null;
+		long start = System.nanoTime();
 		try {
 			reader = new BufferedReader(new InputStreamReader(
 					ifile.getContents()));
@@ -390,6 +394,7 @@ public class VibeKVPair extends Item implements IReader, IWriter {
 		}
 
 		form.addComponent(kvTable);
+		IOMetrics.recordRead(getReaderType(), ifile, start);
 		// Return the form
 		return form;
 	}
@@ -414,10 +419,11 @@ public class VibeKVPair extends Item implements IReader, IWriter {
 		// Make sure that the form had data that looks correct, and the output
 		// file exists
 		if (components != null && components.size() > 0 && outputFile.isFile()) {
+			long start = System.nanoTime();
 			try {
-				// Get an output stream to the file
-				PipedInputStream in = new PipedInputStream(8196);
-				PipedOutputStream out = new PipedOutputStream(in);
+				// Collect the contents in memory. A pipe read by this thread
+				// would block once its buffer was full.
+				ByteArrayOutputStream out = new ByteArrayOutputStream();
 
 				if (!ifile.exists()) {
 					byte[] blank = "".getBytes();
@@ -444,7 +450,10 @@ public class VibeKVPair extends Item implements IReader, IWriter {
 				byteArray = configString.getBytes();
 				out.write(byteArray);
 				out.close();
-				ifile.setContents(in, true, false, new NullProgressMonitor());
+				ifile.setContents(
+						new ByteArrayInputStream(out.toByteArray()), true,
+						false, new NullProgressMonitor());
+				IOMetrics.recordWrite(getWriterType(), ifile, start);
 
 			} catch (FileNotFoundException e) {
 				logger.info("VibeKVPair Message: Could not find "
@@ -460,15 +469,81 @@ public class VibeKVPair extends Item implements IReader, IWriter {
 
 	}
 
+	/**
+	 * Searches a key-value pair file for lines that match a regular
+	 * expression. Each matching pair is returned with the key as the name of
+	 * an Entry, the value as its value and the regular expression as its
+	 * description.
+	 * 
+	 * @param file
+	 *            The file to search in
+	 * @param regex
+	 *            The regular expression that whole lines must match
+	 * @return The matching pairs in the order of the file or null if the file
+	 *         could not be searched
+	 */
 	@Override
 	public ArrayList<IEntry> findAll(IFile file, String regex) {
-		// TODO Auto-generated method stub
-		return null;
+
+		// Local Declarations
+		ArrayList<IEntry> matchedEntries = new ArrayList<IEntry>();
+		ArrayList<String> lines;
+
+		// Make sure there's something to look in
+		if (file == null || regex == null) {
+			return null;
+		}
+
+		// Find the matching lines
+		try {
+			lines = LineSearch.findLines(file, regex);
+		} catch (IOException | PatternSyntaxException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return null;
+		}
+
+		// Create an Entry for each pair
+		for (String line : lines) {
+			IEntry entry = new StringEntry();
+			int split = line.indexOf('=');
+			entry.setName((split >= 0) ? line.substring(0, split) : line);
+			entry.setValue((split >= 0) ? line.substring(split + 1) : line);
+			entry.setDescription(regex);
+			matchedEntries.add(entry);
+		}
+
+		return matchedEntries;
 	}
 
+	/**
+	 * Replaces the matches of a regular expression in the lines of a key-value
+	 * pair file with a value.
+	 * 
+	 * @param file
+	 *            The file to change
+	 * @param regex
+	 *            The regular expression to search for
+	 * @param value
+	 *            The replacement value for matches to the regex
+	 */
 	@Override
 	public void replace(IFile file, String regex, String value) {
-		// TODO Auto-generated method stub
+
+		// Make sure we aren't given any null values
+		if (file == null || regex == null || value == null) {
+			return;
+		}
+
+		long start = System.nanoTime();
+		try {
+			new LineReplacer(regex, value).replace(file);
+		} catch (IOException | PatternSyntaxException e) {
+			logger.error(getClass().getName() + " Exception!", e);
+			return;
+		}
+		IOMetrics.recordWrite(getWriterType(), file, start);
+
+		return;
 	}
 
 	/**